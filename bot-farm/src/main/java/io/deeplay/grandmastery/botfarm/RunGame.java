@@ -83,6 +83,8 @@ public final class RunGame implements Runnable {
         } else if (serverDto instanceof WaitAnswerDraw) {
           var json = ConversationService.serialize(new SendAnswerDraw(player.answerDraw()));
           FarmUtils.send(out, json);
+        } else if (serverDto instanceof ResultGame resultGame) {
+          player.gameOver(resultGame.getGameState());
         }
       } while (!(serverDto instanceof ResultGame));
     } catch (Exception e) {
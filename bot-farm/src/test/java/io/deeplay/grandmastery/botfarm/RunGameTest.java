@@ -41,5 +41,6 @@ class RunGameTest {
 
     var runGame = new RunGame(player, Mockito.mock(), in, Mockito.mock(), board);
     Assertions.assertDoesNotThrow(runGame::run);
+    Assertions.assertTrue(player.isGameOver());
   }
 }
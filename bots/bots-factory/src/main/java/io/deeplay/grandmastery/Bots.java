@@ -1,31 +1,59 @@
 package io.deeplay.grandmastery;
 
+import io.deeplay.grandmastery.core.IterativeDeepening;
+import io.deeplay.grandmastery.core.MoveTimeManager;
 import io.deeplay.grandmastery.core.Player;
 import io.deeplay.grandmastery.core.Randomus;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.motobots.ExpectiMaxBot;
+import io.deeplay.grandmastery.motobots.MctsBot;
+import io.deeplay.grandmastery.motobots.MctsParallelism;
 import io.deeplay.grandmastery.motobots.MiniMaxBot;
 import io.deeplay.grandmastery.motostrategies.AttackingStrategy;
 import io.deeplay.grandmastery.motostrategies.DefendingStrategy;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 
 public enum Bots {
   RANDOMUS("Randomus", Randomus::new),
-  MINIMAXIMUS("Minimaximus", color -> new Minimaximus(color, 3)),
-  NEGAMAXIMUS("Negamaximus", color -> new Negamaximus(color, 3)),
+  MINIMAXIMUS(
+      "Minimaximus",
+      color -> new Minimaximus(color, IterativeDeepening.MAX_DEEP, new MoveTimeManager())),
+  NEGAMAXIMUS(
+      "Negamaximus",
+      color -> new Negamaximus(color, IterativeDeepening.MAX_DEEP, new MoveTimeManager())),
   ATTACKING_MINIMAX(
       "AttackingMiniMax(moto)", color -> new MiniMaxBot("Moto", color, new AttackingStrategy(), 3)),
   DEFENDING_MINIMAX(
       "DefendingMiniMax(moto)", color -> new MiniMaxBot("Moto", color, new DefendingStrategy(), 3)),
   ATTACKING_EXPECTIMAX(
       "AttackingExpectiMax(moto)",
-          color -> new ExpectiMaxBot("Moto", color, new AttackingStrategy(), 3)),
+      color ->
+          new ExpectiMaxBot(
+              "Moto", color, AttackingStrategy::new, 3, ExpectiMaxBot.DEFAULT_THREADS)),
   DEFENDING_EXPECTIMAX(
       "DefendingExpectiMax(moto)",
-          color -> new ExpectiMaxBot("Moto", color, new DefendingStrategy(), 3)),
-  DEEPLODOCUS("Deeplodocus", Deeplodocus::new),
+      color ->
+          new ExpectiMaxBot(
+              "Moto", color, DefendingStrategy::new, 3, ExpectiMaxBot.DEFAULT_THREADS)),
+  ATTACKING_MCTS(
+      "AttackingMcts(moto)",
+      color ->
+          new MctsBot(
+              "Moto",
+              color,
+              AttackingStrategy::new,
+              MctsBot.DEFAULT_ROLLOUT_DEPTH,
+              new MoveTimeManager(),
+              Integer.MAX_VALUE,
+              MctsParallelism.TREE,
+              MctsBot.DEFAULT_THREADS)),
+  DEEPLODOCUS(
+      "Deeplodocus",
+      color -> new Deeplodocus(color, IterativeDeepening.MAX_DEEP, new MoveTimeManager()),
+      Deeplodocus::isAvailable),
   LJEDMITRY("LjeDmitry", LjeDmitryBot::new);
 
   public final String name;
@@ -33,12 +61,34 @@ public enum Bots {
   @SuppressWarnings("ImmutableEnumChecker")
   public final Function<Color, Player> constructor;
 
+  @SuppressWarnings("ImmutableEnumChecker")
+  private final BooleanSupplier available;
+
   Bots(String name, Function<Color, Player> constructor) {
+    this(name, constructor, () -> true);
+  }
+
+  Bots(String name, Function<Color, Player> constructor, BooleanSupplier available) {
     this.name = name;
     this.constructor = constructor;
+    this.available = available;
+  }
+
+  /**
+   * Метод проверяет, можно ли создать бота: например, боту с нейросетью нужны её веса в ресурсах.
+   *
+   * @return {@code true}, если бота можно создать
+   */
+  public boolean isAvailable() {
+    return available.getAsBoolean();
   }
 
+  /**
+   * Метод возвращает имена ботов, которых можно создать.
+   *
+   * @return Имена ботов
+   */
   public static List<String> getBotsList() {
-    return Arrays.stream(Bots.values()).map(n -> n.name).toList();
+    return Arrays.stream(Bots.values()).filter(Bots::isAvailable).map(n -> n.name).toList();
   }
 }
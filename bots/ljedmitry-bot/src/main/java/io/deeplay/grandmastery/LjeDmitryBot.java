@@ -4,30 +4,34 @@ import io.deeplay.grandmastery.algorithms.Algorithm;
 import io.deeplay.grandmastery.algorithms.MiniMax;
 import io.deeplay.grandmastery.algorithms.NegaMax;
 import io.deeplay.grandmastery.algorithms.ParallelAlgorithm;
+import io.deeplay.grandmastery.core.IterativeDeepening;
 import io.deeplay.grandmastery.core.Move;
+import io.deeplay.grandmastery.core.MoveTimeManager;
 import io.deeplay.grandmastery.core.Player;
+import io.deeplay.grandmastery.core.TimeManager;
 import io.deeplay.grandmastery.domain.Color;
-import io.deeplay.grandmastery.domain.GameErrorCode;
 import io.deeplay.grandmastery.domain.GameState;
 import io.deeplay.grandmastery.exceptions.GameException;
 import lombok.Getter;
 
 @Getter
 public class LjeDmitryBot extends Player {
-  /** Максимальное время хода (5 сек.) */
-  private static final long TIMEOUT_MILI = 4900;
-
   /** Алгоритм используемый ботом, для принятия решения. */
   private final Algorithm algorithm;
 
+  /** Менеджер времени на ход, алгоритм углубляет поиск, пока он позволяет. */
+  private final TimeManager timeManager;
+
   /**
-   * Конструктор по умолчанию, с последней версией алгоритма.
+   * Конструктор по умолчанию, с последней версией алгоритма. Глубина поиска ограничена только
+   * временем на ход.
    *
    * @param color Цвет
    */
   public LjeDmitryBot(Color color) {
     super("LjeDmitry", color);
-    this.algorithm = new NegaMax(getColor(), 4);
+    this.algorithm = new NegaMax(getColor(), IterativeDeepening.MAX_DEEP);
+    this.timeManager = new MoveTimeManager();
   }
 
   /**
@@ -35,11 +39,12 @@ public class LjeDmitryBot extends Player {
    *
    * @param color Цвет
    * @param algorithmName название алгоритма
-   * @param deep глубина построения дерева
+   * @param deep наибольшая глубина построения дерева
    */
   public LjeDmitryBot(Color color, String algorithmName, int deep) {
     super("LjeDmitry", color);
     this.algorithm = getAlgorithm(algorithmName, deep);
+    this.timeManager = new MoveTimeManager();
   }
 
   /**
@@ -49,8 +54,20 @@ public class LjeDmitryBot extends Player {
    * @param algorithm Алгоритм.
    */
   public LjeDmitryBot(Color color, Algorithm algorithm) {
+    this(color, algorithm, new MoveTimeManager());
+  }
+
+  /**
+   * Конструктор с объектом алгоритма и менеджером времени.
+   *
+   * @param color Цвет
+   * @param algorithm Алгоритм.
+   * @param timeManager Менеджер времени на ход.
+   */
+  public LjeDmitryBot(Color color, Algorithm algorithm, TimeManager timeManager) {
     super("LjeDmitry", color);
     this.algorithm = algorithm;
+    this.timeManager = timeManager;
   }
 
   /**
@@ -71,21 +88,7 @@ public class LjeDmitryBot extends Player {
 
   @Override
   public Move createMove() throws GameException {
-    Thread findBestMoveThread =
-        new Thread(() -> lastMove = algorithm.findBestMove(game.getCopyBoard(), gameHistory));
-
-    findBestMoveThread.start();
-    try {
-      findBestMoveThread.join(TIMEOUT_MILI);
-
-      if (findBestMoveThread.isAlive()) {
-        findBestMoveThread.interrupt();
-        lastMove = algorithm.getBestMoveAfterTimout();
-      }
-    } catch (InterruptedException e) {
-      throw GameErrorCode.ERROR_PLAYER_MAKE_MOVE.asException(e);
-    }
-
+    lastMove = algorithm.findBestMove(game.getCopyBoard(), gameHistory, timeManager);
     return lastMove;
   }
 
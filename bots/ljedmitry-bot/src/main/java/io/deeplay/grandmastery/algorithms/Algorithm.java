@@ -3,21 +3,36 @@ package io.deeplay.grandmastery.algorithms;
 import io.deeplay.grandmastery.core.Board;
 import io.deeplay.grandmastery.core.GameHistory;
 import io.deeplay.grandmastery.core.Move;
+import io.deeplay.grandmastery.core.TimeManager;
 
 /** Интерфейс для алгоритмов поиска лучшего хода в шахматной игре. */
 public interface Algorithm {
 
   /**
-   * Выполняет поиск лучшего хода для заданной доски и истории игры.
+   * Выполняет поиск лучшего хода для заданной доски и истории игры на полную глубину алгоритма без
+   * ограничения времени.
    *
    * @param board Доска.
    * @param gameHistory История игры.
    * @return Лучший найденный ход.
    */
-  Move findBestMove(Board board, GameHistory gameHistory);
+  default Move findBestMove(Board board, GameHistory gameHistory) {
+    return findBestMove(board, gameHistory, TimeManager.UNLIMITED);
+  }
 
   /**
-   * Возвращает лучший найденный ход после истечения времени ожидания.
+   * Выполняет поиск лучшего хода итеративным углублением до глубины алгоритма, пока позволяет
+   * менеджер времени. Доска после поиска может быть изменена.
+   *
+   * @param board Доска.
+   * @param gameHistory История игры.
+   * @param timeManager Менеджер времени на ход.
+   * @return Лучший ход последней завершённой итерации.
+   */
+  Move findBestMove(Board board, GameHistory gameHistory, TimeManager timeManager);
+
+  /**
+   * Возвращает лучший ход последней завершённой итерации поиска.
    *
    * @return Лучший найденный ход.
    */
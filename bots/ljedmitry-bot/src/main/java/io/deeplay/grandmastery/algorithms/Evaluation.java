@@ -3,12 +3,9 @@ package io.deeplay.grandmastery.algorithms;
 import io.deeplay.grandmastery.core.Board;
 import io.deeplay.grandmastery.core.GameHistory;
 import io.deeplay.grandmastery.core.GameStateChecker;
-import io.deeplay.grandmastery.core.Move;
 import io.deeplay.grandmastery.core.Position;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.FigureType;
-import io.deeplay.grandmastery.figures.Piece;
-import java.util.List;
 import java.util.Map;
 
 /** Класс, предоставляющий методы для оценки текущей игровой позиции. */
@@ -41,11 +38,9 @@ class Evaluation {
    * @param board Доска.
    * @param gameHistory История игры.
    * @param botColor Цвет бота.
-   * @param botMove Флаг, указывающий, ходит ли сейчас бот.
    * @return Оценка текущей позиции.
    */
-  public static double evaluationFunc(
-      Board board, GameHistory gameHistory, Color botColor, boolean botMove) {
+  public static double evaluationFunc(Board board, GameHistory gameHistory, Color botColor) {
     if (GameStateChecker.isMate(board, botColor.getOpposite())) {
       return MAX_EVAL;
     } else if (GameStateChecker.isMate(board, botColor)) {
@@ -58,11 +53,6 @@ class Evaluation {
 
     double ourRate = evaluationBoard(board, gameHistory, botColor);
     double enemyRate = evaluationBoard(board, gameHistory, botColor.getOpposite());
-    if (!botMove) {
-      ourRate += pieceExchange(board, botColor);
-    } else {
-      enemyRate += pieceExchange(board, botColor.getOpposite());
-    }
 
     double result = (ourRate - enemyRate) * (1 + 10 / (ourRate + enemyRate)) / 1000;
     result = Math.round(result * 1e9) / 1e9;
@@ -173,67 +163,24 @@ class Evaluation {
   }
 
   /**
-   * Рассчитывает штраф за незащищённую фигуру под боем на ходу противника.
+   * Возвращает цену фигуры без учёта её положения.
    *
-   * @param board Доска.
-   * @param color Цвет фигур, для которых рассчитывается штраф.
-   * @return Штраф.
+   * @param figureType Тип фигуры.
+   * @return Цена фигуры.
    */
-  protected static double pieceExchange(Board board, Color color) {
-    double result = 0;
-    boolean isSecurity;
-    List<Position> friendlies = board.getAllPiecePositionByColor(color);
-    List<Position> enemies = board.getAllPiecePositionByColor(color.getOpposite());
-
-    for (Position friendly : friendlies) {
-      if (!friendly.equals(board.getKingPositionByColor(color))) {
-        isSecurity = isSecurity(board, friendly, color);
-
-        for (Position enemy : enemies) {
-          Piece enemyPiece = board.getPiece(enemy);
-          FigureType promotionPiece = null;
-          if (enemyPiece.getFigureType() == FigureType.PAWN
-              && (friendly.row().value() == 0 || friendly.row().value() == 7)) {
-            promotionPiece = FigureType.QUEEN;
-          }
-
-          Move move = new Move(enemy, friendly, promotionPiece);
-          if (!isSecurity && enemyPiece.canMove(board, move)) {
-            result -= calculatePiecePrice(board, friendly, color);
-            break;
-          }
-        }
-      }
-    }
-    return result;
+  protected static double getPiecePrice(FigureType figureType) {
+    return PIECE_PRICE.get(figureType);
   }
 
   /**
-   * Проверяет, защищена ли фигура (под боем дружественных фигур).
+   * Примерно оценивает, насколько изменится результат {@link #evaluationFunc}, если одна из
+   * сторон выиграет материал заданной цены. Множитель оценки растёт, когда материала на доске
+   * становится меньше, поэтому он берётся для доски с двумя королями.
    *
-   * @param board Доска.
-   * @param pos Позиция фигуры, которую нужно проверить на безопасность.
-   * @param color Цвет фигуры.
-   * @return {@code true}, если фигура защищена, иначе {@code false}.
+   * @param price Цена выигранного материала.
+   * @return Изменение оценки позиции.
    */
-  protected static boolean isSecurity(Board board, Position pos, Color color) {
-    List<Position> friendlies = board.getAllPiecePositionByColor(color);
-
-    for (Position friendly : friendlies) {
-      if (!friendly.equals(pos)) {
-        Piece piece = board.getPiece(friendly);
-        FigureType promotionPiece = null;
-        if (piece.getFigureType() == FigureType.PAWN
-            && (pos.row().value() == 0 || pos.row().value() == 7)) {
-          promotionPiece = FigureType.QUEEN;
-        }
-
-        Move move = new Move(friendly, pos, promotionPiece);
-        if (piece.canMove(board, move, true, false)) {
-          return true;
-        }
-      }
-    }
-    return false;
+  protected static double materialGainBound(double price) {
+    return price * (1 + 10 / (2 * PIECE_PRICE.get(FigureType.KING))) / 1000;
   }
 }
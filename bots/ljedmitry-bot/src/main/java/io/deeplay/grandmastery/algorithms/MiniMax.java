@@ -2,22 +2,52 @@ package io.deeplay.grandmastery.algorithms;
 
 import static io.deeplay.grandmastery.algorithms.Evaluation.MAX_EVAL;
 import static io.deeplay.grandmastery.algorithms.Evaluation.MIN_EVAL;
-import static io.deeplay.grandmastery.utils.Algorithms.copyAndMove;
-import static io.deeplay.grandmastery.utils.Algorithms.copyHistoryAndMove;
 import static io.deeplay.grandmastery.utils.Algorithms.getPossibleMoves;
 import static io.deeplay.grandmastery.utils.Algorithms.isGameOver;
+import static io.deeplay.grandmastery.utils.Algorithms.makeMove;
+import static io.deeplay.grandmastery.utils.Algorithms.unmakeMove;
 
 import io.deeplay.grandmastery.core.Board;
 import io.deeplay.grandmastery.core.GameHistory;
+import io.deeplay.grandmastery.core.GameStateChecker;
+import io.deeplay.grandmastery.core.IterativeDeepening;
 import io.deeplay.grandmastery.core.Move;
+import io.deeplay.grandmastery.core.MoveList;
+import io.deeplay.grandmastery.core.MoveOrdering;
+import io.deeplay.grandmastery.core.MoveUndo;
+import io.deeplay.grandmastery.core.PackedMove;
+import io.deeplay.grandmastery.core.SelectiveSearch;
+import io.deeplay.grandmastery.core.TimeManager;
+import io.deeplay.grandmastery.core.TranspositionTable;
 import io.deeplay.grandmastery.domain.Color;
-import java.util.List;
 
-/** Реализация алгоритма MiniMax для поиска лучшего хода в игре. */
+/**
+ * Реализация алгоритма MiniMax для поиска лучшего хода в игре. На наибольшей глубине вместо оценки
+ * позиции запускается {@link Quiescence}, который доигрывает взятия. Нулевой ход и сокращение
+ * поздних ходов настраиваются через {@link SelectiveSearch}.
+ */
 public class MiniMax implements Algorithm {
+  /** Ширина нулевого окна для проверочных поисков: оценка округляется до 1e-9. */
+  private static final double SCOUT_WINDOW = 1e-9;
+
   private final Color botColor;
   private final int deep;
   private final boolean isMax;
+
+  /** Списки ходов для каждого уровня глубины, переиспользуются между узлами. */
+  private final MoveList[] moveLists;
+
+  /** Таблица транспозиций, живёт между ходами бота. */
+  private final TranspositionTable table;
+
+  /** Упорядочивание ходов, убийцы и история живут в пределах одного хода бота. */
+  private final MoveOrdering ordering;
+
+  private final SelectiveSearch selective;
+
+  private IterativeDeepening deepening;
+  private Quiescence quiescence;
+  private int rootDeep;
   private Node bestMove;
 
   /**
@@ -27,16 +57,58 @@ public class MiniMax implements Algorithm {
    * @param deep Глубина поиска.
    */
   public MiniMax(Color color, int deep) {
+    this(color, deep, new TranspositionTable());
+  }
+
+  /**
+   * Создает новый экземпляр алгоритма MiniMax с заданной таблицей транспозиций.
+   *
+   * @param color Цвет бота.
+   * @param deep Глубина поиска.
+   * @param table Таблица транспозиций.
+   */
+  public MiniMax(Color color, int deep, TranspositionTable table) {
+    this(color, deep, table, SelectiveSearch.DEFAULT);
+  }
+
+  /**
+   * Создает новый экземпляр алгоритма MiniMax с заданными таблицей и выборочным поиском.
+   *
+   * @param color Цвет бота.
+   * @param deep Глубина поиска.
+   * @param table Таблица транспозиций.
+   * @param selective Настройки нулевого хода и сокращения поздних ходов.
+   */
+  public MiniMax(Color color, int deep, TranspositionTable table, SelectiveSearch selective) {
+    this.selective = selective;
     this.botColor = color;
     this.isMax = true;
     this.deep = deep;
     this.bestMove = null;
+    this.table = table;
+    this.ordering = new MoveOrdering();
+    this.moveLists = new MoveList[deep + 1];
+    for (int i = 0; i <= deep; i++) {
+      moveLists[i] = new MoveList();
+    }
   }
 
   @Override
-  public Move findBestMove(Board board, GameHistory gameHistory) {
+  public Move findBestMove(Board board, GameHistory gameHistory, TimeManager timeManager) {
     this.bestMove = null;
-    return minmax(board, gameHistory, botColor, this.deep, MIN_EVAL, MAX_EVAL, this.isMax).move;
+    table.newSearch();
+    ordering.newSearch();
+    GameHistory searchHistory = gameHistory.getCopy();
+    deepening = new IterativeDeepening(timeManager);
+    quiescence = new Quiescence(botColor, ordering, deepening);
+    return deepening.search(
+        this.deep,
+        iterationDeep -> {
+          rootDeep = iterationDeep;
+          bestMove =
+              minmax(board, searchHistory, botColor, rootDeep, MIN_EVAL, MAX_EVAL, this.isMax);
+          return bestMove.move;
+        });
   }
 
   /**
@@ -59,46 +131,137 @@ public class MiniMax implements Algorithm {
       double alpha,
       double beta,
       boolean isMax) {
-    if (deep == 0 || isGameOver(board, gameHistory)) {
-      double eval = Evaluation.evaluationFunc(board, gameHistory, botColor, isMax);
+    deepening.checkTime();
+    if (deep == 0) {
+      double eval =
+          isMax
+              ? quiescence.search(board, gameHistory, color, alpha, beta, rootDeep)
+              : -quiescence.search(board, gameHistory, color, -beta, -alpha, rootDeep);
+      return new Node(board.getLastMove(), eval);
+    }
+    if (isGameOver(board, gameHistory)) {
+      double eval = Evaluation.evaluationFunc(board, gameHistory, botColor);
       return new Node(board.getLastMove(), eval);
     }
 
-    List<Move> allMoves = getPossibleMoves(board, color);
-    Node bestMove = new Node(allMoves.get(0), isMax ? MIN_EVAL : MAX_EVAL);
-    if (deep == this.deep) {
-      this.bestMove = bestMove;
+    long key = board.getZobristKey();
+    TranspositionTable.Entry entry = table.probe(key);
+    if (deep != rootDeep && entry != null && entry.canCutoff(deep, alpha, beta)) {
+      return new Node(board.getLastMove(), entry.score());
     }
 
-    for (Move move : allMoves) {
-      Board copyBoard = copyAndMove(move, board);
-      GameHistory copyHistory = copyHistoryAndMove(copyBoard, gameHistory);
-      double eval =
-          minmax(copyBoard, copyHistory, color.getOpposite(), deep - 1, alpha, beta, !isMax).eval;
+    boolean isCheck = GameStateChecker.isCheck(board, color);
+    if (deep != rootDeep
+        && selective.canTryNullMove(board, color, deep, isCheck)
+        && isNullMoveCutoff(board, gameHistory, color, deep, alpha, beta, isMax)) {
+      return new Node(board.getLastMove(), isMax ? beta : alpha);
+    }
+
+    double startAlpha = alpha;
+    double startBeta = beta;
+    MoveList allMoves = moveLists[deep];
+    getPossibleMoves(board, color, allMoves);
+    int ply = rootDeep - deep;
+    ordering.order(board, allMoves, entry == null ? PackedMove.NO_MOVE : entry.move(), ply);
+    int bestPacked = allMoves.pickBest(0);
+    Node bestMove = new Node(PackedMove.toMove(bestPacked), isMax ? MIN_EVAL : MAX_EVAL);
+
+    for (int i = 0; i < allMoves.size(); i++) {
+      int move = allMoves.pickBest(i);
+      MoveUndo undo = makeMove(move, board, gameHistory);
+      double eval = search(board, gameHistory, color, move, i, deep, isCheck, alpha, beta, isMax);
+      unmakeMove(undo, board, gameHistory);
 
       if (isMax) {
         if (eval > alpha) {
           alpha = eval;
-          bestMove.move = move;
+          bestPacked = move;
+          bestMove.move = PackedMove.toMove(move);
           bestMove.eval = eval;
         }
       } else {
         if (eval < beta) {
           beta = eval;
-          bestMove = new Node(move, eval);
+          bestPacked = move;
+          bestMove = new Node(PackedMove.toMove(move), eval);
         }
       }
 
       if (beta <= alpha) {
+        ordering.addCutoff(board, move, ply, deep);
         break;
       }
     }
 
+    table.store(key, deep, startAlpha, startBeta, bestMove.eval, bestPacked);
     return bestMove;
   }
 
+  /**
+   * Пропускает ход и проверяет, что даже тогда оценка на уменьшенной глубине остаётся за границей
+   * окна: бета для максимизирующего уровня, альфа для минимизирующего.
+   */
+  private boolean isNullMoveCutoff(
+      Board board,
+      GameHistory gameHistory,
+      Color color,
+      int deep,
+      double alpha,
+      double beta,
+      boolean isMax) {
+    Move previous = board.makeNullMove(color);
+    Color opponent = color.getOpposite();
+    int nullDeep = selective.nullMoveDeep(deep);
+    boolean cutoff =
+        isMax
+            ? minmax(board, gameHistory, opponent, nullDeep, beta - SCOUT_WINDOW, beta, false).eval
+                >= beta
+            : minmax(board, gameHistory, opponent, nullDeep, alpha, alpha + SCOUT_WINDOW, true).eval
+                <= alpha;
+    board.unmakeNullMove(previous);
+    return cutoff;
+  }
+
+  /**
+   * Ищет ответ соперника после хода. Поздний тихий ход сначала проверяется на сокращённой глубине
+   * с нулевым окном, и только если он лучше текущей границы, перебирается на полную глубину.
+   */
+  private double search(
+      Board board,
+      GameHistory gameHistory,
+      Color color,
+      int move,
+      int moveIndex,
+      int deep,
+      boolean isCheck,
+      double alpha,
+      double beta,
+      boolean isMax) {
+    Color opponent = color.getOpposite();
+    int reduction = selective.lateMoveReduction(board, opponent, move, moveIndex, deep, isCheck);
+    if (reduction > 0) {
+      int reducedDeep = deep - 1 - reduction;
+      if (isMax) {
+        double eval =
+            minmax(board, gameHistory, opponent, reducedDeep, alpha, alpha + SCOUT_WINDOW, false)
+                .eval;
+        if (eval <= alpha) {
+          return eval;
+        }
+      } else {
+        double eval =
+            minmax(board, gameHistory, opponent, reducedDeep, beta - SCOUT_WINDOW, beta, true)
+                .eval;
+        if (eval >= beta) {
+          return eval;
+        }
+      }
+    }
+    return minmax(board, gameHistory, opponent, deep - 1, alpha, beta, !isMax).eval;
+  }
+
   @Override
   public Move getBestMoveAfterTimout() {
-    return bestMove.move;
+    return bestMove == null ? null : bestMove.move;
   }
 }
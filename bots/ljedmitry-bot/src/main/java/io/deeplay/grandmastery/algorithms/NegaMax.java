@@ -2,19 +2,35 @@ package io.deeplay.grandmastery.algorithms;
 
 import static io.deeplay.grandmastery.algorithms.Evaluation.MAX_EVAL;
 import static io.deeplay.grandmastery.algorithms.Evaluation.MIN_EVAL;
-import static io.deeplay.grandmastery.utils.Algorithms.copyAndMove;
-import static io.deeplay.grandmastery.utils.Algorithms.copyHistoryAndMove;
 import static io.deeplay.grandmastery.utils.Algorithms.getPossibleMoves;
 import static io.deeplay.grandmastery.utils.Algorithms.isGameOver;
+import static io.deeplay.grandmastery.utils.Algorithms.makeMove;
+import static io.deeplay.grandmastery.utils.Algorithms.unmakeMove;
 
 import io.deeplay.grandmastery.core.Board;
 import io.deeplay.grandmastery.core.GameHistory;
+import io.deeplay.grandmastery.core.GameStateChecker;
+import io.deeplay.grandmastery.core.IterativeDeepening;
 import io.deeplay.grandmastery.core.Move;
+import io.deeplay.grandmastery.core.MoveList;
+import io.deeplay.grandmastery.core.MoveOrdering;
+import io.deeplay.grandmastery.core.MoveUndo;
+import io.deeplay.grandmastery.core.PackedMove;
+import io.deeplay.grandmastery.core.SelectiveSearch;
+import io.deeplay.grandmastery.core.TimeManager;
+import io.deeplay.grandmastery.core.TranspositionTable;
 import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.exceptions.SearchTimeoutException;
+import io.deeplay.grandmastery.utils.Boards;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.Future;
 
 /**
  * Реализация алгоритма NegaMax для поиска лучшего хода в шахматах.
@@ -22,15 +38,46 @@ import java.util.concurrent.RecursiveTask;
  * <p>Алгоритм NegaMax - это улучшенная версия алгоритма Minimax для поиска оптимальных ходов с
  * использованием альфа-бета отсечения.
  *
- * <p>Этот класс позволяет выполнять поиск лучшего хода в параллельном режиме с использованием
- * ForkJoinPool.
+ * <p>Поиск идёт с главным вариантом (PVS): первый ход узла перебирается с полным окном, остальные
+ * - с нулевым окном, и только если ход оказался лучше альфа, он перебирается повторно с полным
+ * окном. Каждая итерация углубления начинается с узкого окна вокруг оценки прошлой итерации
+ * (aspiration window), окно расширяется, если оценка вышла за него. Главный вариант собирается в
+ * треугольную таблицу и перед следующей итерацией записывается в таблицу транспозиций, чтобы его
+ * ходы перебирались первыми. На наибольшей глубине запускается {@link Quiescence}, который
+ * доигрывает взятия. Нулевой ход и сокращение поздних ходов настраиваются через {@link
+ * SelectiveSearch}: сокращённый ход проверяется нулевым окном и при успехе перебирается на полную
+ * глубину.
+ *
+ * <p>Параллельный поиск устроен по схеме Lazy SMP: каждый поток сам выполняет итеративное
+ * углубление на своей копии доски, а общая у потоков только таблица транспозиций. Вспомогательные
+ * потоки через один ищут на ход глубже и перебирают ходы корня в случайном порядке, поэтому они
+ * расходятся с главным потоком и заполняют таблицу оценками, которые главный поток ещё не считал.
+ * Ход выбирает главный поток, вспомогательные останавливаются, когда он закончил.
  */
 public class NegaMax implements ParallelAlgorithm {
+  /**
+   * Ширина нулевого окна: оценка {@link Evaluation#evaluationFunc} округляется до 1e-9, поэтому
+   * между альфа и альфа плюс это число других оценок нет.
+   */
+  private static final double SCOUT_WINDOW = 1e-9;
+
+  /** Начальная полуширина окна вокруг оценки прошлой итерации, примерно полпешки. */
+  private static final double ASPIRATION_WINDOW = 0.0005;
+
+  /** Во сколько раз расширяется окно, если оценка вышла за него. */
+  private static final double ASPIRATION_GROWTH = 4.0;
+
   private final Color botColor;
   private final int deep;
+  private final int parallelism;
   private final ForkJoinPool pool;
+  private final TranspositionTable table;
+  private final SelectiveSearch selective;
 
-  private Node bestMove;
+  private IterativeDeepening deepening;
+  private volatile boolean stopped;
+  private volatile Node bestMove;
+  private int[] principalVariation = new int[0];
 
   /**
    * Создает новый экземпляр класса NegaMax.
@@ -39,10 +86,7 @@ public class NegaMax implements ParallelAlgorithm {
    * @param deep Глубина поиска.
    */
   public NegaMax(Color color, int deep) {
-    this.botColor = color;
-    this.deep = deep;
-    this.bestMove = null;
-    this.pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors() / 2 + 1);
+    this(color, deep, Runtime.getRuntime().availableProcessors() / 2 + 1);
   }
 
   /**
@@ -53,146 +97,339 @@ public class NegaMax implements ParallelAlgorithm {
    * @param parallelism Количество параллельных потоков.
    */
   public NegaMax(Color color, int deep, int parallelism) {
+    this(color, deep, parallelism, new TranspositionTable());
+  }
+
+  /**
+   * Создает новый экземпляр класса NegaMax с указанным количеством потоков и таблицей транспозиций.
+   *
+   * @param color Цвет бота.
+   * @param deep Глубина поиска.
+   * @param parallelism Количество параллельных потоков, включая главный.
+   * @param table Таблица транспозиций, общая для всех потоков.
+   */
+  public NegaMax(Color color, int deep, int parallelism, TranspositionTable table) {
+    this(color, deep, parallelism, table, SelectiveSearch.DEFAULT);
+  }
+
+  /**
+   * Создает новый экземпляр класса NegaMax с заданными потоками, таблицей и выборочным поиском.
+   *
+   * @param color Цвет бота.
+   * @param deep Глубина поиска.
+   * @param parallelism Количество параллельных потоков, включая главный.
+   * @param table Таблица транспозиций, общая для всех потоков.
+   * @param selective Настройки нулевого хода и сокращения поздних ходов.
+   */
+  public NegaMax(
+      Color color,
+      int deep,
+      int parallelism,
+      TranspositionTable table,
+      SelectiveSearch selective) {
+    this.selective = selective;
     this.botColor = color;
     this.deep = deep;
     this.bestMove = null;
-    this.pool = new ForkJoinPool(parallelism);
+    this.parallelism = parallelism;
+    this.pool = new ForkJoinPool(Math.max(parallelism - 1, 1));
+    this.table = table;
   }
 
   @Override
-  public Move findBestMove(Board board, GameHistory gameHistory) {
+  public Move findBestMove(Board board, GameHistory gameHistory, TimeManager timeManager) {
     bestMove = null;
-    NegamaxTask task =
-        new NegamaxTask(board, gameHistory, botColor, deep, MIN_EVAL, MAX_EVAL, null);
+    principalVariation = new int[0];
+    stopped = false;
+    table.newSearch();
+    deepening = new IterativeDeepening(timeManager);
+
+    List<Future<?>> helpers = new ArrayList<>();
+    for (int i = 1; i < parallelism; i++) {
+      Searcher helper = new Searcher(Boards.copyBoard(board), gameHistory.getCopy(), i);
+      helpers.add(pool.submit(helper::runHelper));
+    }
 
-    return pool.invoke(task).move;
+    Searcher main = new Searcher(board, gameHistory.getCopy(), 0);
+    try {
+      return deepening.search(
+          deep,
+          iterationDeep -> {
+            main.storePrincipalVariation(principalVariation);
+            Node node = main.aspirationSearch(iterationDeep, bestMove);
+            principalVariation = main.getPrincipalVariation();
+            bestMove = node;
+            return node.move;
+          });
+    } finally {
+      stopped = true;
+      awaitHelpers(helpers);
+    }
   }
 
-  /** Задача для параллельного выполнения алгоритма NegaMax. */
-  private class NegamaxTask extends RecursiveTask<Node> {
+  private static void awaitHelpers(List<Future<?>> helpers) {
+    for (Future<?> helper : helpers) {
+      try {
+        helper.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (ExecutionException e) {
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+  }
+
+  /**
+   * Возвращает главный вариант последней завершённой итерации: лучший ход и ожидаемые ответы на
+   * него.
+   *
+   * @return Ходы главного варианта.
+   */
+  public List<Move> getPrincipalVariation() {
+    return Arrays.stream(principalVariation).mapToObj(PackedMove::toMove).toList();
+  }
+
+  /**
+   * Поиск одного потока. У каждого потока своя доска, списки ходов, упорядочивание ходов и таблица
+   * главного варианта.
+   */
+  private class Searcher {
     private final Board board;
     private final GameHistory gameHistory;
-    private final Color color;
-    private final int deep;
-    private final double beta;
-    private final double alpha;
-    private final Move move;
+    private final int index;
+    private final MoveOrdering ordering = new MoveOrdering();
+    private final Quiescence quiescence;
+    private final Random random;
+
+    /** Списки ходов для каждого уровня глубины, создаются при первом обращении. */
+    private final MoveList[] moveLists = new MoveList[deep + 1];
+
+    /**
+     * Треугольная таблица главного варианта: строка с индексом глубины хранит лучший вариант из
+     * узла этой глубины, её длина - в {@link #pvLength}.
+     */
+    private final int[][] pvTable = new int[deep + 1][deep + 1];
+
+    private final int[] pvLength = new int[deep + 1];
+
+    private int rootDeep;
 
     /**
-     * Создает новую задачу NegaMaxTask.
+     * Создает поиск потока.
      *
-     * @param board Доска.
-     * @param gameHistory История игры.
-     * @param color Цвет бота.
-     * @param deep Глубина поиска.
-     * @param alpha Значение альфа (верхняя граница) для альфа-бета отсечения.
-     * @param beta Значение бета (нижняя граница) для альфа-бета отсечения.
-     * @param move Ход, связанный с этой задачей.
+     * @param board Доска, которой владеет поток.
+     * @param gameHistory История игры, которой владеет поток.
+     * @param index Номер потока, у главного потока - 0.
      */
-    public NegamaxTask(
-        Board board,
-        GameHistory gameHistory,
-        Color color,
-        int deep,
-        double alpha,
-        double beta,
-        Move move) {
+    Searcher(Board board, GameHistory gameHistory, int index) {
       this.board = board;
       this.gameHistory = gameHistory;
-      this.color = color;
-      this.deep = deep;
-      this.alpha = alpha;
-      this.beta = beta;
-      this.move = move;
+      this.index = index;
+      this.random = new Random(index);
+      this.quiescence = new Quiescence(botColor, ordering, this::checkTime);
+      ordering.newSearch();
+    }
+
+    /** Итеративное углубление вспомогательного потока, пока главный поток не закончил. */
+    void runHelper() {
+      Node previous = null;
+      try {
+        for (int iterationDeep = 1; iterationDeep <= deep && !stopped; iterationDeep++) {
+          int helperDeep = Math.min(iterationDeep + index % 2, deep);
+          previous = aspirationSearch(helperDeep, previous);
+        }
+      } catch (SearchTimeoutException e) {
+        // Главный поток закончил поиск, результат вспомогательного потока не нужен.
+      }
+    }
+
+    int[] getPrincipalVariation() {
+      return Arrays.copyOf(pvTable[rootDeep], pvLength[rootDeep]);
+    }
+
+    /**
+     * Ищет лучший ход на заданной глубине с окном вокруг оценки прошлой итерации. Если оценка
+     * вышла за окно, поиск повторяется с окном шире.
+     *
+     * @param iterationDeep Глубина итерации.
+     * @param previous Результат прошлой итерации или {@code null}.
+     * @return Лучший найденный ход и его оценка.
+     */
+    Node aspirationSearch(int iterationDeep, Node previous) {
+      rootDeep = iterationDeep;
+      if (previous == null) {
+        return rootSearch(MIN_EVAL, MAX_EVAL);
+      }
+
+      double window = ASPIRATION_WINDOW;
+      double alpha = Math.max(previous.eval - window, MIN_EVAL);
+      double beta = Math.min(previous.eval + window, MAX_EVAL);
+      while (true) {
+        Node node = rootSearch(alpha, beta);
+        window *= ASPIRATION_GROWTH;
+        if (node.eval <= alpha && alpha > MIN_EVAL) {
+          alpha = Math.max(previous.eval - window, MIN_EVAL);
+        } else if (node.eval >= beta && beta < MAX_EVAL) {
+          beta = Math.min(previous.eval + window, MAX_EVAL);
+        } else {
+          return node;
+        }
+      }
+    }
+
+    private Node rootSearch(double alpha, double beta) {
+      Node root = new Node(null, MIN_EVAL);
+      root.eval = negamax(botColor, rootDeep, alpha, beta, root);
+      return root;
+    }
+
+    /**
+     * Записывает ходы главного варианта прошлой итерации в таблицу транспозиций, если их там нет.
+     * Записи с нулевой глубиной не дают отсечений, но их ход перебирается первым.
+     *
+     * @param principalVariation Ходы главного варианта.
+     */
+    void storePrincipalVariation(int[] principalVariation) {
+      Deque<MoveUndo> undos = new ArrayDeque<>();
+      for (int move : principalVariation) {
+        long key = board.getZobristKey();
+        TranspositionTable.Entry entry = table.probe(key);
+        if (entry == null || entry.move() == PackedMove.NO_MOVE) {
+          table.store(key, 0, TranspositionTable.Bound.LOWER, MIN_EVAL, move);
+        }
+        undos.push(board.makeMove(PackedMove.toMove(move)));
+      }
+      while (!undos.isEmpty()) {
+        board.unmakeMove(undos.pop());
+      }
+    }
+
+    /**
+     * Прерывает поиск, если главный поток закончил. Счётчик узлов и время проверяет только главный
+     * поток, поэтому вспомогательные потоки не пишут в общее {@link IterativeDeepening}.
+     */
+    private void checkTime() {
+      if (stopped) {
+        throw new SearchTimeoutException();
+      }
+      if (index == 0) {
+        deepening.checkTime();
+      }
+    }
+
+    private MoveList getMoveList(int deep) {
+      if (moveLists[deep] == null) {
+        moveLists[deep] = new MoveList();
+      }
+      return moveLists[deep];
+    }
+
+    /** Главный вариант узла: ход и главный вариант ответа. */
+    private void updatePrincipalVariation(int deep, int move) {
+      pvTable[deep][0] = move;
+      System.arraycopy(pvTable[deep - 1], 0, pvTable[deep], 1, pvLength[deep - 1]);
+      pvLength[deep] = pvLength[deep - 1] + 1;
     }
 
     /**
      * Выполняет алгоритм NegaMax для поиска лучшего хода.
      *
-     * @param board Доска.
-     * @param gameHistory История игры.
-     * @param color Цвет бота.
+     * @param color Цвет ходящей стороны.
      * @param deep Глубина поиска.
      * @param alpha Значение альфа (верхняя граница) для альфа-бета отсечения.
      * @param beta Значение бета (нижняя граница) для альфа-бета отсечения.
-     * @return Лучший найденный ход и его оценка.
+     * @param root Узел, в который записывается лучший ход корня, или {@code null} вне корня.
+     * @return Оценка позиции для ходящей стороны. Если все ходы не лучше альфа, это лучшая из
+     *     полученных оценок (fail-soft), а не альфа: её записывает таблица как верхнюю границу, а
+     *     родитель по ней решает, нужен ли повторный перебор с полным окном.
      */
-    private Node negamax(
-        Board board, GameHistory gameHistory, Color color, int deep, double alpha, double beta) {
-      if (deep == 0 || isGameOver(board, gameHistory)) {
+    private double negamax(Color color, int deep, double alpha, double beta, Node root) {
+      checkTime();
+      pvLength[deep] = 0;
+      if (deep == 0) {
+        return quiescence.search(board, gameHistory, color, alpha, beta, rootDeep);
+      }
+      if (isGameOver(board, gameHistory)) {
         double signEval = color == botColor ? 1.0 : -1.0;
-        boolean isBotMove = color == botColor;
-
-        return new Node(
-            board.getLastMove(),
-            Evaluation.evaluationFunc(board, gameHistory, botColor, isBotMove) * signEval);
+        return Evaluation.evaluationFunc(board, gameHistory, botColor) * signEval;
       }
 
-      List<Move> moves = getPossibleMoves(board, color);
-      Node bestMove = new Node(moves.get(0), MIN_EVAL);
-      if (deep == NegaMax.this.deep) {
-        NegaMax.this.bestMove = bestMove;
+      long key = board.getZobristKey();
+      TranspositionTable.Entry entry = table.probe(key);
+      if (root == null && entry != null && entry.canCutoff(deep, alpha, beta)) {
+        return entry.score();
       }
 
-      List<NegamaxTask> tasks = new ArrayList<>();
-      for (int i = 0; i < moves.size(); i++) {
-        Board copyBoard = copyAndMove(moves.get(i), board);
-        GameHistory copyHistory = copyHistoryAndMove(copyBoard, gameHistory);
+      boolean isCheck = GameStateChecker.isCheck(board, color);
+      if (root == null && selective.canTryNullMove(board, color, deep, isCheck)) {
+        Move previous = board.makeNullMove(color);
+        int nullDeep = selective.nullMoveDeep(deep);
+        double eval = -negamax(color.getOpposite(), nullDeep, -beta, -beta + SCOUT_WINDOW, null);
+        board.unmakeNullMove(previous);
+        if (eval >= beta) {
+          return beta;
+        }
+      }
 
-        if (i == 0 || getPool().getQueuedTaskCount() > 0) {
-          double eval =
-              -negamax(copyBoard, copyHistory, color.getOpposite(), deep - 1, -beta, -alpha).eval;
+      double startAlpha = alpha;
+      MoveList moves = getMoveList(deep);
+      getPossibleMoves(board, color, moves);
+      int ply = rootDeep - deep;
+      int hashMove = entry == null ? PackedMove.NO_MOVE : entry.move();
+      ordering.order(board, moves, hashMove, ply);
+      if (root != null && index > 0) {
+        perturbRootOrder(moves, hashMove);
+      }
 
-          if (eval > alpha) {
-            alpha = eval;
-            bestMove.move = moves.get(i);
-            bestMove.eval = eval;
+      int bestPacked = moves.pickBest(0);
+      double bestEval = MIN_EVAL;
+      for (int i = 0; i < moves.size(); i++) {
+        int move = moves.pickBest(i);
+        MoveUndo undo = makeMove(move, board, gameHistory);
+        Color opposite = color.getOpposite();
+        double eval;
+        if (i == 0) {
+          eval = -negamax(opposite, deep - 1, -beta, -alpha, null);
+        } else {
+          int reduction = selective.lateMoveReduction(board, opposite, move, i, deep, isCheck);
+          eval = -negamax(opposite, deep - 1 - reduction, -alpha - SCOUT_WINDOW, -alpha, null);
+          if (reduction > 0 && eval > alpha) {
+            eval = -negamax(opposite, deep - 1, -alpha - SCOUT_WINDOW, -alpha, null);
           }
-
-          if (alpha >= beta) {
-            break;
+          if (eval > alpha && eval < beta) {
+            eval = -negamax(opposite, deep - 1, -beta, -alpha, null);
           }
-        } else {
-          NegamaxTask task =
-              new NegamaxTask(
-                  copyBoard,
-                  copyHistory,
-                  color.getOpposite(),
-                  deep - 1,
-                  -beta,
-                  -alpha,
-                  moves.get(i));
-          task.fork();
-          tasks.add(task);
         }
-      }
+        unmakeMove(undo, board, gameHistory);
 
-      for (NegamaxTask task : tasks) {
-        if (task.join() == null) {
-          break;
-        } else {
-          Node node = task.getRawResult();
-          if (-node.eval > alpha) {
-            alpha = -node.eval;
-            bestMove.move = task.move;
-            bestMove.eval = alpha;
-          }
+        bestEval = Math.max(bestEval, eval);
+        if (eval > alpha) {
+          alpha = eval;
+          bestPacked = move;
+          updatePrincipalVariation(deep, move);
         }
 
         if (alpha >= beta) {
+          ordering.addCutoff(board, move, ply, deep);
           break;
         }
       }
 
-      return bestMove;
+      if (root != null) {
+        root.move = PackedMove.toMove(bestPacked);
+      }
+      table.store(key, deep, startAlpha, beta, bestEval, bestPacked);
+      return bestEval;
     }
 
-    @Override
-    protected Node compute() {
-      if (alpha >= beta) {
-        return null;
+    /** Вспомогательный поток перебирает ходы корня после хода из таблицы в случайном порядке. */
+    private void perturbRootOrder(MoveList moves, int hashMove) {
+      for (int i = 0; i < moves.size(); i++) {
+        int score =
+            moves.get(i) == hashMove ? Integer.MAX_VALUE : random.nextInt(Integer.MAX_VALUE);
+        moves.setScore(i, score);
       }
-      return negamax(board, gameHistory, color, deep, alpha, beta);
     }
   }
 
@@ -205,8 +442,19 @@ public class NegaMax implements ParallelAlgorithm {
     return pool.isShutdown();
   }
 
+  /**
+   * Возвращает оценку корня последней завершённой итерации для цвета бота.
+   *
+   * @return Оценка лучшего хода или {@link Evaluation#MIN_EVAL}, если итераций ещё не было.
+   */
+  public double getBestEval() {
+    Node node = bestMove;
+    return node == null ? MIN_EVAL : node.eval;
+  }
+
   @Override
   public Move getBestMoveAfterTimout() {
-    return bestMove.move;
+    Node node = bestMove;
+    return node == null ? null : node.move;
   }
 }
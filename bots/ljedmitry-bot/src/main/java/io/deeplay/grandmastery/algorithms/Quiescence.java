@@ -0,0 +1,149 @@
+package io.deeplay.grandmastery.algorithms;
+
+import static io.deeplay.grandmastery.algorithms.Evaluation.MIN_EVAL;
+import static io.deeplay.grandmastery.utils.Algorithms.getCaptures;
+import static io.deeplay.grandmastery.utils.Algorithms.makeMove;
+import static io.deeplay.grandmastery.utils.Algorithms.unmakeMove;
+
+import io.deeplay.grandmastery.core.Board;
+import io.deeplay.grandmastery.core.GameHistory;
+import io.deeplay.grandmastery.core.GameStateChecker;
+import io.deeplay.grandmastery.core.IterativeDeepening;
+import io.deeplay.grandmastery.core.MoveList;
+import io.deeplay.grandmastery.core.MoveOrdering;
+import io.deeplay.grandmastery.core.MoveUndo;
+import io.deeplay.grandmastery.core.PackedMove;
+import io.deeplay.grandmastery.core.Position;
+import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.domain.FigureType;
+
+/**
+ * Форсированный поиск на листьях основного поиска: взятия доигрываются, пока позиция не
+ * успокоится, поэтому оценка не зависит от того, что на последнем ходу фигура осталась под боем.
+ *
+ * <p>Сторона без шаха может не брать и остаться с оценкой позиции (stand pat). Взятие, которое даже
+ * с запасом не поднимает оценку до альфа, не перебирается (delta pruning). Под шахом перебираются
+ * все уходы от шаха, а если их нет - это мат.
+ *
+ * <p>Объект хранит списки ходов для каждого уровня, поэтому у каждого потока поиска свой объект.
+ */
+class Quiescence {
+  /** Наибольшая глубина форсированного поиска, дальше возвращается оценка позиции. */
+  static final int MAX_DEEP = 16;
+
+  /** Запас для delta pruning в ценах пешки. */
+  private static final double DELTA_MARGIN = 2.0;
+
+  private final Color botColor;
+  private final MoveOrdering ordering;
+  private final Runnable timeCheck;
+  private final MoveList[] moveLists = new MoveList[MAX_DEEP];
+
+  /**
+   * Создает форсированный поиск.
+   *
+   * @param botColor Цвет бота, для которого считается оценка.
+   * @param ordering Упорядочивание ходов.
+   * @param deepening Итеративное углубление, которое прерывает поиск по времени.
+   */
+  Quiescence(Color botColor, MoveOrdering ordering, IterativeDeepening deepening) {
+    this(botColor, ordering, deepening::checkTime);
+  }
+
+  /**
+   * Создает форсированный поиск с проверкой времени потока поиска.
+   *
+   * @param botColor Цвет бота, для которого считается оценка.
+   * @param ordering Упорядочивание ходов.
+   * @param timeCheck Проверка в каждом узле, которая прерывает поиск исключением {@link
+   *     io.deeplay.grandmastery.exceptions.SearchTimeoutException}.
+   */
+  Quiescence(Color botColor, MoveOrdering ordering, Runnable timeCheck) {
+    this.botColor = botColor;
+    this.ordering = ordering;
+    this.timeCheck = timeCheck;
+  }
+
+  /**
+   * Выполняет форсированный поиск.
+   *
+   * @param board Доска.
+   * @param gameHistory История игры.
+   * @param color Цвет ходящей стороны.
+   * @param alpha Значение альфа для альфа-бета отсечения.
+   * @param beta Значение бета для альфа-бета отсечения.
+   * @param ply Расстояние от корня основного поиска.
+   * @return Оценка позиции для ходящей стороны.
+   */
+  double search(
+      Board board, GameHistory gameHistory, Color color, double alpha, double beta, int ply) {
+    return search(board, gameHistory, color, alpha, beta, ply, 0);
+  }
+
+  private double search(
+      Board board,
+      GameHistory gameHistory,
+      Color color,
+      double alpha,
+      double beta,
+      int ply,
+      int deep) {
+    timeCheck.run();
+    double sign = color == botColor ? 1.0 : -1.0;
+    if (deep == MAX_DEEP) {
+      return Evaluation.evaluationFunc(board, gameHistory, botColor) * sign;
+    }
+
+    boolean isCheck = GameStateChecker.isCheck(board, color);
+    double standPat = MIN_EVAL;
+    if (!isCheck) {
+      standPat = Evaluation.evaluationFunc(board, gameHistory, botColor) * sign;
+      if (standPat >= beta) {
+        return standPat;
+      }
+      alpha = Math.max(alpha, standPat);
+    }
+
+    MoveList moves = getMoveList(deep);
+    getCaptures(board, color, moves);
+    ordering.order(board, moves, PackedMove.NO_MOVE, ply);
+
+    double bestEval = standPat;
+    for (int i = 0; i < moves.size(); i++) {
+      int move = moves.pickBest(i);
+      if (!isCheck
+          && PackedMove.getPromotion(move) == null
+          && standPat + Evaluation.materialGainBound(capturedPrice(board, move) + DELTA_MARGIN)
+              <= alpha) {
+        continue;
+      }
+
+      MoveUndo undo = makeMove(move, board, gameHistory);
+      double eval =
+          -search(board, gameHistory, color.getOpposite(), -beta, -alpha, ply + 1, deep + 1);
+      unmakeMove(undo, board, gameHistory);
+
+      bestEval = Math.max(bestEval, eval);
+      alpha = Math.max(alpha, eval);
+      if (alpha >= beta) {
+        break;
+      }
+    }
+    return bestEval;
+  }
+
+  private MoveList getMoveList(int deep) {
+    if (moveLists[deep] == null) {
+      moveLists[deep] = new MoveList();
+    }
+    return moveLists[deep];
+  }
+
+  private static double capturedPrice(Board board, int move) {
+    if (PackedMove.getType(move) == PackedMove.EN_PASSANT) {
+      return Evaluation.getPiecePrice(FigureType.PAWN);
+    }
+    return Evaluation.getPiecePrice(
+        board.getPiece(Position.of(PackedMove.getTo(move))).getFigureType());
+  }
+}
@@ -3,12 +3,13 @@ package io.deeplay.grandmastery.utils;
 import io.deeplay.grandmastery.core.Board;
 import io.deeplay.grandmastery.core.GameHistory;
 import io.deeplay.grandmastery.core.GameStateChecker;
-import io.deeplay.grandmastery.core.HashBoard;
 import io.deeplay.grandmastery.core.Move;
-import io.deeplay.grandmastery.core.Position;
+import io.deeplay.grandmastery.core.MoveGenerator;
+import io.deeplay.grandmastery.core.MoveList;
+import io.deeplay.grandmastery.core.MoveUndo;
+import io.deeplay.grandmastery.core.PackedMove;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.figures.Piece;
-import java.util.ArrayList;
 import java.util.List;
 
 public class Algorithms {
@@ -35,8 +36,7 @@ public class Algorithms {
    * @return Новая копия доски с выполненным ходом.
    */
   public static Board copyAndMove(Move move, Board board) {
-    Board copyBoard = new HashBoard();
-    Boards.copy(board).accept(copyBoard);
+    Board copyBoard = Boards.copyBoard(board);
 
     Piece piece = copyBoard.getPiece(move.from());
     piece.move(copyBoard, move);
@@ -45,6 +45,46 @@ public class Algorithms {
     return copyBoard;
   }
 
+  /**
+   * Выполняет ход на самой доске и записывает его в историю, без копирования.
+   *
+   * @param move Ход, который нужно выполнить.
+   * @param board Шахматная доска.
+   * @param gameHistory История игры.
+   * @return Запись для отмены хода через {@link #unmakeMove(MoveUndo, Board, GameHistory)}.
+   */
+  public static MoveUndo makeMove(Move move, Board board, GameHistory gameHistory) {
+    MoveUndo undo = board.makeMove(move);
+    gameHistory.addBoard(board);
+    gameHistory.makeMove(move);
+
+    return undo;
+  }
+
+  /**
+   * Выполняет упакованный ход ({@link PackedMove}) на самой доске и записывает его в историю.
+   *
+   * @param move Упакованный ход.
+   * @param board Шахматная доска.
+   * @param gameHistory История игры.
+   * @return Запись для отмены хода через {@link #unmakeMove(MoveUndo, Board, GameHistory)}.
+   */
+  public static MoveUndo makeMove(int move, Board board, GameHistory gameHistory) {
+    return makeMove(PackedMove.toMove(move), board, gameHistory);
+  }
+
+  /**
+   * Отменяет ход, сделанный через {@link #makeMove(Move, Board, GameHistory)}.
+   *
+   * @param undo Запись для отмены хода.
+   * @param board Шахматная доска.
+   * @param gameHistory История игры.
+   */
+  public static void unmakeMove(MoveUndo undo, Board board, GameHistory gameHistory) {
+    gameHistory.rollback();
+    board.unmakeMove(undo);
+  }
+
   /**
    * Получает список всех возможных ходов для заданного цвета на доске.
    *
@@ -53,14 +93,31 @@ public class Algorithms {
    * @return Список всех возможных ходов.
    */
   public static List<Move> getPossibleMoves(Board board, Color color) {
-    List<Move> moves = new ArrayList<>();
-    List<Position> positions = board.getAllPiecePositionByColor(color);
+    return MoveGenerator.getLegalMoves(board, color);
+  }
 
-    for (Position position : positions) {
-      moves.addAll(board.getPiece(position).getAllMoves(board, position));
-    }
+  /**
+   * Записывает в список все возможные ходы для заданного цвета в упакованном виде. Список
+   * очищается перед записью.
+   *
+   * @param board Шахматная доска.
+   * @param color Цвет (белые или черные).
+   * @param moves Список для ходов.
+   */
+  public static void getPossibleMoves(Board board, Color color, MoveList moves) {
+    MoveGenerator.generateLegalMoves(board, color, moves);
+  }
 
-    return moves;
+  /**
+   * Записывает в список взятия и превращения для заданного цвета в упакованном виде, а если
+   * королю шах - все уходы от шаха. Список очищается перед записью.
+   *
+   * @param board Шахматная доска.
+   * @param color Цвет (белые или черные).
+   * @param moves Список для ходов.
+   */
+  public static void getCaptures(Board board, Color color, MoveList moves) {
+    MoveGenerator.generateCaptures(board, color, moves);
   }
 
   /**
@@ -1,8 +1,6 @@
 package io.deeplay.grandmastery.algorithms;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.deeplay.grandmastery.core.Board;
 import io.deeplay.grandmastery.core.GameHistory;
@@ -216,96 +214,6 @@ public class EvaluationTest {
     assertEquals(0.0, Evaluation.kingEndgameEval(board, Color.BLACK));
   }
 
-  @Test
-  void securityPieceTest() {
-    board.setPiece(Position.fromString("e1"), new King(Color.WHITE));
-    board.setPiece(Position.fromString("e2"), new Pawn(Color.WHITE));
-
-    assertTrue(Evaluation.isSecurity(board, Position.fromString("e2"), Color.WHITE));
-  }
-
-  @Test
-  void securityPawnPieceTest() {
-    board.setPiece(Position.fromString("c8"), new Bishop(Color.BLACK));
-    board.setPiece(Position.fromString("h3"), new Pawn(Color.WHITE));
-    board.setPiece(Position.fromString("g2"), new Pawn(Color.WHITE));
-
-    assertTrue(Evaluation.isSecurity(board, Position.fromString("h3"), Color.WHITE));
-  }
-
-  @Test
-  void noSecurityPieceTest() {
-    board.setPiece(Position.fromString("e1"), new King(Color.WHITE));
-    board.setPiece(Position.fromString("a2"), new Pawn(Color.WHITE));
-
-    assertFalse(Evaluation.isSecurity(board, Position.fromString("a2"), Color.WHITE));
-  }
-
-  @Test
-  void zeroExchangePieceTest() {
-    board.setPiece(Position.fromString("a1"), new King(Color.WHITE));
-    board.setPiece(Position.fromString("e1"), new Rook(Color.WHITE));
-    board.setPiece(Position.fromString("e2"), new Queen(Color.WHITE));
-    board.setPiece(Position.fromString("e8"), new Queen(Color.BLACK));
-
-    assertEquals(0, Evaluation.pieceExchange(board, Color.WHITE));
-  }
-
-  @Test
-  void securityPiecePawnPromotionTest() {
-    board.setPiece(Position.fromString("e8"), new Rook(Color.WHITE));
-    board.setPiece(Position.fromString("f7"), new Pawn(Color.WHITE));
-
-    assertTrue(Evaluation.isSecurity(board, Position.fromString("e8"), Color.WHITE));
-  }
-
-  @Test
-  void lossPieceTest() {
-    board.setPiece(Position.fromString("a1"), new King(Color.WHITE));
-    board.setPiece(Position.fromString("e2"), new Queen(Color.WHITE));
-    board.setPiece(Position.fromString("e8"), new Queen(Color.BLACK));
-
-    assertEquals(-9.0, Evaluation.pieceExchange(board, Color.WHITE));
-  }
-
-  @Test
-  void lossPiecePawnPromotionTest() {
-    board.setPiece(Position.fromString("f7"), new Pawn(Color.WHITE));
-    board.setPiece(Position.fromString("e8"), new Queen(Color.BLACK));
-
-    assertEquals(-9.0, Evaluation.pieceExchange(board, Color.BLACK));
-  }
-
-  @Test
-  void evaluationOurBoardTest() {
-    Board firstBoard = new HashBoard();
-    firstBoard.setPiece(Position.fromString("a2"), new Rook(Color.WHITE));
-    firstBoard.setPiece(Position.fromString("b1"), new Rook(Color.WHITE));
-    firstBoard.setPiece(Position.fromString("h8"), new King(Color.BLACK));
-    firstBoard.setPiece(Position.fromString("c1"), new Rook(Color.BLACK));
-    firstBoard.setPiece(Position.fromString("h2"), new King(Color.WHITE));
-    firstBoard.setLastMove(LongAlgebraicNotation.getMoveFromString("c3c1"));
-
-    GameHistory firstGameHistory = new GameHistory();
-    firstGameHistory.startup(firstBoard);
-
-    Board secondBoard = new HashBoard();
-    secondBoard.setPiece(Position.fromString("a1"), new Rook(Color.WHITE));
-    secondBoard.setPiece(Position.fromString("b1"), new Rook(Color.WHITE));
-    secondBoard.setPiece(Position.fromString("h8"), new King(Color.BLACK));
-    secondBoard.setPiece(Position.fromString("c1"), new Rook(Color.BLACK));
-    secondBoard.setPiece(Position.fromString("h2"), new King(Color.WHITE));
-    secondBoard.setLastMove(LongAlgebraicNotation.getMoveFromString("c3c1"));
-
-    GameHistory secondGameHistory = new GameHistory();
-    secondGameHistory.startup(secondBoard);
-
-    double firstEval = Evaluation.evaluationFunc(firstBoard, secondGameHistory, Color.WHITE, false);
-    double secondEval =
-        Evaluation.evaluationFunc(secondBoard, secondGameHistory, Color.WHITE, false);
-    assertTrue(firstEval < secondEval);
-  }
-
   @Test
   void evaluationEnemyBoardTest() {
     Board firstBoard = new HashBoard();
@@ -330,9 +238,8 @@ public class EvaluationTest {
     GameHistory secondGameHistory = new GameHistory();
     secondGameHistory.startup(secondBoard);
 
-    double firstEval = Evaluation.evaluationFunc(firstBoard, secondGameHistory, Color.WHITE, true);
-    double secondEval =
-        Evaluation.evaluationFunc(secondBoard, secondGameHistory, Color.WHITE, true);
+    double firstEval = Evaluation.evaluationFunc(firstBoard, secondGameHistory, Color.WHITE);
+    double secondEval = Evaluation.evaluationFunc(secondBoard, secondGameHistory, Color.WHITE);
     assertEquals(firstEval, secondEval);
   }
 
@@ -348,7 +255,7 @@ public class EvaluationTest {
     GameHistory gameHistory = new GameHistory();
     gameHistory.startup(board);
 
-    assertEquals(1, Evaluation.evaluationFunc(board, gameHistory, Color.WHITE, true));
+    assertEquals(1, Evaluation.evaluationFunc(board, gameHistory, Color.WHITE));
   }
 
   @Test
@@ -363,7 +270,7 @@ public class EvaluationTest {
     GameHistory gameHistory = new GameHistory();
     gameHistory.startup(board);
 
-    assertEquals(-1, Evaluation.evaluationFunc(board, gameHistory, Color.WHITE, true));
+    assertEquals(-1, Evaluation.evaluationFunc(board, gameHistory, Color.WHITE));
   }
 
   @Test
@@ -379,6 +286,6 @@ public class EvaluationTest {
     gameHistory.makeMove(move);
     board.setLastMove(move);
 
-    assertEquals(0, Evaluation.evaluationFunc(board, gameHistory, Color.WHITE, true));
+    assertEquals(0, Evaluation.evaluationFunc(board, gameHistory, Color.WHITE));
   }
 }
@@ -4,15 +4,30 @@ import io.deeplay.grandmastery.checks.ChessPuzzles;
 import io.deeplay.grandmastery.core.Board;
 import io.deeplay.grandmastery.core.Game;
 import io.deeplay.grandmastery.core.GameHistory;
+import io.deeplay.grandmastery.core.HashBoard;
+import io.deeplay.grandmastery.core.IterativeDeepening;
 import io.deeplay.grandmastery.core.Move;
+import io.deeplay.grandmastery.core.MoveGenerator;
+import io.deeplay.grandmastery.core.MoveList;
+import io.deeplay.grandmastery.core.MoveOrdering;
+import io.deeplay.grandmastery.core.MoveTimeManager;
+import io.deeplay.grandmastery.core.MoveUndo;
+import io.deeplay.grandmastery.core.PackedMove;
+import io.deeplay.grandmastery.core.SelectiveSearch;
+import io.deeplay.grandmastery.core.TimeManager;
+import io.deeplay.grandmastery.core.TranspositionTable;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.GameState;
 import io.deeplay.grandmastery.exceptions.GameException;
+import io.deeplay.grandmastery.utils.Algorithms;
+import io.deeplay.grandmastery.utils.Boards;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Queue;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -20,6 +35,9 @@ import org.junit.jupiter.params.provider.MethodSource;
 public class NegaMaxTest {
   private static final int DEEP = 3;
 
+  /** На глубине 3 ложные отсечения поиска с нулевым окном не доходят до оценки корня. */
+  private static final int EVAL_DEEP = 4;
+
   /**
    * Проводит тестирование алгоритма NegaMax на шахматных задачах.
    *
@@ -64,6 +82,187 @@ public class NegaMaxTest {
     Assertions.assertEquals(expect, actualMoves, puzzleName);
   }
 
+  /**
+   * Проверяет, что поиск с главным вариантом и окнами вокруг прошлой оценки находит в задаче ту же
+   * оценку корня, что и альфа-бета с полным окном.
+   *
+   * @param color Цвет, за который играет бот.
+   * @param board Исходное состояние доски, с задачей.
+   * @param expect Ожидаемый список ходов, решающих задачу.
+   * @param enemyMoves Очередь ходов для противника.
+   * @param puzzleName Название шахматной задачи для отображения в отчете.
+   */
+  @ParameterizedTest
+  @MethodSource("chessPuzzles")
+  public void principalVariationSearchEvalTest(
+      Color color, Board board, List<Move> expect, Queue<Move> enemyMoves, String puzzleName) {
+    GameHistory gameHistory = new GameHistory();
+    gameHistory.startup(board);
+
+    MoveOrdering ordering = new MoveOrdering();
+    Quiescence quiescence =
+        new Quiescence(color, ordering, new IterativeDeepening(TimeManager.UNLIMITED));
+    double expectEval =
+        alphaBeta(
+            Boards.copyBoard(board),
+            gameHistory.getCopy(),
+            color,
+            color,
+            EVAL_DEEP,
+            Evaluation.MIN_EVAL,
+            Evaluation.MAX_EVAL,
+            ordering,
+            quiescence);
+
+    NegaMax negaMax =
+        new NegaMax(color, EVAL_DEEP, 1, new TranspositionTable(), SelectiveSearch.DISABLED);
+    negaMax.findBestMove(Boards.copyBoard(board), gameHistory);
+    negaMax.shutdownPool();
+
+    Assertions.assertEquals(expectEval, negaMax.getBestEval(), puzzleName);
+  }
+
+  @Test
+  public void principalVariationTest() {
+    Board board = new HashBoard();
+    Boards.defaultChess().accept(board);
+    GameHistory gameHistory = new GameHistory();
+    gameHistory.startup(board);
+
+    NegaMax negaMax = new NegaMax(Color.WHITE, DEEP, 2);
+    Move bestMove = negaMax.findBestMove(Boards.copyBoard(board), gameHistory);
+    List<Move> principalVariation = negaMax.getPrincipalVariation();
+    negaMax.shutdownPool();
+
+    Assertions.assertTrue(principalVariation.size() <= DEEP);
+    Assertions.assertEquals(bestMove, principalVariation.get(0));
+    Color color = Color.WHITE;
+    for (Move move : principalVariation) {
+      Assertions.assertTrue(MoveGenerator.getLegalMoves(board, color).contains(move));
+      board.makeMove(move);
+      color = color.getOpposite();
+    }
+  }
+
+  @Test
+  public void parallelLegalMoveTest() {
+    Board board = new HashBoard();
+    Boards.defaultChess().accept(board);
+    GameHistory gameHistory = new GameHistory();
+    gameHistory.startup(board);
+
+    NegaMax negaMax = new NegaMax(Color.WHITE, DEEP, 4);
+    Move bestMove = negaMax.findBestMove(Boards.copyBoard(board), gameHistory);
+    negaMax.shutdownPool();
+
+    Assertions.assertTrue(MoveGenerator.getLegalMoves(board, Color.WHITE).contains(bestMove));
+  }
+
+  /**
+   * Проверяет, что параллельный поиск находит первый ход решения задачи. Вспомогательные потоки
+   * меняют таблицу транспозиций в недетерминированном порядке, поэтому ход сравнивается с решением,
+   * а не с ходом поиска в одном потоке.
+   *
+   * @param color Цвет, за который играет бот.
+   * @param board Исходное состояние доски, с задачей.
+   * @param expect Ожидаемый список ходов, решающих задачу.
+   * @param enemyMoves Очередь ходов для противника.
+   * @param puzzleName Название шахматной задачи для отображения в отчете.
+   */
+  @ParameterizedTest
+  @MethodSource("chessPuzzles")
+  public void parallelChessPuzzlesTest(
+      Color color, Board board, List<Move> expect, Queue<Move> enemyMoves, String puzzleName) {
+    GameHistory gameHistory = new GameHistory();
+    gameHistory.startup(board);
+
+    NegaMax parallel = new NegaMax(color, DEEP, 4);
+    Move parallelMove = parallel.findBestMove(Boards.copyBoard(board), gameHistory);
+    parallel.shutdownPool();
+
+    Assertions.assertEquals(expect.get(0), parallelMove, puzzleName);
+  }
+
+  @Test
+  public void helpersStopOnTimeoutTest() {
+    Board board = new HashBoard();
+    Boards.defaultChess().accept(board);
+    GameHistory gameHistory = new GameHistory();
+    gameHistory.startup(board);
+
+    // Глубина недостижима за 100 мс: поиск обрывает время, а findBestMove ждёт помощников.
+    NegaMax negaMax = new NegaMax(Color.WHITE, 30, 4);
+    Move bestMove =
+        Assertions.assertTimeoutPreemptively(
+            Duration.ofSeconds(10),
+            () ->
+                negaMax.findBestMove(
+                    Boards.copyBoard(board), gameHistory, new MoveTimeManager(100)));
+    negaMax.shutdownPool();
+
+    Assertions.assertTrue(MoveGenerator.getLegalMoves(board, Color.WHITE).contains(bestMove));
+  }
+
+  @Test
+  public void shutdownPoolTest() {
+    NegaMax negaMax = new NegaMax(Color.WHITE, DEEP, 4);
+    Assertions.assertFalse(negaMax.isShutdownPool());
+
+    negaMax.shutdownPool();
+    Assertions.assertTrue(negaMax.isShutdownPool());
+  }
+
+  /**
+   * Альфа-бета с полным окном без таблицы транспозиций, нулевого окна и выборочного поиска, с тем
+   * же форсированным поиском на листьях, что и у NegaMax. Упорядочивание ходов только ускоряет
+   * перебор и на оценку не влияет.
+   */
+  private static double alphaBeta(
+      Board board,
+      GameHistory gameHistory,
+      Color color,
+      Color botColor,
+      int deep,
+      double alpha,
+      double beta,
+      MoveOrdering ordering,
+      Quiescence quiescence) {
+    if (deep == 0) {
+      return quiescence.search(board, gameHistory, color, alpha, beta, EVAL_DEEP);
+    }
+    if (Algorithms.isGameOver(board, gameHistory)) {
+      double signEval = color == botColor ? 1.0 : -1.0;
+      return Evaluation.evaluationFunc(board, gameHistory, botColor) * signEval;
+    }
+
+    MoveList moves = new MoveList();
+    Algorithms.getPossibleMoves(board, color, moves);
+    ordering.order(board, moves, PackedMove.NO_MOVE, EVAL_DEEP - deep);
+    double bestEval = Evaluation.MIN_EVAL;
+    for (int i = 0; i < moves.size(); i++) {
+      MoveUndo undo = Algorithms.makeMove(moves.pickBest(i), board, gameHistory);
+      double eval =
+          -alphaBeta(
+              board,
+              gameHistory,
+              color.getOpposite(),
+              botColor,
+              deep - 1,
+              -beta,
+              -alpha,
+              ordering,
+              quiescence);
+      Algorithms.unmakeMove(undo, board, gameHistory);
+
+      bestEval = Math.max(bestEval, eval);
+      alpha = Math.max(alpha, eval);
+      if (alpha >= beta) {
+        break;
+      }
+    }
+    return bestEval;
+  }
+
   /**
    * Выполняет ход в игре и добавляет его в историю.
    *
@@ -0,0 +1,83 @@
+package io.deeplay.grandmastery.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.deeplay.grandmastery.core.Board;
+import io.deeplay.grandmastery.core.GameHistory;
+import io.deeplay.grandmastery.core.HashBoard;
+import io.deeplay.grandmastery.core.IterativeDeepening;
+import io.deeplay.grandmastery.core.MoveOrdering;
+import io.deeplay.grandmastery.core.Position;
+import io.deeplay.grandmastery.core.TimeManager;
+import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.figures.King;
+import io.deeplay.grandmastery.figures.Pawn;
+import io.deeplay.grandmastery.figures.Queen;
+import io.deeplay.grandmastery.figures.Rook;
+import io.deeplay.grandmastery.utils.LongAlgebraicNotation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class QuiescenceTest {
+  private Board board;
+  private Quiescence quiescence;
+
+  @BeforeEach
+  public void init() {
+    board = new HashBoard();
+    quiescence =
+        new Quiescence(
+            Color.WHITE, new MoveOrdering(), new IterativeDeepening(TimeManager.UNLIMITED));
+  }
+
+  private double search(GameHistory gameHistory) {
+    return quiescence.search(
+        board, gameHistory, Color.WHITE, Evaluation.MIN_EVAL, Evaluation.MAX_EVAL, 0);
+  }
+
+  private GameHistory startup(String lastMove) {
+    board.setLastMove(LongAlgebraicNotation.getMoveFromString(lastMove));
+    GameHistory gameHistory = new GameHistory();
+    gameHistory.startup(board);
+    return gameHistory;
+  }
+
+  @Test
+  void hangingPieceTest() {
+    board.setPiece(Position.fromString("g1"), new King(Color.WHITE));
+    board.setPiece(Position.fromString("a1"), new Rook(Color.WHITE));
+    board.setPiece(Position.fromString("g8"), new King(Color.BLACK));
+    board.setPiece(Position.fromString("a5"), new Queen(Color.BLACK));
+    GameHistory gameHistory = startup("a6a5");
+
+    double staticEval = Evaluation.evaluationFunc(board, gameHistory, Color.WHITE);
+    double eval = search(gameHistory);
+    Assertions.assertAll(() -> assertTrue(staticEval < 0), () -> assertTrue(eval > 0));
+  }
+
+  @Test
+  void defendedPieceTest() {
+    board.setPiece(Position.fromString("g1"), new King(Color.WHITE));
+    board.setPiece(Position.fromString("a1"), new Rook(Color.WHITE));
+    board.setPiece(Position.fromString("g8"), new King(Color.BLACK));
+    board.setPiece(Position.fromString("a5"), new Pawn(Color.BLACK));
+    board.setPiece(Position.fromString("b6"), new Pawn(Color.BLACK));
+    GameHistory gameHistory = startup("g7g8");
+
+    assertEquals(Evaluation.evaluationFunc(board, gameHistory, Color.WHITE), search(gameHistory));
+  }
+
+  @Test
+  void mateTest() {
+    board.setPiece(Position.fromString("h1"), new King(Color.WHITE));
+    board.setPiece(Position.fromString("g2"), new Pawn(Color.WHITE));
+    board.setPiece(Position.fromString("h2"), new Pawn(Color.WHITE));
+    board.setPiece(Position.fromString("g8"), new King(Color.BLACK));
+    board.setPiece(Position.fromString("a1"), new Rook(Color.BLACK));
+    GameHistory gameHistory = startup("a8a1");
+
+    assertEquals(Evaluation.MIN_EVAL, search(gameHistory));
+  }
+}
@@ -1,6 +1,37 @@
+// Утилита перевода модели Keras в веса Deeplodocus. Ей нужен DL4J, поэтому она собирается в своем
+// наборе исходников и не попадает в бота.
+val export: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[export.implementationConfigurationName]
+    .extendsFrom(configurations.implementation.get())
+configurations[export.runtimeOnlyConfigurationName]
+    .extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
     implementation(project(mapOf("path" to ":game")))
     implementation(project(mapOf("path" to ":gui")))
-    implementation("org.nd4j:nd4j-native-platform:1.0.0-M2.1")
-    implementation("org.deeplearning4j:deeplearning4j-core:1.0.0-M2.1")
+    "exportImplementation"("org.deeplearning4j:deeplearning4j-modelimport:1.0.0-M2.1")
+    "exportRuntimeOnly"("org.nd4j:nd4j-native-platform:1.0.0-M2.1")
+    testImplementation(export.output)
+    testImplementation("org.nd4j:nd4j-native-platform:1.0.0-M2.1")
+    testImplementation("org.deeplearning4j:deeplearning4j-core:1.0.0-M2.1")
+}
+
+tasks.assemble {
+    dependsOn(tasks.named(export.classesTaskName))
+}
+
+tasks.register<JavaExec>("exportDenseNetwork") {
+    group = "build"
+    description = "Переводит модель Keras (-PkerasModel=путь) в веса нейросети Deeplodocus."
+    classpath = export.runtimeClasspath
+    mainClass.set("io.deeplay.grandmastery.utils.KerasModelExport")
+    args(
+        providers.gradleProperty("kerasModel")
+            .getOrElse("src/test/resources/1_400_000pos_400ep.h5"),
+        "src/main/resources/1_400_000pos_400ep.dense"
+    )
 }
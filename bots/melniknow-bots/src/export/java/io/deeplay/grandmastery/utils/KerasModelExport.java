@@ -0,0 +1,114 @@
+package io.deeplay.grandmastery.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import org.deeplearning4j.nn.conf.layers.ActivationLayer;
+import org.deeplearning4j.nn.conf.layers.BaseLayer;
+import org.deeplearning4j.nn.modelimport.keras.KerasModelImport;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.nd4j.linalg.activations.IActivation;
+import org.nd4j.linalg.activations.impl.ActivationIdentity;
+import org.nd4j.linalg.activations.impl.ActivationReLU;
+import org.nd4j.linalg.activations.impl.ActivationSigmoid;
+import org.nd4j.linalg.activations.impl.ActivationTanH;
+
+/**
+ * Утилита переводит модель Keras в формат {@link DenseNetwork}, который бот читает без DL4J и ND4J.
+ * Собирается вместе с модулем в наборе исходников {@code export} и запускается задачей:
+ *
+ * <pre>
+ * ./gradlew :bots:melniknow-bots:exportDenseNetwork -PkerasModel=путь/к/модели.h5
+ * </pre>
+ *
+ * <p>Без {@code -PkerasModel} модель берётся из ресурсов тестов. Сеть записывается в ресурсы бота,
+ * файл весов нужно закоммитить: без него Deeplodocus не входит в список ботов.
+ */
+public class KerasModelExport {
+  /**
+   * Метод переводит модель.
+   *
+   * @param args Путь к модели Keras (.h5) и путь к файлу сети
+   * @throws Exception Ошибка чтения модели или записи сети
+   */
+  public static void main(String[] args) throws Exception {
+    if (args.length != 2) {
+      throw new IllegalArgumentException("Нужны два аргумента: модель Keras и файл сети");
+    }
+
+    var network = KerasModelImport.importKerasSequentialModelAndWeights(args[0]);
+    try (var stream = new BufferedOutputStream(new FileOutputStream(args[1]))) {
+      toDenseNetwork(network).save(stream);
+    }
+  }
+
+  /**
+   * Функция извлекает из модели веса и функции активации полносвязных слоёв. Слои без весов
+   * (активация, функция потерь, dropout) добавляют свою активацию к предыдущему слою.
+   *
+   * @param network Модель DL4J
+   * @return Та же сеть для прямого прохода на float[]
+   */
+  public static DenseNetwork toDenseNetwork(MultiLayerNetwork network) {
+    var layers = new ArrayList<DenseNetwork.Layer>();
+    for (var layer : network.getLayers()) {
+      var conf = layer.conf().getLayer();
+      IActivation activationFn;
+      if (conf instanceof BaseLayer baseLayer) {
+        activationFn = baseLayer.getActivationFn();
+      } else if (conf instanceof ActivationLayer activationLayer) {
+        activationFn = activationLayer.getActivationFn();
+      } else {
+        throw new IllegalArgumentException("Неподдерживаемый слой: " + conf);
+      }
+      var activation = toActivation(activationFn);
+
+      if (layer.numParams() == 0) {
+        if (activation != DenseNetwork.Activation.IDENTITY) {
+          var last = layers.isEmpty() ? null : layers.get(layers.size() - 1);
+          if (last == null || last.activation() != DenseNetwork.Activation.IDENTITY) {
+            throw new IllegalArgumentException("Две активации подряд: " + conf);
+          }
+          layers.set(
+              layers.size() - 1,
+              new DenseNetwork.Layer(
+                  last.inputs(), last.outputs(), last.weights(), last.biases(), activation));
+        }
+        continue;
+      }
+
+      var weights = layer.getParam("W");
+      var biases = layer.getParam("b");
+      var inputs = weights.rows();
+      var outputs = weights.columns();
+      var flatWeights = new float[inputs * outputs];
+      for (int i = 0; i < inputs; i++) {
+        for (int j = 0; j < outputs; j++) {
+          flatWeights[i * outputs + j] = weights.getFloat(i, j);
+        }
+      }
+      var flatBiases = new float[outputs];
+      for (int j = 0; j < outputs; j++) {
+        flatBiases[j] = biases.getFloat(j);
+      }
+      layers.add(new DenseNetwork.Layer(inputs, outputs, flatWeights, flatBiases, activation));
+    }
+    return new DenseNetwork(layers);
+  }
+
+  private static DenseNetwork.Activation toActivation(IActivation activation) {
+    if (activation == null || activation instanceof ActivationIdentity) {
+      return DenseNetwork.Activation.IDENTITY;
+    }
+    if (activation instanceof ActivationReLU) {
+      return DenseNetwork.Activation.RELU;
+    }
+    if (activation instanceof ActivationSigmoid) {
+      return DenseNetwork.Activation.SIGMOID;
+    }
+    if (activation instanceof ActivationTanH) {
+      return DenseNetwork.Activation.TANH;
+    }
+    throw new IllegalArgumentException("Неподдерживаемая активация: " + activation);
+  }
+}
@@ -3,26 +3,25 @@ package io.deeplay.grandmastery;
 import io.deeplay.grandmastery.core.Board;
 import io.deeplay.grandmastery.core.GameHistory;
 import io.deeplay.grandmastery.core.GameStateChecker;
-import io.deeplay.grandmastery.core.HashBoard;
+import io.deeplay.grandmastery.core.IterativeDeepening;
 import io.deeplay.grandmastery.core.Move;
+import io.deeplay.grandmastery.core.PackedMove;
 import io.deeplay.grandmastery.core.Player;
 import io.deeplay.grandmastery.core.Position;
+import io.deeplay.grandmastery.core.TimeManager;
+import io.deeplay.grandmastery.core.TranspositionTable;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.FigureType;
 import io.deeplay.grandmastery.exceptions.GameException;
-import io.deeplay.grandmastery.utils.Boards;
+import io.deeplay.grandmastery.utils.BoardEncoder;
 import io.deeplay.grandmastery.utils.BotUtils;
+import io.deeplay.grandmastery.utils.DenseNetwork;
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import org.deeplearning4j.nn.modelimport.keras.KerasModelImport;
-import org.deeplearning4j.nn.modelimport.keras.exceptions.InvalidKerasConfigurationException;
-import org.deeplearning4j.nn.modelimport.keras.exceptions.UnsupportedKerasConfigurationException;
-import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
-import org.nd4j.linalg.api.ndarray.INDArray;
-import org.nd4j.linalg.factory.Nd4j;
 
 public class Deeplodocus extends Player {
   public record MovesAndEst(List<Move> moves, Integer est) {}
@@ -112,29 +111,90 @@ public class Deeplodocus extends Player {
           FigureType.KNIGHT, knight,
           FigureType.PAWN, pawn);
 
-  private static final String modelFileName = "1_400_000pos_400ep.h5";
-  private static final MultiLayerNetwork multiLayerNetwork;
-
-  static {
-    try {
-      var stream =
-          Objects.requireNonNull(
-              Deeplodocus.class.getClassLoader().getResourceAsStream(modelFileName));
-      multiLayerNetwork = KerasModelImport.importKerasSequentialModelAndWeights(stream);
-    } catch (IOException
-        | InvalidKerasConfigurationException
-        | UnsupportedKerasConfigurationException e) {
-      throw new RuntimeException(e);
+  /**
+   * Веса нейросети в формате {@link DenseNetwork#save(java.io.OutputStream)}. Файл получается из
+   * модели Keras задачей {@code exportDenseNetwork}, DL4J и ND4J при игре не нужны.
+   */
+  private static final String modelFileName = "1_400_000pos_400ep.dense";
+
+  private static final String missingModelMessage =
+      "Нет весов нейросети "
+          + modelFileName
+          + " в ресурсах бота, их создаёт из модели Keras задача"
+          + " :bots:melniknow-bots:exportDenseNetwork";
+
+  /**
+   * Нейросеть загружается при первом обращении, поэтому класс бота загружается и без файла весов:
+   * фабрика ботов проверяет {@link #isAvailable()} до создания бота.
+   */
+  private static final class Network {
+    private static final DenseNetwork denseNetwork = load();
+
+    private static DenseNetwork load() {
+      var stream = Deeplodocus.class.getClassLoader().getResourceAsStream(modelFileName);
+      if (stream == null) {
+        throw new IllegalStateException(missingModelMessage);
+      }
+      try (var input = new BufferedInputStream(stream)) {
+        return DenseNetwork.load(input);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Не удалось прочитать " + modelFileName, e);
+      }
     }
   }
 
+  /** Вход нейросети, переиспользуется между вызовами. */
+  private static final float[] denseInput = new float[BoardEncoder.INPUT_SIZE];
+
+  private static final int DEFAULT_DEEP = 3;
+
   /**
-   * Конструктор с параметрами.
+   * Вес оценки нейросети в листьях минимакса: разница между оценками 1 и 0 стоит пешку. Материал
+   * остаётся основой оценки, а нейросеть различает позиции с равным материалом.
+   */
+  private static final int NETWORK_WEIGHT = 100;
+
+  private final int deep;
+  private final TimeManager timeManager;
+  private final TranspositionTable table = new TranspositionTable();
+  private IterativeDeepening deepening = new IterativeDeepening(TimeManager.UNLIMITED);
+
+  /** Суммы первого слоя нейросети для позиции поиска, обновляются при каждом ходе минимакса. */
+  private DenseNetwork.Accumulator accumulator;
+
+  /**
+   * Конструктор с параметрами, минимакс всегда идёт на глубину 3.
    *
    * @param color Цвет
    */
   public Deeplodocus(Color color) {
+    this(color, DEFAULT_DEEP, TimeManager.UNLIMITED);
+  }
+
+  /**
+   * Конструктор с менеджером времени: минимакс углубляется итерациями, пока менеджер позволяет.
+   * Бюджет должен оставлять время на оценку нейросетью лучших ходов минимакса.
+   *
+   * @param color Цвет
+   * @param deep Наибольшая глубина минимакса
+   * @param timeManager Менеджер времени на ход
+   */
+  public Deeplodocus(Color color, int deep, TimeManager timeManager) {
     super("Deeplodocus", color);
+    if (!isAvailable()) {
+      throw new IllegalStateException(missingModelMessage);
+    }
+    this.deep = deep;
+    this.timeManager = timeManager;
+  }
+
+  /**
+   * Метод проверяет, есть ли в ресурсах веса нейросети. Без них бота создать нельзя.
+   *
+   * @return {@code true}, если файл весов есть
+   */
+  public static boolean isAvailable() {
+    return Deeplodocus.class.getClassLoader().getResource(modelFileName) != null;
   }
 
   @Override
@@ -143,28 +203,33 @@ public class Deeplodocus extends Player {
     var board = getBoard();
 
     Move resultMove = null;
+    table.newSearch();
+    var searchBoard = getBoard();
+    var history = gameHistory.getCopy();
+    var possibleMoves = BotUtils.getPossibleMoves(searchBoard, color);
+    accumulator = newAccumulator(searchBoard);
+    deepening = new IterativeDeepening(timeManager);
     var moves =
-        getBestMovesByMinimax(
-                3,
-                getBoard(),
-                color,
-                lastMove,
-                color,
-                Integer.MIN_VALUE,
-                Integer.MAX_VALUE,
-                gameHistory,
-                BotUtils.getPossibleMoves(getBoard(), color),
-                true)
+        deepening.search(
+                deep,
+                iterationDeep ->
+                    getBestMovesByMinimax(
+                        iterationDeep,
+                        searchBoard,
+                        color,
+                        lastMove,
+                        color,
+                        Integer.MIN_VALUE,
+                        Integer.MAX_VALUE,
+                        history,
+                        possibleMoves,
+                        true))
             .moves;
 
-    for (var move : moves) {
-      var tempBoard = new HashBoard();
-      Boards.copy(board).accept(tempBoard);
-
-      var piece = tempBoard.getPiece(move.from());
-      piece.move(tempBoard, move);
-
-      var out = getEvaluateByBoard(tempBoard);
+    var outputs = getEvaluateByMoves(board, moves);
+    for (int i = 0; i < moves.size(); i++) {
+      var move = moves.get(i);
+      var out = outputs[i];
 
       if (out > optimalOutput && getColor() == Color.WHITE) {
         optimalOutput = out;
@@ -192,60 +257,54 @@ public class Deeplodocus extends Player {
    * @param board Доска
    * @return Оценка нейросети [0,1]
    */
-  public static double getEvaluateByBoard(Board board) {
-    try (var input = getNdArrayFromBoard(board)) {
-      return multiLayerNetwork.output(input).toDoubleMatrix()[0][0];
-    }
+  public static synchronized double getEvaluateByBoard(Board board) {
+    BoardEncoder.fill(board, denseInput);
+    return Network.denseNetwork.evaluate(denseInput);
   }
 
   /**
-   * Переводим доску в формат, понятный нейросети.
+   * Функция оценивает нейросетью позиции после каждого хода. Ходы делаются и отменяются на самой
+   * доске, все позиции кодируются в один и тот же вход.
    *
-   * @param board Доска
-   * @return Массив (1, 768)
+   * @param board Доска до хода
+   * @param moves Ходы
+   * @return Оценки нейросети [0,1] в порядке ходов
    */
-  public static INDArray getNdArrayFromBoard(Board board) {
-    var allWhitePositions = board.getAllPiecePositionByColor(Color.WHITE);
-    var allBlackPositions = board.getAllPiecePositionByColor(Color.BLACK);
-
-    return Nd4j.concat(
-        1,
-        getNdArrayByFigureType(board, allWhitePositions, FigureType.PAWN, Color.WHITE),
-        getNdArrayByFigureType(board, allWhitePositions, FigureType.ROOK, Color.WHITE),
-        getNdArrayByFigureType(board, allWhitePositions, FigureType.KNIGHT, Color.WHITE),
-        getNdArrayByFigureType(board, allWhitePositions, FigureType.BISHOP, Color.WHITE),
-        getNdArrayByFigureType(board, allWhitePositions, FigureType.QUEEN, Color.WHITE),
-        getNdArrayByFigureType(board, allWhitePositions, FigureType.KING, Color.WHITE),
-        getNdArrayByFigureType(board, allBlackPositions, FigureType.PAWN, Color.BLACK),
-        getNdArrayByFigureType(board, allBlackPositions, FigureType.ROOK, Color.BLACK),
-        getNdArrayByFigureType(board, allBlackPositions, FigureType.KNIGHT, Color.BLACK),
-        getNdArrayByFigureType(board, allBlackPositions, FigureType.BISHOP, Color.BLACK),
-        getNdArrayByFigureType(board, allBlackPositions, FigureType.QUEEN, Color.BLACK),
-        getNdArrayByFigureType(board, allBlackPositions, FigureType.KING, Color.BLACK));
+  public static synchronized double[] getEvaluateByMoves(Board board, List<Move> moves) {
+    var result = new double[moves.size()];
+    for (int i = 0; i < moves.size(); i++) {
+      var undo = board.makeMove(moves.get(i));
+      BoardEncoder.fill(board, denseInput);
+      result[i] = Network.denseNetwork.evaluate(denseInput);
+      board.unmakeMove(undo);
+    }
+    return result;
   }
 
   /**
-   * Возвращаем массив для определённого типа и цвета фигуры.
+   * Функция создаёт аккумулятор первого слоя нейросети для позиции. Дальше в поиске ходы делаются
+   * через {@link BoardEncoder#makeMove(Board, Move, DenseNetwork.Accumulator)}, и позиция не
+   * кодируется заново в каждом узле.
    *
    * @param board Доска
-   * @param allPos Все позиции фигур для данного цвета
-   * @param figureType Тип фигуры
-   * @param color Цвет
-   * @return Массив (1, 64)
+   * @return Аккумулятор позиции
    */
-  public static INDArray getNdArrayByFigureType(
-      Board board, List<Position> allPos, FigureType figureType, Color color) {
-    var arr = Nd4j.zeros(1, 64);
-
-    for (var position : allPos) {
-      var piece = board.getPiece(position);
-      if (piece.getFigureType() == figureType) {
-        var col = position.row().value() * 8 + position.col().value();
-        arr.putScalar(0, col, color == Color.WHITE ? 1d : -1d);
-      }
-    }
+  public static DenseNetwork.Accumulator newAccumulator(Board board) {
+    var accumulator = Network.denseNetwork.newAccumulator();
+    BoardEncoder.refresh(board, accumulator);
+    return accumulator;
+  }
 
-    return arr;
+  /**
+   * Функция возвращает оценку нейросети по аккумулятору. Результат совпадает с {@link
+   * #getEvaluateByBoard(Board)} для той же позиции с точностью до округления float. У каждого
+   * аккумулятора свои массивы, поэтому функция не синхронизирована.
+   *
+   * @param accumulator Аккумулятор из {@link #newAccumulator(Board)}
+   * @return Оценка нейросети [0,1]
+   */
+  public static double getDenseEvaluate(DenseNetwork.Accumulator accumulator) {
+    return accumulator.evaluate();
   }
 
   /**
@@ -313,7 +372,7 @@ public class Deeplodocus extends Player {
    * @param beta Бета
    * @param gameHistory История партии
    * @param possibleMove Доступные ходы
-   * @param returnMoves Возвращать ли список ходов
+   * @param returnMoves Возвращать ли список ходов, в этом случае таблица транспозиций не читается
    * @return Список лучших ходов с оценкой
    */
   public MovesAndEst getBestMovesByMinimax(
@@ -327,14 +386,16 @@ public class Deeplodocus extends Player {
       GameHistory gameHistory,
       List<Move> possibleMove,
       boolean returnMoves) {
-
+    deepening.checkTime();
     var isDraw = GameStateChecker.isDraw(board, gameHistory);
     var isMate = GameStateChecker.isMate(board, currentColor);
 
     if (deep == 0 || isMate || isDraw) {
-      return new MovesAndEst(
-          new ArrayList<>(List.of(lastMove)),
-          getEstimationForBoard(board, mainColor, isDraw, isMate, currentColor));
+      var est = getEstimationForBoard(board, mainColor, isDraw, isMate, currentColor);
+      if (!isMate && !isDraw) {
+        est += getNetworkEstimation(mainColor);
+      }
+      return new MovesAndEst(new ArrayList<>(List.of(lastMove)), est);
     }
 
     var isMax = currentColor == mainColor;
@@ -344,26 +405,31 @@ public class Deeplodocus extends Player {
     if (possibleMove.isEmpty()) {
       return moveAndEst;
     }
-    for (var move : possibleMove) {
-      var tempBoard = BotUtils.getCopyBoardAfterMove(move, board);
-      tempBoard.setLastMove(move);
 
-      var tempGameHistory = gameHistory.getCopy();
-      tempGameHistory.addBoard(tempBoard);
-      tempGameHistory.makeMove(move);
+    long key = board.getZobristKey();
+    var entry = table.probe(key);
+    if (!returnMoves && entry != null && entry.canCutoff(deep, alpha, beta)) {
+      return new MovesAndEst(new ArrayList<>(List.of(lastMove)), (int) entry.score());
+    }
+
+    int startAlpha = alpha;
+    int startBeta = beta;
+    for (var move : possibleMove) {
+      var undo = BotUtils.makeMove(move, board, gameHistory, accumulator);
 
       var recursiveValue =
           getBestMovesByMinimax(
               deep - 1,
-              tempBoard,
+              board,
               currentColor.getOpposite(),
               move,
               mainColor,
               alpha,
               beta,
-              tempGameHistory,
-              BotUtils.getPossibleMoves(tempBoard, currentColor.getOpposite()),
+              gameHistory,
+              BotUtils.getPossibleMoves(board, currentColor.getOpposite()),
               false);
+      BotUtils.unmakeMove(undo, board, gameHistory, accumulator);
 
       if (isMax && !returnMoves) {
         alpha = Math.max(alpha, recursiveValue.est);
@@ -379,9 +445,27 @@ public class Deeplodocus extends Player {
         break;
       }
     }
+
+    int bestMove =
+        moveAndEst.moves.isEmpty()
+            ? PackedMove.NO_MOVE
+            : PackedMove.of(board, moveAndEst.moves.get(0));
+    table.store(key, deep, startAlpha, startBeta, moveAndEst.est, bestMove);
     return moveAndEst;
   }
 
+  /**
+   * Переводит оценку нейросети текущей позиции поиска в поправку к оценке материала.
+   *
+   * @param mainColor Цвет, для которого считается оценка
+   * @return Поправка от -NETWORK_WEIGHT / 2 до NETWORK_WEIGHT / 2
+   */
+  private int getNetworkEstimation(Color mainColor) {
+    var output = getDenseEvaluate(accumulator);
+    var est = (int) Math.round((output - 0.5) * NETWORK_WEIGHT);
+    return mainColor == Color.WHITE ? est : -est;
+  }
+
   /**
    * Возвращает ход / набор ходов и оценку.
    *
@@ -3,9 +3,16 @@ package io.deeplay.grandmastery;
 import io.deeplay.grandmastery.core.Board;
 import io.deeplay.grandmastery.core.GameHistory;
 import io.deeplay.grandmastery.core.GameStateChecker;
+import io.deeplay.grandmastery.core.IterativeDeepening;
 import io.deeplay.grandmastery.core.Move;
+import io.deeplay.grandmastery.core.MoveList;
+import io.deeplay.grandmastery.core.MoveOrdering;
+import io.deeplay.grandmastery.core.PackedMove;
 import io.deeplay.grandmastery.core.Player;
 import io.deeplay.grandmastery.core.Position;
+import io.deeplay.grandmastery.core.SelectiveSearch;
+import io.deeplay.grandmastery.core.TimeManager;
+import io.deeplay.grandmastery.core.TranspositionTable;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.FigureType;
 import io.deeplay.grandmastery.domain.GameErrorCode;
@@ -14,7 +21,10 @@ import io.deeplay.grandmastery.utils.BotUtils;
 import java.util.List;
 import java.util.Map;
 
-/** Минимакс бот с альфа-бета отсечением. */
+/**
+ * Минимакс бот с альфа-бета отсечением. Нулевой ход и сокращение поздних ходов настраиваются
+ * через {@link SelectiveSearch}.
+ */
 public class Minimaximus extends Player {
   public record MoveAndEst(Move move, Integer est) {}
 
@@ -103,17 +113,52 @@ public class Minimaximus extends Player {
           FigureType.KING,
           10000);
 
+  /** Наибольшая глубина форсированного поиска взятий. */
+  private static final int MAX_QUIESCENCE_DEEP = 16;
+
+  /** Запас для delta pruning: взятие пропускается, если даже с ним оценка не дотянет до окна. */
+  private static final int DELTA_MARGIN = 200;
+
   private final int deep;
+  private final TimeManager timeManager;
+  private final SelectiveSearch selective;
+  private final TranspositionTable table = new TranspositionTable();
+  private final MoveOrdering ordering = new MoveOrdering();
 
   /**
-   * Конструктор с параметрами.
+   * Конструктор с параметрами, поиск всегда идёт на полную глубину.
    *
    * @param color цвет
    * @param deep глубина
    */
   public Minimaximus(Color color, int deep) {
+    this(color, deep, TimeManager.UNLIMITED);
+  }
+
+  /**
+   * Конструктор с менеджером времени: поиск углубляется итерациями, пока менеджер позволяет.
+   *
+   * @param color цвет
+   * @param deep наибольшая глубина
+   * @param timeManager менеджер времени на ход
+   */
+  public Minimaximus(Color color, int deep, TimeManager timeManager) {
+    this(color, deep, timeManager, SelectiveSearch.DEFAULT);
+  }
+
+  /**
+   * Конструктор с менеджером времени и настройками выборочного поиска.
+   *
+   * @param color цвет
+   * @param deep наибольшая глубина
+   * @param timeManager менеджер времени на ход
+   * @param selective настройки нулевого хода и сокращения поздних ходов
+   */
+  public Minimaximus(Color color, int deep, TimeManager timeManager, SelectiveSearch selective) {
     super("Melniknow-minimaximus", color);
     this.deep = deep;
+    this.timeManager = timeManager;
+    this.selective = selective;
   }
 
   @Override
@@ -122,17 +167,30 @@ public class Minimaximus extends Player {
       throw GameErrorCode.GAME_ALREADY_OVER.asException();
     }
 
+    table.newSearch();
+    ordering.newSearch();
+    var board = getBoard();
+    var history = gameHistory.getCopy();
+    var possibleMoves = BotUtils.getPossibleMoves(board, color);
+    var deepening = new IterativeDeepening(timeManager);
     var moveAndEst =
-        startMiniMax(
+        deepening.search(
             deep,
-            getBoard(),
-            color,
-            lastMove,
-            color,
-            Integer.MIN_VALUE,
-            Integer.MAX_VALUE,
-            gameHistory,
-            BotUtils.getPossibleMoves(getBoard(), color));
+            iterationDeep ->
+                startMiniMax(
+                    iterationDeep,
+                    board,
+                    color,
+                    lastMove,
+                    color,
+                    Integer.MIN_VALUE,
+                    Integer.MAX_VALUE,
+                    history,
+                    possibleMoves,
+                    table,
+                    ordering,
+                    selective,
+                    deepening));
 
     this.setLastMove(moveAndEst.move);
     return moveAndEst.move;
@@ -154,6 +212,11 @@ public class Minimaximus extends Player {
    * @param alpha альфа
    * @param beta бета
    * @param gameHistory история партии
+   * @param possibleMove доступные ходы в корне
+   * @param table таблица транспозиций
+   * @param ordering упорядочивание ходов
+   * @param selective настройки нулевого хода и сокращения поздних ходов
+   * @param deepening итеративное углубление, которое прерывает поиск по времени
    * @return лучший ход и его оценка
    */
   public static MoveAndEst startMiniMax(
@@ -165,16 +228,91 @@ public class Minimaximus extends Player {
       int alpha,
       int beta,
       GameHistory gameHistory,
-      List<Move> possibleMove) {
+      List<Move> possibleMove,
+      TranspositionTable table,
+      MoveOrdering ordering,
+      SelectiveSearch selective,
+      IterativeDeepening deepening) {
+    MoveList[] moveLists = new MoveList[deep + 1];
+    for (int i = 0; i < moveLists.length; i++) {
+      moveLists[i] = new MoveList();
+    }
+    MoveList[] captureLists = new MoveList[MAX_QUIESCENCE_DEEP + 1];
+    for (int i = 0; i < captureLists.length; i++) {
+      captureLists[i] = new MoveList();
+    }
+
+    MoveList rootMoves = moveLists[deep];
+    for (Move move : possibleMove) {
+      rootMoves.add(PackedMove.of(board, move));
+    }
+    return miniMax(
+        deep,
+        board,
+        currentColor,
+        lastMove,
+        mainColor,
+        alpha,
+        beta,
+        gameHistory,
+        moveLists,
+        captureLists,
+        table,
+        ordering,
+        selective,
+        deepening);
+  }
 
+  /**
+   * Рекурсивная часть минимакса. Ходы узла лежат в списке его глубины, список заполняет родитель,
+   * а для корня - {@link #startMiniMax}. Оценки узлов сохраняются в таблицу транспозиций, и
+   * повторно встреченная позиция не перебирается, если сохранённой оценки хватает для окна.
+   * Ходы перебираются в порядке {@link MoveOrdering}, начиная с хода из таблицы. На нулевой
+   * глубине вместо оценки доски запускается {@link #quiescence}. Вне корня узел сначала пробует
+   * нулевой ход, а поздние тихие ходы проверяются на меньшей глубине с нулевым окном.
+   */
+  private static MoveAndEst miniMax(
+      int deep,
+      Board board,
+      Color currentColor,
+      Move lastMove,
+      Color mainColor,
+      int alpha,
+      int beta,
+      GameHistory gameHistory,
+      MoveList[] moveLists,
+      MoveList[] captureLists,
+      TranspositionTable table,
+      MoveOrdering ordering,
+      SelectiveSearch selective,
+      IterativeDeepening deepening) {
+    deepening.checkTime();
+    MoveList possibleMove = moveLists[deep];
     var isDraw = GameStateChecker.isDraw(board, gameHistory);
-    var isMate = GameStateChecker.isMate(board, currentColor);
+    var isMate = possibleMove.isEmpty() && GameStateChecker.isCheck(board, currentColor);
 
-    if (deep == 0 || isMate || isDraw) {
+    if (isMate || isDraw) {
       return new MoveAndEst(
           lastMove, getEstimationForBoard(board, mainColor, isDraw, isMate, currentColor));
     }
 
+    if (deep == 0) {
+      var est =
+          quiescence(
+              0,
+              moveLists.length - 1,
+              board,
+              currentColor,
+              mainColor,
+              alpha,
+              beta,
+              gameHistory,
+              captureLists,
+              ordering,
+              deepening);
+      return new MoveAndEst(lastMove, est);
+    }
+
     var isMax = currentColor == mainColor;
     var moveAndEst = new MoveAndEst(null, isMax ? Integer.MIN_VALUE : Integer.MAX_VALUE);
 
@@ -182,47 +320,255 @@ public class Minimaximus extends Player {
       return moveAndEst;
     }
 
-    for (Move move : possibleMove) {
-      var tempBoard = BotUtils.getCopyBoardAfterMove(move, board);
-      tempBoard.setLastMove(move);
-
-      var tempGameHistory = gameHistory.getCopy();
-      tempGameHistory.addBoard(tempBoard);
-      tempGameHistory.makeMove(move);
+    long key = board.getZobristKey();
+    var entry = table.probe(key);
+    if (deep != moveLists.length - 1 && entry != null && entry.canCutoff(deep, alpha, beta)) {
+      return new MoveAndEst(lastMove, (int) entry.score());
+    }
 
-      var recursiveValue =
-          startMiniMax(
-              deep - 1,
-              tempBoard,
-              currentColor.getOpposite(),
-              move,
+    var opponent = currentColor.getOpposite();
+    var isCheck = GameStateChecker.isCheck(board, currentColor);
+    if (deep != moveLists.length - 1
+        && selective.canTryNullMove(board, currentColor, deep, isCheck)) {
+      var previous = board.makeNullMove(currentColor);
+      var est =
+          childEstimation(
+              selective.nullMoveDeep(deep),
+              board,
+              opponent,
+              lastMove,
               mainColor,
-              alpha,
-              beta,
-              tempGameHistory,
-              BotUtils.getPossibleMoves(tempBoard, currentColor.getOpposite()));
+              isMax ? beta - 1 : alpha,
+              isMax ? beta : alpha + 1,
+              gameHistory,
+              moveLists,
+              captureLists,
+              table,
+              ordering,
+              selective,
+              deepening);
+      board.unmakeNullMove(previous);
+      if (isMax ? est >= beta : est <= alpha) {
+        return new MoveAndEst(lastMove, isMax ? beta : alpha);
+      }
+    }
+
+    int ply = moveLists.length - 1 - deep;
+    ordering.order(board, possibleMove, entry == null ? PackedMove.NO_MOVE : entry.move(), ply);
+
+    int startAlpha = alpha;
+    int startBeta = beta;
+    int bestMove = PackedMove.NO_MOVE;
+    for (int i = 0; i < possibleMove.size(); i++) {
+      int packed = possibleMove.pickBest(i);
+      var move = PackedMove.toMove(packed);
+      var undo = BotUtils.makeMove(move, board, gameHistory);
+
+      var reduction = selective.lateMoveReduction(board, opponent, packed, i, deep, isCheck);
+      var est = 0;
+      if (reduction > 0) {
+        est =
+            childEstimation(
+                deep - 1 - reduction,
+                board,
+                opponent,
+                move,
+                mainColor,
+                isMax ? alpha : beta - 1,
+                isMax ? alpha + 1 : beta,
+                gameHistory,
+                moveLists,
+                captureLists,
+                table,
+                ordering,
+                selective,
+                deepening);
+      }
+      if (reduction == 0 || (isMax ? est > alpha : est < beta)) {
+        est =
+            childEstimation(
+                deep - 1,
+                board,
+                opponent,
+                move,
+                mainColor,
+                alpha,
+                beta,
+                gameHistory,
+                moveLists,
+                captureLists,
+                table,
+                ordering,
+                selective,
+                deepening);
+      }
+      BotUtils.unmakeMove(undo, board, gameHistory);
 
       if (isMax) {
-        alpha = Math.max(alpha, recursiveValue.est);
-        if (moveAndEst.est < recursiveValue.est) {
-          moveAndEst = new MoveAndEst(move, recursiveValue.est);
+        alpha = Math.max(alpha, est);
+        if (moveAndEst.est < est) {
+          moveAndEst = new MoveAndEst(move, est);
+          bestMove = packed;
         }
 
       } else {
-        beta = Math.min(beta, recursiveValue.est);
-        if (moveAndEst.est > recursiveValue.est) {
-          moveAndEst = new MoveAndEst(move, recursiveValue.est);
+        beta = Math.min(beta, est);
+        if (moveAndEst.est > est) {
+          moveAndEst = new MoveAndEst(move, est);
+          bestMove = packed;
         }
       }
 
       if (beta <= alpha) {
+        ordering.addCutoff(board, packed, ply, deep);
         break;
       }
     }
 
+    table.store(key, deep, startAlpha, startBeta, moveAndEst.est, bestMove);
     return moveAndEst;
   }
 
+  /** Заполняет ходы соперника и оценивает позицию после хода на заданной глубине. */
+  private static int childEstimation(
+      int deep,
+      Board board,
+      Color currentColor,
+      Move lastMove,
+      Color mainColor,
+      int alpha,
+      int beta,
+      GameHistory gameHistory,
+      MoveList[] moveLists,
+      MoveList[] captureLists,
+      TranspositionTable table,
+      MoveOrdering ordering,
+      SelectiveSearch selective,
+      IterativeDeepening deepening) {
+    BotUtils.getPossibleMoves(board, currentColor, moveLists[deep]);
+    return miniMax(
+            deep,
+            board,
+            currentColor,
+            lastMove,
+            mainColor,
+            alpha,
+            beta,
+            gameHistory,
+            moveLists,
+            captureLists,
+            table,
+            ordering,
+            selective,
+            deepening)
+        .est;
+  }
+
+  /**
+   * Форсированный поиск на листьях минимакса: взятия доигрываются, пока позиция не успокоится.
+   * Сторона без шаха может не брать и остаться с оценкой доски (stand pat), взятие, которое даже с
+   * запасом не дотягивает до окна, не перебирается (delta pruning). Под шахом перебираются все
+   * уходы от шаха.
+   *
+   * @param deep глубина форсированного поиска
+   * @param ply расстояние от корня
+   * @param board доска
+   * @param currentColor цвет, который ходит
+   * @param mainColor цвет, для которого считается оценка
+   * @param alpha альфа
+   * @param beta бета
+   * @param gameHistory история партии
+   * @param captureLists списки взятий для каждой глубины
+   * @param ordering упорядочивание ходов
+   * @param deepening итеративное углубление, которое прерывает поиск по времени
+   * @return оценка позиции
+   */
+  private static int quiescence(
+      int deep,
+      int ply,
+      Board board,
+      Color currentColor,
+      Color mainColor,
+      int alpha,
+      int beta,
+      GameHistory gameHistory,
+      MoveList[] captureLists,
+      MoveOrdering ordering,
+      IterativeDeepening deepening) {
+    deepening.checkTime();
+    var isMax = currentColor == mainColor;
+    var isCheck = GameStateChecker.isCheck(board, currentColor);
+    var captures = captureLists[deep];
+    BotUtils.getCaptures(board, currentColor, captures);
+    if (isCheck && captures.isEmpty()) {
+      return getEstimationForBoard(board, mainColor, false, true, currentColor);
+    }
+
+    var standPat = getEstimationForBoard(board, mainColor, false, false, currentColor);
+    if (deep == captureLists.length - 1) {
+      return standPat;
+    }
+
+    var bestEst = isMax ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+    if (!isCheck) {
+      if (isMax ? standPat >= beta : standPat <= alpha) {
+        return standPat;
+      }
+      if (isMax) {
+        alpha = Math.max(alpha, standPat);
+      } else {
+        beta = Math.min(beta, standPat);
+      }
+      bestEst = standPat;
+    }
+
+    ordering.order(board, captures, PackedMove.NO_MOVE, ply);
+    for (int i = 0; i < captures.size(); i++) {
+      int packed = captures.pickBest(i);
+      if (!isCheck && PackedMove.getPromotion(packed) == null) {
+        var gain = getCapturedPrice(board, packed) + DELTA_MARGIN;
+        if (isMax ? standPat + gain <= alpha : standPat - gain >= beta) {
+          continue;
+        }
+      }
+
+      var undo = BotUtils.makeMove(PackedMove.toMove(packed), board, gameHistory);
+      var est =
+          quiescence(
+              deep + 1,
+              ply + 1,
+              board,
+              currentColor.getOpposite(),
+              mainColor,
+              alpha,
+              beta,
+              gameHistory,
+              captureLists,
+              ordering,
+              deepening);
+      BotUtils.unmakeMove(undo, board, gameHistory);
+
+      if (isMax) {
+        bestEst = Math.max(bestEst, est);
+        alpha = Math.max(alpha, est);
+      } else {
+        bestEst = Math.min(bestEst, est);
+        beta = Math.min(beta, est);
+      }
+      if (beta <= alpha) {
+        break;
+      }
+    }
+    return bestEst;
+  }
+
+  private static int getCapturedPrice(Board board, int move) {
+    if (PackedMove.getType(move) == PackedMove.EN_PASSANT) {
+      return PRICE_MAP.get(FigureType.PAWN);
+    }
+    return PRICE_MAP.get(board.getPiece(Position.of(PackedMove.getTo(move))).getFigureType());
+  }
+
   /**
    * Функция возвращает разницу оценки позиций на доске для определённого цвета.
    *
@@ -3,9 +3,16 @@ package io.deeplay.grandmastery;
 import io.deeplay.grandmastery.core.Board;
 import io.deeplay.grandmastery.core.GameHistory;
 import io.deeplay.grandmastery.core.GameStateChecker;
+import io.deeplay.grandmastery.core.IterativeDeepening;
 import io.deeplay.grandmastery.core.Move;
+import io.deeplay.grandmastery.core.MoveList;
+import io.deeplay.grandmastery.core.MoveOrdering;
+import io.deeplay.grandmastery.core.PackedMove;
 import io.deeplay.grandmastery.core.Player;
 import io.deeplay.grandmastery.core.Position;
+import io.deeplay.grandmastery.core.SelectiveSearch;
+import io.deeplay.grandmastery.core.TimeManager;
+import io.deeplay.grandmastery.core.TranspositionTable;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.FigureType;
 import io.deeplay.grandmastery.domain.GameErrorCode;
@@ -103,16 +110,45 @@ public class Negamaximus extends Player {
           10000);
 
   private final int deep;
+  private final TimeManager timeManager;
+  private final SelectiveSearch selective;
+  private final TranspositionTable table = new TranspositionTable();
+  private final MoveOrdering ordering = new MoveOrdering();
 
   /**
-   * Конструктор с параметрами.
+   * Конструктор с параметрами, поиск всегда идёт на полную глубину.
    *
    * @param color цвет
    * @param deep глубина
    */
   public Negamaximus(Color color, int deep) {
+    this(color, deep, TimeManager.UNLIMITED);
+  }
+
+  /**
+   * Конструктор с менеджером времени: поиск углубляется итерациями, пока менеджер позволяет.
+   *
+   * @param color цвет
+   * @param deep наибольшая глубина
+   * @param timeManager менеджер времени на ход
+   */
+  public Negamaximus(Color color, int deep, TimeManager timeManager) {
+    this(color, deep, timeManager, SelectiveSearch.DEFAULT);
+  }
+
+  /**
+   * Конструктор с менеджером времени и настройками выборочного поиска.
+   *
+   * @param color цвет
+   * @param deep наибольшая глубина
+   * @param timeManager менеджер времени на ход
+   * @param selective настройки нулевого хода и сокращения поздних ходов
+   */
+  public Negamaximus(Color color, int deep, TimeManager timeManager, SelectiveSearch selective) {
     super("Melniknow-negamaximus", color);
     this.deep = deep;
+    this.timeManager = timeManager;
+    this.selective = selective;
   }
 
   @Override
@@ -121,16 +157,29 @@ public class Negamaximus extends Player {
       throw GameErrorCode.GAME_ALREADY_OVER.asException();
     }
 
+    table.newSearch();
+    ordering.newSearch();
+    var board = getBoard();
+    var history = gameHistory.getCopy();
+    var possibleMoves = BotUtils.getPossibleMoves(board, color);
+    var deepening = new IterativeDeepening(timeManager);
     var moveAndEst =
-        startNegaMax(
+        deepening.search(
             deep,
-            getBoard(),
-            color,
-            lastMove,
-            Integer.MIN_VALUE,
-            Integer.MAX_VALUE,
-            gameHistory,
-            BotUtils.getPossibleMoves(getBoard(), color));
+            iterationDeep ->
+                startNegaMax(
+                    iterationDeep,
+                    board,
+                    color,
+                    lastMove,
+                    -Integer.MAX_VALUE,
+                    Integer.MAX_VALUE,
+                    history,
+                    possibleMoves,
+                    table,
+                    ordering,
+                    selective,
+                    deepening));
 
     this.setLastMove(moveAndEst.move);
     return moveAndEst.move;
@@ -142,16 +191,21 @@ public class Negamaximus extends Player {
   }
 
   /**
-   * Функция запускает алгоритм минимакса с альфа-бета отсечением.
+   * Функция запускает алгоритм негамакса с альфа-бета отсечением.
    *
    * @param deep глубина алгоритма
    * @param board доска
    * @param currentColor цвет, который ходит
    * @param lastMove последний сделанный на доске ход
-   * @param alpha альфа
+   * @param alpha альфа, не меньше {@code -Integer.MAX_VALUE}
    * @param beta бета
    * @param gameHistory история партии
-   * @return лучший ход и его оценка
+   * @param possibleMove доступные ходы в корне
+   * @param table таблица транспозиций
+   * @param ordering упорядочивание ходов
+   * @param selective настройки нулевого хода и сокращения поздних ходов
+   * @param deepening итеративное углубление, которое прерывает поиск по времени
+   * @return лучший ход и его оценка для ходящей стороны
    */
   public static MoveAndEst startNegaMax(
       int deep,
@@ -161,10 +215,63 @@ public class Negamaximus extends Player {
       int alpha,
       int beta,
       GameHistory gameHistory,
-      List<Move> possibleMove) {
+      List<Move> possibleMove,
+      TranspositionTable table,
+      MoveOrdering ordering,
+      SelectiveSearch selective,
+      IterativeDeepening deepening) {
+    MoveList[] moveLists = new MoveList[deep + 1];
+    for (int i = 0; i < moveLists.length; i++) {
+      moveLists[i] = new MoveList();
+    }
+
+    MoveList rootMoves = moveLists[deep];
+    for (Move move : possibleMove) {
+      rootMoves.add(PackedMove.of(board, move));
+    }
+    return negaMax(
+        deep,
+        board,
+        currentColor,
+        lastMove,
+        alpha,
+        beta,
+        gameHistory,
+        moveLists,
+        table,
+        ordering,
+        selective,
+        deepening);
+  }
 
+  /**
+   * Рекурсивная часть негамакса с альфа-бета отсечением (fail-soft: оценка узла может выйти за
+   * окно, и тогда она граница точной оценки). Ходы узла лежат в списке его глубины, список
+   * заполняет родитель, а для корня - {@link #startNegaMax}. Ходы перебираются в порядке {@link
+   * MoveOrdering}, начиная с хода из таблицы транспозиций. Оценки узлов сохраняются в таблицу с
+   * границей по окну, и повторно встреченная позиция не перебирается, если сохранённой оценки
+   * хватает для окна. В корне таблица не читается, потому что там нужен ход, а не только оценка.
+   * Вне корня узел сначала пробует нулевой ход, а поздние тихие ходы проверяются на меньшей
+   * глубине с нулевым окном.
+   */
+  private static MoveAndEst negaMax(
+      int deep,
+      Board board,
+      Color currentColor,
+      Move lastMove,
+      int alpha,
+      int beta,
+      GameHistory gameHistory,
+      MoveList[] moveLists,
+      TranspositionTable table,
+      MoveOrdering ordering,
+      SelectiveSearch selective,
+      IterativeDeepening deepening) {
+    deepening.checkTime();
+    MoveList possibleMove = moveLists[deep];
+    var isCheck = GameStateChecker.isCheck(board, currentColor);
     var isDraw = GameStateChecker.isDraw(board, gameHistory);
-    var isMate = GameStateChecker.isMate(board, currentColor);
+    var isMate = possibleMove.isEmpty() && isCheck;
 
     if (deep == 0 || isMate || isDraw) {
       var res =
@@ -176,46 +283,135 @@ public class Negamaximus extends Player {
       return res;
     }
 
-    var moveAndEst = new MoveAndEst(null, Integer.MIN_VALUE);
+    var moveAndEst = new MoveAndEst(null, -Integer.MAX_VALUE);
 
     if (possibleMove.isEmpty()) {
       return moveAndEst;
     }
 
-    for (Move move : possibleMove) {
-      var tempBoard = BotUtils.getCopyBoardAfterMove(move, board);
-      tempBoard.setLastMove(move);
-
-      var tempGameHistory = gameHistory.getCopy();
-      tempGameHistory.addBoard(tempBoard);
-      tempGameHistory.makeMove(move);
-
-      var recursiveValue =
-          startNegaMax(
-              deep - 1,
-              tempBoard,
-              currentColor.getOpposite(),
-              move,
+    var isRoot = deep == moveLists.length - 1;
+    long key = board.getZobristKey();
+    var entry = table.probe(key);
+    if (!isRoot && entry != null && entry.canCutoff(deep, alpha, beta)) {
+      return new MoveAndEst(lastMove, (int) entry.score());
+    }
+
+    var opponent = currentColor.getOpposite();
+    if (!isRoot && selective.canTryNullMove(board, currentColor, deep, isCheck)) {
+      var previous = board.makeNullMove(currentColor);
+      var est =
+          -childEstimation(
+              selective.nullMoveDeep(deep),
+              board,
+              opponent,
+              lastMove,
               -beta,
-              -alpha,
-              tempGameHistory,
-              BotUtils.getPossibleMoves(tempBoard, currentColor.getOpposite()));
-      recursiveValue = new MoveAndEst(recursiveValue.move, -recursiveValue.est);
+              -beta + 1,
+              gameHistory,
+              moveLists,
+              table,
+              ordering,
+              selective,
+              deepening);
+      board.unmakeNullMove(previous);
+      if (est >= beta) {
+        return new MoveAndEst(lastMove, beta);
+      }
+    }
+
+    int ply = moveLists.length - 1 - deep;
+    ordering.order(board, possibleMove, entry == null ? PackedMove.NO_MOVE : entry.move(), ply);
+
+    int startAlpha = alpha;
+    int bestMove = PackedMove.NO_MOVE;
+    for (int i = 0; i < possibleMove.size(); i++) {
+      int packed = possibleMove.pickBest(i);
+      var move = PackedMove.toMove(packed);
+      var undo = BotUtils.makeMove(move, board, gameHistory);
 
-      if (recursiveValue.est > moveAndEst.est) {
-        moveAndEst = new MoveAndEst(move, recursiveValue.est);
+      var reduction = selective.lateMoveReduction(board, opponent, packed, i, deep, isCheck);
+      var est = 0;
+      if (reduction > 0) {
+        est =
+            -childEstimation(
+                deep - 1 - reduction,
+                board,
+                opponent,
+                move,
+                -alpha - 1,
+                -alpha,
+                gameHistory,
+                moveLists,
+                table,
+                ordering,
+                selective,
+                deepening);
       }
+      if (reduction == 0 || est > alpha) {
+        est =
+            -childEstimation(
+                deep - 1,
+                board,
+                opponent,
+                move,
+                -beta,
+                -alpha,
+                gameHistory,
+                moveLists,
+                table,
+                ordering,
+                selective,
+                deepening);
+      }
+      BotUtils.unmakeMove(undo, board, gameHistory);
 
-      alpha = Math.max(alpha, recursiveValue.est);
+      if (est > moveAndEst.est) {
+        moveAndEst = new MoveAndEst(move, est);
+        bestMove = packed;
+      }
 
-      //      if (alpha >= beta) {
-      //        break;
-      //      }
+      alpha = Math.max(alpha, est);
+      if (alpha >= beta) {
+        ordering.addCutoff(board, packed, ply, deep);
+        break;
+      }
     }
 
+    table.store(key, deep, startAlpha, beta, moveAndEst.est, bestMove);
     return moveAndEst;
   }
 
+  /** Заполняет ходы соперника и оценивает позицию после хода на заданной глубине. */
+  private static int childEstimation(
+      int deep,
+      Board board,
+      Color currentColor,
+      Move lastMove,
+      int alpha,
+      int beta,
+      GameHistory gameHistory,
+      MoveList[] moveLists,
+      TranspositionTable table,
+      MoveOrdering ordering,
+      SelectiveSearch selective,
+      IterativeDeepening deepening) {
+    BotUtils.getPossibleMoves(board, currentColor, moveLists[deep]);
+    return negaMax(
+            deep,
+            board,
+            currentColor,
+            lastMove,
+            alpha,
+            beta,
+            gameHistory,
+            moveLists,
+            table,
+            ordering,
+            selective,
+            deepening)
+        .est;
+  }
+
   /**
    * Функция возвращает разницу оценки позиций на доске для определённого цвета.
    *
@@ -0,0 +1,131 @@
+package io.deeplay.grandmastery.utils;
+
+import io.deeplay.grandmastery.core.Board;
+import io.deeplay.grandmastery.core.Move;
+import io.deeplay.grandmastery.core.MoveUndo;
+import io.deeplay.grandmastery.core.Position;
+import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.domain.FigureType;
+import io.deeplay.grandmastery.figures.Piece;
+import java.util.Arrays;
+
+/**
+ * Кодирование доски во вход нейросети оценки: 12 плоскостей по 64 клетки, сначала плоскости
+ * белых фигур, затем чёрных. Клетка с фигурой - 1 для белых и -1 для чёрных, остальные - 0.
+ *
+ * <p>Кроме полного кодирования класс обновляет {@link DenseNetwork.Accumulator} при ходе: ход
+ * убирает фигуру с одной клетки и ставит на другую, при взятии убирает взятую фигуру, при рокировке
+ * переставляет ладью.
+ */
+public class BoardEncoder {
+  /** Порядок плоскостей фигур одного цвета. */
+  private static final FigureType[] PLANES = {
+    FigureType.PAWN,
+    FigureType.ROOK,
+    FigureType.KNIGHT,
+    FigureType.BISHOP,
+    FigureType.QUEEN,
+    FigureType.KING
+  };
+
+  /** Размер входа нейросети. */
+  public static final int INPUT_SIZE = 2 * PLANES.length * 64;
+
+  /**
+   * Функция возвращает номер входа для фигуры на клетке.
+   *
+   * @param piece Фигура
+   * @param position Клетка
+   * @return Номер входа
+   */
+  public static int inputIndex(Piece piece, Position position) {
+    var offset = piece.getColor() == Color.WHITE ? 0 : PLANES.length * 64;
+    var square = position.row().value() * 8 + position.col().value();
+    for (int i = 0; i < PLANES.length; i++) {
+      if (PLANES[i] == piece.getFigureType()) {
+        return offset + i * 64 + square;
+      }
+    }
+    throw new IllegalArgumentException(piece.getFigureType().name());
+  }
+
+  /**
+   * Функция возвращает значение входа для фигуры.
+   *
+   * @param piece Фигура
+   * @return 1 для белой фигуры, -1 для чёрной
+   */
+  public static float inputValue(Piece piece) {
+    return piece.getColor() == Color.WHITE ? 1f : -1f;
+  }
+
+  /**
+   * Функция кодирует доску во вход нейросети.
+   *
+   * @param board Доска
+   * @param input Вход размера {@link #INPUT_SIZE}, заполняется заново
+   */
+  public static void fill(Board board, float[] input) {
+    Arrays.fill(input, 0f);
+    for (var position : board.getAllPiecePosition()) {
+      var piece = board.getPiece(position);
+      input[inputIndex(piece, position)] = inputValue(piece);
+    }
+  }
+
+  /**
+   * Функция заново считает суммы аккумулятора по всем фигурам доски и сбрасывает его стек.
+   *
+   * @param board Доска
+   * @param accumulator Аккумулятор
+   */
+  public static void refresh(Board board, DenseNetwork.Accumulator accumulator) {
+    accumulator.clear();
+    for (var position : board.getAllPiecePosition()) {
+      update(accumulator, board.getPiece(position), position, 1f);
+    }
+  }
+
+  /**
+   * Функция делает ход на доске и обновляет аккумулятор только по изменившимся клеткам.
+   *
+   * @param board Доска
+   * @param move Ход
+   * @param accumulator Аккумулятор позиции до хода
+   * @return Запись для {@link #unmakeMove(Board, MoveUndo, DenseNetwork.Accumulator)}
+   */
+  public static MoveUndo makeMove(Board board, Move move, DenseNetwork.Accumulator accumulator) {
+    var undo = board.makeMove(move);
+    accumulator.push();
+    update(accumulator, undo.piece(), move.from(), -1f);
+    if (undo.captured() != null) {
+      update(accumulator, undo.captured(), undo.capturePosition(), -1f);
+    }
+    update(accumulator, board.getPiece(move.to()), move.to(), 1f);
+
+    var rookMove = undo.rookMove();
+    if (rookMove != null) {
+      var rook = board.getPiece(rookMove.to());
+      update(accumulator, rook, rookMove.from(), -1f);
+      update(accumulator, rook, rookMove.to(), 1f);
+    }
+    return undo;
+  }
+
+  /**
+   * Функция отменяет ход и возвращает аккумулятор к позиции до хода.
+   *
+   * @param board Доска
+   * @param undo Запись, которую вернул {@link #makeMove(Board, Move, DenseNetwork.Accumulator)}
+   * @param accumulator Аккумулятор
+   */
+  public static void unmakeMove(Board board, MoveUndo undo, DenseNetwork.Accumulator accumulator) {
+    board.unmakeMove(undo);
+    accumulator.pop();
+  }
+
+  private static void update(
+      DenseNetwork.Accumulator accumulator, Piece piece, Position position, float sign) {
+    accumulator.add(inputIndex(piece, position), sign * inputValue(piece));
+  }
+}
@@ -1,11 +1,12 @@
 package io.deeplay.grandmastery.utils;
 
 import io.deeplay.grandmastery.core.Board;
-import io.deeplay.grandmastery.core.HashBoard;
+import io.deeplay.grandmastery.core.GameHistory;
 import io.deeplay.grandmastery.core.Move;
-import io.deeplay.grandmastery.core.Position;
+import io.deeplay.grandmastery.core.MoveGenerator;
+import io.deeplay.grandmastery.core.MoveList;
+import io.deeplay.grandmastery.core.MoveUndo;
 import io.deeplay.grandmastery.domain.Color;
-import java.util.ArrayList;
 import java.util.List;
 
 /** Класс-утилита для ботов. */
@@ -18,14 +19,30 @@ public class BotUtils {
    * @return Список ходов
    */
   public static List<Move> getPossibleMoves(Board board, Color color) {
-    var possibleMove = new ArrayList<Move>();
-    var positions = board.getAllPiecePositionByColor(color);
+    return MoveGenerator.getLegalMoves(board, color);
+  }
 
-    for (Position position : positions) {
-      possibleMove.addAll(board.getPiece(position).getAllMoves(board, position));
-    }
+  /**
+   * Функция записывает в список доступные ходы для определённого цвета в упакованном виде.
+   *
+   * @param board Доска
+   * @param color Цвет
+   * @param moves Список, который очищается и заполняется ходами
+   */
+  public static void getPossibleMoves(Board board, Color color, MoveList moves) {
+    MoveGenerator.generateLegalMoves(board, color, moves);
+  }
 
-    return possibleMove;
+  /**
+   * Функция записывает в список взятия и превращения для определённого цвета, а если королю шах -
+   * все уходы от шаха.
+   *
+   * @param board Доска
+   * @param color Цвет
+   * @param moves Список, который очищается и заполняется ходами
+   */
+  public static void getCaptures(Board board, Color color, MoveList moves) {
+    MoveGenerator.generateCaptures(board, color, moves);
   }
 
   /**
@@ -36,11 +53,72 @@ public class BotUtils {
    * @return Новая доска
    */
   public static Board getCopyBoardAfterMove(Move move, Board board) {
-    var tempBoard = new HashBoard();
-    Boards.copy(board).accept(tempBoard);
+    var tempBoard = Boards.copyBoard(board);
     var piece = tempBoard.getPiece(move.from());
     piece.move(tempBoard, move);
 
     return tempBoard;
   }
+
+  /**
+   * Функция делает ход на самой доске и записывает его в историю партии, без копирования.
+   *
+   * @param move Ход
+   * @param board Доска
+   * @param gameHistory История партии
+   * @return Запись для отмены хода
+   */
+  public static MoveUndo makeMove(Move move, Board board, GameHistory gameHistory) {
+    var undo = board.makeMove(move);
+    gameHistory.addBoard(board);
+    gameHistory.makeMove(move);
+
+    return undo;
+  }
+
+  /**
+   * Функция отменяет ход, сделанный через {@link #makeMove(Move, Board, GameHistory)}.
+   *
+   * @param undo Запись для отмены хода
+   * @param board Доска
+   * @param gameHistory История партии
+   */
+  public static void unmakeMove(MoveUndo undo, Board board, GameHistory gameHistory) {
+    gameHistory.rollback();
+    board.unmakeMove(undo);
+  }
+
+  /**
+   * Функция делает ход на самой доске, записывает его в историю партии и обновляет аккумулятор
+   * нейросети по изменившимся клеткам.
+   *
+   * @param move Ход
+   * @param board Доска
+   * @param gameHistory История партии
+   * @param accumulator Аккумулятор позиции до хода
+   * @return Запись для отмены хода
+   */
+  public static MoveUndo makeMove(
+      Move move, Board board, GameHistory gameHistory, DenseNetwork.Accumulator accumulator) {
+    var undo = BoardEncoder.makeMove(board, move, accumulator);
+    gameHistory.addBoard(board);
+    gameHistory.makeMove(move);
+
+    return undo;
+  }
+
+  /**
+   * Функция отменяет ход, сделанный через {@link #makeMove(Move, Board, GameHistory,
+   * DenseNetwork.Accumulator)}.
+   *
+   * @param undo Запись для отмены хода
+   * @param board Доска
+   * @param gameHistory История партии
+   * @param accumulator Аккумулятор
+   */
+  public static void unmakeMove(
+      MoveUndo undo, Board board, GameHistory gameHistory, DenseNetwork.Accumulator accumulator) {
+    gameHistory.rollback();
+    BoardEncoder.unmakeMove(board, undo, accumulator);
+  }
 }
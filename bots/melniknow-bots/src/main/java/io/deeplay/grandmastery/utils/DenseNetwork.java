@@ -0,0 +1,288 @@
+package io.deeplay.grandmastery.utils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Полносвязная нейросеть (последовательность слоёв Dense) с прямым проходом на массивах float.
+ *
+ * <p>Веса слоя хранятся как в Keras и DL4J: матрица (входы, выходы) построчно. Проход идёт по
+ * входам, и нулевые входы пропускаются: у доски из 768 входов ненулевых не больше 32, а после ReLU
+ * нулей тоже много. Массивы для выходов слоёв выделяются один раз при создании сети, поэтому
+ * {@link #evaluate(float[])} ничего не выделяет, но и вызывать его можно только из одного потока.
+ *
+ * <p>Для поиска по дереву есть {@link Accumulator}: он хранит суммы первого слоя и обновляет их
+ * при ходе только по изменившимся входам, а остальные слои считаются от готовых сумм. У каждого
+ * аккумулятора свои массивы для выходов слоёв, так что аккумуляторы одной сети можно использовать
+ * из разных потоков.
+ *
+ * <p>Сеть сохраняется в простой двоичный формат, который читается без DL4J и ND4J.
+ */
+public class DenseNetwork {
+  /** Функции активации слоёв. */
+  public enum Activation {
+    IDENTITY,
+    RELU,
+    SIGMOID,
+    TANH;
+
+    float apply(float x) {
+      return switch (this) {
+        case IDENTITY -> x;
+        case RELU -> Math.max(x, 0f);
+        case SIGMOID -> (float) (1 / (1 + Math.exp(-x)));
+        case TANH -> (float) Math.tanh(x);
+      };
+    }
+  }
+
+  /**
+   * Слой сети: выход {@code activation(input * weights + biases)}.
+   *
+   * @param inputs Число входов
+   * @param outputs Число выходов
+   * @param weights Веса, элемент (i, j) - {@code weights[i * outputs + j]}
+   * @param biases Смещения, по одному на выход
+   * @param activation Функция активации
+   */
+  public record Layer(
+      int inputs, int outputs, float[] weights, float[] biases, Activation activation) {
+    /** Проверяет размеры массивов. */
+    public Layer {
+      if (weights.length != inputs * outputs || biases.length != outputs) {
+        throw new IllegalArgumentException("Размеры весов не совпадают с размерами слоя");
+      }
+    }
+  }
+
+  /** Метка в начале файла сети. */
+  private static final int MAGIC = 0x444E4E31;
+
+  private final Layer[] layers;
+
+  /** Выходы слоёв, переиспользуются между вызовами. */
+  private final float[][] outputs;
+
+  /**
+   * Конструктор.
+   *
+   * @param layers Слои от входа к выходу, выходы каждого слоя - входы следующего
+   */
+  public DenseNetwork(List<Layer> layers) {
+    if (layers.isEmpty()) {
+      throw new IllegalArgumentException("В сети нет слоёв");
+    }
+
+    this.layers = layers.toArray(new Layer[0]);
+    for (int i = 1; i < this.layers.length; i++) {
+      if (this.layers[i].inputs() != this.layers[i - 1].outputs()) {
+        throw new IllegalArgumentException("Размеры соседних слоёв не совпадают");
+      }
+    }
+    this.outputs = newOutputs();
+  }
+
+  /** Создаёт массивы для выходов всех слоёв. */
+  private float[][] newOutputs() {
+    var result = new float[layers.length][];
+    for (int i = 0; i < layers.length; i++) {
+      result[i] = new float[layers[i].outputs()];
+    }
+    return result;
+  }
+
+  /**
+   * Метод возвращает число входов сети.
+   *
+   * @return Число входов
+   */
+  public int getInputSize() {
+    return layers[0].inputs();
+  }
+
+  /**
+   * Метод выполняет прямой проход и возвращает первый выход последнего слоя.
+   *
+   * @param input Входы сети, массив не меняется
+   * @return Выход сети
+   */
+  public float evaluate(float[] input) {
+    sum(layers[0], input, outputs[0]);
+    return evaluateFromSums(outputs[0], outputs);
+  }
+
+  /**
+   * Метод создаёт аккумулятор первого слоя этой сети.
+   *
+   * @return Аккумулятор с суммами для позиции без фигур (только смещения)
+   */
+  public Accumulator newAccumulator() {
+    return new Accumulator();
+  }
+
+  /** Досчитывает сеть от сумм первого слоя (до активации), выходы слоёв пишутся в buffers. */
+  private float evaluateFromSums(float[] sums, float[][] buffers) {
+    activate(layers[0], sums, buffers[0]);
+    for (int i = 1; i < layers.length; i++) {
+      sum(layers[i], buffers[i - 1], buffers[i]);
+      activate(layers[i], buffers[i], buffers[i]);
+    }
+    return buffers[layers.length - 1][0];
+  }
+
+  private static void sum(Layer layer, float[] input, float[] output) {
+    int size = layer.outputs();
+    float[] weights = layer.weights();
+    System.arraycopy(layer.biases(), 0, output, 0, size);
+    for (int i = 0; i < layer.inputs(); i++) {
+      float x = input[i];
+      if (x == 0f) {
+        continue;
+      }
+      int row = i * size;
+      for (int j = 0; j < size; j++) {
+        output[j] += x * weights[row + j];
+      }
+    }
+  }
+
+  private static void activate(Layer layer, float[] sums, float[] output) {
+    for (int j = 0; j < layer.outputs(); j++) {
+      output[j] = layer.activation().apply(sums[j]);
+    }
+  }
+
+  /**
+   * Суммы первого слоя (до активации) для текущей позиции поиска. Ход меняет не больше четырёх
+   * входов, поэтому суммы обновляются через {@link #add(int, float)} по строкам весов этих входов,
+   * а не считаются заново по всем входам.
+   *
+   * <p>Суммы хранятся стеком по глубине: перед ходом вызывается {@link #push()}, после отмены хода
+   * - {@link #pop()}, и суммы до хода не нужно пересчитывать обратно. Стек растёт при нехватке
+   * места, в остальном аккумулятор ничего не выделяет. Один аккумулятор - один поток.
+   */
+  public class Accumulator {
+    private final float[][] buffers = newOutputs();
+    private float[][] stack = new float[64][];
+    private int top;
+
+    private Accumulator() {
+      for (int i = 0; i < stack.length; i++) {
+        stack[i] = new float[layers[0].outputs()];
+      }
+      clear();
+    }
+
+    /** Метод сбрасывает стек и оставляет суммы для входа из одних нулей. */
+    public void clear() {
+      top = 0;
+      System.arraycopy(layers[0].biases(), 0, stack[0], 0, stack[0].length);
+    }
+
+    /**
+     * Метод прибавляет к входу сети значение.
+     *
+     * @param input Номер входа
+     * @param value Изменение входа
+     */
+    public void add(int input, float value) {
+      float[] sums = stack[top];
+      float[] weights = layers[0].weights();
+      int row = input * sums.length;
+      for (int j = 0; j < sums.length; j++) {
+        sums[j] += value * weights[row + j];
+      }
+    }
+
+    /** Метод запоминает текущие суммы, следующие изменения делаются над их копией. */
+    public void push() {
+      if (top + 1 == stack.length) {
+        int size = stack.length;
+        stack = Arrays.copyOf(stack, size * 2);
+        for (int i = size; i < stack.length; i++) {
+          stack[i] = new float[stack[0].length];
+        }
+      }
+      System.arraycopy(stack[top], 0, stack[top + 1], 0, stack[top].length);
+      top++;
+    }
+
+    /** Метод возвращает суммы, запомненные последним {@link #push()}. */
+    public void pop() {
+      if (top == 0) {
+        throw new IllegalStateException("Стек аккумулятора пуст");
+      }
+      top--;
+    }
+
+    /**
+     * Метод досчитывает сеть от текущих сумм.
+     *
+     * @return Выход сети
+     */
+    public float evaluate() {
+      return evaluateFromSums(stack[top], buffers);
+    }
+  }
+
+  /**
+   * Метод сохраняет сеть в двоичном формате.
+   *
+   * @param stream Поток, он не закрывается
+   * @throws IOException Ошибка записи
+   */
+  public void save(OutputStream stream) throws IOException {
+    var out = new DataOutputStream(stream);
+    out.writeInt(MAGIC);
+    out.writeInt(layers.length);
+    for (var layer : layers) {
+      out.writeInt(layer.inputs());
+      out.writeInt(layer.outputs());
+      out.writeInt(layer.activation().ordinal());
+      for (var weight : layer.weights()) {
+        out.writeFloat(weight);
+      }
+      for (var bias : layer.biases()) {
+        out.writeFloat(bias);
+      }
+    }
+    out.flush();
+  }
+
+  /**
+   * Метод читает сеть, сохранённую через {@link #save(OutputStream)}.
+   *
+   * @param stream Поток, он не закрывается
+   * @return Сеть
+   * @throws IOException Ошибка чтения или поток не содержит сеть
+   */
+  public static DenseNetwork load(InputStream stream) throws IOException {
+    var in = new DataInputStream(stream);
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Поток не содержит полносвязную сеть");
+    }
+
+    var count = in.readInt();
+    var layers = new Layer[count];
+    for (int i = 0; i < count; i++) {
+      var inputs = in.readInt();
+      var outputs = in.readInt();
+      var activation = Activation.values()[in.readInt()];
+      var weights = new float[inputs * outputs];
+      for (int j = 0; j < weights.length; j++) {
+        weights[j] = in.readFloat();
+      }
+      var biases = new float[outputs];
+      for (int j = 0; j < biases.length; j++) {
+        biases[j] = in.readFloat();
+      }
+      layers[i] = new Layer(inputs, outputs, weights, biases, activation);
+    }
+    return new DenseNetwork(List.of(layers));
+  }
+}
@@ -1,17 +1,36 @@
 package io.deeplay.grandmastery;
 
 import io.deeplay.grandmastery.core.GameController;
+import io.deeplay.grandmastery.core.HashBoard;
+import io.deeplay.grandmastery.core.Move;
 import io.deeplay.grandmastery.core.Randomus;
 import io.deeplay.grandmastery.domain.ChessType;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.GameState;
+import io.deeplay.grandmastery.utils.BotUtils;
+import io.deeplay.grandmastery.utils.Boards;
 import java.util.ArrayList;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 
 class DeeplodocusTest {
+  private static void assumeWeights() {
+    Assumptions.assumeTrue(Deeplodocus.isAvailable(), "Нет весов нейросети в ресурсах бота");
+  }
+
+  @Test
+  void missingWeightsTest() {
+    Assumptions.assumeFalse(Deeplodocus.isAvailable(), "Веса нейросети есть в ресурсах бота");
+
+    var exception =
+        Assertions.assertThrows(IllegalStateException.class, () -> new Deeplodocus(Color.WHITE));
+    Assertions.assertTrue(exception.getMessage().contains("exportDenseNetwork"));
+  }
+
   @Test
   void winTest() {
+    assumeWeights();
     var result = new ArrayList<GameState>();
 
     var gameController =
@@ -25,4 +44,26 @@ class DeeplodocusTest {
 
     Assertions.assertTrue(result.stream().allMatch(gameState -> gameState == GameState.WHITE_WIN));
   }
+
+  @Test
+  void evaluateByMovesTest() {
+    assumeWeights();
+    var board = new HashBoard();
+    Boards.defaultChess().accept(board);
+    var hash = board.getZobristKey();
+
+    // 20 ходов начальной позиции четыре раза подряд: 80 позиций за один вызов.
+    var moves = new ArrayList<Move>();
+    for (int i = 0; i < 4; i++) {
+      moves.addAll(BotUtils.getPossibleMoves(board, Color.WHITE));
+    }
+    var outputs = Deeplodocus.getEvaluateByMoves(board, moves);
+
+    Assertions.assertEquals(moves.size(), outputs.length);
+    Assertions.assertEquals(hash, board.getZobristKey());
+    for (int i = 0; i < moves.size(); i++) {
+      var after = BotUtils.getCopyBoardAfterMove(moves.get(i), board);
+      Assertions.assertEquals(Deeplodocus.getEvaluateByBoard(after), outputs[i]);
+    }
+  }
 }
@@ -1,15 +1,34 @@
 package io.deeplay.grandmastery;
 
+import io.deeplay.grandmastery.core.Board;
 import io.deeplay.grandmastery.core.GameController;
+import io.deeplay.grandmastery.core.GameHistory;
+import io.deeplay.grandmastery.core.GameStateChecker;
+import io.deeplay.grandmastery.core.HashBoard;
+import io.deeplay.grandmastery.core.IterativeDeepening;
+import io.deeplay.grandmastery.core.Move;
+import io.deeplay.grandmastery.core.MoveOrdering;
 import io.deeplay.grandmastery.core.Randomus;
+import io.deeplay.grandmastery.core.SelectiveSearch;
+import io.deeplay.grandmastery.core.TimeManager;
+import io.deeplay.grandmastery.core.TranspositionTable;
 import io.deeplay.grandmastery.domain.ChessType;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.GameState;
+import io.deeplay.grandmastery.utils.BotUtils;
+import io.deeplay.grandmastery.utils.Boards;
+import io.deeplay.grandmastery.utils.LongAlgebraicNotation;
 import java.util.ArrayList;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class NegamaximusTest {
+  private static final int DEEP = 3;
+
+  private long fullWidthNodes;
+
   @Test
   void winTest() {
     var countTest = 3;
@@ -28,4 +47,76 @@ class NegamaximusTest {
 
     Assertions.assertTrue(result.stream().allMatch(gameState -> gameState == GameState.WHITE_WIN));
   }
+
+  /**
+   * Сравнивает негамакс с отсечениями и полный перебор на той же глубине: оценка корня должна
+   * совпасть, а узлов с отсечениями должно быть меньше.
+   *
+   * @param moves Ходы из начальной позиции, после которых начинается поиск
+   */
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "e2e4",
+        "e2e4,e7e5,g1f3,b8c6,f1c4,g8f6",
+        "e2e4,d7d5,e4d5,d8d5,b1c3",
+        "d2d4,g8f6,c2c4,e7e6,b1c3,f8b4,d1c2"
+      })
+  void alphaBetaTest(String moves) {
+    Board board = new HashBoard();
+    Boards.defaultChess().accept(board);
+    var history = new GameHistory();
+    history.startup(board);
+    var color = Color.WHITE;
+    for (Move move : LongAlgebraicNotation.getMovesFromString(moves)) {
+      BotUtils.makeMove(move, board, history);
+      color = color.getOpposite();
+    }
+
+    fullWidthNodes = 0;
+    var fullWidthEst = fullWidth(board, history.getCopy(), color, DEEP);
+
+    var deepening = new IterativeDeepening(TimeManager.UNLIMITED);
+    var moveAndEst =
+        Negamaximus.startNegaMax(
+            DEEP,
+            board,
+            color,
+            board.getLastMove(),
+            -Integer.MAX_VALUE,
+            Integer.MAX_VALUE,
+            history.getCopy(),
+            BotUtils.getPossibleMoves(board, color),
+            new TranspositionTable(),
+            new MoveOrdering(),
+            SelectiveSearch.DISABLED,
+            deepening);
+
+    var nodes =
+        String.format(
+            "[%s] полный перебор: %d узлов, альфа-бета: %d узлов",
+            moves, fullWidthNodes, deepening.getNodes());
+    Assertions.assertAll(
+        () -> Assertions.assertEquals(fullWidthEst, (int) moveAndEst.est(), nodes),
+        () -> Assertions.assertTrue(deepening.getNodes() < fullWidthNodes, nodes));
+  }
+
+  /** Негамакс без отсечений и таблицы транспозиций. */
+  private int fullWidth(Board board, GameHistory history, Color color, int deep) {
+    fullWidthNodes++;
+    var isMate = GameStateChecker.isMate(board, color);
+    var isDraw = GameStateChecker.isDraw(board, history);
+    if (deep == 0 || isMate || isDraw) {
+      var est = Negamaximus.getEstimationForBoard(board, isDraw, isMate, color);
+      return color == Color.BLACK ? -est : est;
+    }
+
+    var best = -Integer.MAX_VALUE;
+    for (Move move : BotUtils.getPossibleMoves(board, color)) {
+      var undo = BotUtils.makeMove(move, board, history);
+      best = Math.max(best, -fullWidth(board, history, color.getOpposite(), deep - 1));
+      BotUtils.unmakeMove(undo, board, history);
+    }
+    return best;
+  }
 }
@@ -0,0 +1,108 @@
+package io.deeplay.grandmastery.utils;
+
+import io.deeplay.grandmastery.core.Board;
+import io.deeplay.grandmastery.core.HashBoard;
+import io.deeplay.grandmastery.core.Move;
+import io.deeplay.grandmastery.core.MoveUndo;
+import io.deeplay.grandmastery.domain.Color;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BoardEncoderTest {
+  private final float[] input = new float[BoardEncoder.INPUT_SIZE];
+  private DenseNetwork network;
+  private Board board;
+
+  @BeforeEach
+  void init() {
+    var random = new Random(1);
+    var hiddenWeights = new float[BoardEncoder.INPUT_SIZE * 16];
+    for (int i = 0; i < hiddenWeights.length; i++) {
+      hiddenWeights[i] = random.nextFloat() - 0.5f;
+    }
+    var outputWeights = new float[16];
+    for (int i = 0; i < outputWeights.length; i++) {
+      outputWeights[i] = random.nextFloat() - 0.5f;
+    }
+
+    network =
+        new DenseNetwork(
+            List.of(
+                new DenseNetwork.Layer(
+                    BoardEncoder.INPUT_SIZE,
+                    16,
+                    hiddenWeights,
+                    new float[16],
+                    DenseNetwork.Activation.RELU),
+                new DenseNetwork.Layer(
+                    16, 1, outputWeights, new float[] {0.1f}, DenseNetwork.Activation.IDENTITY)));
+    board = new HashBoard();
+    Boards.defaultChess().accept(board);
+  }
+
+  private float evaluate() {
+    BoardEncoder.fill(board, input);
+    return network.evaluate(input);
+  }
+
+  @Test
+  void castlingTest() {
+    var accumulator = network.newAccumulator();
+    BoardEncoder.refresh(board, accumulator);
+    var start = evaluate();
+
+    var undos = new ArrayDeque<MoveUndo>();
+    for (Move move :
+        LongAlgebraicNotation.getMovesFromString("e2e4,e7e5,g1f3,b8c6,f1c4,f8c5,e1g1")) {
+      undos.push(BoardEncoder.makeMove(board, move, accumulator));
+      Assertions.assertEquals(evaluate(), accumulator.evaluate(), 1e-4);
+    }
+
+    while (!undos.isEmpty()) {
+      BoardEncoder.unmakeMove(board, undos.pop(), accumulator);
+    }
+    Assertions.assertEquals(start, accumulator.evaluate(), 1e-4);
+  }
+
+  @Test
+  void randomGamesTest() {
+    var accumulator = network.newAccumulator();
+    var random = new Random(2);
+
+    for (int game = 0; game < 5; game++) {
+      board = new HashBoard();
+      Boards.defaultChess().accept(board);
+      BoardEncoder.refresh(board, accumulator);
+      var color = Color.WHITE;
+
+      for (int i = 0; i < 100; i++) {
+        var moves = BotUtils.getPossibleMoves(board, color);
+        if (moves.isEmpty()) {
+          break;
+        }
+
+        // Каждый ход пробуем сделать и отменить, затем делаем случайный.
+        var before = accumulator.evaluate();
+        for (Move move : moves) {
+          var undo = BoardEncoder.makeMove(board, move, accumulator);
+          Assertions.assertEquals(evaluate(), accumulator.evaluate(), 1e-4);
+          BoardEncoder.unmakeMove(board, undo, accumulator);
+        }
+        Assertions.assertEquals(before, accumulator.evaluate());
+
+        BoardEncoder.makeMove(board, moves.get(random.nextInt(moves.size())), accumulator);
+        color = color.getOpposite();
+      }
+    }
+  }
+
+  @Test
+  void emptyStackTest() {
+    var accumulator = network.newAccumulator();
+    Assertions.assertThrows(IllegalStateException.class, accumulator::pop);
+  }
+}
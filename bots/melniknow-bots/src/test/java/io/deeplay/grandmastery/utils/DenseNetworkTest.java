@@ -0,0 +1,111 @@
+package io.deeplay.grandmastery.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class DenseNetworkTest {
+  /** Сеть 3 -> 2 (ReLU) -> 1 (sigmoid). */
+  private static DenseNetwork network() {
+    var hidden =
+        new DenseNetwork.Layer(
+            3,
+            2,
+            new float[] {1f, -1f, 2f, 0.5f, -1f, 1f},
+            new float[] {0.5f, 0f},
+            DenseNetwork.Activation.RELU);
+    var output =
+        new DenseNetwork.Layer(
+            2, 1, new float[] {1f, -2f}, new float[] {-1f}, DenseNetwork.Activation.SIGMOID);
+    return new DenseNetwork(List.of(hidden, output));
+  }
+
+  @Test
+  void evaluateTest() {
+    var network = network();
+    var input = new float[] {1f, 0f, -1f};
+
+    // Скрытый слой: relu(0.5 + 1 + 1) = 2.5, relu(0 - 1 - 1) = 0. Выход: sigmoid(-1 + 2.5).
+    var expected = 1 / (1 + Math.exp(-1.5));
+    Assertions.assertAll(
+        () -> Assertions.assertEquals(3, network.getInputSize()),
+        () -> Assertions.assertEquals(expected, network.evaluate(input), 1e-6),
+        () -> Assertions.assertEquals(expected, network.evaluate(input), 1e-6),
+        () -> Assertions.assertArrayEquals(new float[] {1f, 0f, -1f}, input));
+  }
+
+  @Test
+  void saveLoadTest() throws IOException {
+    var network = network();
+    var bytes = new ByteArrayOutputStream();
+    network.save(bytes);
+    var loaded = DenseNetwork.load(new ByteArrayInputStream(bytes.toByteArray()));
+
+    var input = new float[] {0.5f, 1f, 0f};
+    Assertions.assertEquals(network.evaluate(input), loaded.evaluate(input));
+  }
+
+  @Test
+  void accumulatorThreadsTest() throws Exception {
+    var network = network();
+    var inputs = new float[][] {{1f, 0f, -1f}, {0f, 1f, 0.5f}};
+    var expected = new float[] {network.evaluate(inputs[0]), network.evaluate(inputs[1])};
+
+    // Потоки считают разные позиции своими аккумуляторами одной и той же сети.
+    var tasks = new ArrayList<Callable<Boolean>>();
+    for (int t = 0; t < 4; t++) {
+      var input = inputs[t % 2];
+      var value = expected[t % 2];
+      tasks.add(
+          () -> {
+            var accumulator = network.newAccumulator();
+            for (int i = 0; i < input.length; i++) {
+              accumulator.add(i, input[i]);
+            }
+            for (int i = 0; i < 100_000; i++) {
+              if (accumulator.evaluate() != value) {
+                return false;
+              }
+            }
+            return true;
+          });
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+    try {
+      for (var result : executor.invokeAll(tasks)) {
+        Assertions.assertTrue(result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void wrongSizesTest() {
+    var layer =
+        new DenseNetwork.Layer(
+            2, 1, new float[] {1f, 1f}, new float[] {0f}, DenseNetwork.Activation.IDENTITY);
+    Assertions.assertAll(
+        () ->
+            Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                    new DenseNetwork.Layer(
+                        2, 2, new float[2], new float[2], DenseNetwork.Activation.IDENTITY)),
+        () ->
+            Assertions.assertThrows(
+                IllegalArgumentException.class, () -> new DenseNetwork(List.of(layer, layer))),
+        () ->
+            Assertions.assertThrows(
+                IOException.class,
+                () -> DenseNetwork.load(new ByteArrayInputStream(new byte[] {0, 0, 0, 0}))));
+  }
+}
@@ -0,0 +1,101 @@
+package io.deeplay.grandmastery.utils;
+
+import io.deeplay.grandmastery.Deeplodocus;
+import io.deeplay.grandmastery.core.Board;
+import io.deeplay.grandmastery.core.HashBoard;
+import io.deeplay.grandmastery.domain.Color;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.deeplearning4j.nn.conf.NeuralNetConfiguration;
+import org.deeplearning4j.nn.conf.layers.DenseLayer;
+import org.deeplearning4j.nn.conf.layers.OutputLayer;
+import org.deeplearning4j.nn.modelimport.keras.KerasModelImport;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.nd4j.linalg.activations.Activation;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.lossfunctions.LossFunctions;
+
+class KerasModelExportTest {
+  private static final String MODEL_FILE_NAME = "1_400_000pos_400ep.h5";
+  private static final double TOLERANCE = 1e-5;
+
+  /** Позиции случайной партии. */
+  private static List<Board> positions() {
+    var result = new ArrayList<Board>();
+    var board = new HashBoard();
+    Boards.defaultChess().accept(board);
+    var random = new Random(1);
+    var color = Color.WHITE;
+
+    for (int i = 0; i < 40; i++) {
+      var moves = BotUtils.getPossibleMoves(board, color);
+      if (moves.isEmpty()) {
+        break;
+      }
+      board.makeMove(moves.get(random.nextInt(moves.size())));
+      color = color.getOpposite();
+      result.add(Boards.copyBoard(board));
+    }
+    return result;
+  }
+
+  private static double output(MultiLayerNetwork network, Board board) {
+    var input = new float[BoardEncoder.INPUT_SIZE];
+    BoardEncoder.fill(board, input);
+    return network.output(Nd4j.create(new float[][] {input})).getDouble(0, 0);
+  }
+
+  @Test
+  void exportTest() throws IOException {
+    var conf =
+        new NeuralNetConfiguration.Builder()
+            .seed(1)
+            .list()
+            .layer(
+                new DenseLayer.Builder()
+                    .nIn(BoardEncoder.INPUT_SIZE)
+                    .nOut(32)
+                    .activation(Activation.RELU)
+                    .build())
+            .layer(
+                new OutputLayer.Builder(LossFunctions.LossFunction.XENT)
+                    .nIn(32)
+                    .nOut(1)
+                    .activation(Activation.SIGMOID)
+                    .build())
+            .build();
+    var network = new MultiLayerNetwork(conf);
+    network.init();
+
+    var out = new ByteArrayOutputStream();
+    KerasModelExport.toDenseNetwork(network).save(out);
+    var dense = DenseNetwork.load(new ByteArrayInputStream(out.toByteArray()));
+
+    var input = new float[BoardEncoder.INPUT_SIZE];
+    for (var board : positions()) {
+      BoardEncoder.fill(board, input);
+      Assertions.assertEquals(output(network, board), dense.evaluate(input), TOLERANCE);
+    }
+  }
+
+  @Test
+  void modelTest() throws Exception {
+    var url = KerasModelExportTest.class.getClassLoader().getResource(MODEL_FILE_NAME);
+    Assumptions.assumeTrue(url != null, "Модели Keras нет в ресурсах тестов");
+
+    try (var stream = url.openStream()) {
+      var network = KerasModelImport.importKerasSequentialModelAndWeights(stream);
+      for (var board : positions()) {
+        Assertions.assertEquals(
+            output(network, board), Deeplodocus.getEvaluateByBoard(board), TOLERANCE);
+      }
+    }
+  }
+}
@@ -2,15 +2,12 @@ package io.deeplay.grandmastery.motobots;
 
 import io.deeplay.grandmastery.State;
 import io.deeplay.grandmastery.core.Board;
-import io.deeplay.grandmastery.core.GameHistory;
-import io.deeplay.grandmastery.core.HashBoard;
 import io.deeplay.grandmastery.core.Move;
+import io.deeplay.grandmastery.core.MoveGenerator;
+import io.deeplay.grandmastery.core.MoveUndo;
 import io.deeplay.grandmastery.core.Player;
-import io.deeplay.grandmastery.core.Position;
 import io.deeplay.grandmastery.domain.Color;
-import io.deeplay.grandmastery.figures.Piece;
 import io.deeplay.grandmastery.motostrategies.Strategy;
-import io.deeplay.grandmastery.utils.Boards;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,36 +22,48 @@ public abstract class Bot extends Player {
   }
 
   /**
-   * Метод для создания дочерних вершин.
+   * Метод для создания дочерних вершин. Дочерние вершины используют доску и историю родителя,
+   * ход применяется к ним только на время обхода вершины через {@link #enterState(State)}.
    *
    * @param state Состояние.
    * @return Список детей.
    */
   public List<State> createChildStates(State state) {
     List<State> childStates = new ArrayList<>();
-    Board parentBoard = state.getBoard();
-    Piece piece;
-    List<Move> moves;
-    Color nextColor;
-    nextColor = state.getMovingColor() == Color.BLACK ? Color.WHITE : Color.BLACK;
-    for (Position position : parentBoard.getAllPiecePositionByColor(nextColor)) {
-      piece = parentBoard.getPiece(position);
-      moves = piece.getAllMoves(parentBoard, position);
-      for (Move move : moves) {
-        Board currentBoard = new HashBoard();
-        Boards.copy(parentBoard).accept(currentBoard);
-        currentBoard.removePiece(move.from());
-        currentBoard.setPiece(move.to(), piece);
-        currentBoard.setLastMove(move);
-        piece.setMoved(true);
-        GameHistory tempHistory = state.getGameHistory().getCopy();
-        tempHistory.addBoard(currentBoard);
-        tempHistory.makeMove(move);
-        State childState =
-            new State(currentBoard, state.getMainColor(), nextColor, move, tempHistory, false);
-        childStates.add(childState);
-      }
+    Board board = state.getBoard();
+    Color nextColor = state.getMovingColor() == Color.BLACK ? Color.WHITE : Color.BLACK;
+    for (Move move : MoveGenerator.getLegalMoves(board, nextColor)) {
+      State childState =
+          new State(board, state.getMainColor(), nextColor, move, state.getGameHistory(), false);
+      childStates.add(childState);
     }
     return childStates;
   }
+
+  /**
+   * Метод применяет ход дочерней вершины к общей доске и истории.
+   *
+   * @param state Дочерняя вершина.
+   * @return Запись для отмены хода.
+   */
+  protected MoveUndo enterState(State state) {
+    Board board = state.getBoard();
+    MoveUndo undo = board.makeMove(state.getMove());
+    state.getGameHistory().addBoard(board);
+    state.getGameHistory().makeMove(state.getMove());
+    state.setMainPiecesPositions(board.getAllPiecePositionByColor(state.getMainColor()));
+    state.setOpponentPiecesPositions(board.getAllPiecePositionByColor(state.getOpponentColor()));
+    return undo;
+  }
+
+  /**
+   * Метод отменяет ход дочерней вершины, примененный через {@link #enterState(State)}.
+   *
+   * @param state Дочерняя вершина.
+   * @param undo Запись для отмены хода.
+   */
+  protected void leaveState(State state, MoveUndo undo) {
+    state.getGameHistory().rollback();
+    state.getBoard().unmakeMove(undo);
+  }
 }
@@ -2,28 +2,93 @@ package io.deeplay.grandmastery.motobots;
 
 import io.deeplay.grandmastery.State;
 import io.deeplay.grandmastery.core.Board;
+import io.deeplay.grandmastery.core.GameHistory;
 import io.deeplay.grandmastery.core.Move;
+import io.deeplay.grandmastery.core.MoveOrdering;
+import io.deeplay.grandmastery.core.MoveUndo;
+import io.deeplay.grandmastery.core.PackedMove;
+import io.deeplay.grandmastery.core.TranspositionTable;
+import io.deeplay.grandmastery.core.TranspositionTable.Bound;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.FigureType;
 import io.deeplay.grandmastery.exceptions.GameException;
 import io.deeplay.grandmastery.motostrategies.Strategy;
+import io.deeplay.grandmastery.utils.Boards;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
+/**
+ * Бот с поиском экспектимакс: бот выбирает лучший ход, а ходы соперника считаются равновероятными,
+ * и вершина соперника получает среднее значение детей.
+ *
+ * <p>Все оценки лежат между {@link Strategy#LOSS_VALUE} и {@link Strategy#WIN_VALUE}, поэтому
+ * среднее можно ограничить, не досчитав всех детей. В вершинах бота работает альфа-бета отсечение,
+ * в вершинах соперника - отсечения Star1 и Star2. Star1 прекращает перебор, когда среднее уже не
+ * попадает в окно, даже если все непросчитанные дети получат крайние оценки. Star2 сначала
+ * пробует каждого ребенка одним, лучшим по порядку, ходом: это нижняя граница ребенка, и если
+ * среднее нижних границ не меньше беты, вершина отсекается без полного перебора.
+ *
+ * <p>Значения вершин и оценки листьев сохраняются в таблицу транспозиций, общую для всех потоков:
+ * перестановки ходов приходят в одни и те же позиции, а пробы Star2 заранее заполняют таблицу для
+ * полного перебора.
+ *
+ * <p>Первый ход корня считается в главном потоке, остальные - параллельно в пуле с перехватом
+ * работы, с окном от лучшей найденной к этому моменту оценки. У каждой задачи своя стратегия и свои
+ * копии доски и истории. Пул общий для всех экземпляров бота, поэтому одновременные партии не
+ * создают потоков сверх него.
+ */
 public class ExpectiMaxBot extends Bot {
+  /** Количество потоков по умолчанию. */
+  public static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors() / 2 + 1;
+
+  /** Пул задач корня всех ботов. Потоки пула - демоны, пул не закрывается. */
+  private static final ForkJoinPool POOL = new ForkJoinPool(DEFAULT_THREADS);
+
+  private final Supplier<Strategy> strategies;
+  private final boolean parallel;
+  private final MoveOrdering ordering = new MoveOrdering();
+  private final TranspositionTable table = new TranspositionTable();
 
   /**
-   * Конструктор с параметрами.
+   * Конструктор с параметрами. Поиск идет в одном потоке.
    *
    * @param name Имя
    * @param color Цвет
    * @param strategy Стратегия
    */
   public ExpectiMaxBot(String name, Color color, Strategy strategy, int searchDepth) {
-    super(name, color, strategy, searchDepth);
+    this(name, color, () -> strategy, searchDepth, 1);
+  }
+
+  /**
+   * Конструктор параллельного поиска.
+   *
+   * @param name Имя.
+   * @param color Цвет.
+   * @param strategies Создает стратегию для каждой задачи: стратегии хранят состояние.
+   * @param searchDepth Глубина поиска.
+   * @param threads Количество потоков: при одном поиск идет в вызывающем потоке, иначе ходы корня
+   *     считаются в общем пуле.
+   */
+  public ExpectiMaxBot(
+      String name, Color color, Supplier<Strategy> strategies, int searchDepth, int threads) {
+    super(name, color, strategies.get(), searchDepth);
+    if (threads < 1) {
+      throw new IllegalArgumentException("Threads count must be positive: " + threads);
+    }
+    this.strategies = strategies;
+    this.parallel = threads > 1;
   }
 
   /**
-   * Алгоритм экспектимакс.
+   * Алгоритм экспектимакс с полным окном.
    *
    * @param state Состояние.
    * @param depth Глубина поиска.
@@ -31,45 +96,207 @@ public class ExpectiMaxBot extends Bot {
    * @return Стоимость лучшего ребенка.
    */
   public int expectiMax(State state, int depth, boolean maximizingPlayer) {
+    return expectiMax(
+        strategy, state, depth, 0, maximizingPlayer, Strategy.LOSS_VALUE, Strategy.WIN_VALUE);
+  }
+
+  /**
+   * Алгоритм экспектимакс с окном. Если значение вершины не больше альфы или не меньше беты,
+   * возвращается только граница: значение не больше альфы или не меньше беты соответственно.
+   *
+   * @param strategy Стратегия потока.
+   * @param state Состояние.
+   * @param depth Глубина поиска.
+   * @param ply Расстояние от корня.
+   * @param maximizingPlayer Игрок.
+   * @param alpha Альфа значение.
+   * @param beta Бета значение.
+   * @return Значение вершины или его граница.
+   */
+  private int expectiMax(
+      Strategy strategy,
+      State state,
+      int depth,
+      int ply,
+      boolean maximizingPlayer,
+      int alpha,
+      int beta) {
+    Board board = state.getBoard();
+    long key = board.getZobristKey();
+    TranspositionTable.Entry entry = table.probe(key);
+    if (!state.isMainNode() && entry != null && entry.canCutoff(depth, alpha, beta)) {
+      state.setValue((int) entry.score());
+      return state.getValue();
+    }
+
     strategy.setTerminalCost(state);
     if (state.isTerminal()) {
+      table.store(key, depth, Bound.EXACT, state.getValue(), PackedMove.NO_MOVE);
       return state.getValue();
     } else if (depth == 0) {
-      state.setValue(strategy.evaluate(state));
+      state.setValue(clamp(strategy.evaluate(state)));
+      table.store(key, depth, Bound.EXACT, state.getValue(), PackedMove.NO_MOVE);
       return state.getValue();
     }
-    List<State> children = createChildStates(state);
+
+    int hashMove = entry == null ? PackedMove.NO_MOVE : entry.move();
+    List<State> children = createOrderedChildStates(state, hashMove, ply);
     if (maximizingPlayer) {
-      int bestValue = Integer.MIN_VALUE;
-      for (State child : children) {
-        int value = expectiMax(child, depth - 1, false);
+      return maxValue(strategy, state, children, depth, ply, alpha, beta);
+    }
+    int value = averageValue(strategy, state, children, depth, ply, alpha, beta);
+    table.store(key, depth, alpha, beta, value, PackedMove.NO_MOVE);
+    return value;
+  }
+
+  private int maxValue(
+      Strategy strategy,
+      State state,
+      List<State> children,
+      int depth,
+      int ply,
+      int alpha,
+      int beta) {
+    Board board = state.getBoard();
+    int startAlpha = alpha;
+    int bestValue = Strategy.LOSS_VALUE;
+    Move bestMove = null;
+    for (State child : children) {
+      MoveUndo undo = enterState(child);
+      int value = expectiMax(strategy, child, depth - 1, ply + 1, false, alpha, beta);
+      leaveState(child, undo);
 
-        bestValue = determineBestMove(state, child, value, bestValue);
+      if (bestMove == null || value > bestValue) {
+        bestValue = value;
+        bestMove = child.getMove();
+        updateNodeValueAndMove(state, child, bestValue);
       }
-      return bestValue;
-    } else {
-      int averageValue = 0;
-      int childCount = 0;
-      for (State child : children) {
-        int value = expectiMax(child, depth - 1, true);
-        averageValue = averageValue + value;
-        childCount = childCount + 1;
+      alpha = Math.max(alpha, bestValue);
+      if (alpha >= beta) {
+        ordering.addCutoff(board, PackedMove.of(board, child.getMove()), ply, depth);
+        break;
+      }
+    }
+
+    int packedMove = bestMove == null ? PackedMove.NO_MOVE : PackedMove.of(board, bestMove);
+    table.store(board.getZobristKey(), depth, startAlpha, beta, bestValue, packedMove);
+    return bestValue;
+  }
+
+  /**
+   * Среднее значение детей с отсечениями Star1 и Star2. Суммы считаются в {@code long} без
+   * деления, чтобы границы не страдали от округления. Пробы Star2 нужны только для отсечения по
+   * бете, поэтому при бете {@link Strategy#WIN_VALUE} они не делаются. Вершина без ходов конечная,
+   * ее стоимость задает стратегия.
+   */
+  private int averageValue(
+      Strategy strategy,
+      State state,
+      List<State> children,
+      int depth,
+      int ply,
+      int alpha,
+      int beta) {
+    int count = children.size();
+    if (count == 0) {
+      strategy.setTerminalCost(state);
+      return state.getValue();
+    }
+
+    long[] lowerBounds = new long[count];
+    long lowerSum = (long) count * Strategy.LOSS_VALUE;
+    for (int i = 0; i < count; i++) {
+      lowerBounds[i] = Strategy.LOSS_VALUE;
+    }
+
+    long scaledAlpha = (long) count * alpha;
+    long scaledBeta = (long) count * beta;
+    if (depth >= 2 && beta < Strategy.WIN_VALUE) {
+      for (int i = 0; i < count; i++) {
+        State child = children.get(i);
+        long childBeta = scaledBeta - (lowerSum - lowerBounds[i]);
+        MoveUndo undo = enterState(child);
+        int value = probe(strategy, child, depth - 1, ply + 1, clamp(childBeta));
+        leaveState(child, undo);
+
+        lowerSum += value - lowerBounds[i];
+        lowerBounds[i] = value;
+        if (lowerSum >= scaledBeta) {
+          return beta;
+        }
       }
-      if (childCount == 0) {
-        return 0;
-      } else {
-        state.setValue(averageValue / childCount);
-        return averageValue / childCount;
+    }
+
+    long sum = 0;
+    for (int i = 0; i < count; i++) {
+      State child = children.get(i);
+      long othersUpper = sum + (long) (count - i - 1) * Strategy.WIN_VALUE;
+      long othersLower = lowerSum - lowerBounds[i];
+      long childAlpha = scaledAlpha - othersUpper;
+      long childBeta = scaledBeta - othersLower;
+      if (childAlpha >= Strategy.WIN_VALUE) {
+        return alpha;
+      } else if (childBeta <= Strategy.LOSS_VALUE) {
+        return beta;
+      }
+
+      MoveUndo undo = enterState(child);
+      int value =
+          expectiMax(
+              strategy, child, depth - 1, ply + 1, true, clamp(childAlpha), clamp(childBeta));
+      leaveState(child, undo);
+
+      if (othersUpper + value <= scaledAlpha) {
+        return alpha;
+      } else if (othersLower + value >= scaledBeta) {
+        return beta;
       }
+      sum += value;
+      lowerSum += value - lowerBounds[i];
+      lowerBounds[i] = value;
     }
+
+    state.setValue((int) (sum / count));
+    return state.getValue();
   }
 
-  private int determineBestMove(State state, State child, int value, int bestValue) {
-    if (value > bestValue) {
-      bestValue = value;
-      updateNodeValueAndMove(state, child, bestValue);
+  /**
+   * Проба Star2 для вершины бота: считается только первый по порядку ход. Его значение - нижняя
+   * граница вершины.
+   */
+  private int probe(Strategy strategy, State state, int depth, int ply, int beta) {
+    strategy.setTerminalCost(state);
+    if (state.isTerminal()) {
+      return state.getValue();
     }
-    return bestValue;
+
+    TranspositionTable.Entry entry = table.probe(state.getBoard().getZobristKey());
+    int hashMove = entry == null ? PackedMove.NO_MOVE : entry.move();
+    List<State> children = createOrderedChildStates(state, hashMove, ply);
+    if (children.isEmpty()) {
+      return Strategy.LOSS_VALUE;
+    }
+    State child = children.get(0);
+    MoveUndo undo = enterState(child);
+    int value =
+        expectiMax(strategy, child, depth - 1, ply + 1, false, Strategy.LOSS_VALUE, beta);
+    leaveState(child, undo);
+    return value;
+  }
+
+  private List<State> createOrderedChildStates(State state, int hashMove, int ply) {
+    Board board = state.getBoard();
+    List<State> children = createChildStates(state);
+    children.sort(
+        Comparator.comparingInt(
+                (State child) ->
+                    ordering.score(board, PackedMove.of(board, child.getMove()), hashMove, ply))
+            .reversed());
+    return children;
+  }
+
+  private static int clamp(long value) {
+    return (int) Math.max(Strategy.LOSS_VALUE, Math.min(Strategy.WIN_VALUE, value));
   }
 
   private void updateNodeValueAndMove(State state, State child, int bestValue) {
@@ -79,14 +306,97 @@ public class ExpectiMaxBot extends Bot {
     }
   }
 
+  /**
+   * Корень параллельного поиска. Первый ход считается с полным окном, остальные - задачами пула с
+   * альфой, равной лучшей точной оценке на момент старта задачи. Оценка задачи точная, только если
+   * она больше этой альфы.
+   */
+  private void searchRoot(State state) {
+    List<State> children = createOrderedChildStates(state, PackedMove.NO_MOVE, 0);
+    if (children.isEmpty()) {
+      return;
+    }
+
+    State first = children.get(0);
+    MoveUndo undo = enterState(first);
+    int firstValue =
+        expectiMax(
+            strategy, first, searchDepth - 1, 1, false, Strategy.LOSS_VALUE, Strategy.WIN_VALUE);
+    leaveState(first, undo);
+    updateNodeValueAndMove(state, first, firstValue);
+
+    AtomicInteger alpha = new AtomicInteger(firstValue);
+    int[] values = new int[children.size()];
+    boolean[] exact = new boolean[children.size()];
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (int i = 1; i < children.size(); i++) {
+      int index = i;
+      Move move = children.get(i).getMove();
+      tasks.add(
+          () -> {
+            Board board = Boards.copyBoard(state.getBoard());
+            GameHistory history = state.getGameHistory().getCopy();
+            State child = new State(board, color, color, move, history, false);
+            MoveUndo childUndo = enterState(child);
+            int childAlpha = alpha.get();
+            int value =
+                expectiMax(
+                    strategies.get(),
+                    child,
+                    searchDepth - 1,
+                    1,
+                    false,
+                    childAlpha,
+                    Strategy.WIN_VALUE);
+            leaveState(child, childUndo);
+
+            values[index] = value;
+            exact[index] = value > childAlpha;
+            if (exact[index]) {
+              alpha.accumulateAndGet(value, Math::max);
+            }
+            return null;
+          });
+    }
+    awaitTasks(POOL.invokeAll(tasks));
+
+    int bestValue = firstValue;
+    for (int i = 1; i < children.size(); i++) {
+      if (exact[i] && values[i] > bestValue) {
+        bestValue = values[i];
+        updateNodeValueAndMove(state, children.get(i), bestValue);
+      }
+    }
+  }
+
+  private static void awaitTasks(List<Future<Void>> tasks) {
+    for (Future<Void> task : tasks) {
+      try {
+        task.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (ExecutionException e) {
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+  }
+
   @Override
   public Move createMove() throws GameException {
 
     Board board = this.getBoard();
     Color mainColor = this.getColor();
     Color opponentColor = mainColor == Color.BLACK ? Color.WHITE : Color.BLACK;
-    State mainState = new State(board, mainColor, opponentColor, null, gameHistory, true);
-    expectiMax(mainState, searchDepth, true);
+    State mainState =
+        new State(board, mainColor, opponentColor, null, gameHistory.getCopy(), true);
+    table.newSearch();
+    ordering.newSearch();
+    if (!parallel || searchDepth < 2) {
+      expectiMax(mainState, searchDepth, true);
+    } else {
+      searchRoot(mainState);
+    }
     Move move = mainState.getMove();
     if (move.promotionPiece() != null) {
       move = new Move(move.from(), move.to(), FigureType.QUEEN);
@@ -0,0 +1,415 @@
+package io.deeplay.grandmastery.motobots;
+
+import io.deeplay.grandmastery.State;
+import io.deeplay.grandmastery.core.Board;
+import io.deeplay.grandmastery.core.GameHistory;
+import io.deeplay.grandmastery.core.GameStateChecker;
+import io.deeplay.grandmastery.core.Move;
+import io.deeplay.grandmastery.core.MoveGenerator;
+import io.deeplay.grandmastery.core.MoveUndo;
+import io.deeplay.grandmastery.core.TimeManager;
+import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.exceptions.GameException;
+import io.deeplay.grandmastery.motostrategies.Strategy;
+import io.deeplay.grandmastery.utils.Boards;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Бот с поиском по дереву Монте-Карло (UCT). Каждая итерация спускается по дереву, выбирая детей
+ * по формуле UCT, добавляет одну новую вершину и оценивает ее: случайной партией ({@link
+ * Playout}) на {@code searchDepth} полуходов, после которой позицию оценивает стратегия. При
+ * {@code searchDepth = 0} вершина сразу оценивается стратегией. Итерации идут, пока не кончится
+ * время или бюджет вершин, поэтому сила бота растет с отведенным временем.
+ *
+ * <p>Поиск может идти в нескольких потоках ({@link MctsParallelism}). У каждого потока своя
+ * стратегия, своя случайная партия и свои копии доски и истории, бюджет вершин общий.
+ * Вспомогательные потоки берутся из пула, общего для всех ботов, поэтому одновременные партии не
+ * создают потоков сверх него. Вспомогательный поиск, который пул не успел начать до конца хода,
+ * отменяется.
+ *
+ * <p>Дерево переиспользуется между ходами: после своего хода и хода соперника корнем становится
+ * внук старого корня со всей накопленной статистикой. При параллелизме по корню переиспользуется
+ * только дерево главного потока.
+ */
+public class MctsBot extends Bot {
+  /** Коэффициент исследования в формуле UCT. */
+  public static final double DEFAULT_EXPLORATION = Math.sqrt(2);
+
+  /**
+   * Длина случайной партии по умолчанию в полуходах: короткая партия доигрывает размены у листа и
+   * почти не замедляет итерацию.
+   */
+  public static final int DEFAULT_ROLLOUT_DEPTH = 4;
+
+  /** Количество потоков по умолчанию, включая главный. */
+  public static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors() / 2 + 1;
+
+  /** Пул вспомогательных потоков всех ботов. Потоки пула - демоны, пул не закрывается. */
+  private static final ForkJoinPool POOL = new ForkJoinPool(Math.max(DEFAULT_THREADS - 1, 1));
+
+  /** Масштаб оценки стратегии: преимущество в ферзя дает около 73% побед. */
+  private static final double EVALUATION_SCALE = 100.0;
+
+  private final TimeManager timeManager;
+  private final int nodeBudget;
+  private final double exploration;
+  private final MctsParallelism parallelism;
+  private final List<Worker> workers = new ArrayList<>();
+  private final AtomicInteger iterations = new AtomicInteger();
+  private volatile boolean stopped;
+  private MctsNode root;
+
+  /**
+   * Конструктор с ограничением по времени.
+   *
+   * @param name Имя.
+   * @param color Цвет.
+   * @param strategy Стратегия для оценки позиций.
+   * @param rolloutDepth Длина случайной партии в полуходах.
+   * @param timeManager Менеджер времени на ход.
+   */
+  public MctsBot(
+      String name, Color color, Strategy strategy, int rolloutDepth, TimeManager timeManager) {
+    this(name, color, strategy, rolloutDepth, timeManager, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Конструктор с ограничением по числу вершин.
+   *
+   * @param name Имя.
+   * @param color Цвет.
+   * @param strategy Стратегия для оценки позиций.
+   * @param rolloutDepth Длина случайной партии в полуходах.
+   * @param nodeBudget Число итераций (новых вершин) на ход.
+   */
+  public MctsBot(String name, Color color, Strategy strategy, int rolloutDepth, int nodeBudget) {
+    this(name, color, strategy, rolloutDepth, TimeManager.UNLIMITED, nodeBudget);
+  }
+
+  /**
+   * Конструктор с ограничением и по времени, и по числу вершин. Поиск идет в одном потоке.
+   *
+   * @param name Имя.
+   * @param color Цвет.
+   * @param strategy Стратегия для оценки позиций.
+   * @param rolloutDepth Длина случайной партии в полуходах.
+   * @param timeManager Менеджер времени на ход.
+   * @param nodeBudget Число итераций (новых вершин) на ход.
+   */
+  public MctsBot(
+      String name,
+      Color color,
+      Strategy strategy,
+      int rolloutDepth,
+      TimeManager timeManager,
+      int nodeBudget) {
+    this(
+        name,
+        color,
+        () -> strategy,
+        rolloutDepth,
+        timeManager,
+        nodeBudget,
+        MctsParallelism.TREE,
+        1);
+  }
+
+  /**
+   * Конструктор параллельного поиска.
+   *
+   * @param name Имя.
+   * @param color Цвет.
+   * @param strategies Создает стратегию для каждого потока: стратегии хранят состояние.
+   * @param rolloutDepth Длина случайной партии в полуходах.
+   * @param timeManager Менеджер времени на ход.
+   * @param nodeBudget Число итераций (новых вершин) на ход во всех потоках вместе.
+   * @param parallelism Способ распараллелить поиск.
+   * @param threads Количество потоков, включая главный.
+   */
+  public MctsBot(
+      String name,
+      Color color,
+      Supplier<Strategy> strategies,
+      int rolloutDepth,
+      TimeManager timeManager,
+      int nodeBudget,
+      MctsParallelism parallelism,
+      int threads) {
+    super(name, color, strategies.get(), rolloutDepth);
+    if (threads < 1) {
+      throw new IllegalArgumentException("Threads count must be positive: " + threads);
+    }
+    this.timeManager = timeManager;
+    this.nodeBudget = nodeBudget;
+    this.exploration = DEFAULT_EXPLORATION;
+    this.parallelism = parallelism;
+    workers.add(new Worker(strategy));
+    for (int i = 1; i < threads; i++) {
+      workers.add(new Worker(strategies.get()));
+    }
+  }
+
+  /**
+   * Возвращает корень дерева поиска.
+   *
+   * @return Корень или {@code null}, если дерево еще не построено.
+   */
+  public MctsNode getRoot() {
+    return root;
+  }
+
+  /** Генерирует ходы новой вершины. Ходов нет, если в позиции мат, пат или ничья. */
+  private static void generateMoves(MctsNode node, Board board, GameHistory history) {
+    if (node.hasMoves()) {
+      return;
+    }
+    List<Move> moves = MoveGenerator.getLegalMoves(board, node.getColor().getOpposite());
+    boolean isTerminal = moves.isEmpty() || GameStateChecker.isDraw(board, history);
+    node.setUntriedMoves(isTerminal ? List.of() : moves);
+  }
+
+  private static MoveUndo play(Board board, GameHistory history, Move move) {
+    MoveUndo undo = board.makeMove(move);
+    history.addBoard(board);
+    history.makeMove(move);
+    return undo;
+  }
+
+  /**
+   * Результат терминальной вершины, в которой у стороны на ходу нет ходов или ничья.
+   *
+   * @return 1, если цвет вершины поставил мат, 0.5 при ничьей.
+   */
+  private static double terminalResult(MctsNode node, Board board) {
+    return GameStateChecker.isMate(board, node.getColor().getOpposite()) ? 1 : 0.5;
+  }
+
+  @Override
+  public Move createMove() throws GameException {
+    Board board = this.getBoard();
+    Color opponentColor = color.getOpposite();
+    if (root == null || root.getColor() != opponentColor) {
+      root = new MctsNode(null, board.getLastMove(), opponentColor);
+    }
+
+    timeManager.start();
+    iterations.set(0);
+    stopped = false;
+    List<MctsNode> roots = new ArrayList<>();
+    roots.add(root);
+    List<HelperTask> helpers = new ArrayList<>();
+    for (int i = 1; i < workers.size(); i++) {
+      MctsNode helperRoot =
+          parallelism == MctsParallelism.ROOT
+              ? new MctsNode(null, board.getLastMove(), opponentColor)
+              : root;
+      if (helperRoot != root) {
+        roots.add(helperRoot);
+      }
+      Worker helper = workers.get(i);
+      Board helperBoard = Boards.copyBoard(board);
+      GameHistory helperHistory = gameHistory.getCopy();
+      helpers.add(new HelperTask(() -> helper.search(helperRoot, helperBoard, helperHistory)));
+    }
+
+    try {
+      GameHistory history = gameHistory.getCopy();
+      Worker main = workers.get(0);
+      main.search(root, board, history);
+      while (root.getChildren().isEmpty() && !root.isTerminal()) {
+        main.iterate(root, board, history);
+      }
+    } finally {
+      stopped = true;
+      awaitHelpers(helpers);
+    }
+
+    this.lastMove = mostVisitedMove(roots);
+    return lastMove;
+  }
+
+  private static void awaitHelpers(List<HelperTask> helpers) {
+    for (HelperTask helper : helpers) {
+      try {
+        helper.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (ExecutionException e) {
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+  }
+
+  /** Складывает посещения ходов корня по всем деревьям и возвращает самый посещаемый ход. */
+  private static Move mostVisitedMove(List<MctsNode> roots) {
+    if (roots.size() == 1) {
+      return roots.get(0).mostVisitedChild().getMove();
+    }
+
+    Map<Move, Integer> visits = new LinkedHashMap<>();
+    for (MctsNode tree : roots) {
+      for (MctsNode child : tree.getChildren()) {
+        visits.merge(child.getMove(), child.getVisits(), Integer::sum);
+      }
+    }
+    return Collections.max(visits.entrySet(), Map.Entry.comparingByValue()).getKey();
+  }
+
+  /** Поток поиска: своя стратегия, своя случайная партия и свой генератор случайных чисел. */
+  private class Worker {
+    private final Strategy strategy;
+    private final SplittableRandom random = new SplittableRandom();
+    private final Playout playout = new Playout();
+    private final Deque<MoveUndo> undoMoves = new ArrayDeque<>();
+
+    Worker(Strategy strategy) {
+      this.strategy = strategy;
+    }
+
+    /** Делает итерации, пока не кончится время или общий бюджет, или пока поиск не остановят. */
+    void search(MctsNode searchRoot, Board board, GameHistory history) {
+      while (!stopped
+          && !searchRoot.isTerminal()
+          && iterations.getAndIncrement() < nodeBudget
+          && !timeManager.isTimeUp()) {
+        iterate(searchRoot, board, history);
+      }
+    }
+
+    /**
+     * Одна итерация поиска: выбор, раскрытие, оценка и обратное распространение результата. Каждая
+     * вершина на пути получает виртуальное поражение, которое заменяется результатом при обратном
+     * распространении. Ходы делаются на доске и в истории и отменяются в конце итерации.
+     */
+    void iterate(MctsNode searchRoot, Board board, GameHistory history) {
+      MctsNode node = searchRoot;
+      node.addVirtualLoss();
+      try {
+        while (true) {
+          generateMoves(node, board, history);
+          MctsNode child = node.expand(random);
+          if (child != null) {
+            node = child;
+            undoMoves.push(play(board, history, node.getMove()));
+            generateMoves(node, board, history);
+            break;
+          }
+          if (node.isTerminal()) {
+            break;
+          }
+          node = node.selectChild(exploration);
+          node.addVirtualLoss();
+          undoMoves.push(play(board, history, node.getMove()));
+        }
+
+        double result =
+            node.isTerminal() ? terminalResult(node, board) : rollout(node, board, history);
+        for (; node != null; node = node.getParent()) {
+          node.update(result);
+          result = 1 - result;
+        }
+      } finally {
+        while (!undoMoves.isEmpty()) {
+          history.rollback();
+          board.unmakeMove(undoMoves.pop());
+        }
+      }
+    }
+
+    /**
+     * Случайная партия из позиции вершины.
+     *
+     * @return Результат от 0 до 1 с точки зрения цвета вершины.
+     */
+    private double rollout(MctsNode node, Board board, GameHistory history) {
+      Color movingColor = node.getColor().getOpposite();
+      try {
+        int result = playout.play(board, movingColor, searchDepth);
+        if (result != Playout.UNFINISHED) {
+          return (1 - result) / 2.0;
+        }
+
+        Color lastColor = playout.getPlies() % 2 == 0 ? node.getColor() : movingColor;
+        State state =
+            new State(board, node.getColor(), lastColor, board.getLastMove(), history, false);
+        return 1 / (1 + Math.exp(-strategy.evaluate(state) / EVALUATION_SCALE));
+      } finally {
+        playout.undo(board);
+      }
+    }
+  }
+
+  @Override
+  public void startup(Board board) throws GameException {
+    super.startup(board);
+    root = null;
+  }
+
+  /** Спускает корень дерева на сделанный в партии ход, чтобы не терять статистику. */
+  @Override
+  public void makeMove(Move move) throws GameException {
+    super.makeMove(move);
+    if (root != null) {
+      root = root.getChild(move);
+      if (root != null) {
+        root.detach();
+      }
+    }
+  }
+
+  @Override
+  public void rollback() {
+    super.rollback();
+    root = null;
+  }
+
+  @Override
+  public boolean answerDraw() throws GameException {
+    return false;
+  }
+
+  /**
+   * Вспомогательный поиск в общем пуле. Задачу выполняет тот, кто первым её займёт: поток пула
+   * запускает поиск, а главный поток в конце хода отменяет поиск, который ещё не начался. Поэтому
+   * главный поток не ждёт, пока пул освободится от поиска других ботов, а отменённая задача ничего
+   * не делает, даже если пул возьмёт её во время следующего хода.
+   */
+  private static final class HelperTask implements Runnable {
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    private final Runnable search;
+    private final Future<?> future;
+
+    HelperTask(Runnable search) {
+      this.search = search;
+      this.future = POOL.submit(this);
+    }
+
+    @Override
+    public void run() {
+      if (claimed.compareAndSet(false, true)) {
+        search.run();
+      }
+    }
+
+    /** Ждет поиск, если пул его начал, иначе отменяет его. */
+    void await() throws InterruptedException, ExecutionException {
+      if (!claimed.compareAndSet(false, true)) {
+        future.get();
+      }
+    }
+  }
+}
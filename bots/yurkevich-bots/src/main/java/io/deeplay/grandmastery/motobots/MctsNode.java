@@ -0,0 +1,205 @@
+package io.deeplay.grandmastery.motobots;
+
+import io.deeplay.grandmastery.core.Move;
+import io.deeplay.grandmastery.domain.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+import lombok.Getter;
+
+/**
+ * Вершина дерева Монте-Карло. Хранит ход, который к ней привёл, число посещений и сумму
+ * результатов с точки зрения цвета, сделавшего этот ход.
+ *
+ * <p>Одно дерево могут обходить несколько потоков. Счетчики посещений и результатов атомарные,
+ * список детей читается без блокировки, а раскрытие новых ходов идет под монитором вершины. Поток,
+ * проходящий через вершину, сразу добавляет ей виртуальное поражение ({@link #addVirtualLoss()}),
+ * и другие потоки до конца его итерации выбирают другие ветви.
+ */
+public class MctsNode {
+  /** Сколько посещений без выигрыша добавляет вершине поток, который через нее проходит. */
+  private static final int VIRTUAL_LOSS = 1;
+
+  /** Сумма результатов хранится в фиксированной точке, чтобы складывать ее атомарно. */
+  private static final double VALUE_SCALE = 1 << 20;
+
+  @Getter private final Move move;
+  @Getter private final Color color;
+  @Getter private final List<MctsNode> children = new CopyOnWriteArrayList<>();
+  @Getter private MctsNode parent;
+  private final AtomicInteger visits = new AtomicInteger();
+  private final AtomicLong value = new AtomicLong();
+  private List<Move> untriedMoves;
+
+  /**
+   * Конструктор.
+   *
+   * @param parent Родитель, {@code null} для корня.
+   * @param move Ход, который привел к вершине.
+   * @param color Цвет, сделавший ход.
+   */
+  public MctsNode(MctsNode parent, Move move, Color color) {
+    this.parent = parent;
+    this.move = move;
+    this.color = color;
+  }
+
+  /**
+   * Возвращает число посещений, включая виртуальные поражения идущих итераций.
+   *
+   * @return Число посещений.
+   */
+  public int getVisits() {
+    return visits.get();
+  }
+
+  /**
+   * Возвращает сумму результатов.
+   *
+   * @return Сумма результатов с точки зрения цвета вершины.
+   */
+  public double getValue() {
+    return value.get() / VALUE_SCALE;
+  }
+
+  /**
+   * Проверяет, сгенерированы ли ходы вершины.
+   *
+   * @return Сгенерированы ли ходы.
+   */
+  public synchronized boolean hasMoves() {
+    return untriedMoves != null;
+  }
+
+  /**
+   * Проверяет, раскрыта ли вершина: ходы сгенерированы и для каждого создан ребенок.
+   *
+   * @return Раскрыта ли вершина.
+   */
+  public synchronized boolean isFullyExpanded() {
+    return untriedMoves != null && untriedMoves.isEmpty();
+  }
+
+  /**
+   * Проверяет, терминальная ли вершина: ходов нет (мат, пат или ничья).
+   *
+   * @return Терминальная ли вершина.
+   */
+  public synchronized boolean isTerminal() {
+    return isFullyExpanded() && children.isEmpty();
+  }
+
+  /**
+   * Запоминает ходы, которые еще не проверены. Если ходы уже сгенерировал другой поток, ничего не
+   * делает.
+   *
+   * @param moves Ходы из позиции вершины.
+   */
+  public synchronized void setUntriedMoves(List<Move> moves) {
+    if (untriedMoves == null) {
+      untriedMoves = new ArrayList<>(moves);
+    }
+  }
+
+  /**
+   * Создает ребенка для случайного непроверенного хода. Ребенок сразу получает виртуальное
+   * поражение, как вершина, через которую проходит итерация.
+   *
+   * @param random Генератор случайных чисел.
+   * @return Ребенок или {@code null}, если непроверенных ходов нет.
+   */
+  public synchronized MctsNode expand(RandomGenerator random) {
+    if (untriedMoves == null || untriedMoves.isEmpty()) {
+      return null;
+    }
+
+    int index = random.nextInt(untriedMoves.size());
+    Move childMove = untriedMoves.get(index);
+    untriedMoves.set(index, untriedMoves.get(untriedMoves.size() - 1));
+    untriedMoves.remove(untriedMoves.size() - 1);
+
+    MctsNode child = new MctsNode(this, childMove, color.getOpposite());
+    child.addVirtualLoss();
+    children.add(child);
+    return child;
+  }
+
+  /**
+   * Выбирает ребенка по формуле UCT: средний результат плюс бонус за редкие посещения.
+   *
+   * @param exploration Коэффициент исследования.
+   * @return Ребенок.
+   */
+  public MctsNode selectChild(double exploration) {
+    double logVisits = Math.log(getVisits());
+    MctsNode best = null;
+    double bestScore = Double.NEGATIVE_INFINITY;
+    for (MctsNode child : children) {
+      int childVisits = child.getVisits();
+      double score =
+          childVisits == 0
+              ? Double.POSITIVE_INFINITY
+              : child.getValue() / childVisits + exploration * Math.sqrt(logVisits / childVisits);
+      if (score > bestScore) {
+        bestScore = score;
+        best = child;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Возвращает самого посещаемого ребенка: его ход бот и делает.
+   *
+   * @return Ребенок или {@code null}, если детей нет.
+   */
+  public MctsNode mostVisitedChild() {
+    MctsNode best = null;
+    for (MctsNode child : children) {
+      if (best == null || child.getVisits() > best.getVisits()) {
+        best = child;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Ищет ребенка по ходу.
+   *
+   * @param childMove Ход.
+   * @return Ребенок или {@code null}, если такой ход еще не раскрыт.
+   */
+  public MctsNode getChild(Move childMove) {
+    for (MctsNode child : children) {
+      if (child.move.from().equals(childMove.from())
+          && child.move.to().equals(childMove.to())
+          && child.move.promotionPiece() == childMove.promotionPiece()) {
+        return child;
+      }
+    }
+    return null;
+  }
+
+  /** Добавляет виртуальное поражение: итерация прошла через вершину, но результата еще нет. */
+  public void addVirtualLoss() {
+    visits.addAndGet(VIRTUAL_LOSS);
+  }
+
+  /**
+   * Добавляет результат симуляции вместо виртуального поражения, добавленного при спуске.
+   *
+   * @param result Результат от 0 до 1 с точки зрения цвета вершины.
+   */
+  public void update(double result) {
+    visits.addAndGet(1 - VIRTUAL_LOSS);
+    value.addAndGet(Math.round(result * VALUE_SCALE));
+  }
+
+  /** Делает вершину корнем: родитель и остальное старое дерево больше не нужны. */
+  public void detach() {
+    parent = null;
+  }
+}
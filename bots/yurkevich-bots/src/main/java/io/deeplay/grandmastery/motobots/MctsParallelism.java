@@ -0,0 +1,17 @@
+package io.deeplay.grandmastery.motobots;
+
+/** Способ распараллелить поиск {@link MctsBot} по потокам. */
+public enum MctsParallelism {
+  /**
+   * У каждого потока свое дерево. После поиска посещения ходов корня складываются по всем деревьям,
+   * и выбирается ход с наибольшей суммой. Потоки ничего не делят во время поиска, но каждое дерево
+   * мельче общего.
+   */
+  ROOT,
+
+  /**
+   * Все потоки обходят одно дерево. Счетчики вершин атомарные, а виртуальное поражение разводит
+   * потоки по разным ветвям.
+   */
+  TREE
+}
@@ -3,13 +3,20 @@ package io.deeplay.grandmastery.motobots;
 import io.deeplay.grandmastery.State;
 import io.deeplay.grandmastery.core.Board;
 import io.deeplay.grandmastery.core.Move;
+import io.deeplay.grandmastery.core.MoveOrdering;
+import io.deeplay.grandmastery.core.MoveUndo;
+import io.deeplay.grandmastery.core.PackedMove;
+import io.deeplay.grandmastery.core.TranspositionTable;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.FigureType;
 import io.deeplay.grandmastery.exceptions.GameException;
 import io.deeplay.grandmastery.motostrategies.Strategy;
+import java.util.Comparator;
 import java.util.List;
 
 public class MiniMaxBot extends Bot {
+  private final TranspositionTable table = new TranspositionTable();
+  private final MoveOrdering ordering = new MoveOrdering();
 
   /**
    * Конструктор с параметрами.
@@ -23,7 +30,10 @@ public class MiniMaxBot extends Bot {
   }
 
   /**
-   * Алгоритм минимакс.
+   * Алгоритм минимакс. Оценки вершин сохраняются в таблицу транспозиций, и повторно встреченная
+   * позиция не перебирается, если сохранённой оценки хватает для окна. В корневой вершине таблица
+   * не читается, потому что там нужен ход. Дочерние вершины перебираются в порядке {@link
+   * MoveOrdering}.
    *
    * @param state Вершина.
    * @param depth глубина поиска.
@@ -41,13 +51,37 @@ public class MiniMaxBot extends Bot {
       return state.getValue();
     }
 
+    Board board = state.getBoard();
+    long key = board.getZobristKey();
+    TranspositionTable.Entry entry = table.probe(key);
+    if (!state.isMainNode() && entry != null && entry.canCutoff(depth, alpha, beta)) {
+      state.setValue((int) entry.score());
+      return state.getValue();
+    }
+
+    int startAlpha = alpha;
+    int startBeta = beta;
+    Move bestMove = null;
     int bestValue = maximizingPlayer ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+    int ply = searchDepth - depth;
+    int hashMove = entry == null ? PackedMove.NO_MOVE : entry.move();
     List<State> children = createChildStates(state);
+    children.sort(
+        Comparator.comparingInt(
+                (State child) ->
+                    ordering.score(board, PackedMove.of(board, child.getMove()), hashMove, ply))
+            .reversed());
     state.setChildren(children);
     for (State child : children) {
+      MoveUndo undo = enterState(child);
       int value = minimax(child, depth - 1, !maximizingPlayer, alpha, beta);
+      leaveState(child, undo);
 
+      int previousValue = bestValue;
       bestValue = determineBestMove(state, child, value, bestValue, maximizingPlayer);
+      if (bestValue != previousValue) {
+        bestMove = child.getMove();
+      }
 
       if (maximizingPlayer) {
         alpha = Math.max(alpha, bestValue);
@@ -55,9 +89,13 @@ public class MiniMaxBot extends Bot {
         beta = Math.min(beta, bestValue);
       }
       if (beta <= alpha) {
+        ordering.addCutoff(board, PackedMove.of(board, child.getMove()), ply, depth);
         break;
       }
     }
+
+    int packedMove = bestMove == null ? PackedMove.NO_MOVE : PackedMove.of(board, bestMove);
+    table.store(key, depth, startAlpha, startBeta, bestValue, packedMove);
     return bestValue;
   }
 
@@ -102,7 +140,10 @@ public class MiniMaxBot extends Bot {
     Board board = this.getBoard();
     Color mainColor = this.getColor();
     Color opponentColor = mainColor == Color.BLACK ? Color.WHITE : Color.BLACK;
-    State mainState = new State(board, mainColor, opponentColor, null, gameHistory, true);
+    State mainState =
+        new State(board, mainColor, opponentColor, null, gameHistory.getCopy(), true);
+    table.newSearch();
+    ordering.newSearch();
     minimax(mainState, searchDepth, true, Integer.MIN_VALUE, Integer.MAX_VALUE);
     Move move = mainState.getMove();
     if (move.promotionPiece() != null) {
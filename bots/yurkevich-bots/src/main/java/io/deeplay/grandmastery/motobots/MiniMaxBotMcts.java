@@ -2,20 +2,20 @@ package io.deeplay.grandmastery.motobots;
 
 import io.deeplay.grandmastery.State;
 import io.deeplay.grandmastery.core.Board;
-import io.deeplay.grandmastery.core.GameStateChecker;
-import io.deeplay.grandmastery.core.HashBoard;
 import io.deeplay.grandmastery.core.Move;
-import io.deeplay.grandmastery.core.Position;
+import io.deeplay.grandmastery.core.MoveUndo;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.exceptions.GameException;
-import io.deeplay.grandmastery.figures.Piece;
 import io.deeplay.grandmastery.motostrategies.Strategy;
-import io.deeplay.grandmastery.utils.Boards;
-import java.util.ArrayList;
 import java.util.List;
 
 /** Минимакс бот с алгоритмом Монте-Карло. */
 public class MiniMaxBotMcts extends Bot {
+  /** Наибольшая длина симуляции в полуходах. */
+  private static final int MOVES_LIMIT = 50;
+
+  private final Playout playout = new Playout();
+
   public MiniMaxBotMcts(String name, Color color, Strategy strategy, int searchDepth) {
     super(name, color, strategy, searchDepth);
   }
@@ -46,72 +46,20 @@ public class MiniMaxBotMcts extends Bot {
   }
 
   /**
-   * Метод, запускающий рандомную симуляцию.
+   * Метод, запускающий рандомную симуляцию. Ходы делаются на самой доске и отменяются после
+   * симуляции.
    *
    * @param board Доска.
    * @param mainColor Цвет последнего хода.
    * @return Результат игры.
    */
   public int simulation(Board board, Color mainColor) {
-    Color movingColor = mainColor == Color.WHITE ? Color.BLACK : Color.WHITE;
-    Color opponentColor = mainColor == Color.WHITE ? Color.BLACK : Color.WHITE;
-    Board simulationBoard = new HashBoard();
-    Boards.copy(board).accept(simulationBoard);
-    simulationBoard.clearMoves();
-
-    boolean isMateForMain = false;
-    boolean isMateForOpponent = false;
-    boolean isDraw = false;
-    int moves = 0;
-    int result = 0;
-    int movesLimit = 50;
-    Piece piece;
-    Move move;
-    do {
-      move = simulationRandomMove(simulationBoard, movingColor);
-      if (move == null) {
-        break;
-      }
-      simulationBoard.clearMoves();
-      piece = simulationBoard.getPiece(move.from());
-      simulationBoard.removePiece(move.from());
-      simulationBoard.setPiece(move.to(), piece);
-      simulationBoard.setLastMove(move);
-      piece.setMoved(true);
-      isMateForMain = GameStateChecker.isMate(simulationBoard, mainColor);
-      isMateForOpponent = GameStateChecker.isMate(simulationBoard, opponentColor);
-      movingColor = movingColor == Color.WHITE ? Color.BLACK : Color.WHITE;
-      moves++;
-    } while (!isMateForMain && !isMateForOpponent && !isDraw && moves < movesLimit);
-    if (isMateForMain) {
-      result = -1;
-    } else if (isMateForOpponent) {
-      result = 1;
-    }
-
-    return result;
-  }
-
-  /**
-   * Метод для рандомного хода в симуляции.
-   *
-   * @param simulationBoard Доска.
-   * @param movingColor Цвет ходящего.
-   * @return Ход.
-   */
-  public Move simulationRandomMove(Board simulationBoard, Color movingColor) {
-    List<Move> possibleMoves = new ArrayList<>();
-    List<Position> positions = simulationBoard.getAllPiecePositionByColor(movingColor);
-    for (Position position : positions) {
-      possibleMoves.addAll(
-          simulationBoard.getPiece(position).getAllMoves(simulationBoard, position));
-    }
-    if (possibleMoves.isEmpty()) {
-      return null;
+    try {
+      int result = playout.play(board, mainColor.getOpposite(), MOVES_LIMIT);
+      return result == Playout.UNFINISHED ? 0 : -result;
+    } finally {
+      playout.undo(board);
     }
-    int ind = (int) (Math.random() * possibleMoves.size());
-    Move move = possibleMoves.get(ind);
-    return move;
   }
 
   /**
@@ -139,7 +87,9 @@ public class MiniMaxBotMcts extends Bot {
     List<State> children = createChildStates(state);
     state.setChildren(children);
     for (State child : children) {
+      MoveUndo undo = enterState(child);
       int value = minimaxMcts(child, depth - 1, !maximizingPlayer, alpha, beta);
+      leaveState(child, undo);
 
       bestValue = determineBestMove(state, child, value, bestValue, maximizingPlayer);
 
@@ -196,7 +146,8 @@ public class MiniMaxBotMcts extends Bot {
     Board board = this.getBoard();
     Color mainColor = this.getColor();
     Color opponentColor = mainColor == Color.BLACK ? Color.WHITE : Color.BLACK;
-    State mainState = new State(board, mainColor, opponentColor, null, gameHistory, true);
+    State mainState =
+        new State(board, mainColor, opponentColor, null, gameHistory.getCopy(), true);
     minimaxMcts(mainState, searchDepth, true,Integer.MIN_VALUE, Integer.MAX_VALUE);
     return mainState.getMove();
   }
@@ -0,0 +1,100 @@
+package io.deeplay.grandmastery.motobots;
+
+import io.deeplay.grandmastery.core.Board;
+import io.deeplay.grandmastery.core.GameStateChecker;
+import io.deeplay.grandmastery.core.MoveGenerator;
+import io.deeplay.grandmastery.core.MoveList;
+import io.deeplay.grandmastery.core.MoveUndo;
+import io.deeplay.grandmastery.core.PackedMove;
+import io.deeplay.grandmastery.domain.Color;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.SplittableRandom;
+
+/**
+ * Случайная партия для оценки позиции в поиске Монте-Карло. Ходы делаются на самой доске и
+ * отменяются через {@link #undo(Board)}, рабочий список ходов и стек отмены переиспользуются
+ * между партиями. Ход выбирается через {@link MoveGenerator#getRandomLegalMove}: ходы генерируются
+ * только для одной-двух фигур и в упакованном виде, объект хода создается только для выбранного.
+ * Мат и пат проверяются, только когда ходов нет.
+ *
+ * <p>Один объект - один поток.
+ */
+public class Playout {
+  /** Сторона, начавшая партию, получила мат. */
+  public static final int LOSS = -1;
+
+  /** Пат. */
+  public static final int DRAW = 0;
+
+  /** Сторона, начавшая партию, поставила мат. */
+  public static final int WIN = 1;
+
+  /** Партия не закончилась за отведенное число полуходов. */
+  public static final int UNFINISHED = 2;
+
+  private final MoveList moves = new MoveList();
+  private final Deque<MoveUndo> undoMoves = new ArrayDeque<>();
+  private final SplittableRandom random;
+
+  /** Конструктор со случайным зерном. */
+  public Playout() {
+    this(new SplittableRandom().nextLong());
+  }
+
+  /**
+   * Конструктор.
+   *
+   * @param seed Зерно генератора случайных чисел.
+   */
+  public Playout(long seed) {
+    this.random = new SplittableRandom(seed);
+  }
+
+  /**
+   * Играет случайную партию. После партии доска остается в последней позиции, чтобы ее можно было
+   * оценить, и возвращается к исходной через {@link #undo(Board)}.
+   *
+   * @param board Доска.
+   * @param movingColor Цвет, который ходит первым.
+   * @param maxPlies Наибольшее число полуходов.
+   * @return {@link #WIN}, {@link #LOSS}, {@link #DRAW} с точки зрения {@code movingColor} или
+   *     {@link #UNFINISHED}.
+   */
+  public int play(Board board, Color movingColor, int maxPlies) {
+    Color color = movingColor;
+    for (int i = 0; i < maxPlies; i++) {
+      int move = MoveGenerator.getRandomLegalMove(board, color, moves, random);
+      if (move == PackedMove.NO_MOVE) {
+        if (!GameStateChecker.isCheck(board, color)) {
+          return DRAW;
+        }
+        return color == movingColor ? LOSS : WIN;
+      }
+
+      undoMoves.push(board.makeMove(PackedMove.toMove(move)));
+      color = color.getOpposite();
+    }
+    return UNFINISHED;
+  }
+
+  /**
+   * Возвращает число полуходов, сделанных последней партией и еще не отмененных.
+   *
+   * @return Число полуходов.
+   */
+  public int getPlies() {
+    return undoMoves.size();
+  }
+
+  /**
+   * Отменяет ходы последней партии.
+   *
+   * @param board Доска, на которой шла партия.
+   */
+  public void undo(Board board) {
+    while (!undoMoves.isEmpty()) {
+      board.unmakeMove(undoMoves.pop());
+    }
+  }
+}
@@ -1,10 +1,10 @@
 package io.deeplay.grandmastery.motostrategies;
 
 import io.deeplay.grandmastery.State;
+import io.deeplay.grandmastery.core.Attacks;
 import io.deeplay.grandmastery.core.Board;
 import io.deeplay.grandmastery.core.GameHistory;
 import io.deeplay.grandmastery.core.GameStateChecker;
-import io.deeplay.grandmastery.core.Move;
 import io.deeplay.grandmastery.core.Position;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.FigureType;
@@ -69,24 +69,11 @@ public class DefendingStrategy extends Strategy {
   public void piecesSafety(Color color) {
     List<Position> checkedPiecesPositions =
         (color == mainColor) ? mainPiecesPositions : opponentPiecesPositions;
-    List<Position> attackingPiecesPositions =
-        (color == mainColor) ? opponentPiecesPositions : mainPiecesPositions;
-    boolean isAttacked;
 
     for (Position checkedPos : checkedPiecesPositions) {
-      isAttacked = false;
-      for (Position attackingPos : attackingPiecesPositions) {
-        Piece attackingPiece = board.getPiece(attackingPos);
-        for (Move attackingMove : attackingPiece.getAllMoves(board, attackingPos)) {
-          if (attackingMove.to().equals(checkedPos)) {
-            piecesMap.put(checkedPos, (-1 * piecesMap.get(checkedPos)));
-            isAttacked = true;
-            break;
-          }
-        }
-        if (isAttacked) {
-          break;
-        }
+      if (board.getPiece(checkedPos).getFigureType() != FigureType.KING
+          && Attacks.isSquareAttacked(board, checkedPos, color.getOpposite())) {
+        piecesMap.put(checkedPos, (-1 * piecesMap.get(checkedPos)));
       }
     }
   }
@@ -99,13 +86,13 @@ public class DefendingStrategy extends Strategy {
     Color mainColor = state.getMainColor();
     Color opponentColor = state.getOpponentColor();
     if (GameStateChecker.isMate(board, opponentColor)) {
-      state.setValue(100000);
+      state.setValue(WIN_VALUE);
       state.setTerminal(true);
     } else if (GameStateChecker.isMate(board, mainColor)) {
-      state.setValue(-100000);
+      state.setValue(LOSS_VALUE);
       state.setTerminal(true);
     } else if (GameStateChecker.isDraw(board, gameHistory)) {
-      state.setValue(100000);
+      state.setValue(WIN_VALUE);
       state.setTerminal(true);
     }
   }
@@ -15,6 +15,12 @@ import lombok.Setter;
 @Getter
 @Setter
 public abstract class Strategy {
+  /** Оценка позиции, в которой бот поставил мат, и верхняя граница всех оценок. */
+  public static final int WIN_VALUE = 100000;
+
+  /** Оценка позиции, в которой бот получил мат, и нижняя граница всех оценок. */
+  public static final int LOSS_VALUE = -WIN_VALUE;
+
   protected Board board;
   protected Color mainColor;
   protected Color opponentColor;
@@ -1,5 +1,6 @@
 package io.deeplay.grandmastery.motobots;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -12,11 +13,16 @@ import io.deeplay.grandmastery.core.Board;
 import io.deeplay.grandmastery.core.Column;
 import io.deeplay.grandmastery.core.GameHistory;
 import io.deeplay.grandmastery.core.HashBoard;
+import io.deeplay.grandmastery.core.Move;
+import io.deeplay.grandmastery.core.MoveGenerator;
 import io.deeplay.grandmastery.core.Position;
 import io.deeplay.grandmastery.core.Row;
 import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.exceptions.GameException;
 import io.deeplay.grandmastery.figures.King;
 import io.deeplay.grandmastery.figures.Knight;
+import io.deeplay.grandmastery.figures.Pawn;
+import io.deeplay.grandmastery.figures.Rook;
 import io.deeplay.grandmastery.motostrategies.AttackingStrategy;
 import io.deeplay.grandmastery.utils.Boards;
 import org.junit.jupiter.api.Test;
@@ -58,4 +64,31 @@ class ExpectiMaxBotTest {
     int minValue = -30;
     assertTrue(value > minValue && value < maxValue);
   }
+
+  @Test
+  void parallelMoveTest() throws GameException {
+    Board board = new HashBoard();
+    Boards.defaultChess().accept(board);
+    ExpectiMaxBot bot = new ExpectiMaxBot("Moto", Color.WHITE, AttackingStrategy::new, 2, 2);
+    bot.startup(board);
+
+    Move move = bot.createMove();
+    assertTrue(MoveGenerator.getLegalMoves(board, Color.WHITE).contains(move));
+  }
+
+  @Test
+  void parallelMateInOneTest() throws GameException {
+    Board board = new HashBoard();
+    board.setPiece(Position.fromString("g1"), new King(Color.WHITE));
+    board.setPiece(Position.fromString("a1"), new Rook(Color.WHITE));
+    board.setPiece(Position.fromString("h8"), new King(Color.BLACK));
+    board.setPiece(Position.fromString("g7"), new Pawn(Color.BLACK));
+    board.setPiece(Position.fromString("h7"), new Pawn(Color.BLACK));
+    ExpectiMaxBot bot = new ExpectiMaxBot("Moto", Color.WHITE, AttackingStrategy::new, 2, 2);
+    bot.startup(board);
+
+    Move move = bot.createMove();
+    assertEquals(Position.fromString("a1"), move.from());
+    assertEquals(Position.fromString("a8"), move.to());
+  }
 }
@@ -0,0 +1,121 @@
+package io.deeplay.grandmastery.motobots;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.deeplay.grandmastery.core.Board;
+import io.deeplay.grandmastery.core.HashBoard;
+import io.deeplay.grandmastery.core.Move;
+import io.deeplay.grandmastery.core.MoveGenerator;
+import io.deeplay.grandmastery.core.Position;
+import io.deeplay.grandmastery.core.TimeManager;
+import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.exceptions.GameException;
+import io.deeplay.grandmastery.figures.King;
+import io.deeplay.grandmastery.figures.Pawn;
+import io.deeplay.grandmastery.figures.Rook;
+import io.deeplay.grandmastery.motostrategies.AttackingStrategy;
+import io.deeplay.grandmastery.utils.Boards;
+import org.junit.jupiter.api.Test;
+
+class MctsBotTest {
+
+  @Test
+  void moveNotNullTest() throws GameException {
+    Board board = new HashBoard();
+    Boards.defaultChess().accept(board);
+    MctsBot bot = new MctsBot("Moto", Color.WHITE, new AttackingStrategy(), 4, 300);
+    bot.startup(board);
+
+    Move move = bot.createMove();
+    assertNotNull(move);
+    assertTrue(MoveGenerator.getLegalMoves(board, Color.WHITE).contains(move));
+    assertEquals(300, bot.getRoot().getVisits());
+  }
+
+  @Test
+  void mateInOneTest() throws GameException {
+    Board board = new HashBoard();
+    board.setPiece(Position.fromString("g1"), new King(Color.WHITE));
+    board.setPiece(Position.fromString("a1"), new Rook(Color.WHITE));
+    board.setPiece(Position.fromString("h8"), new King(Color.BLACK));
+    board.setPiece(Position.fromString("g7"), new Pawn(Color.BLACK));
+    board.setPiece(Position.fromString("h7"), new Pawn(Color.BLACK));
+    MctsBot bot = new MctsBot("Moto", Color.WHITE, new AttackingStrategy(), 0, 1000);
+    bot.startup(board);
+
+    Move move = bot.createMove();
+    assertEquals(Position.fromString("a1"), move.from());
+    assertEquals(Position.fromString("a8"), move.to());
+  }
+
+  @Test
+  void treeReuseTest() throws GameException {
+    Board board = new HashBoard();
+    Boards.defaultChess().accept(board);
+    MctsBot bot = new MctsBot("Moto", Color.WHITE, new AttackingStrategy(), 0, 500);
+    bot.startup(board);
+
+    bot.makeMove(bot.createMove());
+    MctsNode reply = bot.getRoot().mostVisitedChild();
+    int visits = reply.getVisits();
+    bot.makeMove(reply.getMove());
+
+    assertEquals(reply, bot.getRoot());
+    assertNull(bot.getRoot().getParent());
+
+    bot.createMove();
+    assertEquals(visits + 500, bot.getRoot().getVisits());
+  }
+
+  @Test
+  void treeParallelTest() throws GameException {
+    Board board = new HashBoard();
+    Boards.defaultChess().accept(board);
+    MctsBot bot =
+        new MctsBot(
+            "Moto",
+            Color.WHITE,
+            AttackingStrategy::new,
+            4,
+            TimeManager.UNLIMITED,
+            400,
+            MctsParallelism.TREE,
+            2);
+    bot.startup(board);
+
+    Move move = bot.createMove();
+    assertTrue(MoveGenerator.getLegalMoves(board, Color.WHITE).contains(move));
+    assertEquals(400, bot.getRoot().getVisits());
+  }
+
+  @Test
+  void parallelMateInOneTest() throws GameException {
+    Board board = new HashBoard();
+    board.setPiece(Position.fromString("g1"), new King(Color.WHITE));
+    board.setPiece(Position.fromString("a1"), new Rook(Color.WHITE));
+    board.setPiece(Position.fromString("h8"), new King(Color.BLACK));
+    board.setPiece(Position.fromString("g7"), new Pawn(Color.BLACK));
+    board.setPiece(Position.fromString("h7"), new Pawn(Color.BLACK));
+
+    for (MctsParallelism parallelism : MctsParallelism.values()) {
+      MctsBot bot =
+          new MctsBot(
+              "Moto",
+              Color.WHITE,
+              AttackingStrategy::new,
+              0,
+              TimeManager.UNLIMITED,
+              2000,
+              parallelism,
+              2);
+      bot.startup(board);
+
+      Move move = bot.createMove();
+      assertEquals(Position.fromString("a1"), move.from());
+      assertEquals(Position.fromString("a8"), move.to());
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package io.deeplay.grandmastery.motobots;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.deeplay.grandmastery.core.Board;
+import io.deeplay.grandmastery.core.HashBoard;
+import io.deeplay.grandmastery.core.Position;
+import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.figures.King;
+import io.deeplay.grandmastery.figures.Queen;
+import io.deeplay.grandmastery.utils.Boards;
+import org.junit.jupiter.api.Test;
+
+class PlayoutTest {
+
+  @Test
+  void undoTest() {
+    Board board = new HashBoard();
+    Boards.defaultChess().accept(board);
+    long key = board.getZobristKey();
+    Playout playout = new Playout(1);
+
+    for (int i = 0; i < 20; i++) {
+      int result = playout.play(board, Color.WHITE, 100);
+      assertTrue(result >= Playout.LOSS && result <= Playout.UNFINISHED);
+      assertTrue(playout.getPlies() <= 100);
+      playout.undo(board);
+      assertEquals(0, playout.getPlies());
+      assertEquals(key, board.getZobristKey());
+    }
+  }
+
+  @Test
+  void seedTest() {
+    Board board = new HashBoard();
+    Boards.defaultChess().accept(board);
+    Playout first = new Playout(7);
+    Playout second = new Playout(7);
+
+    for (int i = 0; i < 5; i++) {
+      first.play(board, Color.WHITE, 30);
+      long firstKey = board.getZobristKey();
+      first.undo(board);
+
+      second.play(board, Color.WHITE, 30);
+      assertEquals(firstKey, board.getZobristKey());
+      second.undo(board);
+    }
+  }
+
+  @Test
+  void mateAndStalemateTest() {
+    Board board = new HashBoard();
+    board.setPiece(Position.fromString("h8"), new King(Color.BLACK));
+    board.setPiece(Position.fromString("g7"), new Queen(Color.WHITE));
+    board.setPiece(Position.fromString("f6"), new King(Color.WHITE));
+    Playout playout = new Playout(1);
+    assertEquals(Playout.LOSS, playout.play(board, Color.BLACK, 10));
+    assertEquals(0, playout.getPlies());
+
+    board.removePiece(Position.fromString("g7"));
+    board.setPiece(Position.fromString("g6"), new Queen(Color.WHITE));
+    board.removePiece(Position.fromString("f6"));
+    board.setPiece(Position.fromString("a1"), new King(Color.WHITE));
+    assertEquals(Playout.DRAW, playout.play(board, Color.BLACK, 10));
+  }
+}
@@ -28,10 +28,10 @@ class AttackingStrategyTest {
 
     Board board1 = new HashBoard();
     Queen queen1 = new Queen(Color.BLACK);
-    queen1.setMoved(true);
     King blackKing1 = new King(Color.BLACK);
     King whiteKing1 = new King(Color.WHITE);
     board1.setPiece(new Position(new Column(0), new Row(0)), queen1);
+    board1.setMoved(new Position(new Column(0), new Row(0)), true);
     board1.setPiece(new Position(new Column(7), new Row(7)), whiteKing1);
     board1.setPiece(new Position(new Column(7), new Row(0)), blackKing1);
     Move move =
@@ -49,8 +49,8 @@ class AttackingStrategyTest {
 
     Board board2 = new HashBoard();
     Queen queen2 = new Queen(Color.BLACK);
-    queen2.setMoved(true);
     board2.setPiece(new Position(new Column(1), new Row(1)), queen2);
+    board2.setMoved(new Position(new Column(1), new Row(1)), true);
     board2.setPiece(new Position(new Column(7), new Row(7)), new King(Color.WHITE));
     board2.setPiece(new Position(new Column(7), new Row(0)), new King(Color.BLACK));
     testState2 = new State(board2, Color.BLACK, Color.BLACK, null, null, true);
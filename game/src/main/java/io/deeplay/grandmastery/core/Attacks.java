@@ -0,0 +1,186 @@
+package io.deeplay.grandmastery.core;
+
+import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.domain.FigureType;
+import io.deeplay.grandmastery.figures.Piece;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Класс Attacks отвечает на вопрос, кто бьёт клетку. Поиск идёт от самой клетки: по заранее
+ * посчитанным клеткам хода коня, короля и пешек и по лучам дальнобойных фигур, поэтому не нужно
+ * перебирать все фигуры соперника и строить для каждой ход.
+ *
+ * <p>Клетка считается атакованной, если фигура могла бы взять на ней фигуру соперника, без учёта
+ * связок.
+ */
+public class Attacks {
+  /** Клетки, на которые бьёт конь с данной клетки. */
+  static final int[][] KNIGHT_SQUARES = new int[64][];
+
+  /** Клетки, на которые бьёт король с данной клетки. */
+  static final int[][] KING_SQUARES = new int[64][];
+
+  /** Лучи от клетки: индексы 0-3 - диагонали, 4-7 - вертикали и горизонтали. */
+  static final int[][][] RAYS = new int[64][8][];
+
+  static final int[][] KNIGHT_DELTAS = {
+    {-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}
+  };
+
+  static final int[][] KING_DELTAS = {
+    {0, 1}, {1, 1}, {1, 0}, {1, -1}, {0, -1}, {-1, -1}, {-1, 0}, {-1, 1}
+  };
+
+  static final int[][] RAY_DELTAS = {
+    {1, 1}, {-1, -1}, {1, -1}, {-1, 1}, {0, 1}, {0, -1}, {1, 0}, {-1, 0}
+  };
+
+  static {
+    for (int square = 0; square < 64; square++) {
+      int col = square & 7;
+      int row = square >>> 3;
+      KNIGHT_SQUARES[square] = jumps(col, row, KNIGHT_DELTAS);
+      KING_SQUARES[square] = jumps(col, row, KING_DELTAS);
+      for (int direction = 0; direction < RAY_DELTAS.length; direction++) {
+        RAYS[square][direction] = ray(col, row, RAY_DELTAS[direction]);
+      }
+    }
+  }
+
+  private static int[] jumps(int col, int row, int[][] deltas) {
+    List<Integer> squares = new ArrayList<>();
+    for (int[] delta : deltas) {
+      if (onBoard(col + delta[0], row + delta[1])) {
+        squares.add((row + delta[1]) * 8 + col + delta[0]);
+      }
+    }
+    return squares.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  private static int[] ray(int col, int row, int[] delta) {
+    List<Integer> squares = new ArrayList<>();
+    for (int c = col + delta[0], r = row + delta[1]; onBoard(c, r); c += delta[0], r += delta[1]) {
+      squares.add(r * 8 + c);
+    }
+    return squares.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  static boolean onBoard(int col, int row) {
+    return col >= 0 && col <= 7 && row >= 0 && row <= 7;
+  }
+
+  static int square(Position position) {
+    return position.row().value() * 8 + position.col().value();
+  }
+
+  /**
+   * Может ли фигура бить вдоль луча: диагонали для слона, вертикали и горизонтали для ладьи, все
+   * лучи для ферзя.
+   */
+  static boolean isSlider(Piece piece, int direction) {
+    FigureType figureType = piece.getFigureType();
+    return figureType == FigureType.QUEEN
+        || figureType == (direction < 4 ? FigureType.BISHOP : FigureType.ROOK);
+  }
+
+  /**
+   * Строка, с которой пешка заданного цвета бьёт клетку на строке {@code row}.
+   *
+   * @param row Строка атакуемой клетки
+   * @param pawnColor Цвет пешки
+   * @return Строка пешки, может выходить за пределы доски
+   */
+  static int pawnRow(int row, Color pawnColor) {
+    return pawnColor == Color.WHITE ? row - 1 : row + 1;
+  }
+
+  /**
+   * Метод проверяет, бьёт ли хотя бы одна фигура заданного цвета клетку.
+   *
+   * @param board Доска
+   * @param position Клетка
+   * @param byColor Цвет атакующих фигур
+   * @return Атакована ли клетка
+   */
+  public static boolean isSquareAttacked(Board board, Position position, Color byColor) {
+    return findAttackers(board, square(position), byColor, null);
+  }
+
+  /**
+   * Метод возвращает позиции всех фигур обоих цветов, которые бьют клетку.
+   *
+   * @param board Доска
+   * @param position Клетка
+   * @return Список позиций атакующих фигур
+   */
+  public static List<Position> attackersOf(Board board, Position position) {
+    List<Position> attackers = new ArrayList<>();
+    findAttackers(board, square(position), Color.WHITE, attackers);
+    findAttackers(board, square(position), Color.BLACK, attackers);
+    return attackers;
+  }
+
+  /**
+   * Ищет фигуры цвета {@code byColor}, которые бьют клетку. Если {@code attackers} равен {@code
+   * null}, возвращает {@code true} на первой найденной фигуре, иначе собирает все.
+   */
+  private static boolean findAttackers(
+      Board board, int target, Color byColor, List<Position> attackers) {
+    boolean found = false;
+    for (int square : KNIGHT_SQUARES[target]) {
+      found |= isAttacker(board, square, byColor, FigureType.KNIGHT, attackers);
+      if (found && attackers == null) {
+        return true;
+      }
+    }
+    for (int square : KING_SQUARES[target]) {
+      found |= isAttacker(board, square, byColor, FigureType.KING, attackers);
+      if (found && attackers == null) {
+        return true;
+      }
+    }
+
+    int col = target & 7;
+    int row = pawnRow(target >>> 3, byColor);
+    for (int pawnCol = col - 1; pawnCol <= col + 1; pawnCol += 2) {
+      if (onBoard(pawnCol, row)) {
+        found |= isAttacker(board, row * 8 + pawnCol, byColor, FigureType.PAWN, attackers);
+        if (found && attackers == null) {
+          return true;
+        }
+      }
+    }
+
+    for (int direction = 0; direction < RAY_DELTAS.length; direction++) {
+      for (int square : RAYS[target][direction]) {
+        Piece piece = board.getPiece(Position.of(square));
+        if (piece == null) {
+          continue;
+        }
+        if (piece.getColor() == byColor && isSlider(piece, direction)) {
+          found = true;
+          if (attackers == null) {
+            return true;
+          }
+          attackers.add(Position.of(square));
+        }
+        break;
+      }
+    }
+    return found;
+  }
+
+  private static boolean isAttacker(
+      Board board, int square, Color byColor, FigureType figureType, List<Position> attackers) {
+    Piece piece = board.getPiece(Position.of(square));
+    if (piece == null || piece.getColor() != byColor || piece.getFigureType() != figureType) {
+      return false;
+    }
+
+    if (attackers != null) {
+      attackers.add(Position.of(square));
+    }
+    return true;
+  }
+}
@@ -0,0 +1,211 @@
+package io.deeplay.grandmastery.core;
+
+import io.deeplay.grandmastery.domain.BoardType;
+import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.domain.FigureType;
+import io.deeplay.grandmastery.figures.Piece;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Класс, представляющий шахматную доску на битбордах. Для каждой пары цвет/тип фигуры хранится
+ * 64-битная маска занятых клеток, а также маски занятости по цветам. Клетка с координатами (col,
+ * row) соответствует биту с индексом {@code row * 8 + col}.
+ *
+ * <p>Сами объекты фигур хранятся в массиве из 64 элементов, чтобы {@link #getPiece(Position)} не
+ * искал фигуру по маскам.
+ */
+public class BitBoard extends Board {
+  /** Количество типов фигур. */
+  private static final int FIGURE_TYPES = FigureType.values().length;
+
+  /** Маски фигур, индекс - {@code color.ordinal() * 6 + figureType.ordinal()}. */
+  private final long[] pieceSets;
+
+  /** Маски занятых клеток по цветам, индекс - {@code color.ordinal()}. */
+  private final long[] occupancy;
+
+  /** Фигуры по индексам клеток. */
+  private final Piece[] squares;
+
+  /** Создает новый экземпляр пустой шахматной доски. */
+  public BitBoard() {
+    this.pieceSets = new long[FIGURE_TYPES * Color.values().length];
+    this.occupancy = new long[Color.values().length];
+    this.squares = new Piece[64];
+  }
+
+  /**
+   * Возвращает индекс клетки по позиции.
+   *
+   * @param position Позиция
+   * @return Индекс клетки от 0 до 63
+   */
+  public static int squareIndex(Position position) {
+    return position.row().value() * 8 + position.col().value();
+  }
+
+  private static int squareIndex(int col, int row) {
+    if (col < 0 || col > 7 || row < 0 || row > 7) {
+      throw new IllegalArgumentException();
+    }
+    return row * 8 + col;
+  }
+
+  private static Position toPosition(int square) {
+    return Position.of(square & 7, square >>> 3);
+  }
+
+  private static int setIndex(Color color, FigureType figureType) {
+    return color.ordinal() * FIGURE_TYPES + figureType.ordinal();
+  }
+
+  @Override
+  public void setPiece(Position position, Piece piece) {
+    int square = squareIndex(position);
+    if (squares[square] != null) {
+      removeFromSets(square, squares[square]);
+      updateSquare(position, squares[square]);
+    }
+
+    squares[square] = piece;
+    updateSquare(position, piece);
+    long bit = 1L << square;
+    pieceSets[setIndex(piece.getColor(), piece.getFigureType())] |= bit;
+    occupancy[piece.getColor().ordinal()] |= bit;
+  }
+
+  @Override
+  public Piece getPiece(Position position) {
+    return squares[squareIndex(position)];
+  }
+
+  @Override
+  public Piece getPiece(int col, int row) {
+    return squares[squareIndex(col, row)];
+  }
+
+  @Override
+  public Piece removePiece(Position position) {
+    int square = squareIndex(position);
+    Piece piece = squares[square];
+    if (piece != null) {
+      removeFromSets(square, piece);
+      updateSquare(position, piece);
+      squares[square] = null;
+    }
+
+    return piece;
+  }
+
+  private void removeFromSets(int square, Piece piece) {
+    long mask = ~(1L << square);
+    pieceSets[setIndex(piece.getColor(), piece.getFigureType())] &= mask;
+    occupancy[piece.getColor().ordinal()] &= mask;
+  }
+
+  @Override
+  public Position getBlackKingPosition() {
+    return getKingPositionByColor(Color.BLACK);
+  }
+
+  @Override
+  public Position getWhiteKingPosition() {
+    return getKingPositionByColor(Color.WHITE);
+  }
+
+  @Override
+  public Position getKingPositionByColor(Color color) {
+    long king = pieceSets[setIndex(color, FigureType.KING)];
+    return king == 0 ? null : toPosition(Long.numberOfTrailingZeros(king));
+  }
+
+  @Override
+  public boolean hasPiece(Position position) {
+    return squares[squareIndex(position)] != null;
+  }
+
+  @Override
+  public boolean hasPiece(int col, int row) {
+    return squares[squareIndex(col, row)] != null;
+  }
+
+  /**
+   * Возвращает маску клеток, занятых фигурами определенного цвета и типа.
+   *
+   * @param color Цвет
+   * @param figureType Тип фигуры
+   * @return Битовая маска
+   */
+  public long getPieceSet(Color color, FigureType figureType) {
+    return pieceSets[setIndex(color, figureType)];
+  }
+
+  /**
+   * Возвращает маску клеток, занятых фигурами определенного цвета.
+   *
+   * @param color Цвет
+   * @return Битовая маска
+   */
+  public long getOccupancy(Color color) {
+    return occupancy[color.ordinal()];
+  }
+
+  /**
+   * Возвращает маску всех занятых клеток.
+   *
+   * @return Битовая маска
+   */
+  public long getOccupancy() {
+    return occupancy[Color.WHITE.ordinal()] | occupancy[Color.BLACK.ordinal()];
+  }
+
+  @Override
+  public List<Position> getAllPiecePositionByColor(Color color) {
+    return toPositions(getOccupancy(color));
+  }
+
+  @Override
+  public List<Position> getAllPiecePosition() {
+    return toPositions(getOccupancy());
+  }
+
+  private static List<Position> toPositions(long set) {
+    List<Position> positions = new ArrayList<>(Long.bitCount(set));
+    for (; set != 0; set &= set - 1) {
+      positions.add(toPosition(Long.numberOfTrailingZeros(set)));
+    }
+    return positions;
+  }
+
+  @Override
+  public BoardType getBoardType() {
+    return BoardType.BIT;
+  }
+
+  @Override
+  public void clear() {
+    super.clear();
+
+    Arrays.fill(pieceSets, 0L);
+    Arrays.fill(occupancy, 0L);
+    Arrays.fill(squares, null);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof BitBoard bitBoard)) {
+      return false;
+    }
+    return Arrays.equals(pieceSets, bitBoard.pieceSets);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(pieceSets);
+  }
+}
@@ -1,20 +1,68 @@
 package io.deeplay.grandmastery.core;
 
+import io.deeplay.grandmastery.domain.BoardType;
 import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.domain.FigureType;
+import io.deeplay.grandmastery.domain.GameErrorCode;
+import io.deeplay.grandmastery.figures.King;
 import io.deeplay.grandmastery.figures.Piece;
+import io.deeplay.grandmastery.utils.Zobrist;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 /**
  * Абстрактный класс, представляющий игровую доску. Данный класс определяет общий интерфейс для
  * игровых досок различных типов.
+ *
+ * <p>Кроме расстановки доска хранит состояние позиции, которого нет в самих фигурах: какие фигуры
+ * уже двигались (права на рокировку и ход пешки на две клетки), последний ход (взятие на проходе)
+ * и кэш допустимых ходов.
  */
 @Getter
 public abstract class Board {
   private Move lastMove;
 
+  /** Zobrist-ключ расстановки фигур, обновляется реализациями в setPiece и removePiece. */
+  private long zobristKey;
+
+  /** Маска клеток, фигуры на которых уже двигались, бит - индекс {@code row * 8 + col}. */
+  private long movedSquares;
+
+  /** Допустимые ходы фигур по позициям, сбрасывается при любом изменении позиции. */
+  @Getter(AccessLevel.NONE)
+  private final Map<Position, List<Move>> movesCache;
+
+  /** Конструктор пустой доски. */
   public Board() {
     lastMove = null;
+    zobristKey = 0L;
+    movedSquares = 0L;
+    movesCache = new HashMap<>();
+  }
+
+  /**
+   * Возвращает Zobrist-ключ позиции: расстановка фигур, очередь хода, права на рокировку и
+   * вертикаль взятия на проходе.
+   *
+   * @return 64-битный ключ позиции.
+   */
+  public long getZobristKey() {
+    return zobristKey ^ Zobrist.getStateKey(this);
+  }
+
+  /**
+   * Добавляет фигуру в ключ расстановки или убирает её оттуда и сбрасывает кэш ходов. Реализации
+   * вызывают метод при каждой установке и удалении фигуры.
+   *
+   * @param position позиция фигуры.
+   * @param piece фигура.
+   */
+  protected void updateSquare(Position position, Piece piece) {
+    zobristKey ^= Zobrist.getPieceKey(position, piece);
+    movesCache.clear();
   }
 
   /**
@@ -24,6 +72,78 @@ public abstract class Board {
    */
   public void setLastMove(Move lastMove) {
     this.lastMove = lastMove;
+    movesCache.clear();
+  }
+
+  /**
+   * Проверяет, двигалась ли фигура на заданной позиции.
+   *
+   * @param position позиция.
+   * @return {@code true}, если фигура уже двигалась.
+   */
+  public boolean isMoved(Position position) {
+    return (movedSquares & 1L << Attacks.square(position)) != 0;
+  }
+
+  /**
+   * Отмечает, двигалась ли фигура на заданной позиции. Флаг принадлежит клетке: setPiece и
+   * removePiece его не меняют, при ходе флаг переносят {@link #makeMove(Move)} и
+   * {@link Piece#move(Board, Move)}.
+   *
+   * @param position позиция.
+   * @param moved двигалась ли фигура.
+   */
+  public void setMoved(Position position, boolean moved) {
+    long bit = 1L << Attacks.square(position);
+    movedSquares = moved ? movedSquares | bit : movedSquares & ~bit;
+    movesCache.clear();
+  }
+
+  /**
+   * Возвращает клетку, на которую можно взять пешку на проходе: последним ходом пешка прошла две
+   * клетки вперёд, и это клетка между ними.
+   *
+   * @return позиция для взятия на проходе или {@code null}.
+   */
+  public Position getEnPassantPosition() {
+    if (lastMove == null) {
+      return null;
+    }
+
+    Piece piece = getPiece(lastMove.to());
+    int fromRow = lastMove.from().row().value();
+    int toRow = lastMove.to().row().value();
+    if (piece == null
+        || piece.getFigureType() != FigureType.PAWN
+        || toRow - fromRow != (piece.getColor() == Color.WHITE ? 2 : -2)) {
+      return null;
+    }
+    return Position.of(lastMove.to().col().value(), (fromRow + toRow) / 2);
+  }
+
+  /**
+   * Возвращает кэшированные допустимые ходы фигуры.
+   *
+   * @param position позиция фигуры.
+   * @return список ходов или {@code null}, если ходы ещё не считались.
+   */
+  public List<Move> getCachedMoves(Position position) {
+    return movesCache.get(position);
+  }
+
+  /**
+   * Сохраняет допустимые ходы фигуры до следующего изменения позиции.
+   *
+   * @param position позиция фигуры.
+   * @param moves список ходов.
+   */
+  public void cacheMoves(Position position, List<Move> moves) {
+    movesCache.put(position, moves);
+  }
+
+  /** Сбрасывает кэш допустимых ходов. */
+  public void clearMoves() {
+    movesCache.clear();
   }
 
   /**
@@ -50,7 +170,7 @@ public abstract class Board {
    * @return фигура, находящаяся на заданных координатах, или {@code null}, если позиция пуста.
    */
   public Piece getPiece(int col, int row) {
-    Position position = new Position(new Column(col), new Row(row));
+    Position position = Position.of(col, row);
     return getPiece(position);
   }
 
@@ -81,7 +201,7 @@ public abstract class Board {
   public abstract boolean hasPiece(Position position);
 
   public boolean hasPiece(int col, int row) {
-    return hasPiece(new Position(new Column(col), new Row(row)));
+    return hasPiece(Position.of(col, row));
   }
 
   /**
@@ -101,7 +221,126 @@ public abstract class Board {
 
   public void clear() {
     lastMove = null;
+    zobristKey = 0L;
+    movedSquares = 0L;
+    movesCache.clear();
+  }
+
+  /**
+   * Выполняет ход прямо на этой доске, без копирования. Учитывает взятие, рокировку (в том числе
+   * в шахматах Фишера), взятие на проходе, превращение пешки и флаг хода фигуры. Допустимость
+   * хода не проверяется, ход должен быть получен из {@link Piece#getAllMoves(Board, Position)}.
+   *
+   * @param move ход.
+   * @return запись, по которой {@link #unmakeMove(MoveUndo)} восстановит позицию.
+   */
+  public MoveUndo makeMove(Move move) {
+    Piece piece = getPiece(move.from());
+    if (piece == null) {
+      throw GameErrorCode.IMPOSSIBLE_MOVE.asException();
+    }
+
+    long movedBefore = movedSquares;
+    Move rookMove = piece instanceof King king ? king.getCastlingRookMove(this, move) : null;
+    boolean rookWasMoved = rookMove != null && isMoved(rookMove.from());
+    Position capturePosition = move.to();
+    if (piece.getFigureType() == FigureType.PAWN
+        && move.from().col().value() != move.to().col().value()
+        && !hasPiece(move.to())) {
+      capturePosition = Position.of(move.to().col(), move.from().row());
+    }
+
+    removePiece(move.from());
+    Piece rook = rookMove != null ? removePiece(rookMove.from()) : null;
+    Piece captured = removePiece(capturePosition);
+
+    if (move.promotionPiece() != null) {
+      setPiece(move.to(), move.promotionPiece().getPiece(piece.getColor()));
+    } else {
+      setPiece(move.to(), piece);
+    }
+    if (rook != null) {
+      setPiece(rookMove.to(), rook);
+    }
+
+    setMoved(move.from(), false);
+    setMoved(capturePosition, false);
+    if (rookMove != null) {
+      setMoved(rookMove.from(), false);
+      setMoved(rookMove.to(), rookWasMoved);
+    }
+    setMoved(move.to(), move.promotionPiece() == null);
+
+    MoveUndo undo =
+        new MoveUndo(move, piece, movedBefore, captured, capturePosition, rookMove, lastMove);
+    lastMove = move;
+    clearMoves();
+    return undo;
+  }
+
+  /**
+   * Отменяет ход, сделанный через {@link #makeMove(Move)}. Ходы нужно отменять в обратном порядке.
+   *
+   * @param undo запись, которую вернул {@link #makeMove(Move)}.
+   */
+  public void unmakeMove(MoveUndo undo) {
+    Move move = undo.move();
+    removePiece(move.to());
+    Move rookMove = undo.rookMove();
+    if (rookMove != null) {
+      setPiece(rookMove.from(), removePiece(rookMove.to()));
+    }
+
+    setPiece(move.from(), undo.piece());
+    if (undo.captured() != null) {
+      setPiece(undo.capturePosition(), undo.captured());
+    }
+
+    movedSquares = undo.movedSquares();
+    lastMove = undo.lastMove();
+    clearMoves();
+  }
+
+  /**
+   * Передаёт ход сопернику, не двигая фигур (нулевой ход для поиска). Последним ходом становится
+   * ход короля пропускающей стороны на свою же клетку: по нему доска и Zobrist-ключ определяют
+   * очередь хода, а взятие на проходе пропадает.
+   *
+   * @param color цвет стороны, которая пропускает ход.
+   * @return последний ход до нулевого, его нужно вернуть в {@link #unmakeNullMove(Move)}.
+   */
+  public Move makeNullMove(Color color) {
+    Move previous = lastMove;
+    Position king = getKingPositionByColor(color);
+    lastMove = new Move(king, king, null);
+    clearMoves();
+    return previous;
   }
 
-  public abstract void clearMoves();
+  /**
+   * Отменяет ход, сделанный через {@link #makeNullMove(Color)}.
+   *
+   * @param previous последний ход до нулевого.
+   */
+  public void unmakeNullMove(Move previous) {
+    lastMove = previous;
+    clearMoves();
+  }
+
+  /**
+   * Проверяет, что ход сделан через {@link #makeNullMove(Color)}.
+   *
+   * @param move ход.
+   * @return {@code true}, если фигура не сдвинулась с места.
+   */
+  public static boolean isNullMove(Move move) {
+    return move != null && move.from().equals(move.to());
+  }
+
+  /**
+   * Возвращает тип реализации доски, чтобы создавать копии той же реализации.
+   *
+   * @return Тип доски.
+   */
+  public abstract BoardType getBoardType();
 }
@@ -3,8 +3,6 @@ package io.deeplay.grandmastery.core;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.deeplay.grandmastery.domain.GameErrorCode;
-import java.util.Map;
-import java.util.Objects;
 
 /** Класс для сохранения позиции столбца фигуры на шахматной доске. */
 @JsonSerialize
@@ -20,8 +18,28 @@ public record Column(int value) {
     }
   }
 
-  private static final Map<Character, Integer> VALID_CHARACTERS =
-      Map.of('a', 0, 'b', 1, 'c', 2, 'd', 3, 'e', 4, 'f', 5, 'g', 6, 'h', 7);
+  private static final Column[] COLUMNS = new Column[8];
+  private static final String[] CHARS = {"a", "b", "c", "d", "e", "f", "g", "h"};
+
+  static {
+    for (int value = 0; value < COLUMNS.length; value++) {
+      COLUMNS[value] = new Column(value);
+    }
+  }
+
+  /**
+   * Метод возвращает общий экземпляр столбца, не создавая новый объект.
+   *
+   * @param value Номер столбца от 0 до 7
+   * @return Столбец
+   * @throws IllegalArgumentException при неверном значении
+   */
+  public static Column of(int value) {
+    if (value < 0 || value > 7) {
+      throw new IllegalArgumentException();
+    }
+    return COLUMNS[value];
+  }
 
   /**
    * Метод возвращает номер столбца на шахматной доске.
@@ -30,32 +48,20 @@ public record Column(int value) {
    * @return Номер столбца на шахматной доске
    */
   public static Column getColFromChar(char colCharacter) {
-    if (!VALID_CHARACTERS.containsKey(colCharacter)) {
+    if (colCharacter < 'a' || colCharacter > 'h') {
       throw GameErrorCode.INCORRECT_POSITION_FORMAT.asException();
     }
 
-    var key =
-        VALID_CHARACTERS.keySet().stream()
-            .filter(ch -> ch.equals(colCharacter))
-            .findAny()
-            .orElseThrow(GameErrorCode.INCORRECT_MOVE_FORMAT::asException);
-
-    return new Column(VALID_CHARACTERS.get(key));
+    return COLUMNS[colCharacter - 'a'];
   }
 
   /**
    * Возвращает символ столбца на основе значения value.
    *
-   * @return Символ столбца, соответствующий значению value, или null, если значение не найдено в
-   *     VALID_CHARACTERS.
+   * @return Символ столбца, соответствующий значению value.
    */
   @JsonIgnore
   public String getChar() {
-    return Objects.requireNonNull(
-            VALID_CHARACTERS.keySet().stream()
-                .filter(key -> VALID_CHARACTERS.get(key).equals(value))
-                .findFirst()
-                .orElse(null))
-        .toString();
+    return CHARS[value];
   }
 }
@@ -1,5 +1,6 @@
 package io.deeplay.grandmastery.core;
 
+import io.deeplay.grandmastery.domain.BoardType;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.GameErrorCode;
 import io.deeplay.grandmastery.domain.GameState;
@@ -12,10 +13,24 @@ import lombok.Getter;
 public class Game implements GameListener {
   @Getter private GameState gameState;
 
-  private final Board board = new HashBoard();
+  private final Board board;
 
   @Getter private boolean gameOver;
 
+  /** Конструктор по умолчанию, использует {@link HashBoard}. */
+  public Game() {
+    this(BoardType.HASH);
+  }
+
+  /**
+   * Конструктор с выбором реализации доски.
+   *
+   * @param boardType Тип доски
+   */
+  public Game(BoardType boardType) {
+    this.board = boardType.createBoard();
+  }
+
   @Override
   public void startup(Board board) throws GameException {
     Boards.copy(board).accept(this.board);
@@ -59,8 +74,6 @@ public class Game implements GameListener {
    * @return копия текущей доски
    */
   public Board getCopyBoard() {
-    Board copyBoard = new HashBoard();
-    Boards.copy(board).accept(copyBoard);
-    return copyBoard;
+    return Boards.copyBoard(board);
   }
 }
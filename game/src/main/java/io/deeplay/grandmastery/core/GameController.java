@@ -1,5 +1,6 @@
 package io.deeplay.grandmastery.core;
 
+import io.deeplay.grandmastery.domain.BoardType;
 import io.deeplay.grandmastery.domain.ChessType;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.GameErrorCode;
@@ -29,6 +30,8 @@ public class GameController {
 
   private final Game game;
 
+  private final BoardType boardType;
+
   @Getter private GameState gameStatus;
 
   @Getter private Move move;
@@ -38,7 +41,19 @@ public class GameController {
 
   /** Дефолтный конструктор класса {@code GameController}. */
   public GameController(Player firstPlayer, Player secondPlayer) {
+    this(firstPlayer, secondPlayer, BoardType.HASH);
+  }
+
+  /**
+   * Конструктор класса {@code GameController} с выбором реализации доски.
+   *
+   * @param firstPlayer Первый игрок
+   * @param secondPlayer Второй игрок
+   * @param boardType Тип доски для игры и истории партии
+   */
+  public GameController(Player firstPlayer, Player secondPlayer, BoardType boardType) {
     this.move = null;
+    this.boardType = boardType;
     this.historyAndPlayers = new ArrayList<>();
 
     if (firstPlayer.getColor() == Color.WHITE) {
@@ -49,8 +64,8 @@ public class GameController {
       this.black = firstPlayer;
     }
 
-    this.game = new Game();
-    this.gameHistory = new GameHistory();
+    this.game = new Game(boardType);
+    this.gameHistory = new GameHistory(boardType);
 
     this.gameListener = game;
     this.historyAndPlayers.add(gameHistory);
@@ -86,7 +101,7 @@ public class GameController {
    * @throws GameException если возникла ошибка во время игры
    */
   public void beginPlay(ChessType chessType) throws GameException {
-    Board board = new HashBoard();
+    Board board = boardType.createBoard();
     if (chessType == ChessType.CLASSIC) {
       Boards.defaultChess().accept(board);
     } else {
@@ -107,7 +122,7 @@ public class GameController {
    * @throws GameException если возникла ошибка во время игры
    */
   public void beginPlay(Board customBoard) throws GameException {
-    Board board = new HashBoard();
+    Board board = boardType.createBoard();
     Boards.copy(customBoard).accept(board);
 
     if (board.getWhiteKingPosition() == null || board.getBlackKingPosition() == null) {
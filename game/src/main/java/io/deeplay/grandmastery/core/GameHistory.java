@@ -1,32 +1,81 @@
 package io.deeplay.grandmastery.core;
 
+import io.deeplay.grandmastery.domain.BoardType;
 import io.deeplay.grandmastery.domain.FigureType;
 import io.deeplay.grandmastery.domain.GameErrorCode;
 import io.deeplay.grandmastery.domain.GameState;
-import io.deeplay.grandmastery.figures.Piece;
 import io.deeplay.grandmastery.listeners.GameListener;
-import io.deeplay.grandmastery.utils.Boards;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
 
-/** Класс для сохранения истории партии. */
+/**
+ * Класс для сохранения истории партии.
+ *
+ * <p>Позиции и ходы хранятся в неизменяемых связных узлах, каждый узел ссылается на предыдущий.
+ * Копия истории делит узлы с оригиналом, поэтому {@link #getCopy()} работает за O(1), а ходы,
+ * добавленные в копию, не видны в оригинале.
+ *
+ * <p>Позиции хранятся упакованными ({@link PackedBoard}), доска собирается заново при каждом вызове
+ * {@link #getCurBoard()}, {@link #getBeforeLastBoard()} и {@link #getBoards()}.
+ */
 @Getter
-@NoArgsConstructor
 @EqualsAndHashCode
 public class GameHistory implements GameListener {
-  private final List<Move> moves = new ArrayList<>();
-
-  private int movesWithoutTakingAndAdvancingPawns = 0;
+  /** Последний ход или {@code null}, если ходов нет. */
+  @Getter(AccessLevel.NONE)
+  private MoveNode lastMoveNode;
 
   private boolean gameOver;
 
-  private final List<Board> boards = new ArrayList<>();
+  /** Последняя позиция или {@code null}, если позиций нет. */
+  @Getter(AccessLevel.NONE)
+  private BoardNode curBoardNode;
 
   private GameState resultGame;
 
+  /** Реализация доски, в которой хранятся позиции истории. */
+  private final BoardType boardType;
+
+  /**
+   * Узел списка позиций.
+   *
+   * @param parent Предыдущая позиция
+   * @param board Упакованная позиция
+   * @param key Zobrist-ключ доски
+   * @param size Количество позиций с учётом этой
+   */
+  private record BoardNode(BoardNode parent, PackedBoard board, long key, int size) {}
+
+  /**
+   * Узел списка ходов.
+   *
+   * @param parent Предыдущий ход
+   * @param move Ход
+   * @param movesWithoutTakingAndAdvancingPawns Счётчик ходов без взятий и ходов пешкой после хода
+   * @param size Количество ходов с учётом этого
+   */
+  private record MoveNode(
+      MoveNode parent, Move move, int movesWithoutTakingAndAdvancingPawns, int size) {}
+
+  /** Конструктор по умолчанию, хранит позиции в {@link HashBoard}. */
+  public GameHistory() {
+    this(BoardType.HASH);
+  }
+
+  /**
+   * Конструктор с выбором реализации доски для хранения позиций.
+   *
+   * @param boardType Тип доски
+   */
+  public GameHistory(BoardType boardType) {
+    this.boardType = boardType;
+  }
+
   /**
    * * Метод устанавливает начальное состояние доски.
    *
@@ -48,20 +97,26 @@ public class GameHistory implements GameListener {
     if (gameOver) {
       throw GameErrorCode.GAME_ALREADY_OVER.asException();
     }
-    movesWithoutTakingAndAdvancingPawns++;
 
-    Board board = getCurBoard();
-    Board beforeLast = getBeforeLastBoard();
+    int movesWithoutTakingAndAdvancingPawns = getMovesWithoutTakingAndAdvancingPawns() + 1;
+    if (isTakingOrAdvancingPawn(move)) {
+      movesWithoutTakingAndAdvancingPawns = 0;
+    }
+
+    int size = lastMoveNode == null ? 1 : lastMoveNode.size() + 1;
+    lastMoveNode = new MoveNode(lastMoveNode, move, movesWithoutTakingAndAdvancingPawns, size);
+  }
+
+  private boolean isTakingOrAdvancingPawn(Move move) {
     var toPos = move.to();
-    var piece = board.getPiece(toPos);
-    Piece pieceToBeforeMove = beforeLast != null ? beforeLast.getPiece(toPos) : null;
+    var figureType = curBoardNode.board().getFigureType(toPos);
+    BoardNode beforeLast = curBoardNode.parent();
+    FigureType figureToBeforeMove =
+        beforeLast != null ? beforeLast.board().getFigureType(toPos) : null;
 
-    if (piece.getFigureType() == FigureType.PAWN
+    return figureType == FigureType.PAWN
         || move.promotionPiece() != null
-        || pieceToBeforeMove != null) {
-      movesWithoutTakingAndAdvancingPawns = 0;
-    }
-    moves.add(move);
+        || figureToBeforeMove != null;
   }
 
   @Override
@@ -70,13 +125,47 @@ public class GameHistory implements GameListener {
     resultGame = gameState;
   }
 
+  /**
+   * Метод возвращает количество ходов с последнего взятия или хода пешкой.
+   *
+   * @return Количество ходов
+   */
+  public int getMovesWithoutTakingAndAdvancingPawns() {
+    return lastMoveNode == null ? 0 : lastMoveNode.movesWithoutTakingAndAdvancingPawns();
+  }
+
+  /**
+   * Метод возвращает ходы партии по порядку. Список только для чтения и не копирует историю:
+   * размер и последний ход берутся за O(1), остальные ходы - из массива, который собирается за O(n)
+   * при первом обращении к ним.
+   *
+   * @return Ходы партии
+   */
+  public List<Move> getMoves() {
+    return new MovesView(lastMoveNode);
+  }
+
+  /**
+   * Метод возвращает позиции партии по порядку, начиная с начальной.
+   *
+   * @return Новый список позиций
+   */
+  public List<Board> getBoards() {
+    int size = curBoardNode == null ? 0 : curBoardNode.size();
+    Board[] boards = new Board[size];
+    for (BoardNode node = curBoardNode; node != null; node = node.parent()) {
+      boards[node.size() - 1] = node.board().toBoard(boardType);
+    }
+    return new ArrayList<>(Arrays.asList(boards));
+  }
+
   /**
    * Метод возвращает пуста ли история в данный момент.
    *
    * @return Пуста ли история
    */
   public boolean isEmpty() {
-    return moves.isEmpty();
+    return lastMoveNode == null;
   }
 
   /**
@@ -89,84 +178,139 @@ public class GameHistory implements GameListener {
       throw GameErrorCode.MOVE_NOT_FOUND.asException();
     }
 
-    return moves.get(moves.size() - 1);
+    return lastMoveNode.move();
   }
 
   /**
-   * * Метод возвращает текущую доску.
+   * * Метод возвращает текущую доску. Каждый вызов собирает новую доску.
    *
    * @return Доску
    */
   public Board getCurBoard() {
-    return boards.isEmpty() ? null : boards.get(boards.size() - 1);
+    return curBoardNode == null ? null : curBoardNode.board().toBoard(boardType);
   }
 
   /**
-   * * Метод возвращает позапрошлую доску.
+   * * Метод возвращает позапрошлую доску. Каждый вызов собирает новую доску.
    *
    * @return Доску
    */
   public Board getBeforeLastBoard() {
-    return boards.size() > 1 ? boards.get(boards.size() - 2) : null;
+    return curBoardNode == null || curBoardNode.parent() == null
+        ? null
+        : curBoardNode.parent().board().toBoard(boardType);
   }
 
   /** * Метод откатывает историю на один ход. */
   public void rollback() {
-    if (!boards.isEmpty()) {
-      boards.remove(getCurBoard());
+    if (curBoardNode != null) {
+      curBoardNode = curBoardNode.parent();
     }
 
-    if (!moves.isEmpty()) {
-      moves.remove(getLastMove());
+    if (lastMoveNode != null) {
+      lastMoveNode = lastMoveNode.parent();
     }
   }
 
   /**
-   * Метод копирует и добавляет новую борду в историю. По идее добавление должно происходить перед
-   * каждым makeMove в GameHistory
+   * Метод упаковывает и добавляет новую борду в историю. По идее добавление должно происходить
+   * перед каждым makeMove в GameHistory
    *
-   * @param board доска для копирования.
+   * @param board доска для сохранения.
    */
   public void addBoard(Board board) {
-    Board copyBoard = new HashBoard();
-    Boards.copy(board).accept(copyBoard);
-    boards.add(copyBoard);
+    if (board == null) {
+      throw GameErrorCode.NULL_POINTER_SOURCE_BOARD.asException();
+    }
+
+    int size = curBoardNode == null ? 1 : curBoardNode.size() + 1;
+    curBoardNode = new BoardNode(curBoardNode, PackedBoard.of(board), board.getZobristKey(), size);
   }
 
   /** Метод для очистки игровой истории. */
   public void clear() {
-    moves.clear();
-    movesWithoutTakingAndAdvancingPawns = 0;
+    lastMoveNode = null;
     gameOver = false;
-    boards.clear();
+    curBoardNode = null;
     resultGame = null;
   }
 
   /**
-   * Метод возвращает количество повторений позиции на доске в истории.
+   * Метод возвращает количество повторений позиции на доске в истории. Позиция не может
+   * повториться через взятие или ход пешкой, поэтому просматриваются только позиции после
+   * последнего такого хода.
    *
    * @param checkBoard Доска
    * @return Количество повторений позиции на доске в истории
    */
   public int getMaxRepeatPosition(Board checkBoard) {
-    return (int)
-        boards.stream().filter(historyBoard -> Boards.equals(historyBoard, checkBoard)).count();
+    long key = checkBoard.getZobristKey();
+    int limit = Integer.MAX_VALUE;
+    if (lastMoveNode != null && curBoardNode != null) {
+      int extraBoards = curBoardNode.size() - lastMoveNode.size();
+      limit = lastMoveNode.movesWithoutTakingAndAdvancingPawns() + Math.max(extraBoards, 1);
+    }
+
+    int count = 0;
+    for (BoardNode node = curBoardNode; node != null && limit > 0; node = node.parent()) {
+      if (node.key() == key) {
+        count++;
+      }
+      limit--;
+    }
+    return count;
   }
 
   /**
-   * Метод возвращает копию истории.
+   * Метод возвращает копию истории. Копия делит с оригиналом все позиции и ходы.
    *
    * @return история
    */
   public GameHistory getCopy() {
-    var gameHistory = new GameHistory();
+    var gameHistory = new GameHistory(boardType);
     gameHistory.gameOver = this.gameOver;
-    gameHistory.movesWithoutTakingAndAdvancingPawns = this.movesWithoutTakingAndAdvancingPawns;
     gameHistory.resultGame = this.resultGame;
-
-    gameHistory.moves.addAll(this.moves);
-    gameHistory.boards.addAll(this.boards);
+    gameHistory.lastMoveNode = this.lastMoveNode;
+    gameHistory.curBoardNode = this.curBoardNode;
 
     return gameHistory;
   }
+
+  /**
+   * Список ходов поверх узлов. Узлы не меняются, поэтому ходы один раз переписываются в массив, и
+   * обход списка идёт за O(n), а не проходит цепочку узлов заново для каждого индекса.
+   */
+  private static class MovesView extends AbstractList<Move> {
+    private final MoveNode lastMoveNode;
+    private Move[] moves;
+
+    MovesView(MoveNode lastMoveNode) {
+      this.lastMoveNode = lastMoveNode;
+    }
+
+    @Override
+    public Move get(int index) {
+      if (index < 0 || index >= size()) {
+        throw new IndexOutOfBoundsException(index);
+      }
+      if (index == size() - 1) {
+        return lastMoveNode.move();
+      }
+
+      if (moves == null) {
+        moves = new Move[size()];
+        MoveNode node = lastMoveNode;
+        for (int i = moves.length - 1; i >= 0; i--) {
+          moves[i] = node.move();
+          node = node.parent();
+        }
+      }
+      return moves[index];
+    }
+
+    @Override
+    public int size() {
+      return lastMoveNode == null ? 0 : lastMoveNode.size();
+    }
+  }
 }
@@ -2,8 +2,6 @@ package io.deeplay.grandmastery.core;
 
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.FigureType;
-import io.deeplay.grandmastery.figures.Piece;
-import io.deeplay.grandmastery.utils.Boards;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -17,23 +15,7 @@ public class GameStateChecker {
    */
   public static boolean isCheck(Board board, Color color) {
     Position kingPoz = board.getKingPositionByColor(color);
-
-    List<Position> piecePosition = board.getAllPiecePositionByColor(color.getOpposite());
-    for (Position position : piecePosition) {
-      var piece = board.getPiece(position);
-      FigureType promotionPiece = null;
-      if (piece.getFigureType() == FigureType.PAWN
-          && (kingPoz.row().value() == 0 || kingPoz.row().value() == 7)) {
-        promotionPiece = FigureType.QUEEN;
-      }
-
-      Move move = new Move(position, kingPoz, promotionPiece);
-
-      if (piece.canMove(board, move, false, true)) {
-        return true;
-      }
-    }
-    return false;
+    return kingPoz != null && Attacks.isSquareAttacked(board, kingPoz, color.getOpposite());
   }
 
   /**
@@ -48,23 +30,7 @@ public class GameStateChecker {
       return false;
     }
 
-    List<Position> piecePosition = board.getAllPiecePositionByColor(color);
-    for (Position position : piecePosition) {
-      Piece piece = board.getPiece(position);
-
-      for (Move move : piece.getAllMoves(board, position)) {
-        Board copyBoard = new HashBoard();
-        Boards.copy(board).accept(copyBoard);
-        Piece copyPiece = copyBoard.getPiece(position);
-
-        if (copyPiece.move(copyBoard, move)) {
-          if (!isCheck(copyBoard, color)) {
-            return false;
-          }
-        }
-      }
-    }
-    return true;
+    return MoveGenerator.getLegalMoves(board, color).isEmpty();
   }
 
   /**
@@ -113,27 +79,7 @@ public class GameStateChecker {
    * @return Стоит ли на доске пат
    */
   public static boolean isStaleMate(Board board, Color color) {
-    List<Position> positions = board.getAllPiecePositionByColor(color);
-    for (Position position : positions) {
-      var piece = board.getPiece(position);
-
-      var allMoves = piece.getAllMoves(board, position);
-      if (!allMoves.isEmpty()) {
-        for (Move move : allMoves) {
-          var copyBoard = new HashBoard();
-          Boards.copy(board).accept(copyBoard);
-          Piece copyPiece = copyBoard.getPiece(position);
-
-          if (copyPiece.move(copyBoard, move)) {
-            if (!isCheck(copyBoard, color)) {
-              return false;
-            }
-          }
-        }
-      }
-    }
-
-    return true;
+    return MoveGenerator.getLegalMoves(board, color).isEmpty();
   }
 
   /**
@@ -1,5 +1,6 @@
 package io.deeplay.grandmastery.core;
 
+import io.deeplay.grandmastery.domain.BoardType;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.FigureType;
 import io.deeplay.grandmastery.figures.Piece;
@@ -35,7 +36,11 @@ public class HashBoard extends Board {
 
   @Override
   public void setPiece(Position position, Piece piece) {
-    pieces.put(position, piece);
+    Piece replaced = pieces.put(position, piece);
+    if (replaced != null) {
+      updateSquare(position, replaced);
+    }
+    updateSquare(position, piece);
     if (piece.getFigureType() == FigureType.KING) {
       if (piece.getColor() == Color.WHITE) {
         whiteKing = position;
@@ -53,6 +58,9 @@ public class HashBoard extends Board {
   @Override
   public Piece removePiece(Position position) {
     Piece piece = pieces.remove(position);
+    if (piece != null) {
+      updateSquare(position, piece);
+    }
     if (piece != null && piece.getFigureType() == FigureType.KING) {
       if (piece.getColor() == Color.WHITE) {
         whiteKing = null;
@@ -84,11 +92,6 @@ public class HashBoard extends Board {
     return pieces.containsKey(position);
   }
 
-  @Override
-  public void clearMoves() {
-    pieces.values().forEach(Piece::clearMoves);
-  }
-
   @Override
   public List<Position> getAllPiecePositionByColor(Color color) {
     return pieces.entrySet().stream()
@@ -102,6 +105,11 @@ public class HashBoard extends Board {
     return pieces.keySet().stream().toList();
   }
 
+  @Override
+  public BoardType getBoardType() {
+    return BoardType.HASH;
+  }
+
   @Override
   public void clear() {
     super.clear();
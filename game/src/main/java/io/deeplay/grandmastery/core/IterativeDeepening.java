@@ -0,0 +1,86 @@
+package io.deeplay.grandmastery.core;
+
+import io.deeplay.grandmastery.exceptions.SearchTimeoutException;
+import java.util.function.IntFunction;
+
+/**
+ * Итеративное углубление: поиск повторяется на глубине 1, 2, 3 и так далее, пока позволяет {@link
+ * TimeManager}, и возвращает результат последней завершённой итерации. Поиск вызывает {@link
+ * #checkTime()} в каждом узле, и если время вышло, итерация прерывается исключением. Первая
+ * итерация не прерывается, чтобы у бота всегда был ход.
+ *
+ * <p>Прерванная итерация не откатывает ходы на доске поиска, поэтому после прерывания доску нужно
+ * выбросить.
+ */
+public class IterativeDeepening {
+  /** Наибольшая глубина для поиска, который ограничен только временем. */
+  public static final int MAX_DEEP = 64;
+
+  private final TimeManager timeManager;
+  private volatile boolean canAbort;
+
+  /** Число вызовов {@link #checkTime()}, то есть узлов поиска. При нескольких потоках примерное. */
+  private long nodes;
+
+  /**
+   * Конструктор.
+   *
+   * @param timeManager Менеджер времени на ход
+   */
+  public IterativeDeepening(TimeManager timeManager) {
+    this.timeManager = timeManager;
+  }
+
+  /**
+   * Метод выполняет итеративное углубление.
+   *
+   * @param maxDeep Наибольшая глубина
+   * @param searchToDeep Поиск на заданную глубину
+   * @param <T> Результат поиска
+   * @return Результат последней завершённой итерации
+   */
+  public <T> T search(int maxDeep, IntFunction<T> searchToDeep) {
+    timeManager.start();
+    canAbort = false;
+    nodes = 0;
+
+    T result = null;
+    long lastIterationNanos = 0;
+    for (int deep = 1; deep <= maxDeep; deep++) {
+      if (deep > 1 && !timeManager.canStartIteration(lastIterationNanos)) {
+        break;
+      }
+
+      long start = System.nanoTime();
+      try {
+        result = searchToDeep.apply(deep);
+      } catch (SearchTimeoutException e) {
+        break;
+      }
+      lastIterationNanos = System.nanoTime() - start;
+      canAbort = true;
+    }
+    return result;
+  }
+
+  /**
+   * Метод прерывает итерацию, если время на ход истекло. Вызывается из узлов поиска.
+   *
+   * @throws SearchTimeoutException если время истекло
+   */
+  public void checkTime() {
+    nodes++;
+    if (canAbort && timeManager.isTimeUp()) {
+      throw new SearchTimeoutException();
+    }
+  }
+
+  /**
+   * Метод возвращает число узлов, которые поиск посмотрел с начала последнего {@link #search}.
+   *
+   * @return Число узлов
+   */
+  public long getNodes() {
+    return nodes;
+  }
+}
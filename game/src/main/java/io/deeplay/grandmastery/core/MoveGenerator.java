@@ -0,0 +1,519 @@
+package io.deeplay.grandmastery.core;
+
+import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.domain.FigureType;
+import io.deeplay.grandmastery.figures.King;
+import io.deeplay.grandmastery.figures.Piece;
+import java.util.Collections;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Класс MoveGenerator генерирует допустимые ходы для позиции целиком. Шахующие и связанные фигуры
+ * находятся один раз, лучами от короля, после чего ход обычной фигуры проверяется по маскам без
+ * моделирования на доске. Полная проверка атаки на короля остаётся только для ходов короля и
+ * взятия на проходе.
+ *
+ * <p>Порядок ходов каждой фигуры совпадает с порядком, в котором их перебирали сами фигуры.
+ */
+public class MoveGenerator {
+  private static final FigureType[] PROMOTION_PIECES = {
+    FigureType.BISHOP, FigureType.ROOK, FigureType.QUEEN, FigureType.KNIGHT
+  };
+
+  private final Board board;
+  private final Color color;
+  private final Piece[] squares = new Piece[64];
+  private final int kingSquare;
+
+  /** Количество фигур, которые шахуют королю. */
+  private int checkers;
+
+  /** Клетки, ход на которые снимает единственный шах: шахующая фигура и клетки до неё. */
+  private long checkMask;
+
+  /** Связанные фигуры. */
+  private long pinned;
+
+  /** Для связанной фигуры - клетки между королём и связывающей фигурой, включая её. */
+  private final long[] pinRays = new long[64];
+
+  /** Генерировать только взятия и превращения. */
+  private boolean capturesOnly;
+
+  private MoveGenerator(Board board, Color color) {
+    this.board = board;
+    this.color = color;
+    for (Position position : board.getAllPiecePosition()) {
+      squares[square(position)] = board.getPiece(position);
+    }
+
+    Position kingPosition = board.getKingPositionByColor(color);
+    kingSquare = kingPosition == null ? -1 : square(kingPosition);
+    if (kingSquare >= 0) {
+      findCheckersAndPins();
+    }
+  }
+
+  /**
+   * Метод возвращает все допустимые ходы фигур заданного цвета. Фигуры перебираются в порядке
+   * {@link Board#getAllPiecePositionByColor(Color)}.
+   *
+   * @param board Доска
+   * @param color Цвет
+   * @return Список ходов
+   */
+  public static List<Move> getLegalMoves(Board board, Color color) {
+    MoveList moves = new MoveList();
+    generateLegalMoves(board, color, moves);
+    return moves.toMoves();
+  }
+
+  /**
+   * Метод записывает в список все допустимые ходы фигур заданного цвета в упакованном виде
+   * ({@link PackedMove}), в том же порядке, что и {@link #getLegalMoves(Board, Color)}. Список
+   * предварительно очищается, поэтому поиск может переиспользовать его на каждом уровне.
+   *
+   * @param board Доска
+   * @param color Цвет
+   * @param moves Список, в который записываются ходы
+   */
+  public static void generateLegalMoves(Board board, Color color, MoveList moves) {
+    moves.clear();
+    MoveGenerator generator = new MoveGenerator(board, color);
+    for (Position position : board.getAllPiecePositionByColor(color)) {
+      generator.addMoves(square(position), moves);
+    }
+  }
+
+  /**
+   * Метод записывает в список допустимые взятия и превращения фигур заданного цвета, в том же
+   * порядке, что и {@link #generateLegalMoves(Board, Color, MoveList)}. Если королю шах, тихих
+   * ходов тоже не пропустить, поэтому записываются все ходы, уходящие от шаха. Нужен для
+   * форсированного поиска, который доигрывает взятия после основной глубины.
+   *
+   * @param board Доска
+   * @param color Цвет
+   * @param moves Список, в который записываются ходы
+   */
+  public static void generateCaptures(Board board, Color color, MoveList moves) {
+    moves.clear();
+    MoveGenerator generator = new MoveGenerator(board, color);
+    generator.capturesOnly = generator.checkers == 0;
+    for (Position position : board.getAllPiecePositionByColor(color)) {
+      generator.addMoves(square(position), moves);
+    }
+  }
+
+  /**
+   * Метод выбирает случайный допустимый ход для случайной партии, не строя список всех ходов.
+   * Фигуры перебираются по кругу начиная со случайной, и ходы генерируются только до первой
+   * фигуры, у которой они есть; ход выбирается среди её ходов. Поэтому ходы выбираются не
+   * равновероятно: у фигуры с одним ходом он выпадает чаще, чем каждый ход ферзя.
+   *
+   * @param board Доска
+   * @param color Цвет
+   * @param moves Рабочий список, его содержимое затирается
+   * @param random Генератор случайных чисел
+   * @return Упакованный ход или {@link PackedMove#NO_MOVE}, если допустимых ходов нет
+   */
+  public static int getRandomLegalMove(
+      Board board, Color color, MoveList moves, RandomGenerator random) {
+    moves.clear();
+    MoveGenerator generator = new MoveGenerator(board, color);
+    List<Position> positions = board.getAllPiecePositionByColor(color);
+    if (positions.isEmpty()) {
+      return PackedMove.NO_MOVE;
+    }
+
+    int first = random.nextInt(positions.size());
+    for (int i = 0; i < positions.size(); i++) {
+      generator.addMoves(square(positions.get((first + i) % positions.size())), moves);
+      if (!moves.isEmpty()) {
+        return moves.get(random.nextInt(moves.size()));
+      }
+    }
+    return PackedMove.NO_MOVE;
+  }
+
+  /**
+   * Метод возвращает допустимые ходы фигуры на заданной позиции.
+   *
+   * @param board Доска
+   * @param position Позиция фигуры
+   * @return Список ходов или пустой список, если позиция пуста
+   */
+  public static List<Move> getLegalMoves(Board board, Position position) {
+    Piece piece = board.getPiece(position);
+    if (piece == null) {
+      return Collections.emptyList();
+    }
+
+    MoveList moves = new MoveList();
+    new MoveGenerator(board, piece.getColor()).addMoves(square(position), moves);
+    return Collections.unmodifiableList(moves.toMoves());
+  }
+
+  /**
+   * Метод проверяет, что после хода король ходившей стороны не под шахом. Сам ход должен быть
+   * возможен для фигуры, то есть прошёл {@link Piece#canMove(Board, Move)}. При рокировке ладья в
+   * проверке не учитывается.
+   *
+   * @param board Доска
+   * @param move Ход
+   * @return {@code true}, если король после хода не под шахом
+   */
+  public static boolean isKingSafeAfterMove(Board board, Move move) {
+    Piece piece = board.getPiece(move.from());
+    if (piece == null) {
+      return false;
+    }
+
+    MoveGenerator generator = new MoveGenerator(board, piece.getColor());
+    int from = square(move.from());
+    int to = square(move.to());
+    if (piece.getFigureType() == FigureType.KING) {
+      return !generator.isAttacked(to, from, -1, to);
+    }
+    if (generator.kingSquare < 0) {
+      return true;
+    }
+
+    int captured = -1;
+    if (piece.getFigureType() == FigureType.PAWN
+        && (from & 7) != (to & 7)
+        && generator.squares[to] == null) {
+      captured = (from & ~7) | (to & 7);
+    }
+    return !generator.isAttacked(generator.kingSquare, from, captured, to);
+  }
+
+  private static int square(Position position) {
+    return Attacks.square(position);
+  }
+
+  private static int square(int col, int row) {
+    return row * 8 + col;
+  }
+
+  private static boolean onBoard(int col, int row) {
+    return Attacks.onBoard(col, row);
+  }
+
+  private static long bit(int square) {
+    return 1L << square;
+  }
+
+  /** Ищет шахующие фигуры и связки лучами от короля. */
+  private void findCheckersAndPins() {
+    for (int square : Attacks.KNIGHT_SQUARES[kingSquare]) {
+      addCheckerIfEnemy(square, FigureType.KNIGHT);
+    }
+    for (int square : Attacks.KING_SQUARES[kingSquare]) {
+      addCheckerIfEnemy(square, FigureType.KING);
+    }
+    int pawnRow = Attacks.pawnRow(kingSquare >>> 3, color.getOpposite());
+    for (int pawnCol = (kingSquare & 7) - 1; pawnCol <= (kingSquare & 7) + 1; pawnCol += 2) {
+      if (Attacks.onBoard(pawnCol, pawnRow)) {
+        addCheckerIfEnemy(pawnRow * 8 + pawnCol, FigureType.PAWN);
+      }
+    }
+
+    for (int direction = 0; direction < Attacks.RAY_DELTAS.length; direction++) {
+      findCheckerOrPinOnRay(direction);
+    }
+  }
+
+  private void addCheckerIfEnemy(int square, FigureType figureType) {
+    Piece piece = squares[square];
+    if (piece != null && piece.getColor() != color && piece.getFigureType() == figureType) {
+      checkers++;
+      checkMask |= bit(square);
+    }
+  }
+
+  private void findCheckerOrPinOnRay(int direction) {
+    long ray = 0L;
+    int blocker = -1;
+    for (int square : Attacks.RAYS[kingSquare][direction]) {
+      ray |= bit(square);
+      Piece piece = squares[square];
+      if (piece == null) {
+        continue;
+      }
+
+      if (piece.getColor() != color) {
+        if (Attacks.isSlider(piece, direction)) {
+          if (blocker < 0) {
+            checkers++;
+            checkMask |= ray;
+          } else {
+            pinned |= bit(blocker);
+            pinRays[blocker] = ray;
+          }
+        }
+        return;
+      }
+      if (blocker >= 0) {
+        return;
+      }
+      blocker = square;
+    }
+  }
+
+  /**
+   * Проверяет, атакована ли клетка фигурами соперника после хода. Клетки {@code vacated} и
+   * {@code captured} считаются пустыми, на клетке {@code occupied} стоит ходившая фигура.
+   */
+  private boolean isAttacked(int target, int vacated, int captured, int occupied) {
+    for (int square : Attacks.KNIGHT_SQUARES[target]) {
+      if (isEnemy(square, FigureType.KNIGHT, vacated, captured, occupied)) {
+        return true;
+      }
+    }
+    for (int square : Attacks.KING_SQUARES[target]) {
+      if (isEnemy(square, FigureType.KING, vacated, captured, occupied)) {
+        return true;
+      }
+    }
+    int pawnRow = Attacks.pawnRow(target >>> 3, color.getOpposite());
+    for (int pawnCol = (target & 7) - 1; pawnCol <= (target & 7) + 1; pawnCol += 2) {
+      if (Attacks.onBoard(pawnCol, pawnRow)
+          && isEnemy(pawnRow * 8 + pawnCol, FigureType.PAWN, vacated, captured, occupied)) {
+        return true;
+      }
+    }
+
+    for (int direction = 0; direction < Attacks.RAY_DELTAS.length; direction++) {
+      for (int square : Attacks.RAYS[target][direction]) {
+        Piece piece = pieceAt(square, vacated, captured, occupied);
+        if (piece != null) {
+          if (piece.getColor() != color && Attacks.isSlider(piece, direction)) {
+            return true;
+          }
+          break;
+        }
+      }
+    }
+    return false;
+  }
+
+  private boolean isEnemy(
+      int square, FigureType figureType, int vacated, int captured, int occupied) {
+    Piece piece = pieceAt(square, vacated, captured, occupied);
+    return piece != null && piece.getColor() != color && piece.getFigureType() == figureType;
+  }
+
+  private Piece pieceAt(int square, int vacated, int captured, int occupied) {
+    if (square == occupied) {
+      return squares[vacated];
+    }
+    if (square == vacated || square == captured) {
+      return null;
+    }
+    return squares[square];
+  }
+
+  /** Ход обычной фигуры допустим, если он снимает шах и не выводит фигуру из связки. */
+  private boolean isLegal(int from, int to) {
+    if (checkers > 1 || (checkers == 1 && (checkMask & bit(to)) == 0)) {
+      return false;
+    }
+    return (pinned & bit(from)) == 0 || (pinRays[from] & bit(to)) != 0;
+  }
+
+  private boolean isEnemyPiece(int square) {
+    return squares[square] != null && squares[square].getColor() != color;
+  }
+
+  /** На клетку можно пойти: она пуста или на ней фигура соперника, но не король. */
+  private boolean canMoveTo(int square) {
+    Piece piece = squares[square];
+    return piece == null
+        || (piece.getColor() != color && piece.getFigureType() != FigureType.KING);
+  }
+
+  private void addMoves(int from, MoveList moves) {
+    Piece piece = squares[from];
+    switch (piece.getFigureType()) {
+      case PAWN -> addPawnMoves(from, piece, moves);
+      case KNIGHT -> addKnightMoves(from, moves);
+      case BISHOP -> addDiagonalMoves(from, moves);
+      case ROOK -> addLineMoves(from, moves);
+      case QUEEN -> {
+        addDiagonalMoves(from, moves);
+        addLineMoves(from, moves);
+      }
+      case KING -> addKingMoves(from, (King) piece, moves);
+      default -> {}
+    }
+  }
+
+  private void addMove(int from, int to, MoveList moves) {
+    addMove(from, to, null, PackedMove.NORMAL, moves);
+  }
+
+  private void addMove(int from, int to, FigureType promotion, int type, MoveList moves) {
+    if (capturesOnly && squares[to] == null && promotion == null) {
+      return;
+    }
+    int flags = squares[to] != null ? PackedMove.CAPTURE : 0;
+    moves.add(PackedMove.encode(from, to, promotion, type, flags));
+  }
+
+  private void addKnightMoves(int from, MoveList moves) {
+    for (int to : Attacks.KNIGHT_SQUARES[from]) {
+      if (canMoveTo(to) && isLegal(from, to)) {
+        addMove(from, to, moves);
+      }
+    }
+  }
+
+  /** Клетки, на которые фигура может пойти по лучам с индексами от first до last, без шаха. */
+  private long getRayTargets(int from, int first, int last) {
+    long targets = 0L;
+    for (int direction = first; direction <= last; direction++) {
+      for (int square : Attacks.RAYS[from][direction]) {
+        if (canMoveTo(square)) {
+          targets |= bit(square);
+        }
+        if (squares[square] != null) {
+          break;
+        }
+      }
+    }
+    return targets;
+  }
+
+  private void addDiagonalMoves(int from, MoveList moves) {
+    long targets = getRayTargets(from, 0, 3);
+    for (int direction = 0; direction < 4; direction++) {
+      for (int square : Attacks.RAYS[from][direction]) {
+        if ((targets & bit(square)) == 0) {
+          break;
+        }
+        if (isLegal(from, square)) {
+          addMove(from, square, moves);
+        }
+      }
+    }
+  }
+
+  /** Ходы по вертикали и горизонтали перебираются вперемешку, как в прежней генерации ладьи. */
+  private void addLineMoves(int from, MoveList moves) {
+    long targets = getRayTargets(from, 4, 7);
+    for (int i = 0; i < 8; i++) {
+      int vertical = i * 8 + (from & 7);
+      int horizontal = (from & ~7) + i;
+      if ((targets & bit(vertical)) != 0 && isLegal(from, vertical)) {
+        addMove(from, vertical, moves);
+      }
+      if ((targets & bit(horizontal)) != 0 && isLegal(from, horizontal)) {
+        addMove(from, horizontal, moves);
+      }
+    }
+  }
+
+  private void addPawnMoves(int from, Piece pawn, MoveList moves) {
+    final int col = from & 7;
+    final int row = from >>> 3;
+    final int direction = pawn.getColor() == Color.WHITE ? 1 : -1;
+    final int lastRow = pawn.getColor() == Color.WHITE ? 7 : 0;
+
+    int forwardRow = row + direction;
+    if (onBoard(col, forwardRow) && squares[square(col, forwardRow)] == null) {
+      addPawnMove(from, square(col, forwardRow), lastRow, PackedMove.NORMAL, moves);
+
+      int doubleRow = row + 2 * direction;
+      if (!board.isMoved(Position.of(from))
+          && onBoard(col, doubleRow)
+          && squares[square(col, doubleRow)] == null) {
+        addPawnMove(from, square(col, doubleRow), lastRow, PackedMove.PAWN_DOUBLE, moves);
+      }
+    }
+
+    for (int deltaCol = 1; deltaCol >= -1; deltaCol -= 2) {
+      if (!onBoard(col + deltaCol, forwardRow)) {
+        continue;
+      }
+
+      int to = square(col + deltaCol, forwardRow);
+      if (squares[to] != null) {
+        if (canMoveTo(to)) {
+          addPawnMove(from, to, lastRow, PackedMove.NORMAL, moves);
+        }
+      } else if (forwardRow != lastRow && isEnPassant(from, to)) {
+        int captured = square(col + deltaCol, row);
+        if (kingSquare < 0 || !isAttacked(kingSquare, from, captured, to)) {
+          moves.add(PackedMove.encode(from, to, null, PackedMove.EN_PASSANT, PackedMove.CAPTURE));
+        }
+      }
+    }
+  }
+
+  private void addPawnMove(int from, int to, int lastRow, int type, MoveList moves) {
+    if (!isLegal(from, to)) {
+      return;
+    }
+
+    if (to >>> 3 == lastRow) {
+      for (FigureType promotionPiece : PROMOTION_PIECES) {
+        addMove(from, to, promotionPiece, type, moves);
+      }
+    } else {
+      addMove(from, to, null, type, moves);
+    }
+  }
+
+  /** Взятие на проходе: последним ходом пешка прошла две клетки и встала рядом с нашей. */
+  private boolean isEnPassant(int from, int to) {
+    Position enPassant = board.getEnPassantPosition();
+    return enPassant != null
+        && square(enPassant) == to
+        && square(board.getLastMove().to()) >>> 3 == from >>> 3;
+  }
+
+  /**
+   * Ходы короля. Ход по первой горизонтали на вертикаль c или g может оказаться рокировкой, её
+   * условия проверяет сам король.
+   */
+  private void addKingMoves(int from, King king, MoveList moves) {
+    final int row = from >>> 3;
+    for (int to : Attacks.KING_SQUARES[from]) {
+      int toCol = to & 7;
+      boolean mayBeCastling =
+          to >>> 3 == row
+              && (row == 0 || row == 7)
+              && (toCol == 2 || toCol == 6)
+              && !board.isMoved(Position.of(from));
+      if (mayBeCastling) {
+        addKingMove(king, new Move(Position.of(from), Position.of(to), null), moves);
+      } else if (canMoveTo(to) && !isAttacked(to, from, -1, to)) {
+        addMove(from, to, moves);
+      }
+    }
+
+    if (!board.isMoved(Position.of(from))) {
+      int castlingRow = king.getColor() == Color.WHITE ? 0 : 7;
+      for (int castlingCol = 2; castlingCol <= 6; castlingCol += 4) {
+        Position target = Position.of(castlingCol, castlingRow);
+        addKingMove(king, new Move(Position.of(from), target, null), moves);
+      }
+    }
+  }
+
+  private void addKingMove(King king, Move move, MoveList moves) {
+    int from = square(move.from());
+    int to = square(move.to());
+    if (capturesOnly && !isEnemyPiece(to)) {
+      return;
+    }
+    if (king.canMove(board, move, true, true) && !isAttacked(to, from, -1, to)) {
+      if (king.getCastlingRookMove(board, move) != null) {
+        moves.add(PackedMove.encode(from, to, null, PackedMove.CASTLING, 0));
+      } else {
+        addMove(from, to, moves);
+      }
+    }
+  }
+}
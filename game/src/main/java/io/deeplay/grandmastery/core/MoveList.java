@@ -0,0 +1,131 @@
+package io.deeplay.grandmastery.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Список упакованных ходов ({@link PackedMove}) на массиве {@code int}. Список можно очищать и
+ * заполнять заново, поэтому поиск держит по одному списку на каждый уровень глубины и не создаёт
+ * новых объектов при генерации ходов.
+ */
+public class MoveList {
+  /** В шахматной позиции не бывает больше 218 допустимых ходов. */
+  private static final int DEFAULT_CAPACITY = 256;
+
+  private int[] moves;
+
+  /** Оценки ходов для упорядочивания, см. {@link MoveOrdering}. */
+  private int[] scores;
+
+  private int size;
+
+  public MoveList() {
+    moves = new int[DEFAULT_CAPACITY];
+    scores = new int[DEFAULT_CAPACITY];
+  }
+
+  /**
+   * Добавляет ход в конец списка.
+   *
+   * @param move Упакованный ход
+   */
+  public void add(int move) {
+    if (size == moves.length) {
+      moves = Arrays.copyOf(moves, moves.length * 2);
+      scores = Arrays.copyOf(scores, scores.length * 2);
+    }
+    scores[size] = 0;
+    moves[size++] = move;
+  }
+
+  public int get(int index) {
+    return moves[index];
+  }
+
+  public void set(int index, int move) {
+    moves[index] = move;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * Меняет местами два хода, нужно для сортировки ходов выбором прямо во время перебора.
+   *
+   * @param i Индекс первого хода
+   * @param j Индекс второго хода
+   */
+  public void swap(int i, int j) {
+    int move = moves[i];
+    moves[i] = moves[j];
+    moves[j] = move;
+
+    int score = scores[i];
+    scores[i] = scores[j];
+    scores[j] = score;
+  }
+
+  public int getScore(int index) {
+    return scores[index];
+  }
+
+  public void setScore(int index, int score) {
+    scores[index] = score;
+  }
+
+  /**
+   * Шаг сортировки выбором: ставит на место {@code index} ход с наибольшей оценкой среди ходов,
+   * начиная с {@code index}. Если перебор отсечётся рано, остальные ходы не сортируются.
+   *
+   * @param index Индекс, на который ставится ход
+   * @return Ход с наибольшей оценкой
+   */
+  public int pickBest(int index) {
+    int best = index;
+    for (int i = index + 1; i < size; i++) {
+      if (scores[i] > scores[best]) {
+        best = i;
+      }
+    }
+    swap(index, best);
+    return moves[index];
+  }
+
+  /**
+   * Проверяет, есть ли ход в списке.
+   *
+   * @param move Упакованный ход
+   * @return {@code true}, если ход есть в списке
+   */
+  public boolean contains(int move) {
+    for (int i = 0; i < size; i++) {
+      if (moves[i] == move) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Распаковывает все ходы списка в {@link Move}.
+   *
+   * @return Новый список ходов в том же порядке
+   */
+  public List<Move> toMoves() {
+    List<Move> result = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      result.add(PackedMove.toMove(moves[i]));
+    }
+    return result;
+  }
+}
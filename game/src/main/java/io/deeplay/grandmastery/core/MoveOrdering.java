@@ -0,0 +1,150 @@
+package io.deeplay.grandmastery.core;
+
+import io.deeplay.grandmastery.domain.FigureType;
+import io.deeplay.grandmastery.figures.Piece;
+import java.util.Arrays;
+
+/**
+ * Упорядочивание ходов для альфа-бета поиска. Чем раньше перебирается ход, который даёт
+ * отсечение, тем меньше узлов смотрит поиск, поэтому ходы перебираются в порядке:
+ *
+ * <ol>
+ *   <li>ход из таблицы транспозиций;
+ *   <li>взятия и превращения по MVV-LVA: сначала самая ценная жертва, затем самый дешёвый
+ *       атакующий;
+ *   <li>ходы-убийцы: два последних тихих хода, которые дали отсечение на той же глубине от корня;
+ *   <li>остальные тихие ходы по истории: чем чаще и глубже ход давал отсечение, тем он раньше.
+ * </ol>
+ *
+ * <p>Один объект можно отдать всем потокам параллельного поиска. Таблицы пишутся без блокировок,
+ * гонка может только испортить порядок ходов, но не результат поиска.
+ */
+public class MoveOrdering {
+  /** Наибольшее расстояние от корня, для которого хранятся ходы-убийцы. */
+  public static final int MAX_PLY = 128;
+
+  private static final int HASH_MOVE_SCORE = 1 << 30;
+  private static final int CAPTURE_SCORE = 1 << 29;
+  private static final int FIRST_KILLER_SCORE = 1 << 28;
+  private static final int SECOND_KILLER_SCORE = FIRST_KILLER_SCORE - 1;
+
+  /** Предел оценки по истории, при его достижении вся история делится пополам. */
+  private static final int HISTORY_LIMIT = 1 << 20;
+
+  /** Ценность фигур для MVV-LVA, индекс - {@code FigureType.ordinal()}. Король самый дорогой. */
+  private static final int[] VALUES = new int[FigureType.values().length];
+
+  static {
+    VALUES[FigureType.KING.ordinal()] = 20;
+    VALUES[FigureType.QUEEN.ordinal()] = 9;
+    VALUES[FigureType.ROOK.ordinal()] = 5;
+    VALUES[FigureType.BISHOP.ordinal()] = 3;
+    VALUES[FigureType.KNIGHT.ordinal()] = 3;
+    VALUES[FigureType.PAWN.ordinal()] = 1;
+  }
+
+  /** Два хода-убийцы на каждое расстояние от корня. */
+  private final int[] killers = new int[MAX_PLY * 2];
+
+  /** Оценки истории, индекс - {@code (color * 64 + from) * 64 + to}. */
+  private final int[] history = new int[2 * 64 * 64];
+
+  /** Метод готовит таблицы к новому поиску: убийцы забываются, история делится пополам. */
+  public void newSearch() {
+    Arrays.fill(killers, PackedMove.NO_MOVE);
+    ageHistory();
+  }
+
+  /**
+   * Метод проставляет оценки всем ходам списка. Перебирать ходы нужно через {@link
+   * MoveList#pickBest(int)}.
+   *
+   * @param board Доска до хода
+   * @param moves Ходы
+   * @param hashMove Ход из таблицы транспозиций или {@link PackedMove#NO_MOVE}
+   * @param ply Расстояние от корня
+   */
+  public void order(Board board, MoveList moves, int hashMove, int ply) {
+    for (int i = 0; i < moves.size(); i++) {
+      moves.setScore(i, score(board, moves.get(i), hashMove, ply));
+    }
+  }
+
+  /**
+   * Метод возвращает оценку хода для упорядочивания: чем больше, тем раньше ход перебирается.
+   *
+   * @param board Доска до хода
+   * @param move Упакованный ход
+   * @param hashMove Ход из таблицы транспозиций или {@link PackedMove#NO_MOVE}
+   * @param ply Расстояние от корня
+   * @return Оценка хода
+   */
+  public int score(Board board, int move, int hashMove, int ply) {
+    if (move == hashMove) {
+      return HASH_MOVE_SCORE;
+    }
+
+    Piece piece = board.getPiece(Position.of(PackedMove.getFrom(move)));
+    FigureType promotion = PackedMove.getPromotion(move);
+    if (PackedMove.isCapture(move) || promotion != null) {
+      int victim = 0;
+      if (PackedMove.getType(move) == PackedMove.EN_PASSANT) {
+        victim = VALUES[FigureType.PAWN.ordinal()];
+      } else if (PackedMove.isCapture(move)) {
+        Piece captured = board.getPiece(Position.of(PackedMove.getTo(move)));
+        victim = VALUES[captured.getFigureType().ordinal()];
+      }
+      if (promotion != null) {
+        victim += VALUES[promotion.ordinal()];
+      }
+      return CAPTURE_SCORE + victim * 32 - VALUES[piece.getFigureType().ordinal()];
+    }
+
+    if (ply < MAX_PLY) {
+      if (killers[ply * 2] == move) {
+        return FIRST_KILLER_SCORE;
+      }
+      if (killers[ply * 2 + 1] == move) {
+        return SECOND_KILLER_SCORE;
+      }
+    }
+    return history[historyIndex(piece, move)];
+  }
+
+  /**
+   * Метод запоминает ход, который дал отсечение. Взятия и превращения и так перебираются рано,
+   * поэтому запоминаются только тихие ходы.
+   *
+   * @param board Доска до хода
+   * @param move Упакованный ход
+   * @param ply Расстояние от корня
+   * @param deep Оставшаяся глубина поиска
+   */
+  public void addCutoff(Board board, int move, int ply, int deep) {
+    if (PackedMove.isCapture(move) || PackedMove.getPromotion(move) != null) {
+      return;
+    }
+
+    if (ply < MAX_PLY && killers[ply * 2] != move) {
+      killers[ply * 2 + 1] = killers[ply * 2];
+      killers[ply * 2] = move;
+    }
+
+    int index = historyIndex(board.getPiece(Position.of(PackedMove.getFrom(move))), move);
+    history[index] += deep * deep;
+    if (history[index] >= HISTORY_LIMIT) {
+      ageHistory();
+    }
+  }
+
+  private void ageHistory() {
+    for (int i = 0; i < history.length; i++) {
+      history[i] /= 2;
+    }
+  }
+
+  private static int historyIndex(Piece piece, int move) {
+    return (piece.getColor().ordinal() * 64 + PackedMove.getFrom(move)) * 64
+        + PackedMove.getTo(move);
+  }
+}
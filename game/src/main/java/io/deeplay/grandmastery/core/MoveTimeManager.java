@@ -0,0 +1,61 @@
+package io.deeplay.grandmastery.core;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Менеджер времени с фиксированным бюджетом на ход. Итерация прерывается, когда бюджет исчерпан.
+ * Новая итерация начинается, только если по времени прошлых итераций она успеет закончиться: так
+ * в простых позициях бот тратит весь бюджет на углубление, а в сложных не начинает итерацию,
+ * которую всё равно придётся прервать.
+ */
+public class MoveTimeManager implements TimeManager {
+  /** Бюджет по умолчанию: ферма ботов даёт на ход 5 секунд, часть оставлена на передачу хода. */
+  public static final long DEFAULT_MOVE_TIME_MILLIS = 4500;
+
+  /** Во сколько раз итерация дольше предыдущей, пока замерена только одна итерация. */
+  private static final double DEFAULT_GROWTH = 4.0;
+
+  private static final double MIN_GROWTH = 2.0;
+  private static final double MAX_GROWTH = 10.0;
+
+  private final long budgetNanos;
+  private volatile long deadline;
+  private long previousIterationNanos;
+
+  /** Конструктор с бюджетом {@link #DEFAULT_MOVE_TIME_MILLIS}. */
+  public MoveTimeManager() {
+    this(DEFAULT_MOVE_TIME_MILLIS);
+  }
+
+  /**
+   * Конструктор с бюджетом на ход.
+   *
+   * @param moveTimeMillis Время на ход в миллисекундах
+   */
+  public MoveTimeManager(long moveTimeMillis) {
+    this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(moveTimeMillis);
+  }
+
+  @Override
+  public void start() {
+    deadline = System.nanoTime() + budgetNanos;
+    previousIterationNanos = 0;
+  }
+
+  @Override
+  public boolean canStartIteration(long lastIterationNanos) {
+    double growth = DEFAULT_GROWTH;
+    if (previousIterationNanos > 0) {
+      growth = (double) lastIterationNanos / previousIterationNanos;
+      growth = Math.min(Math.max(growth, MIN_GROWTH), MAX_GROWTH);
+    }
+    previousIterationNanos = lastIterationNanos;
+
+    return deadline - System.nanoTime() > lastIterationNanos * growth;
+  }
+
+  @Override
+  public boolean isTimeUp() {
+    return System.nanoTime() - deadline >= 0;
+  }
+}
@@ -0,0 +1,25 @@
+package io.deeplay.grandmastery.core;
+
+import io.deeplay.grandmastery.figures.Piece;
+
+/**
+ * Запись для отмены хода, сделанного через {@link Board#makeMove(Move)}. Хранит только то, что
+ * нельзя восстановить по самому ходу.
+ *
+ * @param move Сделанный ход
+ * @param piece Фигура, которая ходила (для превращения - пешка)
+ * @param movedSquares Маска сходивших фигур до хода, см. {@link Board#getMovedSquares()}
+ * @param captured Взятая фигура или {@code null}
+ * @param capturePosition Позиция взятой фигуры (отличается от {@code move.to()} при взятии на
+ *     проходе)
+ * @param rookMove Ход ладьи при рокировке или {@code null}
+ * @param lastMove Последний ход на доске до этого хода
+ */
+public record MoveUndo(
+    Move move,
+    Piece piece,
+    long movedSquares,
+    Piece captured,
+    Position capturePosition,
+    Move rookMove,
+    Move lastMove) {}
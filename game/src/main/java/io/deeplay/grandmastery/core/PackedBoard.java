@@ -0,0 +1,107 @@
+package io.deeplay.grandmastery.core;
+
+import io.deeplay.grandmastery.domain.BoardType;
+import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.domain.FigureType;
+import io.deeplay.grandmastery.figures.Piece;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Класс PackedBoard хранит позицию в компактном виде: 32 байта расстановки по 4 бита на клетку,
+ * маска сходивших фигур (права на рокировку и ход пешки на две клетки) и последний ход (взятие на
+ * проходе). Так история партии держит по несколько десятков байт на позицию вместо целой доски, а
+ * доска собирается заново только по запросу.
+ *
+ * <p>Код клетки: 0 - пусто, иначе {@code 1 + color.ordinal() * 6 + figureType.ordinal()}.
+ */
+@EqualsAndHashCode
+public final class PackedBoard {
+  private static final int BITS_PER_SQUARE = 4;
+  private static final int SQUARES_PER_LONG = 16;
+  private static final int SQUARE_MASK = 0xF;
+  private static final FigureType[] FIGURE_TYPES = FigureType.values();
+  private static final Color[] COLORS = Color.values();
+
+  private final long[] squares;
+  private final long movedMask;
+  private final int lastMove;
+
+  private PackedBoard(long[] squares, long movedMask, int lastMove) {
+    this.squares = squares;
+    this.movedMask = movedMask;
+    this.lastMove = lastMove;
+  }
+
+  /**
+   * Метод упаковывает доску.
+   *
+   * @param board Доска
+   * @return Упакованная позиция
+   */
+  public static PackedBoard of(Board board) {
+    long[] squares = new long[64 / SQUARES_PER_LONG];
+    long movedMask = 0L;
+    for (Position position : board.getAllPiecePosition()) {
+      int square = Attacks.square(position);
+      Piece piece = board.getPiece(position);
+      long code =
+          1 + piece.getColor().ordinal() * FIGURE_TYPES.length + piece.getFigureType().ordinal();
+      squares[square / SQUARES_PER_LONG] |= code << shift(square);
+      if (board.isMoved(position)) {
+        movedMask |= 1L << square;
+      }
+    }
+
+    int lastMove = PackedMove.NO_MOVE;
+    Move move = board.getLastMove();
+    if (move != null) {
+      int from = Attacks.square(move.from());
+      int to = Attacks.square(move.to());
+      lastMove = PackedMove.encode(from, to, move.promotionPiece(), PackedMove.NORMAL, 0);
+    }
+    return new PackedBoard(squares, movedMask, lastMove);
+  }
+
+  private static int shift(int square) {
+    return square % SQUARES_PER_LONG * BITS_PER_SQUARE;
+  }
+
+  private int getCode(int square) {
+    return (int) (squares[square / SQUARES_PER_LONG] >>> shift(square)) & SQUARE_MASK;
+  }
+
+  /**
+   * Метод возвращает тип фигуры на клетке без сборки доски.
+   *
+   * @param position Позиция
+   * @return Тип фигуры или {@code null}, если клетка пуста
+   */
+  public FigureType getFigureType(Position position) {
+    int code = getCode(Attacks.square(position));
+    return code == 0 ? null : FIGURE_TYPES[(code - 1) % FIGURE_TYPES.length];
+  }
+
+  /**
+   * Метод собирает доску из упакованной позиции.
+   *
+   * @param boardType Реализация доски
+   * @return Новая доска
+   */
+  public Board toBoard(BoardType boardType) {
+    Board board = boardType.createBoard();
+    for (int square = 0; square < 64; square++) {
+      int code = getCode(square);
+      if (code != 0) {
+        Color color = COLORS[(code - 1) / FIGURE_TYPES.length];
+        Position position = Position.of(square);
+        board.setPiece(position, FIGURE_TYPES[(code - 1) % FIGURE_TYPES.length].getPiece(color));
+        board.setMoved(position, (movedMask & 1L << square) != 0);
+      }
+    }
+
+    if (lastMove != PackedMove.NO_MOVE) {
+      board.setLastMove(PackedMove.toMove(lastMove));
+    }
+    return board;
+  }
+}
@@ -0,0 +1,124 @@
+package io.deeplay.grandmastery.core;
+
+import io.deeplay.grandmastery.domain.FigureType;
+import io.deeplay.grandmastery.figures.King;
+import io.deeplay.grandmastery.figures.Piece;
+
+/**
+ * Класс PackedMove упаковывает ход в одно число {@code int}, чтобы генерация и перебор ходов в
+ * поиске не создавали объекты. Запись {@link Move} остаётся для протокола и интерфейса, перевод
+ * в неё и обратно делают {@link #toMove(int)} и {@link #of(Board, Move)}.
+ *
+ * <p>Раскладка битов: 0-5 - клетка откуда, 6-11 - клетка куда (индекс {@code row * 8 + col}),
+ * 12-14 - фигура превращения ({@code ordinal + 1}, 0 - без превращения), 15-16 - тип хода, 17 -
+ * флаг взятия.
+ */
+public class PackedMove {
+  /** Пустой ход. Ход с клетки на неё же невозможен, поэтому 0 не совпадает ни с одним ходом. */
+  public static final int NO_MOVE = 0;
+
+  /** Обычный ход. */
+  public static final int NORMAL = 0;
+
+  /** Рокировка, ход короля. */
+  public static final int CASTLING = 1;
+
+  /** Взятие на проходе. */
+  public static final int EN_PASSANT = 2;
+
+  /** Ход пешки на две клетки. */
+  public static final int PAWN_DOUBLE = 3;
+
+  /** Флаг взятия фигуры. */
+  public static final int CAPTURE = 1 << 17;
+
+  private static final int SQUARE_MASK = 0x3F;
+  private static final int TO_SHIFT = 6;
+  private static final int PROMOTION_SHIFT = 12;
+  private static final int TYPE_SHIFT = 15;
+  private static final FigureType[] FIGURE_TYPES = FigureType.values();
+
+  /**
+   * Метод упаковывает ход.
+   *
+   * @param from Клетка, откуда ходит фигура
+   * @param to Клетка, куда ходит фигура
+   * @param promotion Фигура превращения или {@code null}
+   * @param type Тип хода
+   * @param flags Флаги хода, например {@link #CAPTURE}
+   * @return Упакованный ход
+   */
+  public static int encode(int from, int to, FigureType promotion, int type, int flags) {
+    int promotionBits = promotion == null ? 0 : promotion.ordinal() + 1;
+    return from
+        | to << TO_SHIFT
+        | promotionBits << PROMOTION_SHIFT
+        | type << TYPE_SHIFT
+        | flags;
+  }
+
+  public static int getFrom(int move) {
+    return move & SQUARE_MASK;
+  }
+
+  public static int getTo(int move) {
+    return move >>> TO_SHIFT & SQUARE_MASK;
+  }
+
+  /**
+   * Метод возвращает фигуру превращения.
+   *
+   * @param move Упакованный ход
+   * @return Фигура превращения или {@code null}
+   */
+  public static FigureType getPromotion(int move) {
+    int promotionBits = move >>> PROMOTION_SHIFT & 7;
+    return promotionBits == 0 ? null : FIGURE_TYPES[promotionBits - 1];
+  }
+
+  public static int getType(int move) {
+    return move >>> TYPE_SHIFT & 3;
+  }
+
+  public static boolean isCapture(int move) {
+    return (move & CAPTURE) != 0;
+  }
+
+  /**
+   * Метод распаковывает ход в {@link Move}. Позиции берутся из общей таблицы, поэтому создаётся
+   * только сама запись хода.
+   *
+   * @param move Упакованный ход
+   * @return Ход
+   */
+  public static Move toMove(int move) {
+    return new Move(Position.of(getFrom(move)), Position.of(getTo(move)), getPromotion(move));
+  }
+
+  /**
+   * Метод упаковывает ход, определяя его тип и взятие по доске до хода.
+   *
+   * @param board Доска до хода
+   * @param move Ход
+   * @return Упакованный ход
+   */
+  public static int of(Board board, Move move) {
+    int from = Attacks.square(move.from());
+    int to = Attacks.square(move.to());
+    Piece piece = board.getPiece(move.from());
+    int flags = board.hasPiece(move.to()) ? CAPTURE : 0;
+    int type = NORMAL;
+    if (piece != null && piece.getFigureType() == FigureType.PAWN) {
+      if ((from & 7) != (to & 7) && flags == 0) {
+        type = EN_PASSANT;
+        flags = CAPTURE;
+      } else if (Math.abs((to >>> 3) - (from >>> 3)) == 2) {
+        type = PAWN_DOUBLE;
+      }
+    } else if (piece instanceof King king && king.getCastlingRookMove(board, move) != null) {
+      type = CASTLING;
+      flags = 0;
+    }
+    return encode(from, to, move.promotionPiece(), type, flags);
+  }
+}
@@ -1,5 +1,6 @@
 package io.deeplay.grandmastery.core;
 
+import io.deeplay.grandmastery.domain.BoardType;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.GameState;
 import io.deeplay.grandmastery.exceptions.GameException;
@@ -22,10 +23,21 @@ public abstract class Player implements GameListener, PlayerInfo {
    * @param color Цвет
    */
   public Player(String name, Color color) {
+    this(name, color, BoardType.HASH);
+  }
+
+  /**
+   * Конструктор с выбором реализации доски, на которой игрок ведёт свою копию партии.
+   *
+   * @param name Имя
+   * @param color Цвет
+   * @param boardType Тип доски
+   */
+  public Player(String name, Color color, BoardType boardType) {
     this.name = name;
     this.color = color;
-    this.game = new Game();
-    this.gameHistory = new GameHistory();
+    this.game = new Game(boardType);
+    this.gameHistory = new GameHistory(boardType);
   }
 
   /**
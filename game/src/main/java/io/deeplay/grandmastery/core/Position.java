@@ -6,6 +6,43 @@ import io.deeplay.grandmastery.domain.GameErrorCode;
 /** Класс для сохранения позиции фигуры на шахматной доске. */
 @JsonSerialize
 public record Position(Column col, Row row) {
+  /** Все 64 клетки доски по индексу {@code row * 8 + col}. */
+  private static final Position[] SQUARES = new Position[64];
+
+  static {
+    for (int index = 0; index < SQUARES.length; index++) {
+      SQUARES[index] = new Position(Column.of(index & 7), Row.of(index >>> 3));
+    }
+  }
+
+  /**
+   * Метод возвращает общий экземпляр клетки, не создавая новых объектов.
+   *
+   * @param col Номер столбца от 0 до 7
+   * @param row Номер строки от 0 до 7
+   * @return Позиция на шахматной доске
+   * @throws IllegalArgumentException при неверном значении
+   */
+  public static Position of(int col, int row) {
+    if (col < 0 || col > 7 || row < 0 || row > 7) {
+      throw new IllegalArgumentException();
+    }
+    return SQUARES[row * 8 + col];
+  }
+
+  /**
+   * Метод возвращает общий экземпляр клетки по её индексу.
+   *
+   * @param index Индекс клетки {@code row * 8 + col}
+   * @return Позиция на шахматной доске
+   */
+  public static Position of(int index) {
+    return SQUARES[index];
+  }
+
+  public static Position of(Column col, Row row) {
+    return SQUARES[row.value() * 8 + col.value()];
+  }
 
   /*** Метод возвращает позицию по строке.
    *
@@ -20,7 +57,7 @@ public record Position(Column col, Row row) {
     var col = Column.getColFromChar(stringPos.charAt(0));
     var row = Row.getRowFromChar(stringPos.charAt(1));
 
-    return new Position(col, row);
+    return of(col, row);
   }
 
   public static String getString(Position position) {
@@ -3,7 +3,6 @@ package io.deeplay.grandmastery.core;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.GameErrorCode;
 import io.deeplay.grandmastery.exceptions.GameException;
-import java.util.ArrayList;
 import java.util.List;
 
 public class Randomus extends Player {
@@ -18,12 +17,7 @@ public class Randomus extends Player {
     }
 
     Board board = this.getBoard();
-    List<Move> possibleMove = new ArrayList<>();
-    List<Position> positions = board.getAllPiecePositionByColor(this.getColor());
-
-    for (Position position : positions) {
-      possibleMove.addAll(board.getPiece(position).getAllMoves(board, position));
-    }
+    List<Move> possibleMove = MoveGenerator.getLegalMoves(board, this.getColor());
 
     if (possibleMove.isEmpty()) {
       throw GameErrorCode.UNDEFINED_BEHAVIOR_BOT.asException();
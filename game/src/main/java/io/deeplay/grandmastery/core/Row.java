@@ -3,7 +3,6 @@ package io.deeplay.grandmastery.core;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.deeplay.grandmastery.domain.GameErrorCode;
-import java.util.Set;
 
 /** Класс для сохранения позиции строки фигуры на шахматной доске. */
 @JsonSerialize
@@ -19,8 +18,28 @@ public record Row(int value) {
     }
   }
 
-  private static final Set<Character> VALID_NUMBERS =
-      Set.of('1', '2', '3', '4', '5', '6', '7', '8');
+  private static final Row[] ROWS = new Row[8];
+  private static final String[] CHARS = {"1", "2", "3", "4", "5", "6", "7", "8"};
+
+  static {
+    for (int value = 0; value < ROWS.length; value++) {
+      ROWS[value] = new Row(value);
+    }
+  }
+
+  /**
+   * Метод возвращает общий экземпляр строки, не создавая новый объект.
+   *
+   * @param value Номер строки от 0 до 7
+   * @return Строка
+   * @throws IllegalArgumentException при неверном значении
+   */
+  public static Row of(int value) {
+    if (value < 0 || value > 7) {
+      throw new IllegalArgumentException();
+    }
+    return ROWS[value];
+  }
 
   /**
    * Метод возвращает номер строки на шахматной доске.
@@ -29,15 +48,15 @@ public record Row(int value) {
    * @return Номер строки на шахматной доске
    */
   public static Row getRowFromChar(char rowCharacter) {
-    if (!VALID_NUMBERS.contains(rowCharacter)) {
+    if (rowCharacter < '1' || rowCharacter > '8') {
       throw GameErrorCode.INCORRECT_POSITION_FORMAT.asException();
     }
 
-    return new Row(Integer.parseInt(String.valueOf(rowCharacter)) - 1);
+    return ROWS[rowCharacter - '1'];
   }
 
   @JsonIgnore
   public String getChar() {
-    return String.valueOf(value + 1);
+    return CHARS[value];
   }
 }
@@ -0,0 +1,99 @@
+package io.deeplay.grandmastery.core;
+
+import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.domain.FigureType;
+
+/**
+ * Настройки выборочного поиска для альфа-бета движков.
+ *
+ * <p>Отсечение нулевым ходом: сторона пропускает ход ({@link Board#makeNullMove(Color)}), и если
+ * даже после этого поиск на уменьшенную глубину не опускает оценку ниже бета, узел отсекается. Не
+ * применяется под шахом, два раза подряд и когда у стороны остались только король и пешки: там
+ * пропустить ход часто выгоднее любого хода (цугцванг), и отсечение ошибается.
+ *
+ * <p>Сокращение поздних ходов (LMR): тихие ходы, которые после упорядочивания идут далеко от начала
+ * списка, перебираются на меньшую глубину. Если такой ход всё же оказался лучше альфа, он
+ * перебирается повторно на полную глубину.
+ *
+ * @param nullMove Включено ли отсечение нулевым ходом
+ * @param nullMoveReduction На сколько поиск после нулевого хода мельче обычного
+ * @param lateMoveReductions Включено ли сокращение поздних ходов
+ * @param lateMoveIndex Номер хода в списке, с которого начинаются сокращения
+ * @param lateMoveDeep Оставшаяся глубина, с которой начинаются сокращения
+ */
+public record SelectiveSearch(
+    boolean nullMove,
+    int nullMoveReduction,
+    boolean lateMoveReductions,
+    int lateMoveIndex,
+    int lateMoveDeep) {
+  /** Полный перебор без выборочных сокращений. */
+  public static final SelectiveSearch DISABLED = new SelectiveSearch(false, 0, false, 0, 0);
+
+  /** Настройки по умолчанию: R = 2 для нулевого хода, сокращение на 1 с четвёртого хода. */
+  public static final SelectiveSearch DEFAULT = new SelectiveSearch(true, 2, true, 3, 3);
+
+  /**
+   * Метод проверяет, можно ли в узле попробовать нулевой ход.
+   *
+   * @param board Доска
+   * @param color Цвет ходящей стороны
+   * @param deep Оставшаяся глубина поиска
+   * @param isCheck Стоит ли ходящая сторона под шахом
+   * @return Можно ли сделать нулевой ход
+   */
+  public boolean canTryNullMove(Board board, Color color, int deep, boolean isCheck) {
+    return nullMove
+        && deep > nullMoveReduction
+        && !isCheck
+        && !Board.isNullMove(board.getLastMove())
+        && board.getKingPositionByColor(color) != null
+        && hasPieces(board, color);
+  }
+
+  /**
+   * Метод возвращает глубину поиска после нулевого хода.
+   *
+   * @param deep Оставшаяся глубина поиска в узле
+   * @return Глубина для поиска соперника после нулевого хода
+   */
+  public int nullMoveDeep(int deep) {
+    return deep - 1 - nullMoveReduction;
+  }
+
+  /**
+   * Метод возвращает, на сколько сократить поиск после хода. Сокращаются только тихие ходы, которые
+   * не объявляют шах и сделаны не из-под шаха.
+   *
+   * @param board Доска после хода
+   * @param color Цвет стороны, которая ходит после хода
+   * @param move Упакованный ход
+   * @param moveIndex Номер хода в упорядоченном списке
+   * @param deep Оставшаяся глубина поиска в узле до хода
+   * @param isCheck Стоял ли шах до хода
+   * @return Сокращение глубины, 0 - искать на полную глубину
+   */
+  public int lateMoveReduction(
+      Board board, Color color, int move, int moveIndex, int deep, boolean isCheck) {
+    if (!lateMoveReductions
+        || moveIndex < lateMoveIndex
+        || deep < lateMoveDeep
+        || isCheck
+        || PackedMove.isCapture(move)
+        || PackedMove.getPromotion(move) != null
+        || GameStateChecker.isCheck(board, color)) {
+      return 0;
+    }
+    return 1;
+  }
+
+  private static boolean hasPieces(Board board, Color color) {
+    for (Position position : board.getAllPiecePositionByColor(color)) {
+      FigureType type = board.getPiece(position).getFigureType();
+      if (type != FigureType.KING && type != FigureType.PAWN) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,42 @@
+package io.deeplay.grandmastery.core;
+
+/**
+ * Интерфейс управления временем на ход для поиска с итеративным углублением ({@link
+ * IterativeDeepening}). Менеджер решает, начинать ли следующую итерацию, и когда прервать текущую.
+ */
+public interface TimeManager {
+  /** Менеджер без ограничения времени: поиск всегда доходит до наибольшей глубины. */
+  TimeManager UNLIMITED =
+      new TimeManager() {
+        @Override
+        public void start() {}
+
+        @Override
+        public boolean canStartIteration(long lastIterationNanos) {
+          return true;
+        }
+
+        @Override
+        public boolean isTimeUp() {
+          return false;
+        }
+      };
+
+  /** Начинает отсчёт времени на ход. Вызывается перед первой итерацией. */
+  void start();
+
+  /**
+   * Проверяет, стоит ли начинать следующую итерацию.
+   *
+   * @param lastIterationNanos Время последней завершённой итерации в наносекундах
+   * @return Стоит ли начинать итерацию
+   */
+  boolean canStartIteration(long lastIterationNanos);
+
+  /**
+   * Проверяет, истекло ли время на ход. Вызывается из узлов поиска, в том числе из разных потоков.
+   *
+   * @return Истекло ли время
+   */
+  boolean isTimeUp();
+}
@@ -0,0 +1,247 @@
+package io.deeplay.grandmastery.core;
+
+import io.deeplay.grandmastery.domain.GameErrorCode;
+import java.util.Arrays;
+
+/**
+ * Таблица транспозиций для поиска ботов: по Zobrist-ключу позиции хранит глубину, тип оценки,
+ * оценку и лучший ход ({@link PackedMove}). Память выделяется один раз в конструкторе, поиск не
+ * создаёт новых записей.
+ *
+ * <p>Таблица работает без блокировок, поэтому одну таблицу можно отдать всем потокам параллельного
+ * поиска. Запись занимает три {@code long}: проверочное слово, оценку и служебное слово. В
+ * проверочном слове лежит {@code key ^ score ^ data}, и если два потока писали в одну запись
+ * одновременно, то смешанная запись не проходит проверку при чтении и считается промахом.
+ *
+ * <p>Записи сгруппированы в корзины по две. Какую запись в корзине заменить, решает {@link
+ * ReplacementPolicy}.
+ */
+public class TranspositionTable {
+  /** Размер таблицы по умолчанию в мегабайтах. */
+  public static final int DEFAULT_SIZE_MB = 16;
+
+  /** Наибольший размер таблицы в мегабайтах. */
+  public static final int MAX_SIZE_MB = 4096;
+
+  private static final int LONGS_PER_ENTRY = 3;
+  private static final int ENTRIES_PER_BUCKET = 2;
+  private static final int LONGS_PER_BUCKET = LONGS_PER_ENTRY * ENTRIES_PER_BUCKET;
+  private static final long BYTES_PER_BUCKET = LONGS_PER_BUCKET * Long.BYTES;
+
+  private static final int MOVE_BITS = 18;
+  private static final int DEPTH_SHIFT = MOVE_BITS;
+  private static final int BOUND_SHIFT = DEPTH_SHIFT + 8;
+  private static final int GENERATION_SHIFT = BOUND_SHIFT + 2;
+  private static final long VALID = 1L << (GENERATION_SHIFT + 8);
+  private static final int MOVE_MASK = (1 << MOVE_BITS) - 1;
+  private static final int BYTE_MASK = 0xFF;
+  private static final Bound[] BOUNDS = Bound.values();
+
+  /** Тип оценки в записи. */
+  public enum Bound {
+    /** Точная оценка. */
+    EXACT,
+    /** Нижняя граница: поиск отсёкся по бете, настоящая оценка не меньше. */
+    LOWER,
+    /** Верхняя граница: ни один ход не поднял альфу, настоящая оценка не больше. */
+    UPPER
+  }
+
+  /** Политика замены записей в корзине. */
+  public enum ReplacementPolicy {
+    /**
+     * Первая запись корзины хранит самый глубокий результат текущего поиска и заменяется только
+     * более глубоким или равным по глубине, а также записью прошлого поиска. Остальные результаты
+     * всегда пишутся во вторую запись.
+     */
+    DEPTH_PREFERRED,
+    /** Новая запись всегда пишется в первую запись корзины, прежняя сдвигается во вторую. */
+    ALWAYS_REPLACE
+  }
+
+  /**
+   * Найденная запись таблицы.
+   *
+   * @param depth Глубина поиска, на которой получена оценка
+   * @param bound Тип оценки
+   * @param score Оценка
+   * @param move Лучший ход или {@link PackedMove#NO_MOVE}
+   */
+  public record Entry(int depth, Bound bound, double score, int move) {
+    /**
+     * Метод проверяет, можно ли вернуть оценку записи вместо поиска в окне {@code (alpha, beta)}.
+     *
+     * @param depth Оставшаяся глубина поиска
+     * @param alpha Альфа
+     * @param beta Бета
+     * @return Можно ли не искать
+     */
+    public boolean canCutoff(int depth, double alpha, double beta) {
+      if (this.depth < depth) {
+        return false;
+      }
+
+      return switch (bound) {
+        case EXACT -> true;
+        case LOWER -> score >= beta;
+        case UPPER -> score <= alpha;
+      };
+    }
+  }
+
+  private final long[] table;
+  private final int bucketMask;
+  private final ReplacementPolicy policy;
+  private int generation;
+
+  /** Конструктор таблицы размера {@link #DEFAULT_SIZE_MB}. */
+  public TranspositionTable() {
+    this(DEFAULT_SIZE_MB);
+  }
+
+  /**
+   * Конструктор таблицы с политикой замены {@link ReplacementPolicy#DEPTH_PREFERRED}.
+   *
+   * @param sizeMb Размер таблицы в мегабайтах
+   */
+  public TranspositionTable(int sizeMb) {
+    this(sizeMb, ReplacementPolicy.DEPTH_PREFERRED);
+  }
+
+  /**
+   * Конструктор таблицы. Количество корзин округляется вниз до степени двойки, поэтому таблица
+   * занимает не больше {@code sizeMb} мегабайт.
+   *
+   * @param sizeMb Размер таблицы в мегабайтах, от 1 до {@link #MAX_SIZE_MB}
+   * @param policy Политика замены записей
+   */
+  public TranspositionTable(int sizeMb, ReplacementPolicy policy) {
+    if (sizeMb < 1 || sizeMb > MAX_SIZE_MB) {
+      throw GameErrorCode.INCORRECT_TABLE_SIZE.asException();
+    }
+
+    long buckets = Long.highestOneBit(sizeMb * 1024L * 1024L / BYTES_PER_BUCKET);
+    this.table = new long[(int) (buckets * LONGS_PER_BUCKET)];
+    this.bucketMask = (int) buckets - 1;
+    this.policy = policy;
+  }
+
+  /**
+   * Метод возвращает количество записей в таблице.
+   *
+   * @return Количество записей
+   */
+  public int getCapacity() {
+    return table.length / LONGS_PER_ENTRY;
+  }
+
+  /**
+   * Метод начинает новый поиск: записи прошлых поисков остаются доступны, но их можно заменять
+   * независимо от глубины. Вызывается перед поиском, а не из его потоков.
+   */
+  public void newSearch() {
+    generation = (generation + 1) & BYTE_MASK;
+  }
+
+  /** Метод очищает таблицу. */
+  public void clear() {
+    Arrays.fill(table, 0L);
+    generation = 0;
+  }
+
+  /**
+   * Метод ищет запись позиции.
+   *
+   * @param key Zobrist-ключ позиции
+   * @return Запись или {@code null}, если позиции нет в таблице
+   */
+  public Entry probe(long key) {
+    int bucket = getBucket(key);
+    for (int i = bucket; i < bucket + LONGS_PER_BUCKET; i += LONGS_PER_ENTRY) {
+      long score = table[i + 1];
+      long data = table[i + 2];
+      if ((data & VALID) != 0 && (table[i] ^ score ^ data) == key) {
+        return new Entry(
+            (int) (data >>> DEPTH_SHIFT) & BYTE_MASK,
+            BOUNDS[(int) (data >>> BOUND_SHIFT) & 0x3],
+            Double.longBitsToDouble(score),
+            (int) data & MOVE_MASK);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Метод сохраняет результат поиска в окне {@code (alpha, beta)}. Тип оценки определяется по
+   * окну, оценка за пределами окна заменяется его границей: так запись остаётся верной и для
+   * поисков, которые при провале возвращают не границу окна, а свою начальную оценку.
+   *
+   * @param key Zobrist-ключ позиции
+   * @param depth Оставшаяся глубина поиска
+   * @param alpha Альфа, с которой начинался поиск в позиции
+   * @param beta Бета, с которой начинался поиск в позиции
+   * @param score Результат поиска
+   * @param move Лучший ход или {@link PackedMove#NO_MOVE}
+   */
+  public void store(long key, int depth, double alpha, double beta, double score, int move) {
+    if (score <= alpha) {
+      store(key, depth, Bound.UPPER, alpha, move);
+    } else if (score >= beta) {
+      store(key, depth, Bound.LOWER, beta, move);
+    } else {
+      store(key, depth, Bound.EXACT, score, move);
+    }
+  }
+
+  /**
+   * Метод сохраняет запись позиции.
+   *
+   * @param key Zobrist-ключ позиции
+   * @param depth Оставшаяся глубина поиска
+   * @param bound Тип оценки
+   * @param score Оценка
+   * @param move Лучший ход или {@link PackedMove#NO_MOVE}
+   */
+  public void store(long key, int depth, Bound bound, double score, int move) {
+    long data =
+        VALID
+            | (long) generation << GENERATION_SHIFT
+            | (long) bound.ordinal() << BOUND_SHIFT
+            | (long) Math.min(Math.max(depth, 0), BYTE_MASK) << DEPTH_SHIFT
+            | move & MOVE_MASK;
+    long scoreBits = Double.doubleToRawLongBits(score);
+
+    int first = getBucket(key);
+    int second = first + LONGS_PER_ENTRY;
+    long firstData = table[first + 2];
+    boolean sameKey = (table[first] ^ table[first + 1] ^ firstData) == key;
+    if (policy == ReplacementPolicy.ALWAYS_REPLACE) {
+      if (!sameKey) {
+        write(second, table[first], table[first + 1], firstData);
+      }
+      write(first, key ^ scoreBits ^ data, scoreBits, data);
+      return;
+    }
+
+    int firstDepth = (int) (firstData >>> DEPTH_SHIFT) & BYTE_MASK;
+    int firstGeneration = (int) (firstData >>> GENERATION_SHIFT) & BYTE_MASK;
+    if ((firstData & VALID) == 0
+        || sameKey
+        || firstGeneration != generation
+        || depth >= firstDepth) {
+      write(first, key ^ scoreBits ^ data, scoreBits, data);
+    } else {
+      write(second, key ^ scoreBits ^ data, scoreBits, data);
+    }
+  }
+
+  private void write(int index, long check, long score, long data) {
+    table[index] = check;
+    table[index + 1] = score;
+    table[index + 2] = data;
+  }
+
+  private int getBucket(long key) {
+    return ((int) key & bucketMask) * LONGS_PER_BUCKET;
+  }
+}
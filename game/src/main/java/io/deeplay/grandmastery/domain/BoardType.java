@@ -0,0 +1,28 @@
+package io.deeplay.grandmastery.domain;
+
+import io.deeplay.grandmastery.core.BitBoard;
+import io.deeplay.grandmastery.core.Board;
+import io.deeplay.grandmastery.core.HashBoard;
+import java.util.function.Supplier;
+
+/** Реализации игровой доски, из которых можно выбрать при создании игры, истории и ботов. */
+public enum BoardType {
+  HASH(HashBoard::new),
+  BIT(BitBoard::new);
+
+  @SuppressWarnings("ImmutableEnumChecker")
+  private final Supplier<Board> constructor;
+
+  BoardType(Supplier<Board> constructor) {
+    this.constructor = constructor;
+  }
+
+  /**
+   * Создаёт новую пустую доску данного типа.
+   *
+   * @return Пустая доска
+   */
+  public Board createBoard() {
+    return constructor.get();
+  }
+}
@@ -18,6 +18,17 @@ public enum FigureType {
   KNIGHT('n'),
   PAWN('p');
 
+  /** Фигуры не хранят состояния, поэтому на каждую пару тип/цвет достаточно одного экземпляра. */
+  private static final Piece[][] PIECES = new Piece[values().length][Color.values().length];
+
+  static {
+    for (FigureType figureType : values()) {
+      for (Color color : Color.values()) {
+        PIECES[figureType.ordinal()][color.ordinal()] = figureType.createPiece(color);
+      }
+    }
+  }
+
   private final char symbol;
 
   FigureType(char symbol) {
@@ -25,12 +36,17 @@ public enum FigureType {
   }
 
   /**
-   * Функция возвращает фигуру по FigureType.
+   * Функция возвращает фигуру по FigureType. Для одного типа и цвета всегда возвращается один и
+   * тот же экземпляр.
    *
    * @param color Цвет
    * @return Фигура
    */
   public Piece getPiece(Color color) {
+    return PIECES[ordinal()][color.ordinal()];
+  }
+
+  private Piece createPiece(Color color) {
     return switch (this) {
       case KING -> new King(color);
       case KNIGHT -> new Knight(color);
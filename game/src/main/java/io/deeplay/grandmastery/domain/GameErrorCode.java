@@ -18,7 +18,9 @@ public enum GameErrorCode {
   IMPOSSIBLE_MOVE("Ход невозможен"),
   GAME_ALREADY_OVER("Игра уже завершена"),
   ERROR_PLAYER_MAKE_MOVE("Ошибка при запросе хода у игрока"),
-  ERROR_PLAYER_INPUT("Ошибка во время ввода данных игроком");
+  ERROR_PLAYER_INPUT("Ошибка во время ввода данных игроком"),
+  INCORRECT_TABLE_SIZE("Неверный размер таблицы транспозиций"),
+  SEARCH_TIMEOUT("Время на поиск хода истекло");
 
   private final String description;
 
@@ -0,0 +1,9 @@
+package io.deeplay.grandmastery.exceptions;
+
+import io.deeplay.grandmastery.domain.GameErrorCode;
+
+public class SearchTimeoutException extends GameException {
+  public SearchTimeoutException() {
+    super(GameErrorCode.SEARCH_TIMEOUT);
+  }
+}
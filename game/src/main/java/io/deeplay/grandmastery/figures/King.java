@@ -1,20 +1,15 @@
 package io.deeplay.grandmastery.figures;
 
+import io.deeplay.grandmastery.core.Attacks;
 import io.deeplay.grandmastery.core.Board;
-import io.deeplay.grandmastery.core.Column;
 import io.deeplay.grandmastery.core.Move;
 import io.deeplay.grandmastery.core.Position;
-import io.deeplay.grandmastery.core.Row;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.FigureType;
 import io.deeplay.grandmastery.utils.Figures;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 public class King extends Piece {
-  private Position rookFromCastling;
-  private Position rookToCastling;
   private final Position targetLeftCastling;
   private final Position targetRightCastling;
 
@@ -26,8 +21,6 @@ public class King extends Piece {
   public King(Color color) {
     super(color);
     figureType = FigureType.KING;
-    rookToCastling = null;
-    rookFromCastling = null;
     if (color == Color.WHITE) {
       targetLeftCastling = Position.fromString("c1");
       targetRightCastling = Position.fromString("g1");
@@ -44,7 +37,7 @@ public class King extends Piece {
     final int row = move.to().row().value();
 
     if (deltaRow == 0 && (row == 0 || row == 7)) {
-      if (canCastling(board, move)) {
+      if (findCastlingRookMove(board, move) != null) {
         return true;
       }
     }
@@ -53,8 +46,6 @@ public class King extends Piece {
       return false;
     }
 
-    rookFromCastling = null;
-    rookToCastling = null;
     return deltaRow < 2 && deltaCol < 2;
   }
 
@@ -66,7 +57,7 @@ public class King extends Piece {
     return Math.abs(move.to().col().value() - move.from().col().value());
   }
 
-  private boolean findRookForCastling(Board board, Move move) {
+  private Position findRookForCastling(Board board, Move move) {
     int toCol = move.to().col().value();
     int fromCol = move.from().col().value();
     int row = move.from().row().value();
@@ -80,117 +71,105 @@ public class King extends Piece {
       start = fromCol;
       end = 8;
     } else {
-      return false;
+      return null;
     }
 
     for (int i = start; i < end; i++) {
       Piece piece = board.getPiece(i, row);
+      Position position = Position.of(i, row);
       if (piece != null
           && piece.getFigureType() == FigureType.ROOK
-          && !piece.isMoved()
+          && !board.isMoved(position)
           && piece.getColor() == getColor()) {
-        rookFromCastling = new Position(new Column(i), new Row(row));
-        return true;
+        return position;
       }
     }
-    return false;
+    return null;
   }
 
-  private boolean canCastling(Board board, Move move) {
-    if (isMoved()) {
-      return false;
+  /**
+   * Проверяет условия рокировки. Состояние не запоминается, ход ладьи каждый раз находится по
+   * доске.
+   *
+   * @param board Доска до хода
+   * @param move Ход короля
+   * @return Ход ладьи или {@code null}, если рокировка невозможна
+   */
+  private Move findCastlingRookMove(Board board, Move move) {
+    if (board.isMoved(move.from())) {
+      return null;
     }
 
     final int toCol = move.to().col().value();
     final int row = move.from().row().value();
     final int fromCol = move.from().col().value();
 
-    if (!findRookForCastling(board, move)) {
-      return false;
+    Position rookFromCastling = findRookForCastling(board, move);
+    if (rookFromCastling == null) {
+      return null;
     }
 
     if (!Figures.hasNotFigureBetweenCols(
         board, row, fromCol, rookFromCastling.col().value(), List.of(rookFromCastling))) {
-      return false;
+      return null;
     }
 
+    Position rookToCastling;
     if (rookFromCastling.col().value() < fromCol) {
-      rookToCastling = new Position(new Column(3), rookFromCastling.row());
+      rookToCastling = Position.of(3, rookFromCastling.row().value());
     } else {
-      rookToCastling = new Position(new Column(5), rookFromCastling.row());
+      rookToCastling = Position.of(5, rookFromCastling.row().value());
     }
 
     if (!rookFromCastling.equals(rookToCastling)
         && !move.from().equals(rookToCastling)
         && board.hasPiece(rookToCastling)) {
-      return false;
+      return null;
     }
 
-    List<Position> positions = board.getAllPiecePositionByColor(color.getOpposite());
-
-    for (int i = Math.min(fromCol, toCol); i < Math.max(fromCol, toCol); i++) {
-      for (Position position : positions) {
-        FigureType promotionPiece = null;
-        if (board.getPiece(position).getFigureType() == FigureType.PAWN) {
-          promotionPiece = FigureType.QUEEN;
-        }
-
-        Move tmpMove =
-            new Move(position, new Position(new Column(i), move.to().row()), promotionPiece);
-        if (board.getPiece(position).canMove(board, tmpMove)) {
-          return false;
-        }
+    for (int i = Math.min(fromCol, toCol); i <= Math.max(fromCol, toCol); i++) {
+      Position position = Position.of(i, move.to().row().value());
+      if (Attacks.isSquareAttacked(board, position, color.getOpposite())) {
+        return null;
       }
     }
-    return true;
+    return new Move(rookFromCastling, rookToCastling, null);
+  }
+
+  /**
+   * Проверяет, является ли ход короля рокировкой, и возвращает соответствующий ход ладьи.
+   *
+   * @param board Доска до хода
+   * @param move Ход короля
+   * @return Ход ладьи или {@code null}, если ход не является рокировкой
+   */
+  public Move getCastlingRookMove(Board board, Move move) {
+    final int row = move.to().row().value();
+    if (deltaRow(move) != 0 || (row != 0 && row != 7)) {
+      return null;
+    }
+
+    return findCastlingRookMove(board, move);
   }
 
   @Override
   public boolean move(Board board, Move move) {
     Piece left = board.getPiece(this.targetLeftCastling);
     Piece right = board.getPiece(this.targetRightCastling);
+    Move rookMove = getCastlingRookMove(board, move);
 
     boolean result = super.move(board, move);
-    if (result && rookToCastling != null) {
-      if (rookFromCastling.equals(this.targetLeftCastling)) {
-        board.setPiece(rookToCastling, left);
-      } else if (rookFromCastling.equals(this.targetRightCastling)) {
-        board.setPiece(rookToCastling, right);
+    if (result && rookMove != null) {
+      if (rookMove.from().equals(this.targetLeftCastling)) {
+        board.setPiece(rookMove.to(), left);
+      } else if (rookMove.from().equals(this.targetRightCastling)) {
+        board.setPiece(rookMove.to(), right);
       } else {
-        Piece rook = board.removePiece(rookFromCastling);
-        board.setPiece(rookToCastling, rook);
+        Piece rook = board.removePiece(rookMove.from());
+        board.setPiece(rookMove.to(), rook);
       }
+      board.setMoved(rookMove.to(), false);
     }
     return result;
   }
-
-  @Override
-  protected List<Move> generateAllMoves(Board board, Position position) {
-    List<Move> moves = new ArrayList<>();
-
-    moves.add(Figures.getMoveByPositionAndDeltas(position, 0, 1));
-    moves.add(Figures.getMoveByPositionAndDeltas(position, 1, 1));
-    moves.add(Figures.getMoveByPositionAndDeltas(position, 1, 0));
-    moves.add(Figures.getMoveByPositionAndDeltas(position, 1, -1));
-    moves.add(Figures.getMoveByPositionAndDeltas(position, 0, -1));
-    moves.add(Figures.getMoveByPositionAndDeltas(position, -1, -1));
-    moves.add(Figures.getMoveByPositionAndDeltas(position, -1, 0));
-    moves.add(Figures.getMoveByPositionAndDeltas(position, -1, 1));
-
-    var realMoves = new ArrayList<>(moves.stream().filter(Objects::nonNull).toList());
-
-    if (!this.isMoved()) {
-      if (this.getColor() == Color.WHITE) {
-        realMoves.add(new Move(position, Position.fromString("c1"), null));
-        realMoves.add(new Move(position, Position.fromString("g1"), null));
-      } else {
-        realMoves.add(new Move(position, Position.fromString("c8"), null));
-        realMoves.add(new Move(position, Position.fromString("g8"), null));
-      }
-    }
-
-    return realMoves.stream()
-        .filter(move -> canMove(board, move) && simulationMoveAndCheck(board, move))
-        .toList();
-  }
 }
@@ -2,13 +2,9 @@ package io.deeplay.grandmastery.figures;
 
 import io.deeplay.grandmastery.core.Board;
 import io.deeplay.grandmastery.core.Move;
-import io.deeplay.grandmastery.core.Position;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.FigureType;
 import io.deeplay.grandmastery.utils.Figures;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
 
 public class Knight extends Piece {
   /**
@@ -32,26 +28,4 @@ public class Knight extends Piece {
         && ((Math.abs(fromCol - toCol) == 1 && Math.abs(fromRow - toRow) == 2)
             || (Math.abs(fromCol - toCol) == 2 && Math.abs(fromRow - toRow) == 1));
   }
-
-  @Override
-  protected List<Move> generateAllMoves(Board board, Position position) {
-    var moveList = new ArrayList<Move>();
-
-    moveList.add(Figures.getMoveByPositionAndDeltas(position, -2, -1));
-    moveList.add(Figures.getMoveByPositionAndDeltas(position, -2, 1));
-    moveList.add(Figures.getMoveByPositionAndDeltas(position, -1, -2));
-    moveList.add(Figures.getMoveByPositionAndDeltas(position, -1, 2));
-    moveList.add(Figures.getMoveByPositionAndDeltas(position, 1, -2));
-    moveList.add(Figures.getMoveByPositionAndDeltas(position, 1, 2));
-    moveList.add(Figures.getMoveByPositionAndDeltas(position, 2, -1));
-    moveList.add(Figures.getMoveByPositionAndDeltas(position, 2, 1));
-
-    return moveList.stream()
-        .filter(
-            move ->
-                Objects.nonNull(move)
-                    && canMove(board, move)
-                    && simulationMoveAndCheck(board, move))
-        .toList();
-  }
 }
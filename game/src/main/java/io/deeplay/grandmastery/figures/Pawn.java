@@ -7,13 +7,8 @@ import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.FigureType;
 import io.deeplay.grandmastery.domain.GameErrorCode;
 import io.deeplay.grandmastery.utils.Figures;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
 
 public class Pawn extends Piece {
-  private boolean captureEnPassant;
-
   /**
    * Конструктор для пешки.
    *
@@ -22,7 +17,6 @@ public class Pawn extends Piece {
   public Pawn(Color color) {
     super(color);
     figureType = FigureType.PAWN;
-    captureEnPassant = false;
   }
 
   @Override
@@ -31,7 +25,6 @@ public class Pawn extends Piece {
       return false;
     }
 
-    captureEnPassant = false;
     if (move.promotionPiece() != null) {
       if (move.from().col().value() == move.to().col().value()) {
         return canMoveForward(move, board) && canRevive(move);
@@ -62,7 +55,7 @@ public class Pawn extends Piece {
       return true;
     } else {
       return deltaRow == 2
-          && !isMoved()
+          && !board.isMoved(move.from())
           && !board.hasPiece(move.to())
           && !board.hasPiece(
               move.from().col().value(), (move.from().row().value() + move.to().row().value()) / 2);
@@ -76,24 +69,11 @@ public class Pawn extends Piece {
   }
 
   private boolean checkCaptureEnPassant(Move move, Board board) {
-    Move lastMove = board.getLastMove();
-    int lastDeltaRow = deltaRowByColor(lastMove, board.getPiece(lastMove.to()).getColor());
-    FigureType figure = board.getPiece(lastMove.to()).getFigureType();
-
-    int deltaCol = Math.abs(move.from().col().value() - lastMove.to().col().value());
-    int deltaRow = move.from().row().value() - lastMove.to().row().value();
-    int colEnemyPiece = lastMove.to().col().value();
-    int toCol = move.to().col().value();
-
-    if (deltaCol == 1
-        && deltaRow == 0
-        && lastDeltaRow == 2
-        && figure == FigureType.PAWN
-        && colEnemyPiece == toCol) {
-      this.captureEnPassant = deltaRowByColor(move, this.getColor()) == 1;
-    }
-
-    return captureEnPassant;
+    Position enPassantPosition = board.getEnPassantPosition();
+    return move.to().equals(enPassantPosition)
+        && move.from().row().equals(board.getLastMove().to().row())
+        && deltaCol(move) == 1
+        && deltaRowByColor(move, this.getColor()) == 1;
   }
 
   private int deltaCol(Move move) {
@@ -108,6 +88,10 @@ public class Pawn extends Piece {
 
   @Override
   public boolean move(Board board, Move move) {
+    boolean captureEnPassant =
+        move.promotionPiece() == null
+            && !board.hasPiece(move.to())
+            && checkCaptureEnPassant(move, board);
     boolean result = super.move(board, move);
 
     if (move.promotionPiece() != null && result) {
@@ -115,75 +99,14 @@ public class Pawn extends Piece {
       return true;
     }
 
-    if (this.captureEnPassant && result) {
+    if (captureEnPassant && result) {
       board.removePiece(board.getLastMove().to());
+      board.setMoved(board.getLastMove().to(), false);
     }
 
-    this.captureEnPassant = false;
     return result;
   }
 
-  @Override
-  protected boolean simulationMoveAndCheck(Board board, Move move) {
-    Piece removePiece = null;
-    if (this.captureEnPassant) {
-      removePiece = board.removePiece(board.getLastMove().to());
-    }
-
-    boolean isCheck = !super.simulationMoveAndCheck(board, move);
-    if (removePiece != null) {
-      board.setPiece(board.getLastMove().to(), removePiece);
-    }
-
-    return !isCheck;
-  }
-
-  @Override
-  protected List<Move> generateAllMoves(Board board, Position position) {
-    List<Move> defaultMoves = new ArrayList<>();
-
-    defaultMoves.add(Figures.getMoveByPositionAndDeltas(position, 0, 1));
-    defaultMoves.add(Figures.getMoveByPositionAndDeltas(position, 0, -1));
-    defaultMoves.add(Figures.getMoveByPositionAndDeltas(position, 0, 2));
-    defaultMoves.add(Figures.getMoveByPositionAndDeltas(position, 0, -2));
-    defaultMoves.add(Figures.getMoveByPositionAndDeltas(position, 1, 1));
-    defaultMoves.add(Figures.getMoveByPositionAndDeltas(position, -1, 1));
-    defaultMoves.add(Figures.getMoveByPositionAndDeltas(position, 1, -1));
-    defaultMoves.add(Figures.getMoveByPositionAndDeltas(position, -1, -1));
-
-    var realMoves = defaultMoves.stream().filter(Objects::nonNull).toList();
-
-    List<Move> resultMoves = new ArrayList<>();
-    for (Move move : realMoves) {
-      if (this.getColor() == Color.WHITE) {
-        if (move.to().row().value() == 7) {
-          generateReviveMoves(resultMoves, move);
-        } else {
-          resultMoves.add(move);
-        }
-      } else if (this.getColor() == Color.BLACK) {
-        if (move.to().row().value() == 0) {
-          generateReviveMoves(resultMoves, move);
-        } else {
-          resultMoves.add(move);
-        }
-      }
-    }
-
-    resultMoves =
-        resultMoves.stream()
-            .filter(move -> canMove(board, move) && simulationMoveAndCheck(board, move))
-            .toList();
-    return resultMoves;
-  }
-
-  private void generateReviveMoves(List<Move> moves, Move move) {
-    moves.add(new Move(move.from(), move.to(), FigureType.BISHOP));
-    moves.add(new Move(move.from(), move.to(), FigureType.ROOK));
-    moves.add(new Move(move.from(), move.to(), FigureType.QUEEN));
-    moves.add(new Move(move.from(), move.to(), FigureType.KNIGHT));
-  }
-
   /**
    * Превращение пешки.
    *
@@ -194,12 +117,11 @@ public class Pawn extends Piece {
     board.removePiece(move.to());
 
     switch (move.promotionPiece()) {
-      case ROOK -> board.setPiece(move.to(), new Rook(this.getColor()));
-      case QUEEN -> board.setPiece(move.to(), new Queen(this.getColor()));
-      case KNIGHT -> board.setPiece(move.to(), new Knight(this.getColor()));
-      case BISHOP -> board.setPiece(move.to(), new Bishop(this.getColor()));
+      case ROOK, QUEEN, KNIGHT, BISHOP ->
+          board.setPiece(move.to(), move.promotionPiece().getPiece(this.getColor()));
       default -> throw GameErrorCode.IMPOSSIBLE_PAWN_REVIVE.asException();
     }
+    board.setMoved(move.to(), false);
   }
 
   /**
@@ -1,8 +1,8 @@
 package io.deeplay.grandmastery.figures;
 
 import io.deeplay.grandmastery.core.Board;
-import io.deeplay.grandmastery.core.GameStateChecker;
 import io.deeplay.grandmastery.core.Move;
+import io.deeplay.grandmastery.core.MoveGenerator;
 import io.deeplay.grandmastery.core.Position;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.FigureType;
@@ -10,14 +10,17 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import lombok.Getter;
-import lombok.Setter;
 
+/**
+ * Игровая фигура. Фигура не хранит состояния позиции: двигалась ли она, права на рокировку, взятие
+ * на проходе и кэш ходов хранит доска. Поэтому один экземпляр фигуры можно ставить на любые доски
+ * и использовать из разных потоков, а {@link FigureType#getPiece(Color)} возвращает по одному
+ * экземпляру на тип и цвет.
+ */
 @Getter
 public abstract class Piece {
   protected final Color color;
   protected FigureType figureType;
-  protected List<Move> moves;
-  @Setter protected boolean isMoved;
 
   /**
    * Конструктор для создания игровой фигуры определенного цвета.
@@ -26,8 +29,6 @@ public abstract class Piece {
    */
   public Piece(Color color) {
     this.color = color;
-    isMoved = false;
-    moves = null;
   }
 
   /**
@@ -39,42 +40,18 @@ public abstract class Piece {
    *     не удалось переместить фигуру
    */
   public boolean move(Board board, Move move) {
-    if (canMove(board, move) && this.simulationMoveAndCheck(board, move)) {
+    if (canMove(board, move) && MoveGenerator.isKingSafeAfterMove(board, move)) {
       Piece piece = board.removePiece(move.from());
       board.removePiece(move.to());
       board.setPiece(move.to(), piece);
-      board.clearMoves();
-
-      isMoved = true;
+      board.setMoved(move.from(), false);
+      board.setMoved(move.to(), true);
       return true;
     }
 
     return false;
   }
 
-  /**
-   * Моделирует ход на шахматной доске и проверяет, вызывает ли этот ход шах.
-   *
-   * @param board Доска.
-   * @param move Ход.
-   * @return {@code true}, если ход не вызывает шах, иначе {@code false}.
-   */
-  protected boolean simulationMoveAndCheck(Board board, Move move) {
-    Piece piece = board.removePiece(move.from());
-    Piece removePiece = board.removePiece(move.to());
-    board.setPiece(move.to(), piece);
-
-    final boolean isCheck = GameStateChecker.isCheck(board, this.color);
-
-    board.removePiece(move.to());
-    board.setPiece(move.from(), piece);
-    if (removePiece != null) {
-      board.setPiece(move.to(), removePiece);
-    }
-
-    return !isCheck;
-  }
-
   /**
    * Проверяет, может ли фигура выполнить ход на доске.
    *
@@ -95,6 +72,7 @@ public abstract class Piece {
    * @return true, если фигура может выполнить указанный ход, иначе false
    */
   public boolean canMove(Board board, Move move) {
+    List<Move> moves = board.getCachedMoves(move.from());
     if (moves != null && moves.contains(move)) {
       return true;
     }
@@ -102,37 +80,26 @@ public abstract class Piece {
   }
 
   /**
-   * Генерирует все возможные ходы для фигуры с указанной позиции на доске.
-   *
-   * @param board доска
-   * @param position позиция фигуры на доске
-   * @return {@code List<Move>} список всех возможных ходов
-   */
-  protected abstract List<Move> generateAllMoves(Board board, Position position);
-
-  /**
-   * Получает все возможные ходы для фигуры с указанной позиции на доске.
+   * Получает все возможные ходы для фигуры с указанной позиции на доске. Ходы кэшируются на доске
+   * до следующего изменения позиции.
    *
    * @param board доска.
    * @param position позиция фигуры на доске.
    * @return {@code List<Move>} список всех возможных ходов или пустой список если позиция пуста.
    */
-  @SuppressWarnings("ReferenceEquality")
   public List<Move> getAllMoves(Board board, Position position) {
-    if (board.getPiece(position) != this) {
+    if (!this.equals(board.getPiece(position))) {
       return Collections.emptyList();
     }
 
+    List<Move> moves = board.getCachedMoves(position);
     if (moves == null) {
-      moves = generateAllMoves(board, position);
+      moves = MoveGenerator.getLegalMoves(board, position);
+      board.cacheMoves(position, moves);
     }
     return moves;
   }
 
-  public void clearMoves() {
-    moves = null;
-  }
-
   @Override
   public boolean equals(Object o) {
     if (this == o) {
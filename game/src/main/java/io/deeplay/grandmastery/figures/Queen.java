@@ -4,11 +4,9 @@ import static java.lang.Math.abs;
 
 import io.deeplay.grandmastery.core.Board;
 import io.deeplay.grandmastery.core.Move;
-import io.deeplay.grandmastery.core.Position;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.FigureType;
 import io.deeplay.grandmastery.utils.Figures;
-import java.util.List;
 
 public class Queen extends Piece {
   /**
@@ -41,14 +39,4 @@ public class Queen extends Piece {
     }
     return false;
   }
-
-  @Override
-  protected List<Move> generateAllMoves(Board board, Position position) {
-    List<Move> listMove = Figures.allDiagonalMoves(position);
-    listMove.addAll(Figures.allVerticalAndHorizontalMoves(position));
-
-    return listMove.stream()
-        .filter(move -> canMove(board, move) && simulationMoveAndCheck(board, move))
-        .toList();
-  }
 }
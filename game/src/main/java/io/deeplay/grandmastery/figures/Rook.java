@@ -2,11 +2,9 @@ package io.deeplay.grandmastery.figures;
 
 import io.deeplay.grandmastery.core.Board;
 import io.deeplay.grandmastery.core.Move;
-import io.deeplay.grandmastery.core.Position;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.FigureType;
 import io.deeplay.grandmastery.utils.Figures;
-import java.util.List;
 
 public class Rook extends Piece {
   /**
@@ -38,11 +36,4 @@ public class Rook extends Piece {
 
     return false;
   }
-
-  @Override
-  protected List<Move> generateAllMoves(Board board, Position position) {
-    return Figures.allVerticalAndHorizontalMoves(position).stream()
-        .filter(move -> canMove(board, move) && simulationMoveAndCheck(board, move))
-        .toList();
-  }
 }
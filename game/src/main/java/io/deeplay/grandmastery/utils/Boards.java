@@ -1,23 +1,15 @@
 package io.deeplay.grandmastery.utils;
 
 import io.deeplay.grandmastery.core.Board;
-import io.deeplay.grandmastery.core.Column;
 import io.deeplay.grandmastery.core.GameHistory;
 import io.deeplay.grandmastery.core.HashBoard;
 import io.deeplay.grandmastery.core.Move;
 import io.deeplay.grandmastery.core.Position;
-import io.deeplay.grandmastery.core.Row;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.FigureType;
 import io.deeplay.grandmastery.domain.GameErrorCode;
 import io.deeplay.grandmastery.exceptions.GameException;
-import io.deeplay.grandmastery.figures.Bishop;
-import io.deeplay.grandmastery.figures.King;
-import io.deeplay.grandmastery.figures.Knight;
-import io.deeplay.grandmastery.figures.Pawn;
 import io.deeplay.grandmastery.figures.Piece;
-import io.deeplay.grandmastery.figures.Queen;
-import io.deeplay.grandmastery.figures.Rook;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -46,17 +38,17 @@ public class Boards {
         int row = color == Color.WHITE ? 0 : 7;
         setPawnsByRow(defaultBoard, row, color);
 
-        defaultBoard.setPiece(new Position(new Column(0), new Row(row)), new Rook(color));
-        defaultBoard.setPiece(new Position(new Column(7), new Row(row)), new Rook(color));
+        defaultBoard.setPiece(Position.of(0, row), FigureType.ROOK.getPiece(color));
+        defaultBoard.setPiece(Position.of(7, row), FigureType.ROOK.getPiece(color));
 
-        defaultBoard.setPiece(new Position(new Column(1), new Row(row)), new Knight(color));
-        defaultBoard.setPiece(new Position(new Column(6), new Row(row)), new Knight(color));
+        defaultBoard.setPiece(Position.of(1, row), FigureType.KNIGHT.getPiece(color));
+        defaultBoard.setPiece(Position.of(6, row), FigureType.KNIGHT.getPiece(color));
 
-        defaultBoard.setPiece(new Position(new Column(2), new Row(row)), new Bishop(color));
-        defaultBoard.setPiece(new Position(new Column(5), new Row(row)), new Bishop(color));
+        defaultBoard.setPiece(Position.of(2, row), FigureType.BISHOP.getPiece(color));
+        defaultBoard.setPiece(Position.of(5, row), FigureType.BISHOP.getPiece(color));
 
-        defaultBoard.setPiece(new Position(new Column(3), new Row(row)), new Queen(color));
-        defaultBoard.setPiece(new Position(new Column(4), new Row(row)), new King(color));
+        defaultBoard.setPiece(Position.of(3, row), FigureType.QUEEN.getPiece(color));
+        defaultBoard.setPiece(Position.of(4, row), FigureType.KING.getPiece(color));
       }
     };
   }
@@ -94,34 +86,31 @@ public class Boards {
         int row = color == Color.WHITE ? 0 : 7;
         setPawnsByRow(fischerBoard, row, color);
 
-        fischerBoard.setPiece(new Position(new Column(king), new Row(row)), new King(color));
-        fischerBoard.setPiece(new Position(new Column(queen), new Row(row)), new Queen(color));
+        fischerBoard.setPiece(Position.of(king, row), FigureType.KING.getPiece(color));
+        fischerBoard.setPiece(Position.of(queen, row), FigureType.QUEEN.getPiece(color));
 
-        fischerBoard.setPiece(new Position(new Column(leftRook), new Row(row)), new Rook(color));
-        fischerBoard.setPiece(new Position(new Column(rightRook), new Row(row)), new Rook(color));
+        fischerBoard.setPiece(Position.of(leftRook, row), FigureType.ROOK.getPiece(color));
+        fischerBoard.setPiece(Position.of(rightRook, row), FigureType.ROOK.getPiece(color));
 
-        fischerBoard.setPiece(
-            new Position(new Column(firstKnight), new Row(row)), new Knight(color));
-        fischerBoard.setPiece(
-            new Position(new Column(secondKnight), new Row(row)), new Knight(color));
+        fischerBoard.setPiece(Position.of(firstKnight, row), FigureType.KNIGHT.getPiece(color));
+        fischerBoard.setPiece(Position.of(secondKnight, row), FigureType.KNIGHT.getPiece(color));
 
-        fischerBoard.setPiece(
-            new Position(new Column(blackBishop), new Row(row)), new Bishop(color));
-        fischerBoard.setPiece(
-            new Position(new Column(whiteBishop), new Row(row)), new Bishop(color));
+        fischerBoard.setPiece(Position.of(blackBishop, row), FigureType.BISHOP.getPiece(color));
+        fischerBoard.setPiece(Position.of(whiteBishop, row), FigureType.BISHOP.getPiece(color));
       }
     };
   }
 
   private static void setPawnsByRow(Board board, int row, Color color) {
     for (int j = 0; j < 8; j++) {
-      board.setPiece(new Position(new Column(j), new Row(Math.abs(row - 1))), new Pawn(color));
+      board.setPiece(Position.of(j, Math.abs(row - 1)), FigureType.PAWN.getPiece(color));
     }
   }
 
   /**
    * Возвращает одного из наследников {@link Board}, который копирует содержимое исходной шахматной
-   * доски в целевую доску.
+   * доски в целевую доску. Фигуры не хранят состояния, поэтому копия ставит на доску те же
+   * экземпляры фигур, а флаги хода переносятся отдельно.
    *
    * @param sourceBoard исходная шахматная доска, которую необходимо скопировать.
    * @return Наследник {@link Board}, который копирует исходную доску в целевую доску.
@@ -143,57 +132,34 @@ public class Boards {
         for (int col = 0; col < 8; col++) {
           piece = sourceBoard.getPiece(col, row);
           if (piece != null) {
-            destinationBoard.setPiece(
-                new Position(new Column(col), new Row(row)), copyPiece(piece));
+            Position position = Position.of(col, row);
+            destinationBoard.setPiece(position, piece);
+            destinationBoard.setMoved(position, sourceBoard.isMoved(position));
           }
         }
       }
     };
   }
 
-  private static Move copyMove(Move move) {
-    Position from =
-        new Position(new Column(move.from().col().value()), new Row(move.from().row().value()));
-    Position to =
-        new Position(new Column(move.to().col().value()), new Row(move.to().row().value()));
+  /**
+   * Возвращает копию доски той же реализации, что и исходная доска.
+   *
+   * @param sourceBoard исходная шахматная доска.
+   * @return Копия доски.
+   * @throws GameException если sourceBoard равен null.
+   */
+  public static Board copyBoard(Board sourceBoard) throws GameException {
+    if (sourceBoard == null) {
+      throw GameErrorCode.NULL_POINTER_SOURCE_BOARD.asException();
+    }
 
-    return new Move(from, to, move.promotionPiece());
+    Board copyBoard = sourceBoard.getBoardType().createBoard();
+    copy(sourceBoard).accept(copyBoard);
+    return copyBoard;
   }
 
-  private static Piece copyPiece(Piece sourcePiece) throws GameException {
-    switch (sourcePiece.getFigureType()) {
-      case KING -> {
-        Piece king = new King(sourcePiece.getColor());
-        king.setMoved(sourcePiece.isMoved());
-        return king;
-      }
-      case PAWN -> {
-        Piece pawn = new Pawn(sourcePiece.getColor());
-        pawn.setMoved(sourcePiece.isMoved());
-        return pawn;
-      }
-      case ROOK -> {
-        Piece rook = new Rook(sourcePiece.getColor());
-        rook.setMoved(sourcePiece.isMoved());
-        return rook;
-      }
-      case QUEEN -> {
-        Queen queen = new Queen(sourcePiece.getColor());
-        queen.setMoved(sourcePiece.isMoved());
-        return queen;
-      }
-      case BISHOP -> {
-        Bishop bishop = new Bishop(sourcePiece.getColor());
-        bishop.setMoved(sourcePiece.isMoved());
-        return bishop;
-      }
-      case KNIGHT -> {
-        Knight knight = new Knight(sourcePiece.getColor());
-        knight.setMoved(sourcePiece.isMoved());
-        return knight;
-      }
-      default -> throw GameErrorCode.UNKNOWN_FIGURE_TYPE.asException();
-    }
+  private static Move copyMove(Move move) {
+    return new Move(move.from(), move.to(), move.promotionPiece());
   }
 
   /**
@@ -248,7 +214,7 @@ public class Boards {
                         .findAny()
                         .orElse(null))
                 .getPiece(color);
-        board.setPiece(new Position(new Column(i / 8), new Row(i % 8)), piece);
+        board.setPiece(Position.of(i / 8, i % 8), piece);
       }
     }
 
@@ -299,21 +265,21 @@ public class Boards {
 
     var buffer = new StringBuilder(" ");
 
-    if (isUnmovedKingOrRook(board.getPiece(board.getWhiteKingPosition()))) {
-      if (isUnmovedKingOrRook(board.getPiece(Position.fromString("h1")))) {
+    if (isUnmovedKingOrRook(board, board.getWhiteKingPosition())) {
+      if (isUnmovedKingOrRook(board, Position.fromString("h1"))) {
         buffer.append("K");
       }
-      if (isUnmovedKingOrRook(board.getPiece(Position.fromString("a1")))) {
+      if (isUnmovedKingOrRook(board, Position.fromString("a1"))) {
         buffer.append("Q");
       }
     }
 
-    if (isUnmovedKingOrRook(board.getPiece(board.getBlackKingPosition()))) {
-      if (isUnmovedKingOrRook(board.getPiece(Position.fromString("h8")))) {
+    if (isUnmovedKingOrRook(board, board.getBlackKingPosition())) {
+      if (isUnmovedKingOrRook(board, Position.fromString("h8"))) {
         buffer.append("k");
       }
 
-      if (isUnmovedKingOrRook(board.getPiece(Position.fromString("a8")))) {
+      if (isUnmovedKingOrRook(board, Position.fromString("a8"))) {
         buffer.append("q");
       }
     }
@@ -333,11 +299,11 @@ public class Boards {
           if (currentColor == Color.WHITE) {
             result.append(
                 Position.getString(
-                    new Position(lastMove.to().col(), new Row(lastMove.to().row().value() + 1))));
+                    Position.of(lastMove.to().col().value(), lastMove.to().row().value() + 1)));
           } else {
             result.append(
                 Position.getString(
-                    new Position(lastMove.to().col(), new Row(lastMove.to().row().value() - 1))));
+                    Position.of(lastMove.to().col().value(), lastMove.to().row().value() - 1)));
           }
           result.append(" ");
         } else {
@@ -395,9 +361,10 @@ public class Boards {
     }
   }
 
-  private static boolean isUnmovedKingOrRook(Piece piece) {
+  private static boolean isUnmovedKingOrRook(Board board, Position position) {
+    Piece piece = position == null ? null : board.getPiece(position);
     return piece != null
         && (piece.getFigureType() == FigureType.KING || piece.getFigureType() == FigureType.ROOK)
-        && !piece.isMoved();
+        && !board.isMoved(position);
   }
 }
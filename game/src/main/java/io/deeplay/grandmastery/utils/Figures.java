@@ -1,10 +1,8 @@
 package io.deeplay.grandmastery.utils;
 
 import io.deeplay.grandmastery.core.Board;
-import io.deeplay.grandmastery.core.Column;
 import io.deeplay.grandmastery.core.Move;
 import io.deeplay.grandmastery.core.Position;
-import io.deeplay.grandmastery.core.Row;
 import io.deeplay.grandmastery.domain.FigureType;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -69,7 +67,7 @@ public class Figures {
       return null;
     }
 
-    return new Move(position, new Position(new Column(colValue), new Row(rowValue)), null);
+    return new Move(position, Position.of(colValue, rowValue), null);
   }
 
   private static boolean notValidValueForPosition(int value) {
@@ -103,7 +101,7 @@ public class Figures {
   public static boolean hasNotFigureBetweenRows(
       Board board, int col, int startRow, int endRow, List<Position> exception) {
     for (var pos = Math.min(startRow, endRow) + 1; pos < Math.max(startRow, endRow); pos++) {
-      Position position = new Position(new Column(col), new Row(pos));
+      Position position = Position.of(col, pos);
       if (!exception.contains(position) && board.hasPiece(position)) {
         return false;
       }
@@ -138,7 +136,7 @@ public class Figures {
   public static boolean hasNotFigureBetweenCols(
       Board board, int row, int startCol, int endCol, List<Position> exception) {
     for (var pos = Math.min(startCol, endCol) + 1; pos < Math.max(startCol, endCol); pos++) {
-      Position position = new Position(new Column(pos), new Row(row));
+      Position position = Position.of(pos, row);
       if (!exception.contains(position) && board.hasPiece(position)) {
         return false;
       }
@@ -194,7 +192,7 @@ public class Figures {
     while (x != endCol - dx) {
       x += dx;
       y += dy;
-      Position position = new Position(new Column(x), new Row(y));
+      Position position = Position.of(x, y);
       if (!exception.contains(position) && board.hasPiece(position)) {
         return false;
       }
@@ -217,7 +215,7 @@ public class Figures {
       int x = position.col().value() + dx[dir];
       int y = position.row().value() + dy[dir];
       while (0 <= x && x <= 7 && 0 <= y && y <= 7) {
-        listMove.add(new Move(position, new Position(new Column(x), new Row(y)), null));
+        listMove.add(new Move(position, Position.of(x, y), null));
         x += dx[dir];
         y += dy[dir];
       }
@@ -235,8 +233,8 @@ public class Figures {
   public static List<Move> allVerticalAndHorizontalMoves(Position position) {
     List<Move> listMove = new ArrayList<>();
     for (int i = 0; i < 8; i++) {
-      listMove.add(new Move(position, new Position(position.col(), new Row(i)), null));
-      listMove.add(new Move(position, new Position(new Column(i), position.row()), null));
+      listMove.add(new Move(position, Position.of(position.col().value(), i), null));
+      listMove.add(new Move(position, Position.of(i, position.row().value()), null));
     }
 
     return listMove;
@@ -1,12 +1,13 @@
 package io.deeplay.grandmastery.utils;
 
 import io.deeplay.grandmastery.core.Board;
+import io.deeplay.grandmastery.core.Column;
 import io.deeplay.grandmastery.core.Game;
 import io.deeplay.grandmastery.core.GameHistory;
 import io.deeplay.grandmastery.core.GameStateChecker;
-import io.deeplay.grandmastery.core.HashBoard;
 import io.deeplay.grandmastery.core.Move;
 import io.deeplay.grandmastery.core.Position;
+import io.deeplay.grandmastery.core.Row;
 import io.deeplay.grandmastery.domain.Color;
 import io.deeplay.grandmastery.domain.FigureType;
 import io.deeplay.grandmastery.domain.GameErrorCode;
@@ -39,11 +40,10 @@ public class LongAlgebraicNotation {
    * @return Валидна ли доска
    */
   public static boolean validMoves(List<Move> moves, Board board) {
-    var copyBoard = new HashBoard();
-    Boards.copy(board).accept(copyBoard);
-    Game game = new Game();
+    var copyBoard = Boards.copyBoard(board);
+    Game game = new Game(board.getBoardType());
     game.startup(copyBoard);
-    GameHistory gameHistory = new GameHistory();
+    GameHistory gameHistory = new GameHistory(board.getBoardType());
     gameHistory.startup(copyBoard);
 
     Piece piece = copyBoard.getPiece(moves.get(0).from());
@@ -101,8 +101,8 @@ public class LongAlgebraicNotation {
    * @return Возвращает ход, спаршенный из строки
    */
   private static Move getSimpleMoveFromString(String simpleMoveString) {
-    var fromPosition = Position.fromString(simpleMoveString.substring(0, 2));
-    var toPosition = Position.fromString(simpleMoveString.substring(2));
+    var fromPosition = getPosition(simpleMoveString, 0);
+    var toPosition = getPosition(simpleMoveString, 2);
 
     return new Move(fromPosition, toPosition, null);
   }
@@ -114,17 +114,23 @@ public class LongAlgebraicNotation {
    * @return Возвращает ход, спаршенный из строки
    */
   private static Move getPromotionMoveFromString(String promotionMoveString) {
-    var fromPosition = Position.fromString(promotionMoveString.substring(0, 2));
-    var toPosition = Position.fromString(promotionMoveString.substring(2, 4));
+    var fromPosition = getPosition(promotionMoveString, 0);
+    var toPosition = getPosition(promotionMoveString, 2);
 
     var figureSymbol = promotionMoveString.charAt(4);
-    var piece =
-        Arrays.stream(FigureType.values())
-            .filter(figureType -> figureType.getSymbol() == figureSymbol)
-            .findAny()
-            .orElseThrow(GameErrorCode.INCORRECT_FIGURE_CHARACTER::asException);
+    for (FigureType figureType : FigureType.values()) {
+      if (figureType.getSymbol() == figureSymbol) {
+        return new Move(fromPosition, toPosition, figureType);
+      }
+    }
+    throw GameErrorCode.INCORRECT_FIGURE_CHARACTER.asException();
+  }
 
-    return new Move(fromPosition, toPosition, piece);
+  /** Клетка из двух символов строки, начиная с {@code offset}, без создания подстроки. */
+  private static Position getPosition(String stringMove, int offset) {
+    return Position.of(
+        Column.getColFromChar(stringMove.charAt(offset)),
+        Row.getRowFromChar(stringMove.charAt(offset + 1)));
   }
 
   /**
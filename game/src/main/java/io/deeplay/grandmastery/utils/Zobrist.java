@@ -0,0 +1,137 @@
+package io.deeplay.grandmastery.utils;
+
+import io.deeplay.grandmastery.core.Board;
+import io.deeplay.grandmastery.core.Move;
+import io.deeplay.grandmastery.core.Position;
+import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.domain.FigureType;
+import io.deeplay.grandmastery.figures.Piece;
+import java.util.SplittableRandom;
+
+/**
+ * Класс Zobrist хранит случайные числа для хеширования позиции. Ключ позиции - это XOR чисел для
+ * каждой фигуры на своей клетке, очереди хода, прав на рокировку и вертикали взятия на проходе.
+ * Числа генерируются с фиксированным зерном, поэтому ключи одинаковы между запусками.
+ */
+public class Zobrist {
+  private static final long SEED = 0x9E3779B97F4A7C15L;
+  private static final int FIGURE_TYPES = FigureType.values().length;
+
+  /** Числа для фигур, индекс - {@code (color * 6 + figureType) * 64 + square}. */
+  private static final long[] PIECES = new long[Color.values().length * FIGURE_TYPES * 64];
+
+  /** Числа для прав на рокировку с ладьёй на вертикали, индекс - {@code color * 8 + col}. */
+  private static final long[] CASTLING = new long[Color.values().length * 8];
+
+  /** Числа для вертикали, на которой возможно взятие на проходе. */
+  private static final long[] EN_PASSANT = new long[8];
+
+  /** Число, которое добавляется, когда ход черных. */
+  private static final long BLACK_TO_MOVE;
+
+  static {
+    SplittableRandom random = new SplittableRandom(SEED);
+    for (int i = 0; i < PIECES.length; i++) {
+      PIECES[i] = random.nextLong();
+    }
+    for (int i = 0; i < CASTLING.length; i++) {
+      CASTLING[i] = random.nextLong();
+    }
+    for (int i = 0; i < EN_PASSANT.length; i++) {
+      EN_PASSANT[i] = random.nextLong();
+    }
+    BLACK_TO_MOVE = random.nextLong();
+  }
+
+  /**
+   * Метод возвращает ключ фигуры на клетке.
+   *
+   * @param position Позиция
+   * @param piece Фигура
+   * @return Ключ
+   */
+  public static long getPieceKey(Position position, Piece piece) {
+    int square = position.row().value() * 8 + position.col().value();
+    int index = piece.getColor().ordinal() * FIGURE_TYPES + piece.getFigureType().ordinal();
+    return PIECES[index * 64 + square];
+  }
+
+  /**
+   * Метод возвращает ключ состояния позиции, которое не хранится в расстановке фигур: очередь
+   * хода, права на рокировку и вертикаль взятия на проходе. Очередь хода определяется по
+   * последнему ходу на доске, без него считается, что ходят белые.
+   *
+   * @param board Доска
+   * @return Ключ
+   */
+  public static long getStateKey(Board board) {
+    long key = getCastlingKey(board, Color.WHITE) ^ getCastlingKey(board, Color.BLACK);
+
+    Move lastMove = board.getLastMove();
+    if (lastMove == null) {
+      return key;
+    }
+
+    Piece lastMovedPiece = board.getPiece(lastMove.to());
+    if (lastMovedPiece == null) {
+      return key;
+    }
+    if (lastMovedPiece.getColor() == Color.WHITE) {
+      key ^= BLACK_TO_MOVE;
+    }
+    if (canCaptureEnPassant(board, lastMove, lastMovedPiece)) {
+      key ^= EN_PASSANT[lastMove.to().col().value()];
+    }
+    return key;
+  }
+
+  /**
+   * Права на рокировку: король не ходил и стоит на своей первой горизонтали, ладья не ходила и
+   * стоит на той же горизонтали. Вертикаль ладьи входит в ключ, поэтому работает и для шахмат
+   * Фишера.
+   */
+  private static long getCastlingKey(Board board, Color color) {
+    Position kingPosition = board.getKingPositionByColor(color);
+    int row = color == Color.WHITE ? 0 : 7;
+    if (kingPosition == null
+        || kingPosition.row().value() != row
+        || board.isMoved(kingPosition)) {
+      return 0L;
+    }
+
+    long key = 0L;
+    for (int col = 0; col < 8; col++) {
+      Piece piece = board.getPiece(col, row);
+      if (piece != null
+          && piece.getFigureType() == FigureType.ROOK
+          && piece.getColor() == color
+          && !board.isMoved(Position.of(col, row))) {
+        key ^= CASTLING[color.ordinal() * 8 + col];
+      }
+    }
+    return key;
+  }
+
+  /** Взятие на проходе учитывается, только если рядом с пешкой стоит пешка соперника. */
+  private static boolean canCaptureEnPassant(Board board, Move lastMove, Piece lastMovedPiece) {
+    if (lastMovedPiece.getFigureType() != FigureType.PAWN
+        || Math.abs(lastMove.to().row().value() - lastMove.from().row().value()) != 2) {
+      return false;
+    }
+
+    int col = lastMove.to().col().value();
+    int row = lastMove.to().row().value();
+    for (int neighbourCol = col - 1; neighbourCol <= col + 1; neighbourCol += 2) {
+      if (neighbourCol < 0 || neighbourCol > 7) {
+        continue;
+      }
+      Piece piece = board.getPiece(neighbourCol, row);
+      if (piece != null
+          && piece.getFigureType() == FigureType.PAWN
+          && piece.getColor() != lastMovedPiece.getColor()) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
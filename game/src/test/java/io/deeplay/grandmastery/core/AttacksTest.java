@@ -0,0 +1,159 @@
+package io.deeplay.grandmastery.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.deeplay.grandmastery.domain.BoardType;
+import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.domain.FigureType;
+import io.deeplay.grandmastery.figures.Bishop;
+import io.deeplay.grandmastery.figures.King;
+import io.deeplay.grandmastery.figures.Knight;
+import io.deeplay.grandmastery.figures.Pawn;
+import io.deeplay.grandmastery.figures.Piece;
+import io.deeplay.grandmastery.figures.Queen;
+import io.deeplay.grandmastery.figures.Rook;
+import io.deeplay.grandmastery.utils.Boards;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class AttacksTest {
+  private Board board;
+
+  @BeforeEach
+  void init() {
+    board = new HashBoard();
+  }
+
+  private boolean isAttacked(String square, Color byColor) {
+    return Attacks.isSquareAttacked(board, Position.fromString(square), byColor);
+  }
+
+  @Test
+  public void knightAttackTest() {
+    board.setPiece(Position.fromString("d4"), new Knight(Color.WHITE));
+
+    Assertions.assertAll(
+        () -> assertTrue(isAttacked("e6", Color.WHITE)),
+        () -> assertTrue(isAttacked("b3", Color.WHITE)),
+        () -> assertFalse(isAttacked("d5", Color.WHITE)),
+        () -> assertFalse(isAttacked("e6", Color.BLACK)));
+  }
+
+  @Test
+  public void kingAttackTest() {
+    board.setPiece(Position.fromString("e1"), new King(Color.BLACK));
+
+    Assertions.assertAll(
+        () -> assertTrue(isAttacked("d2", Color.BLACK)),
+        () -> assertTrue(isAttacked("f1", Color.BLACK)),
+        () -> assertFalse(isAttacked("e3", Color.BLACK)));
+  }
+
+  @Test
+  public void pawnAttackTest() {
+    board.setPiece(Position.fromString("e4"), new Pawn(Color.WHITE));
+    board.setPiece(Position.fromString("c5"), new Pawn(Color.BLACK));
+
+    Assertions.assertAll(
+        () -> assertTrue(isAttacked("d5", Color.WHITE)),
+        () -> assertTrue(isAttacked("f5", Color.WHITE)),
+        () -> assertFalse(isAttacked("e5", Color.WHITE)),
+        () -> assertFalse(isAttacked("d3", Color.WHITE)),
+        () -> assertTrue(isAttacked("b4", Color.BLACK)),
+        () -> assertTrue(isAttacked("d4", Color.BLACK)),
+        () -> assertFalse(isAttacked("d6", Color.BLACK)));
+  }
+
+  @Test
+  public void sliderAttackTest() {
+    board.setPiece(Position.fromString("a1"), new Rook(Color.WHITE));
+    board.setPiece(Position.fromString("h1"), new Bishop(Color.WHITE));
+    board.setPiece(Position.fromString("d8"), new Queen(Color.WHITE));
+    board.setPiece(Position.fromString("a4"), new Pawn(Color.BLACK));
+
+    Assertions.assertAll(
+        () -> assertTrue(isAttacked("a4", Color.WHITE)),
+        () -> assertFalse(isAttacked("a6", Color.WHITE)),
+        () -> assertTrue(isAttacked("e4", Color.WHITE)),
+        () -> assertFalse(isAttacked("h2", Color.WHITE)),
+        () -> assertTrue(isAttacked("d2", Color.WHITE)),
+        () -> assertTrue(isAttacked("h4", Color.WHITE)),
+        () -> assertFalse(isAttacked("e6", Color.WHITE)));
+  }
+
+  @Test
+  public void attackersOfTest() {
+    board.setPiece(Position.fromString("e4"), new Pawn(Color.BLACK));
+    board.setPiece(Position.fromString("e1"), new Rook(Color.WHITE));
+    board.setPiece(Position.fromString("f2"), new Knight(Color.WHITE));
+    board.setPiece(Position.fromString("d5"), new Pawn(Color.BLACK));
+    board.setPiece(Position.fromString("b7"), new Bishop(Color.BLACK));
+    board.setPiece(Position.fromString("e8"), new Queen(Color.BLACK));
+
+    List<Position> attackers = Attacks.attackersOf(board, Position.fromString("e4"));
+    Set<Position> expected =
+        Set.of(
+            Position.fromString("e1"),
+            Position.fromString("f2"),
+            Position.fromString("d5"),
+            Position.fromString("e8"));
+    Assertions.assertAll(
+        () -> assertEquals(expected, Set.copyOf(attackers)),
+        () -> assertEquals(expected.size(), attackers.size()),
+        () -> assertEquals(Color.WHITE, board.getPiece(attackers.get(0)).getColor()));
+  }
+
+  /**
+   * Эталон: клетка атакована, если на ней стоит фигура соперника и её можно взять ходом без учёта
+   * связок.
+   */
+  private static boolean isAttackedByMoves(Board board, Position target, Color byColor) {
+    for (Position from : board.getAllPiecePositionByColor(byColor)) {
+      Piece piece = board.getPiece(from);
+      int row = target.row().value();
+      FigureType promotion =
+          piece.getFigureType() == FigureType.PAWN && (row == 0 || row == 7)
+              ? FigureType.QUEEN
+              : null;
+      if (piece.canMove(board, new Move(from, target, promotion), false, true)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"HASH", "BIT"})
+  public void randomGamesTest(String boardType) {
+    for (long seed = 0; seed < 5; seed++) {
+      Board gameBoard = BoardType.valueOf(boardType).createBoard();
+      Boards.defaultChess().accept(gameBoard);
+      Random random = new Random(seed);
+      Color color = Color.WHITE;
+      for (int ply = 0; ply < 60; ply++) {
+        for (Position position : gameBoard.getAllPiecePosition()) {
+          Color owner = gameBoard.getPiece(position).getColor();
+          assertEquals(
+              isAttackedByMoves(gameBoard, position, owner.getOpposite()),
+              Attacks.isSquareAttacked(gameBoard, position, owner.getOpposite()),
+              Boards.getString(gameBoard) + position);
+        }
+
+        List<Move> moves = MoveGenerator.getLegalMoves(gameBoard, color);
+        if (moves.isEmpty()) {
+          break;
+        }
+        gameBoard.makeMove(moves.get(random.nextInt(moves.size())));
+        color = color.getOpposite();
+      }
+    }
+  }
+}
@@ -0,0 +1,159 @@
+package io.deeplay.grandmastery.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.deeplay.grandmastery.domain.BoardType;
+import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.domain.FigureType;
+import io.deeplay.grandmastery.figures.King;
+import io.deeplay.grandmastery.figures.Pawn;
+import io.deeplay.grandmastery.figures.Piece;
+import io.deeplay.grandmastery.figures.Queen;
+import io.deeplay.grandmastery.utils.Boards;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BitBoardTest {
+  private BitBoard board;
+
+  @BeforeEach
+  void init() {
+    board = new BitBoard();
+  }
+
+  @Test
+  public void setAndGetPieceTest() {
+    Position position = new Position(new Column(1), new Row(2));
+    Piece pawn = new Pawn(Color.WHITE);
+
+    board.setPiece(position, pawn);
+
+    Assertions.assertAll(
+        () -> assertSame(pawn, board.getPiece(new Position(new Column(1), new Row(2)))),
+        () -> assertSame(pawn, board.getPiece(1, 2)),
+        () -> assertEquals(1L << 17, board.getPieceSet(Color.WHITE, FigureType.PAWN)),
+        () -> assertEquals(1L << 17, board.getOccupancy(Color.WHITE)),
+        () -> assertEquals(0L, board.getOccupancy(Color.BLACK)));
+  }
+
+  @Test
+  public void replacePieceTest() {
+    Position position = Position.fromString("d4");
+    board.setPiece(position, new Pawn(Color.WHITE));
+    Piece queen = new Queen(Color.BLACK);
+    board.setPiece(position, queen);
+
+    Assertions.assertAll(
+        () -> assertSame(queen, board.getPiece(position)),
+        () -> assertEquals(0L, board.getPieceSet(Color.WHITE, FigureType.PAWN)),
+        () -> assertEquals(0L, board.getOccupancy(Color.WHITE)),
+        () -> assertEquals(board.getOccupancy(), board.getPieceSet(Color.BLACK, FigureType.QUEEN)));
+  }
+
+  @Test
+  public void autoSetBlackAndWhiteKingsTest() {
+    Position whiteKingPosition = new Position(new Column(1), new Row(2));
+    board.setPiece(whiteKingPosition, new King(Color.WHITE));
+
+    Position blackKingPosition = new Position(new Column(1), new Row(7));
+    board.setPiece(blackKingPosition, new King(Color.BLACK));
+
+    Assertions.assertAll(
+        () -> assertEquals(whiteKingPosition, board.getWhiteKingPosition()),
+        () -> assertEquals(blackKingPosition, board.getBlackKingPosition()),
+        () -> assertEquals(whiteKingPosition, board.getKingPositionByColor(Color.WHITE)),
+        () -> assertEquals(blackKingPosition, board.getKingPositionByColor(Color.BLACK)));
+  }
+
+  @Test
+  public void removePieceTest() {
+    Position position = new Position(new Column(1), new Row(4));
+    Piece king = new King(Color.WHITE);
+
+    board.setPiece(position, king);
+    Piece removed = board.removePiece(position);
+
+    Assertions.assertAll(
+        () -> assertSame(king, removed),
+        () -> assertNull(board.getPiece(position)),
+        () -> assertFalse(board.hasPiece(position)),
+        () -> assertNull(board.getWhiteKingPosition()),
+        () -> assertEquals(0L, board.getOccupancy()));
+  }
+
+  @Test
+  public void hasPieceTest() {
+    Position position = new Position(new Column(1), new Row(4));
+    board.setPiece(position, new Pawn(Color.WHITE));
+
+    Assertions.assertAll(
+        () -> assertTrue(board.hasPiece(position)),
+        () -> assertTrue(board.hasPiece(1, 4)),
+        () -> assertFalse(board.hasPiece(4, 1)));
+  }
+
+  @Test
+  public void getAllPiecePositionByColorTest() {
+    Set<Position> positions = new HashSet<>();
+    positions.add(new Position(new Column(1), new Row(4)));
+    positions.add(new Position(new Column(2), new Row(4)));
+    positions.add(new Position(new Column(3), new Row(4)));
+
+    positions.forEach(position -> board.setPiece(position, new Pawn(Color.WHITE)));
+    board.setPiece(Position.fromString("a1"), new Pawn(Color.BLACK));
+
+    Set<Position> all = new HashSet<>(positions);
+    all.add(Position.fromString("a1"));
+
+    Assertions.assertAll(
+        () -> assertEquals(positions, new HashSet<>(board.getAllPiecePositionByColor(Color.WHITE))),
+        () -> assertEquals(
+            Set.of(Position.fromString("a1")),
+            new HashSet<>(board.getAllPiecePositionByColor(Color.BLACK))),
+        () -> assertEquals(all, new HashSet<>(board.getAllPiecePosition())));
+  }
+
+  @Test
+  public void sameContentAsHashBoardTest() {
+    Board hashBoard = new HashBoard();
+    Boards.defaultChess().accept(hashBoard);
+    Boards.defaultChess().accept(board);
+
+    Assertions.assertAll(
+        () -> assertTrue(Boards.equals(hashBoard, board)),
+        () -> assertEquals(Boards.getString(hashBoard), Boards.getString(board)),
+        () -> assertEquals(
+            new HashSet<>(hashBoard.getAllPiecePositionByColor(Color.BLACK)),
+            new HashSet<>(board.getAllPiecePositionByColor(Color.BLACK))),
+        () -> assertEquals(hashBoard.getWhiteKingPosition(), board.getWhiteKingPosition()),
+        () -> assertEquals(hashBoard.getBlackKingPosition(), board.getBlackKingPosition()));
+  }
+
+  @Test
+  public void copyBoardKeepsTypeTest() {
+    Boards.defaultChess().accept(board);
+    Board copy = Boards.copyBoard(board);
+
+    Assertions.assertAll(
+        () -> assertEquals(BoardType.BIT, copy.getBoardType()),
+        () -> assertEquals(board, copy));
+  }
+
+  @Test
+  public void clearTest() {
+    Boards.defaultChess().accept(board);
+    board.clear();
+
+    Assertions.assertAll(
+        () -> assertEquals(0L, board.getOccupancy()),
+        () -> assertTrue(board.getAllPiecePosition().isEmpty()),
+        () -> assertNull(board.getWhiteKingPosition()));
+  }
+}
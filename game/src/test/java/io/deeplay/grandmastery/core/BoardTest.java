@@ -0,0 +1,259 @@
+package io.deeplay.grandmastery.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.deeplay.grandmastery.domain.BoardType;
+import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.domain.FigureType;
+import io.deeplay.grandmastery.figures.King;
+import io.deeplay.grandmastery.figures.Knight;
+import io.deeplay.grandmastery.figures.Pawn;
+import io.deeplay.grandmastery.figures.Piece;
+import io.deeplay.grandmastery.figures.Rook;
+import io.deeplay.grandmastery.utils.Boards;
+import io.deeplay.grandmastery.utils.LongAlgebraicNotation;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class BoardTest {
+  /**
+   * Строка с расстановкой и флагами хода, по которой сравниваются позиции.
+   *
+   * @param board Доска
+   * @return Снимок позиции
+   */
+  private static String snapshot(Board board) {
+    StringBuilder result = new StringBuilder(Boards.getString(board));
+    for (int col = 0; col < 8; col++) {
+      for (int row = 0; row < 8; row++) {
+        result.append(board.isMoved(Position.of(col, row)) ? '1' : '0');
+      }
+    }
+    return result.toString();
+  }
+
+  private static List<Move> allMoves(Board board, Color color) {
+    List<Move> moves = new ArrayList<>();
+    for (Position position : board.getAllPiecePositionByColor(color)) {
+      moves.addAll(board.getPiece(position).getAllMoves(board, position));
+    }
+    return moves;
+  }
+
+  /**
+   * Для каждого допустимого хода сравнивает makeMove с ходом через Piece.move на копии доски и
+   * проверяет, что unmakeMove возвращает исходную позицию.
+   */
+  private static void checkAllMoves(Board board, Color color) {
+    String before = snapshot(board);
+    Move lastMove = board.getLastMove();
+    long key = board.getZobristKey();
+    List<Move> moves = allMoves(board, color);
+    assertFalse(moves.isEmpty());
+
+    for (Move move : moves) {
+      Board copyBoard = Boards.copyBoard(board);
+      assertTrue(copyBoard.getPiece(move.from()).move(copyBoard, move), move.toString());
+      copyBoard.setLastMove(move);
+
+      Piece piece = board.getPiece(move.from());
+      MoveUndo undo = board.makeMove(move);
+      assertEquals(snapshot(copyBoard), snapshot(board), "makeMove " + move);
+      assertSame(move, board.getLastMove());
+
+      assertEquals(copyBoard.getZobristKey(), board.getZobristKey(), "key " + move);
+
+      board.unmakeMove(undo);
+      assertEquals(before, snapshot(board), "unmakeMove " + move);
+      assertEquals(key, board.getZobristKey(), "key after unmakeMove " + move);
+      assertSame(piece, board.getPiece(move.from()));
+      assertEquals(lastMove, board.getLastMove());
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"HASH", "BIT"})
+  public void defaultChessMakeUnmakeTest(String boardType) {
+    Board board = BoardType.valueOf(boardType).createBoard();
+    Boards.defaultChess().accept(board);
+
+    checkAllMoves(board, Color.WHITE);
+    board.makeMove(LongAlgebraicNotation.getMoveFromString("e2e4"));
+    checkAllMoves(board, Color.BLACK);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"HASH", "BIT"})
+  public void castlingMakeUnmakeTest(String boardType) {
+    Board board = BoardType.valueOf(boardType).createBoard();
+    board.setPiece(Position.fromString("e1"), new King(Color.WHITE));
+    board.setPiece(Position.fromString("a1"), new Rook(Color.WHITE));
+    board.setPiece(Position.fromString("h1"), new Rook(Color.WHITE));
+    board.setPiece(Position.fromString("e8"), new King(Color.BLACK));
+    board.setPiece(Position.fromString("a8"), new Rook(Color.BLACK));
+    board.setPiece(Position.fromString("h8"), new Rook(Color.BLACK));
+
+    checkAllMoves(board, Color.WHITE);
+    checkAllMoves(board, Color.BLACK);
+
+    MoveUndo undo = board.makeMove(LongAlgebraicNotation.getMoveFromString("e1c1"));
+    Assertions.assertAll(
+        () -> assertEquals(FigureType.KING, board.getPiece(2, 0).getFigureType()),
+        () -> assertEquals(FigureType.ROOK, board.getPiece(3, 0).getFigureType()),
+        () -> assertFalse(board.hasPiece(0, 0)),
+        () -> assertEquals(Position.fromString("c1"), board.getWhiteKingPosition()),
+        () -> assertEquals(Position.fromString("a1"), undo.rookMove().from()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"HASH", "BIT"})
+  public void fischerCastlingMakeUnmakeTest(String boardType) {
+    Board board = BoardType.valueOf(boardType).createBoard();
+    board.setPiece(Position.fromString("b1"), new King(Color.WHITE));
+    board.setPiece(Position.fromString("a1"), new Rook(Color.WHITE));
+    board.setPiece(Position.fromString("h1"), new Rook(Color.WHITE));
+    board.setPiece(Position.fromString("f8"), new King(Color.BLACK));
+    board.setPiece(Position.fromString("g8"), new Rook(Color.BLACK));
+    board.setPiece(Position.fromString("b8"), new Knight(Color.BLACK));
+
+    checkAllMoves(board, Color.WHITE);
+    checkAllMoves(board, Color.BLACK);
+
+    board.makeMove(LongAlgebraicNotation.getMoveFromString("b1c1"));
+    Assertions.assertAll(
+        () -> assertEquals(FigureType.KING, board.getPiece(2, 0).getFigureType()),
+        () -> assertEquals(FigureType.ROOK, board.getPiece(3, 0).getFigureType()),
+        () -> assertFalse(board.hasPiece(0, 0)),
+        () -> assertFalse(board.hasPiece(1, 0)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"HASH", "BIT"})
+  public void enPassantMakeUnmakeTest(String boardType) {
+    Board board = BoardType.valueOf(boardType).createBoard();
+    board.setPiece(Position.fromString("e1"), new King(Color.WHITE));
+    board.setPiece(Position.fromString("e8"), new King(Color.BLACK));
+    Piece whitePawn = new Pawn(Color.WHITE);
+    board.setPiece(Position.fromString("e5"), whitePawn);
+    board.setMoved(Position.fromString("e5"), true);
+    board.setPiece(Position.fromString("d7"), new Pawn(Color.BLACK));
+    board.makeMove(LongAlgebraicNotation.getMoveFromString("d7d5"));
+
+    checkAllMoves(board, Color.WHITE);
+
+    MoveUndo undo = board.makeMove(LongAlgebraicNotation.getMoveFromString("e5d6"));
+    Assertions.assertAll(
+        () -> assertSame(whitePawn, board.getPiece(Position.fromString("d6"))),
+        () -> assertFalse(board.hasPiece(Position.fromString("d5"))),
+        () -> assertEquals(Position.fromString("d5"), undo.capturePosition()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"HASH", "BIT"})
+  public void promotionMakeUnmakeTest(String boardType) {
+    Board board = BoardType.valueOf(boardType).createBoard();
+    board.setPiece(Position.fromString("e1"), new King(Color.WHITE));
+    board.setPiece(Position.fromString("h8"), new King(Color.BLACK));
+    Piece pawn = new Pawn(Color.WHITE);
+    board.setPiece(Position.fromString("b7"), pawn);
+    board.setMoved(Position.fromString("b7"), true);
+    board.setPiece(Position.fromString("a8"), new Rook(Color.BLACK));
+
+    checkAllMoves(board, Color.WHITE);
+
+    MoveUndo undo = board.makeMove(LongAlgebraicNotation.getMoveFromString("b7a8q"));
+    Assertions.assertAll(
+        () -> assertEquals(FigureType.QUEEN, board.getPiece(0, 7).getFigureType()),
+        () -> assertEquals(Color.WHITE, board.getPiece(0, 7).getColor()),
+        () -> assertEquals(FigureType.ROOK, undo.captured().getFigureType()));
+
+    board.unmakeMove(undo);
+    Assertions.assertAll(
+        () -> assertSame(pawn, board.getPiece(Position.fromString("b7"))),
+        () -> assertEquals(FigureType.ROOK, board.getPiece(0, 7).getFigureType()),
+        () -> assertNull(board.getLastMove()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"HASH", "BIT"})
+  public void zobristTranspositionTest(String boardType) {
+    Board board = BoardType.valueOf(boardType).createBoard();
+    Boards.defaultChess().accept(board);
+    long initialKey = board.getZobristKey();
+
+    for (Move move : LongAlgebraicNotation.getMovesFromString("g1f3,g8f6,f3g1,f6g8")) {
+      board.makeMove(move);
+    }
+    assertEquals(initialKey, board.getZobristKey());
+
+    board.makeMove(LongAlgebraicNotation.getMoveFromString("b1c3"));
+    long whiteMovedKey = board.getZobristKey();
+    board.makeMove(LongAlgebraicNotation.getMoveFromString("b8c6"));
+    board.makeMove(LongAlgebraicNotation.getMoveFromString("c3b1"));
+    board.makeMove(LongAlgebraicNotation.getMoveFromString("c6b8"));
+    Assertions.assertAll(
+        () -> assertEquals(initialKey, board.getZobristKey()),
+        () -> assertNotEquals(initialKey, whiteMovedKey));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"HASH", "BIT"})
+  public void zobristStateTest(String boardType) {
+    Board board = BoardType.valueOf(boardType).createBoard();
+    board.setPiece(Position.fromString("e1"), new King(Color.WHITE));
+    board.setPiece(Position.fromString("h1"), new Rook(Color.WHITE));
+    board.setPiece(Position.fromString("e8"), new King(Color.BLACK));
+    Piece whitePawn = new Pawn(Color.WHITE);
+    board.setPiece(Position.fromString("e5"), whitePawn);
+    board.setMoved(Position.fromString("e5"), true);
+    board.setPiece(Position.fromString("d7"), new Pawn(Color.BLACK));
+    long castlingKey = board.getZobristKey();
+
+    board.setMoved(Position.fromString("h1"), true);
+    long noCastlingKey = board.getZobristKey();
+    assertNotEquals(castlingKey, noCastlingKey);
+
+    Board doubleStep = Boards.copyBoard(board);
+    doubleStep.makeMove(LongAlgebraicNotation.getMoveFromString("d7d5"));
+    Board singleStep = Boards.copyBoard(board);
+    singleStep.removePiece(Position.fromString("d7"));
+    singleStep.setPiece(Position.fromString("d5"), new Pawn(Color.BLACK));
+    singleStep.setLastMove(LongAlgebraicNotation.getMoveFromString("d6d5"));
+
+    assertNotEquals(doubleStep.getZobristKey(), singleStep.getZobristKey());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"HASH", "BIT"})
+  public void nullMoveTest(String boardType) {
+    Board board = BoardType.valueOf(boardType).createBoard();
+    Boards.defaultChess().accept(board);
+    board.makeMove(LongAlgebraicNotation.getMoveFromString("e2e4"));
+    Move lastMove = board.getLastMove();
+    long whiteMovedKey = board.getZobristKey();
+
+    Move previous = board.makeNullMove(Color.BLACK);
+    long nullMoveKey = board.getZobristKey();
+    Board quietMove = Boards.copyBoard(board);
+    quietMove.unmakeNullMove(previous);
+    quietMove.setLastMove(LongAlgebraicNotation.getMoveFromString("e3e4"));
+    Assertions.assertAll(
+        () -> assertTrue(Board.isNullMove(board.getLastMove())),
+        () -> assertNull(board.getEnPassantPosition()),
+        () -> assertNotEquals(whiteMovedKey, nullMoveKey),
+        () -> assertNotEquals(quietMove.getZobristKey(), nullMoveKey));
+
+    board.unmakeNullMove(previous);
+    Assertions.assertAll(
+        () -> assertSame(lastMove, board.getLastMove()),
+        () -> assertEquals(whiteMovedKey, board.getZobristKey()));
+  }
+}
@@ -7,6 +7,7 @@ import io.deeplay.grandmastery.figures.Pawn;
 import io.deeplay.grandmastery.figures.Piece;
 import io.deeplay.grandmastery.utils.Boards;
 import io.deeplay.grandmastery.utils.LongAlgebraicNotation;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -125,6 +126,20 @@ class GameHistoryTest {
     Assertions.assertEquals(2, gameHistory.getMaxRepeatPosition(board));
   }
 
+  @Test
+  void getMaxRepeatPositionAfterRollbackTest() {
+    var move = LongAlgebraicNotation.getMoveFromString("b1c3");
+    var piece = board.getPiece(move.from());
+    piece.move(board, move);
+    gameHistory.addBoard(board);
+    gameHistory.makeMove(move);
+    gameHistory.rollback();
+
+    Assertions.assertAll(
+        () -> Assertions.assertEquals(1, gameHistory.getMaxRepeatPosition(board)),
+        () -> Assertions.assertEquals(1, gameHistory.getCopy().getMaxRepeatPosition(board)));
+  }
+
   @Test
   void getMovesTest() {
     Assertions.assertEquals(16, gameHistory.getMoves().size());
@@ -158,6 +173,70 @@ class GameHistoryTest {
     Assertions.assertEquals(gameHistory, gameHistory.getCopy());
   }
 
+  @Test
+  void copyIsIndependentTest() {
+    var copy = gameHistory.getCopy();
+    var move = LongAlgebraicNotation.getMoveFromString("b1c3");
+    board.getPiece(move.from()).move(board, move);
+    copy.addBoard(board);
+    copy.makeMove(move);
+
+    Assertions.assertAll(
+        () -> Assertions.assertEquals(17, copy.getMoves().size()),
+        () -> Assertions.assertEquals(move, copy.getLastMove()),
+        () -> Assertions.assertEquals(16, gameHistory.getMoves().size()),
+        () -> Assertions.assertEquals(1, gameHistory.getMaxRepeatPosition(board)),
+        () -> Assertions.assertEquals(2, copy.getMaxRepeatPosition(board)));
+  }
+
+  @Test
+  void getMovesAndBoardsOrderTest() {
+    var moves = gameHistory.getMoves();
+    var boards = gameHistory.getBoards();
+    var firstMove = LongAlgebraicNotation.getMoveFromString("d2d4");
+    var beforeLast = gameHistory.getBeforeLastBoard();
+
+    Assertions.assertAll(
+        () -> Assertions.assertEquals(firstMove, moves.get(0)),
+        () -> Assertions.assertEquals(gameHistory.getLastMove(), moves.get(15)),
+        () -> Assertions.assertEquals(17, boards.size()),
+        () -> Assertions.assertTrue(Boards.equals(board, boards.get(16))),
+        () -> Assertions.assertTrue(Boards.equals(gameHistory.getCurBoard(), boards.get(16))),
+        () -> Assertions.assertTrue(Boards.equals(beforeLast, boards.get(15))),
+        () -> Assertions.assertNotSame(gameHistory.getCurBoard(), gameHistory.getCurBoard()));
+  }
+
+  @Test
+  void getMovesIterationTest() {
+    var expected =
+        LongAlgebraicNotation.getMovesFromString(
+            "d2d4,d7d5,c2c4,d5c4,e2e4,b8c6,g1f3,g8f6,e4e5,f6d7,f1e2,e7e6,b1c3,c6b4,c3b1,b4c6");
+    var moves = gameHistory.getMoves();
+    var iterated = new ArrayList<Move>(moves);
+
+    var move = LongAlgebraicNotation.getMoveFromString("b2b3");
+    board.getPiece(move.from()).move(board, move);
+    gameHistory.addBoard(board);
+    gameHistory.makeMove(move);
+
+    Assertions.assertAll(
+        () -> Assertions.assertEquals(expected, iterated),
+        () -> Assertions.assertEquals(expected, moves),
+        () -> Assertions.assertEquals(expected.get(15), moves.get(15)),
+        () -> Assertions.assertEquals(move, gameHistory.getMoves().get(16)));
+  }
+
+  @Test
+  void rollbackRestoresCounterTest() {
+    var move = LongAlgebraicNotation.getMoveFromString("b2b3");
+    board.getPiece(move.from()).move(board, move);
+    gameHistory.addBoard(board);
+    gameHistory.makeMove(move);
+    gameHistory.rollback();
+
+    Assertions.assertEquals(4, gameHistory.getMovesWithoutTakingAndAdvancingPawns());
+  }
+
   @Test
   void rollBackTest() {
     Piece pawn = new Pawn(Color.WHITE);
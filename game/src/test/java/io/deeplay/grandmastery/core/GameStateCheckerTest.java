@@ -76,7 +76,7 @@ class GameStateCheckerTest {
     Assertions.assertAll(
         () -> Assertions.assertFalse(GameStateChecker.isMate(board, Color.BLACK)),
         () -> Assertions.assertTrue(GameStateChecker.isMate(board, Color.WHITE)),
-        () -> Assertions.assertFalse(board.getPiece(Position.fromString("a1")).isMoved()));
+        () -> Assertions.assertFalse(board.isMoved(Position.fromString("a1"))));
   }
 
   @Test
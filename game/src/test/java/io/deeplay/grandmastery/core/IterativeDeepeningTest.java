@@ -0,0 +1,102 @@
+package io.deeplay.grandmastery.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class IterativeDeepeningTest {
+  /** Менеджер времени, у которого время истекает после заданного числа итераций. */
+  private static class IterationsTimeManager implements TimeManager {
+    private final int iterations;
+    private int started;
+
+    IterationsTimeManager(int iterations) {
+      this.iterations = iterations;
+    }
+
+    @Override
+    public void start() {
+      started = 1;
+    }
+
+    @Override
+    public boolean canStartIteration(long lastIterationNanos) {
+      started++;
+      return true;
+    }
+
+    @Override
+    public boolean isTimeUp() {
+      return started > iterations;
+    }
+  }
+
+  @Test
+  public void unlimitedSearchTest() {
+    IterativeDeepening deepening = new IterativeDeepening(TimeManager.UNLIMITED);
+    List<Integer> deeps = new ArrayList<>();
+
+    int result =
+        deepening.search(
+            4,
+            deep -> {
+              deeps.add(deep);
+              deepening.checkTime();
+              return deep;
+            });
+    Assertions.assertAll(
+        () -> assertEquals(4, result),
+        () -> assertEquals(List.of(1, 2, 3, 4), deeps),
+        () -> assertEquals(4, deepening.getNodes()));
+  }
+
+  @Test
+  public void abortedIterationTest() {
+    IterativeDeepening deepening = new IterativeDeepening(new IterationsTimeManager(2));
+
+    int result =
+        deepening.search(
+            10,
+            deep -> {
+              deepening.checkTime();
+              return deep;
+            });
+    assertEquals(2, result);
+  }
+
+  @Test
+  public void firstIterationIsNotAbortedTest() {
+    IterativeDeepening deepening = new IterativeDeepening(new IterationsTimeManager(0));
+
+    int result =
+        deepening.search(
+            10,
+            deep -> {
+              deepening.checkTime();
+              return deep;
+            });
+    assertEquals(1, result);
+  }
+
+  @Test
+  public void moveTimeManagerTest() {
+    MoveTimeManager timeManager = new MoveTimeManager(1000);
+    timeManager.start();
+
+    long millisecond = TimeUnit.MILLISECONDS.toNanos(1);
+    Assertions.assertAll(
+        () -> assertFalse(timeManager.isTimeUp()),
+        () -> assertTrue(timeManager.canStartIteration(millisecond)),
+        () -> assertFalse(timeManager.canStartIteration(500 * millisecond)));
+
+    MoveTimeManager noTime = new MoveTimeManager(0);
+    noTime.start();
+    assertTrue(noTime.isTimeUp());
+  }
+}
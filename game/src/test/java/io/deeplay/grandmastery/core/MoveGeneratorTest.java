@@ -0,0 +1,239 @@
+package io.deeplay.grandmastery.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.deeplay.grandmastery.domain.BoardType;
+import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.domain.FigureType;
+import io.deeplay.grandmastery.figures.Bishop;
+import io.deeplay.grandmastery.figures.King;
+import io.deeplay.grandmastery.figures.Knight;
+import io.deeplay.grandmastery.figures.Pawn;
+import io.deeplay.grandmastery.figures.Piece;
+import io.deeplay.grandmastery.figures.Queen;
+import io.deeplay.grandmastery.figures.Rook;
+import io.deeplay.grandmastery.utils.Boards;
+import io.deeplay.grandmastery.utils.LongAlgebraicNotation;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class MoveGeneratorTest {
+  private static final FigureType[] PROMOTIONS = {
+    null, FigureType.BISHOP, FigureType.ROOK, FigureType.QUEEN, FigureType.KNIGHT
+  };
+
+  /**
+   * Эталон: перебор всех ходов через canMove и моделирование хода на доске с проверкой шаха, как
+   * фигуры генерировали ходы до MoveGenerator.
+   */
+  private static Set<Move> referenceMoves(Board board, Color color) {
+    Set<Move> moves = new HashSet<>();
+    for (Position from : board.getAllPiecePositionByColor(color)) {
+      Piece piece = board.getPiece(from);
+      for (int square = 0; square < 64; square++) {
+        Position to = new Position(new Column(square & 7), new Row(square >>> 3));
+        for (FigureType promotion : PROMOTIONS) {
+          if (promotion != null && piece.getFigureType() != FigureType.PAWN) {
+            break;
+          }
+
+          Move move = new Move(from, to, promotion);
+          if (piece.canMove(board, move, true, true) && isSafe(board, move, piece)) {
+            moves.add(move);
+          }
+        }
+      }
+    }
+    return moves;
+  }
+
+  private static boolean isSafe(Board board, Move move, Piece piece) {
+    Position capturePosition = null;
+    Piece enPassant = null;
+    if (piece.getFigureType() == FigureType.PAWN
+        && move.from().col().value() != move.to().col().value()
+        && !board.hasPiece(move.to())) {
+      capturePosition = new Position(move.to().col(), move.from().row());
+      enPassant = board.removePiece(capturePosition);
+    }
+
+    board.removePiece(move.from());
+    Piece captured = board.removePiece(move.to());
+    board.setPiece(move.to(), piece);
+    boolean isCheck = GameStateChecker.isCheck(board, piece.getColor());
+
+    board.removePiece(move.to());
+    board.setPiece(move.from(), piece);
+    if (captured != null) {
+      board.setPiece(move.to(), captured);
+    }
+    if (enPassant != null) {
+      board.setPiece(capturePosition, enPassant);
+    }
+    return !isCheck;
+  }
+
+  private static void assertSameMoves(Board board, Color color) {
+    List<Move> moves = MoveGenerator.getLegalMoves(board, color);
+    List<Move> pieceMoves = new ArrayList<>();
+    for (Position position : board.getAllPiecePositionByColor(color)) {
+      pieceMoves.addAll(MoveGenerator.getLegalMoves(board, position));
+    }
+    assertEquals(moves, pieceMoves);
+
+    MoveList packedMoves = new MoveList();
+    MoveGenerator.generateLegalMoves(board, color, packedMoves);
+    assertEquals(moves.size(), packedMoves.size());
+    for (int i = 0; i < moves.size(); i++) {
+      assertEquals(PackedMove.of(board, moves.get(i)), packedMoves.get(i));
+    }
+
+    MoveList captures = new MoveList();
+    MoveGenerator.generateCaptures(board, color, captures);
+    boolean isCheck = GameStateChecker.isCheck(board, color);
+    MoveList expectedCaptures = new MoveList();
+    for (int i = 0; i < packedMoves.size(); i++) {
+      int move = packedMoves.get(i);
+      if (isCheck || PackedMove.isCapture(move) || PackedMove.getPromotion(move) != null) {
+        expectedCaptures.add(move);
+      }
+    }
+    assertEquals(expectedCaptures.toMoves(), captures.toMoves());
+
+    SplittableRandom random = new SplittableRandom(moves.size());
+    for (int i = 0; i < 4; i++) {
+      int randomMove = MoveGenerator.getRandomLegalMove(board, color, new MoveList(), random);
+      assertEquals(moves.isEmpty(), randomMove == PackedMove.NO_MOVE);
+      assertTrue(moves.isEmpty() || packedMoves.contains(randomMove));
+    }
+
+    assertEquals(referenceMoves(board, color), new HashSet<>(moves), Boards.getString(board));
+  }
+
+  /** Играет случайную партию и на каждом ходу сравнивает генератор с эталоном. */
+  private static void playRandomGame(Board board, long seed) {
+    Random random = new Random(seed);
+    Color color = Color.WHITE;
+    for (int ply = 0; ply < 60; ply++) {
+      assertSameMoves(board, color);
+      List<Move> moves = MoveGenerator.getLegalMoves(board, color);
+      if (moves.isEmpty()) {
+        return;
+      }
+
+      board.makeMove(moves.get(random.nextInt(moves.size())));
+      color = color.getOpposite();
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"HASH", "BIT"})
+  public void randomDefaultGamesTest(String boardType) {
+    for (long seed = 0; seed < 10; seed++) {
+      Board board = BoardType.valueOf(boardType).createBoard();
+      Boards.defaultChess().accept(board);
+      playRandomGame(board, seed);
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"HASH", "BIT"})
+  public void randomFischerGamesTest(String boardType) {
+    for (long seed = 0; seed < 10; seed++) {
+      Board board = BoardType.valueOf(boardType).createBoard();
+      Boards.fischerChess().accept(board);
+      playRandomGame(board, seed);
+    }
+  }
+
+  @Test
+  public void pinnedPieceTest() {
+    Board board = new HashBoard();
+    board.setPiece(Position.fromString("e1"), new King(Color.WHITE));
+    board.setPiece(Position.fromString("e2"), new Rook(Color.WHITE));
+    board.setPiece(Position.fromString("d2"), new Knight(Color.WHITE));
+    board.setPiece(Position.fromString("e8"), new Queen(Color.BLACK));
+    board.setPiece(Position.fromString("a5"), new Bishop(Color.BLACK));
+    board.setPiece(Position.fromString("h8"), new King(Color.BLACK));
+
+    assertSameMoves(board, Color.WHITE);
+    List<Move> knightMoves = MoveGenerator.getLegalMoves(board, Position.fromString("d2"));
+    List<Move> rookMoves = MoveGenerator.getLegalMoves(board, Position.fromString("e2"));
+    Assertions.assertAll(
+        () -> assertTrue(knightMoves.isEmpty()), () -> assertEquals(6, rookMoves.size()));
+  }
+
+  @Test
+  public void doubleCheckTest() {
+    Board board = new HashBoard();
+    board.setPiece(Position.fromString("e1"), new King(Color.WHITE));
+    board.setPiece(Position.fromString("a1"), new Rook(Color.WHITE));
+    board.setPiece(Position.fromString("e8"), new Rook(Color.BLACK));
+    board.setPiece(Position.fromString("d3"), new Knight(Color.BLACK));
+    board.setPiece(Position.fromString("h8"), new King(Color.BLACK));
+
+    assertSameMoves(board, Color.WHITE);
+    assertTrue(
+        MoveGenerator.getLegalMoves(board, Color.WHITE).stream()
+            .allMatch(move -> move.from().equals(Position.fromString("e1"))));
+  }
+
+  @Test
+  public void enPassantDiscoveredCheckTest() {
+    Board board = new HashBoard();
+    board.setPiece(Position.fromString("a5"), new King(Color.WHITE));
+    Piece pawn = new Pawn(Color.WHITE);
+    board.setPiece(Position.fromString("e5"), pawn);
+    board.setMoved(Position.fromString("e5"), true);
+    board.setPiece(Position.fromString("d7"), new Pawn(Color.BLACK));
+    board.setPiece(Position.fromString("h5"), new Rook(Color.BLACK));
+    board.setPiece(Position.fromString("h8"), new King(Color.BLACK));
+    board.makeMove(LongAlgebraicNotation.getMoveFromString("d7d5"));
+
+    assertSameMoves(board, Color.WHITE);
+    assertFalse(
+        MoveGenerator.getLegalMoves(board, Color.WHITE)
+            .contains(LongAlgebraicNotation.getMoveFromString("e5d6")));
+  }
+
+  @Test
+  public void castlingTest() {
+    Board board = new HashBoard();
+    board.setPiece(Position.fromString("e1"), new King(Color.WHITE));
+    board.setPiece(Position.fromString("a1"), new Rook(Color.WHITE));
+    board.setPiece(Position.fromString("h1"), new Rook(Color.WHITE));
+    board.setPiece(Position.fromString("e8"), new King(Color.BLACK));
+    board.setPiece(Position.fromString("f8"), new Rook(Color.BLACK));
+
+    assertSameMoves(board, Color.WHITE);
+    List<Move> moves = MoveGenerator.getLegalMoves(board, Position.fromString("e1"));
+    Assertions.assertAll(
+        () -> assertTrue(moves.contains(LongAlgebraicNotation.getMoveFromString("e1c1"))),
+        () -> assertFalse(moves.contains(LongAlgebraicNotation.getMoveFromString("e1g1"))));
+  }
+
+  @Test
+  public void isKingSafeAfterMoveTest() {
+    Board board = new HashBoard();
+    board.setPiece(Position.fromString("e1"), new King(Color.WHITE));
+    board.setPiece(Position.fromString("e2"), new Bishop(Color.WHITE));
+    board.setPiece(Position.fromString("e8"), new Rook(Color.BLACK));
+    board.setPiece(Position.fromString("a8"), new King(Color.BLACK));
+
+    Move pinnedMove = LongAlgebraicNotation.getMoveFromString("e2d3");
+    Move kingMove = LongAlgebraicNotation.getMoveFromString("e1d1");
+    Assertions.assertAll(
+        () -> assertFalse(MoveGenerator.isKingSafeAfterMove(board, pinnedMove)),
+        () -> assertTrue(MoveGenerator.isKingSafeAfterMove(board, kingMove)));
+  }
+}
@@ -0,0 +1,111 @@
+package io.deeplay.grandmastery.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.figures.King;
+import io.deeplay.grandmastery.figures.Knight;
+import io.deeplay.grandmastery.figures.Pawn;
+import io.deeplay.grandmastery.figures.Queen;
+import io.deeplay.grandmastery.figures.Rook;
+import io.deeplay.grandmastery.utils.LongAlgebraicNotation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MoveOrderingTest {
+  private Board board;
+  private MoveOrdering ordering;
+
+  @BeforeEach
+  public void init() {
+    board = new HashBoard();
+    board.setPiece(Position.fromString("a1"), new King(Color.WHITE));
+    board.setPiece(Position.fromString("d4"), new Pawn(Color.WHITE));
+    board.setPiece(Position.fromString("f3"), new Knight(Color.WHITE));
+    board.setPiece(Position.fromString("d2"), new Queen(Color.WHITE));
+    board.setPiece(Position.fromString("h8"), new King(Color.BLACK));
+    board.setPiece(Position.fromString("e5"), new Queen(Color.BLACK));
+    board.setPiece(Position.fromString("c5"), new Rook(Color.BLACK));
+    ordering = new MoveOrdering();
+    ordering.newSearch();
+  }
+
+  private int move(String move) {
+    return PackedMove.of(board, LongAlgebraicNotation.getMoveFromString(move));
+  }
+
+  @Test
+  public void mvvLvaTest() {
+    int pawnTakesQueen = ordering.score(board, move("d4e5"), PackedMove.NO_MOVE, 0);
+    int knightTakesQueen = ordering.score(board, move("f3e5"), PackedMove.NO_MOVE, 0);
+    int pawnTakesRook = ordering.score(board, move("d4c5"), PackedMove.NO_MOVE, 0);
+    int quiet = ordering.score(board, move("d2d3"), PackedMove.NO_MOVE, 0);
+
+    Assertions.assertAll(
+        () -> assertTrue(pawnTakesQueen > knightTakesQueen),
+        () -> assertTrue(knightTakesQueen > pawnTakesRook),
+        () -> assertTrue(pawnTakesRook > quiet));
+  }
+
+  @Test
+  public void hashMoveFirstTest() {
+    int hashMove = move("a1b1");
+    assertTrue(
+        ordering.score(board, hashMove, hashMove, 0)
+            > ordering.score(board, move("d4e5"), hashMove, 0));
+  }
+
+  @Test
+  public void killerMoveTest() {
+    int killer = move("d2d3");
+    int quiet = move("d2e2");
+    ordering.addCutoff(board, killer, 2, 3);
+
+    Assertions.assertAll(
+        () ->
+            assertTrue(
+                ordering.score(board, killer, PackedMove.NO_MOVE, 2)
+                    > ordering.score(board, quiet, PackedMove.NO_MOVE, 2)),
+        () ->
+            assertTrue(
+                ordering.score(board, move("d4c5"), PackedMove.NO_MOVE, 2)
+                    > ordering.score(board, killer, PackedMove.NO_MOVE, 2)));
+
+    ordering.newSearch();
+    assertEquals(
+        ordering.score(board, killer, PackedMove.NO_MOVE, 0),
+        ordering.score(board, killer, PackedMove.NO_MOVE, 2));
+  }
+
+  @Test
+  public void historyTest() {
+    int quiet = move("d2e2");
+    int capture = move("f3e5");
+    int captureScore = ordering.score(board, capture, PackedMove.NO_MOVE, 0);
+    ordering.addCutoff(board, quiet, 5, 4);
+    ordering.addCutoff(board, capture, 5, 4);
+
+    Assertions.assertAll(
+        () -> assertEquals(16, ordering.score(board, quiet, PackedMove.NO_MOVE, 0)),
+        () -> assertEquals(0, ordering.score(board, move("d2d3"), PackedMove.NO_MOVE, 0)),
+        () -> assertEquals(captureScore, ordering.score(board, capture, PackedMove.NO_MOVE, 0)));
+  }
+
+  @Test
+  public void pickBestTest() {
+    MoveList moves = new MoveList();
+    moves.add(move("d2d3"));
+    moves.add(move("d4c5"));
+    moves.add(move("a1b1"));
+    moves.add(move("d4e5"));
+    ordering.order(board, moves, move("a1b1"), 0);
+
+    Assertions.assertAll(
+        () -> assertEquals(move("a1b1"), moves.pickBest(0)),
+        () -> assertEquals(move("d4e5"), moves.pickBest(1)),
+        () -> assertEquals(move("d4c5"), moves.pickBest(2)),
+        () -> assertEquals(move("d2d3"), moves.pickBest(3)));
+  }
+}
@@ -0,0 +1,73 @@
+package io.deeplay.grandmastery.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.deeplay.grandmastery.domain.BoardType;
+import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.domain.FigureType;
+import io.deeplay.grandmastery.utils.Boards;
+import io.deeplay.grandmastery.utils.LongAlgebraicNotation;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class PackedBoardTest {
+  @Test
+  public void figureTypeTest() {
+    Board board = new HashBoard();
+    Boards.defaultChess().accept(board);
+    PackedBoard packedBoard = PackedBoard.of(board);
+
+    Assertions.assertAll(
+        () -> assertEquals(FigureType.KING, packedBoard.getFigureType(Position.fromString("e8"))),
+        () -> assertEquals(FigureType.PAWN, packedBoard.getFigureType(Position.fromString("a2"))),
+        () -> assertEquals(FigureType.ROOK, packedBoard.getFigureType(Position.fromString("h1"))),
+        () -> assertNull(packedBoard.getFigureType(Position.fromString("e4"))));
+  }
+
+  @Test
+  public void enPassantStateTest() {
+    Board board = new HashBoard();
+    Boards.defaultChess().accept(board);
+    for (Move move : LongAlgebraicNotation.getMovesFromString("e2e4,a7a6,e4e5,d7d5")) {
+      board.makeMove(move);
+    }
+
+    Board unpacked = PackedBoard.of(board).toBoard(BoardType.HASH);
+    Move enPassant = LongAlgebraicNotation.getMoveFromString("e5d6");
+    Assertions.assertAll(
+        () -> assertEquals(board.getLastMove(), unpacked.getLastMove()),
+        () -> assertTrue(MoveGenerator.getLegalMoves(unpacked, Color.WHITE).contains(enPassant)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"HASH", "BIT"})
+  public void randomGamesTest(String boardType) {
+    BoardType type = BoardType.valueOf(boardType);
+    for (long seed = 0; seed < 5; seed++) {
+      Board board = type.createBoard();
+      Boards.defaultChess().accept(board);
+      Random random = new Random(seed);
+      Color color = Color.WHITE;
+      for (int ply = 0; ply < 80; ply++) {
+        PackedBoard packedBoard = PackedBoard.of(board);
+        Board unpacked = packedBoard.toBoard(type);
+        assertEquals(board.getZobristKey(), unpacked.getZobristKey(), Boards.getString(board));
+        assertTrue(Boards.equals(board, unpacked), Boards.getString(board));
+        assertEquals(packedBoard, PackedBoard.of(unpacked));
+
+        List<Move> moves = MoveGenerator.getLegalMoves(board, color);
+        if (moves.isEmpty()) {
+          break;
+        }
+        board.makeMove(moves.get(random.nextInt(moves.size())));
+        color = color.getOpposite();
+      }
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package io.deeplay.grandmastery.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.domain.FigureType;
+import io.deeplay.grandmastery.figures.King;
+import io.deeplay.grandmastery.figures.Pawn;
+import io.deeplay.grandmastery.figures.Piece;
+import io.deeplay.grandmastery.figures.Rook;
+import io.deeplay.grandmastery.utils.Boards;
+import io.deeplay.grandmastery.utils.LongAlgebraicNotation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PackedMoveTest {
+  @Test
+  public void encodeDecodeTest() {
+    int move = PackedMove.encode(52, 60, FigureType.QUEEN, PackedMove.NORMAL, PackedMove.CAPTURE);
+    Move expected = LongAlgebraicNotation.getMoveFromString("e7e8q");
+
+    Assertions.assertAll(
+        () -> assertEquals(52, PackedMove.getFrom(move)),
+        () -> assertEquals(60, PackedMove.getTo(move)),
+        () -> assertEquals(FigureType.QUEEN, PackedMove.getPromotion(move)),
+        () -> assertEquals(PackedMove.NORMAL, PackedMove.getType(move)),
+        () -> assertTrue(PackedMove.isCapture(move)),
+        () -> assertEquals(expected, PackedMove.toMove(move)));
+  }
+
+  @Test
+  public void allSquaresAndPromotionsTest() {
+    for (int from = 0; from < 64; from++) {
+      for (int to = 0; to < 64; to++) {
+        for (FigureType promotion : FigureType.values()) {
+          int move = PackedMove.encode(from, to, promotion, PackedMove.PAWN_DOUBLE, 0);
+          assertEquals(from, PackedMove.getFrom(move));
+          assertEquals(to, PackedMove.getTo(move));
+          assertEquals(promotion, PackedMove.getPromotion(move));
+          assertEquals(PackedMove.PAWN_DOUBLE, PackedMove.getType(move));
+          assertFalse(PackedMove.isCapture(move));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void ofTest() {
+    Board board = new HashBoard();
+    Boards.defaultChess().accept(board);
+    int doublePush = PackedMove.of(board, LongAlgebraicNotation.getMoveFromString("e2e4"));
+    int knightMove = PackedMove.of(board, LongAlgebraicNotation.getMoveFromString("g1f3"));
+
+    Assertions.assertAll(
+        () -> assertEquals(PackedMove.PAWN_DOUBLE, PackedMove.getType(doublePush)),
+        () -> assertEquals(PackedMove.NORMAL, PackedMove.getType(knightMove)),
+        () -> assertFalse(PackedMove.isCapture(knightMove)));
+  }
+
+  @Test
+  public void ofCastlingAndEnPassantTest() {
+    Board board = new HashBoard();
+    board.setPiece(Position.fromString("e1"), new King(Color.WHITE));
+    board.setPiece(Position.fromString("h1"), new Rook(Color.WHITE));
+    board.setPiece(Position.fromString("e8"), new King(Color.BLACK));
+    Piece pawn = new Pawn(Color.WHITE);
+    board.setPiece(Position.fromString("e5"), pawn);
+    board.setMoved(Position.fromString("e5"), true);
+    board.setPiece(Position.fromString("d7"), new Pawn(Color.BLACK));
+    board.makeMove(LongAlgebraicNotation.getMoveFromString("d7d5"));
+
+    int castling = PackedMove.of(board, LongAlgebraicNotation.getMoveFromString("e1g1"));
+    int enPassant = PackedMove.of(board, LongAlgebraicNotation.getMoveFromString("e5d6"));
+    Assertions.assertAll(
+        () -> assertEquals(PackedMove.CASTLING, PackedMove.getType(castling)),
+        () -> assertEquals(PackedMove.EN_PASSANT, PackedMove.getType(enPassant)),
+        () -> assertTrue(PackedMove.isCapture(enPassant)));
+  }
+
+  @Test
+  public void moveListTest() {
+    MoveList moves = new MoveList();
+    for (int i = 1; i <= 300; i++) {
+      moves.add(i);
+    }
+    moves.swap(0, 299);
+
+    Assertions.assertAll(
+        () -> assertEquals(300, moves.size()),
+        () -> assertEquals(300, moves.get(0)),
+        () -> assertEquals(1, moves.get(299)),
+        () -> assertTrue(moves.contains(150)),
+        () -> assertFalse(moves.contains(301)));
+
+    moves.clear();
+    assertTrue(moves.isEmpty());
+  }
+}
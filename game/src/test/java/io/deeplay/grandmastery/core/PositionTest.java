@@ -1,6 +1,7 @@
 package io.deeplay.grandmastery.core;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import io.deeplay.grandmastery.exceptions.GameException;
@@ -40,6 +41,19 @@ class PositionTest {
     assertEquals("e2", Position.getString(position));
   }
 
+  @Test
+  void internedPositionTest() {
+    Assertions.assertAll(
+        () -> assertSame(Position.fromString("e2"), Position.of(4, 1)),
+        () -> assertSame(Position.of(4, 1), Position.of(12)),
+        () -> assertSame(Position.of(4, 1), Position.of(Column.of(4), Row.of(1))),
+        () -> assertEquals(new Position(new Column(4), new Row(1)), Position.of(4, 1)),
+        () -> assertEquals("h", Column.of(7).getChar()),
+        () -> assertEquals("8", Row.of(7).getChar()),
+        () -> assertThrows(IllegalArgumentException.class, () -> Position.of(8, 0)),
+        () -> assertThrows(IllegalArgumentException.class, () -> Row.of(-1)));
+  }
+
   @Test
   void incorrectPositionTest() {
     assertThrows(GameException.class, () -> Position.fromString("eee"));
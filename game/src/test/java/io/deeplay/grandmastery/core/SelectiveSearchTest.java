@@ -0,0 +1,78 @@
+package io.deeplay.grandmastery.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.figures.King;
+import io.deeplay.grandmastery.figures.Knight;
+import io.deeplay.grandmastery.figures.Pawn;
+import io.deeplay.grandmastery.figures.Rook;
+import io.deeplay.grandmastery.utils.LongAlgebraicNotation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SelectiveSearchTest {
+  private final SelectiveSearch selective = SelectiveSearch.DEFAULT;
+  private Board board;
+
+  @BeforeEach
+  public void init() {
+    board = new HashBoard();
+    board.setPiece(Position.fromString("e1"), new King(Color.WHITE));
+    board.setPiece(Position.fromString("a2"), new Pawn(Color.WHITE));
+    board.setPiece(Position.fromString("e8"), new King(Color.BLACK));
+    board.setPiece(Position.fromString("h7"), new Pawn(Color.BLACK));
+  }
+
+  private int move(String move) {
+    return PackedMove.of(board, LongAlgebraicNotation.getMoveFromString(move));
+  }
+
+  @Test
+  public void nullMoveTest() {
+    board.setPiece(Position.fromString("b1"), new Knight(Color.WHITE));
+    board.setLastMove(LongAlgebraicNotation.getMoveFromString("h8h7"));
+
+    Assertions.assertAll(
+        () -> assertTrue(selective.canTryNullMove(board, Color.WHITE, 3, false)),
+        () -> assertFalse(selective.canTryNullMove(board, Color.WHITE, 3, true)),
+        () -> assertFalse(selective.canTryNullMove(board, Color.WHITE, 2, false)),
+        () -> assertFalse(SelectiveSearch.DISABLED.canTryNullMove(board, Color.WHITE, 3, false)),
+        () -> assertEquals(0, selective.nullMoveDeep(3)));
+
+    Move previous = board.makeNullMove(Color.WHITE);
+    assertFalse(selective.canTryNullMove(board, Color.BLACK, 3, false));
+    board.unmakeNullMove(previous);
+  }
+
+  @Test
+  public void pawnEndgameTest() {
+    assertFalse(selective.canTryNullMove(board, Color.WHITE, 5, false));
+  }
+
+  @Test
+  public void lateMoveReductionTest() {
+    board.setPiece(Position.fromString("b1"), new Rook(Color.WHITE));
+    board.setPiece(Position.fromString("b7"), new Pawn(Color.BLACK));
+    int quiet = move("b1c1");
+    int capture = move("b1b7");
+    int check = move("b1b8");
+
+    Assertions.assertAll(
+        () -> assertEquals(1, selective.lateMoveReduction(board, Color.BLACK, quiet, 3, 3, false)),
+        () -> assertEquals(0, selective.lateMoveReduction(board, Color.BLACK, quiet, 2, 3, false)),
+        () -> assertEquals(0, selective.lateMoveReduction(board, Color.BLACK, quiet, 3, 2, false)),
+        () -> assertEquals(0, selective.lateMoveReduction(board, Color.BLACK, quiet, 3, 3, true)),
+        () ->
+            assertEquals(0, selective.lateMoveReduction(board, Color.BLACK, capture, 3, 3, false)));
+
+    SelectiveSearch disabled = SelectiveSearch.DISABLED;
+    assertEquals(0, disabled.lateMoveReduction(board, Color.BLACK, quiet, 3, 3, false));
+
+    board.makeMove(PackedMove.toMove(check));
+    assertEquals(0, selective.lateMoveReduction(board, Color.BLACK, check, 3, 3, false));
+  }
+}
@@ -0,0 +1,162 @@
+package io.deeplay.grandmastery.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.deeplay.grandmastery.core.TranspositionTable.Bound;
+import io.deeplay.grandmastery.core.TranspositionTable.Entry;
+import io.deeplay.grandmastery.core.TranspositionTable.ReplacementPolicy;
+import io.deeplay.grandmastery.exceptions.GameException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TranspositionTableTest {
+  private static final int MOVE = PackedMove.encode(12, 28, null, PackedMove.PAWN_DOUBLE, 0);
+
+  @Test
+  public void storeAndProbeTest() {
+    TranspositionTable table = new TranspositionTable(1);
+    table.store(42L, 3, Bound.EXACT, 0.25, MOVE);
+
+    Entry entry = table.probe(42L);
+    assertNotNull(entry);
+    Assertions.assertAll(
+        () -> assertEquals(3, entry.depth()),
+        () -> assertEquals(Bound.EXACT, entry.bound()),
+        () -> assertEquals(0.25, entry.score()),
+        () -> assertEquals(MOVE, entry.move()),
+        () -> assertNull(table.probe(43L)));
+  }
+
+  @Test
+  public void emptyTableTest() {
+    TranspositionTable table = new TranspositionTable(1);
+    assertNull(table.probe(0L));
+
+    table.store(0L, 1, Bound.EXACT, 1.0, MOVE);
+    table.clear();
+    assertNull(table.probe(0L));
+  }
+
+  @Test
+  public void storeByWindowTest() {
+    TranspositionTable table = new TranspositionTable(1);
+    table.store(1L, 2, -10, 10, -20, MOVE);
+    table.store(2L, 2, -10, 10, 20, MOVE);
+    table.store(3L, 2, -10, 10, 5, MOVE);
+
+    Assertions.assertAll(
+        () -> assertEquals(new Entry(2, Bound.UPPER, -10, MOVE), table.probe(1L)),
+        () -> assertEquals(new Entry(2, Bound.LOWER, 10, MOVE), table.probe(2L)),
+        () -> assertEquals(new Entry(2, Bound.EXACT, 5, MOVE), table.probe(3L)));
+  }
+
+  @Test
+  public void canCutoffTest() {
+    Entry exact = new Entry(3, Bound.EXACT, 0.5, MOVE);
+    Entry lower = new Entry(3, Bound.LOWER, 0.5, MOVE);
+    Entry upper = new Entry(3, Bound.UPPER, 0.5, MOVE);
+
+    Assertions.assertAll(
+        () -> assertTrue(exact.canCutoff(3, -1, 1)),
+        () -> assertFalse(exact.canCutoff(4, -1, 1)),
+        () -> assertTrue(lower.canCutoff(2, -1, 0.5)),
+        () -> assertFalse(lower.canCutoff(2, -1, 1)),
+        () -> assertTrue(upper.canCutoff(2, 0.5, 1)),
+        () -> assertFalse(upper.canCutoff(2, 0, 1)));
+  }
+
+  @Test
+  public void depthPreferredTest() {
+    TranspositionTable table = new TranspositionTable(1);
+    long buckets = table.getCapacity() / 2;
+    long deep = 5L;
+    long shallow = deep + buckets;
+    long other = deep + 2 * buckets;
+
+    table.store(deep, 6, Bound.EXACT, 1, MOVE);
+    table.store(shallow, 2, Bound.EXACT, 2, MOVE);
+    assertNotNull(table.probe(deep));
+    assertNotNull(table.probe(shallow));
+
+    table.store(other, 3, Bound.EXACT, 3, MOVE);
+    Assertions.assertAll(
+        () -> assertNotNull(table.probe(deep)),
+        () -> assertNull(table.probe(shallow)),
+        () -> assertNotNull(table.probe(other)));
+
+    table.newSearch();
+    table.store(shallow, 1, Bound.EXACT, 2, MOVE);
+    Assertions.assertAll(
+        () -> assertNull(table.probe(deep)),
+        () -> assertNotNull(table.probe(shallow)),
+        () -> assertNotNull(table.probe(other)));
+  }
+
+  @Test
+  public void alwaysReplaceTest() {
+    TranspositionTable table = new TranspositionTable(1, ReplacementPolicy.ALWAYS_REPLACE);
+    long buckets = table.getCapacity() / 2;
+    long first = 7L;
+    long second = first + buckets;
+    long third = first + 2 * buckets;
+
+    table.store(first, 6, Bound.EXACT, 1, MOVE);
+    table.store(second, 1, Bound.EXACT, 2, MOVE);
+    table.store(third, 1, Bound.EXACT, 3, MOVE);
+    Assertions.assertAll(
+        () -> assertNull(table.probe(first)),
+        () -> assertEquals(2, table.probe(second).score()),
+        () -> assertEquals(3, table.probe(third).score()));
+  }
+
+  @Test
+  public void sizeTest() {
+    assertEquals(1 << 16, new TranspositionTable(2).getCapacity());
+    Assertions.assertAll(
+        () -> assertThrows(GameException.class, () -> new TranspositionTable(0)),
+        () ->
+            assertThrows(
+                GameException.class,
+                () -> new TranspositionTable(TranspositionTable.MAX_SIZE_MB + 1)));
+  }
+
+  @Test
+  public void concurrentAccessTest() throws InterruptedException {
+    TranspositionTable table = new TranspositionTable(1);
+    int keys = table.getCapacity() / 4;
+    AtomicBoolean corrupted = new AtomicBoolean();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      SplittableRandom random = new SplittableRandom(t);
+      threads.add(
+          new Thread(
+              () -> {
+                for (int i = 0; i < 200_000; i++) {
+                  long key = random.nextInt(keys) * 0x9E3779B97F4A7C15L;
+                  Entry entry = table.probe(key);
+                  if (entry != null && entry.score() != (double) (key >>> 40)) {
+                    corrupted.set(true);
+                  }
+                  table.store(key, random.nextInt(10), Bound.EXACT, key >>> 40, MOVE);
+                }
+              }));
+    }
+
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertFalse(corrupted.get());
+  }
+}
@@ -285,8 +285,8 @@ public class KingTest {
     Move move = LongAlgebraicNotation.getMoveFromString("e1g1");
     Piece king = new King(Color.WHITE);
     Piece rook = new Rook(Color.WHITE);
-    king.setMoved(true);
     board.setPiece(move.from(), king);
+    board.setMoved(move.from(), true);
     board.setPiece(Position.fromString("h1"), rook);
 
     Assertions.assertAll(
@@ -300,9 +300,9 @@ public class KingTest {
     Move move = LongAlgebraicNotation.getMoveFromString("e1c1");
     Piece king = new King(Color.WHITE);
     Piece rook = new Rook(Color.WHITE);
-    rook.setMoved(true);
     board.setPiece(move.from(), king);
     board.setPiece(Position.fromString("a1"), rook);
+    board.setMoved(Position.fromString("a1"), true);
 
     Assertions.assertAll(
         () -> assertFalse(king.move(board, move)),
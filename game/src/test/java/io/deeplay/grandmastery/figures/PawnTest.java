@@ -161,7 +161,7 @@ public class PawnTest {
     Assertions.assertAll(
         "Check " + color + " pawn",
         () -> assertTrue(pawn.move(board, move)),
-        () -> assertNull(pawn.moves),
+        () -> assertNull(board.getCachedMoves(move.to())),
         () -> assertSame(pawn, board.getPiece(move.to()), "Pawn in place of another piece"));
   }
 
@@ -326,8 +326,8 @@ public class PawnTest {
     Position whitePawnPos = Position.fromString("c5");
     Piece whitePawn = new Pawn(Color.WHITE);
     Piece blackPawn = new Pawn(Color.BLACK);
-    whitePawn.setMoved(true);
     board.setPiece(whitePawnPos, whitePawn);
+    board.setMoved(whitePawnPos, true);
     board.setPiece(lastMove.to(), blackPawn);
     board.setLastMove(lastMove);
 
@@ -690,9 +690,10 @@ public class PawnTest {
     Position position = Position.fromString("e7");
     board.setPiece(position, pawn);
     pawn.getAllMoves(board, position);
-    pawn.clearMoves();
+    assertNotNull(board.getCachedMoves(position));
+    board.clearMoves();
 
-    assertNull(pawn.moves);
+    assertNull(board.getCachedMoves(position));
   }
 
   @Test
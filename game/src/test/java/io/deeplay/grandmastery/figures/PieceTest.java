@@ -1,12 +1,19 @@
 package io.deeplay.grandmastery.figures;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.deeplay.grandmastery.core.Board;
 import io.deeplay.grandmastery.core.HashBoard;
 import io.deeplay.grandmastery.core.Position;
 import io.deeplay.grandmastery.domain.Color;
+import io.deeplay.grandmastery.domain.FigureType;
+import io.deeplay.grandmastery.utils.LongAlgebraicNotation;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 public class PieceTest {
@@ -19,7 +26,7 @@ public class PieceTest {
     board.setPiece(position, pawn);
     pawn.getAllMoves(board, position);
 
-    assertNotNull(pawn.moves);
+    assertNotNull(board.getCachedMoves(position));
   }
 
   @Test
@@ -30,8 +37,24 @@ public class PieceTest {
 
     board.setPiece(position, pawn);
     pawn.getAllMoves(board, position);
-    pawn.move(board, pawn.moves.get(0));
+    pawn.move(board, board.getCachedMoves(position).get(0));
 
-    assertNull(pawn.moves);
+    assertNull(board.getCachedMoves(position));
+  }
+
+  @Test
+  public void flyweightTest() {
+    Piece pawn = FigureType.PAWN.getPiece(Color.WHITE);
+    Board board = new HashBoard();
+    Position position = Position.fromString("e2");
+    board.setPiece(position, pawn);
+    pawn.move(board, LongAlgebraicNotation.getMoveFromString("e2e4"));
+
+    Assertions.assertAll(
+        () -> assertSame(pawn, FigureType.PAWN.getPiece(Color.WHITE)),
+        () -> assertNotSame(pawn, FigureType.PAWN.getPiece(Color.BLACK)),
+        () -> assertSame(pawn, board.getPiece(Position.fromString("e4"))),
+        () -> assertTrue(board.isMoved(Position.fromString("e4"))),
+        () -> assertFalse(board.isMoved(position)));
   }
 }
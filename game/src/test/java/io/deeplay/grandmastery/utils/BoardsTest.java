@@ -1,9 +1,11 @@
 package io.deeplay.grandmastery.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -84,6 +86,20 @@ public class BoardsTest {
         });
   }
 
+  @Test
+  public void copySharesPiecesTest() {
+    Boards.defaultChess().accept(board);
+    board.makeMove(LongAlgebraicNotation.getMoveFromString("e2e4"));
+    Position position = Position.fromString("e4");
+
+    Board copyBoard = Boards.copyBoard(board);
+    Assertions.assertAll(
+        () -> assertSame(board.getPiece(position), copyBoard.getPiece(position)),
+        () -> assertTrue(copyBoard.isMoved(position)),
+        () -> assertFalse(copyBoard.isMoved(Position.fromString("d2"))),
+        () -> assertEquals(board.getZobristKey(), copyBoard.getZobristKey()));
+  }
+
   @Test
   public void copyEmptyBoardTest() {
     Board copyBoard = new HashBoard();
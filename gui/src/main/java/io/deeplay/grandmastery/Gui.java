@@ -397,10 +397,10 @@ public class Gui implements UI {
       }
       Point firstClick = clickQueue.take(); // Извлекаем первый клик
       Point secondClick = clickQueue.take(); // Извлекаем второй клик
-      stringBuilder.append(new Column(firstClick.x).getChar());
-      stringBuilder.append(new Row(firstClick.y).getChar());
-      stringBuilder.append(new Column(secondClick.x).getChar());
-      stringBuilder.append(new Row(secondClick.y).getChar());
+      stringBuilder.append(Column.of(firstClick.x).getChar());
+      stringBuilder.append(Row.of(firstClick.y).getChar());
+      stringBuilder.append(Column.of(secondClick.x).getChar());
+      stringBuilder.append(Row.of(secondClick.y).getChar());
       if (promotionPiece != '\0') {
         stringBuilder.append(promotionPiece);
         promotionPiece = '\0';
@@ -516,7 +516,7 @@ public class Gui implements UI {
    */
   public void makePossibleMovesClickable(Board board, int col, int row) {
     Piece piece = board.getPiece(col, row);
-    moves = piece.getAllMoves(board, new Position(new Column(col), new Row(row)));
+    moves = piece.getAllMoves(board, Position.of(col, row));
     JButton cell = guiContainer.getCell(col, row);
     makeClickable(cell, col, row, board);
     guiContainer.smallHighlightCell(col, row);